@@ -0,0 +1,127 @@
+-- contents, content_sources를 created_at 기준 월별 범위 파티션 테이블로 전환
+-- 기간 조건(created_at)이 있는 조회는 해당 월 파티션만 읽고, 앞으로 쓸 파티션은 ContentPartitionService가 미리 만듦
+-- 파티션 테이블의 기본 키에는 파티션 키가 포함되어야 하므로 (id, created_at)으로 바꾸며, id는 기존 시퀀스로 계속 발급
+-- 월 파티션이 없는 달의 행은 기본 파티션(테이블_default)에 들어가며, 그 달의 파티션을 만들 때 옮겨짐
+
+-- 1. 기존 테이블 이름 변경
+ALTER TABLE contents RENAME TO contents_unpartitioned;
+ALTER TABLE content_sources RENAME TO content_sources_unpartitioned;
+ALTER TABLE contents_unpartitioned RENAME CONSTRAINT contents_pkey TO contents_unpartitioned_pkey;
+ALTER TABLE content_sources_unpartitioned RENAME CONSTRAINT content_sources_pkey TO content_sources_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_contents_status_created RENAME TO idx_contents_unpartitioned_status_created;
+ALTER INDEX IF EXISTS idx_contents_status_published RENAME TO idx_contents_unpartitioned_status_published;
+ALTER INDEX IF EXISTS idx_contents_generation_key RENAME TO idx_contents_unpartitioned_generation_key;
+ALTER INDEX IF EXISTS idx_contents_slug RENAME TO idx_contents_unpartitioned_slug;
+ALTER INDEX IF EXISTS idx_content_sources_content RENAME TO idx_content_sources_unpartitioned_content;
+ALTER INDEX IF EXISTS idx_content_sources_url RENAME TO idx_content_sources_unpartitioned_url;
+
+-- 1-1. contents(id)를 참조하는 외래 키 삭제
+-- schema.sql 기준 content_keywords, content_tags, content_sources, publish_logs, revenue_stats의 fk_content_id
+-- 파티션 테이블의 고유 키는 (id, created_at)이라 id만으로는 참조할 수 없고, 참조하는 테이블에는 콘텐츠의 created_at이 없으므로
+-- 복합 키로 다시 만들지 않고 삭제함 (이름을 바꾼 기존 테이블을 참조하고 있어 삭제하지 않으면 6단계의 DROP TABLE이 실패함)
+-- 외래 키가 없으므로 콘텐츠를 지워도 참조하는 행이 함께 지워지거나(CASCADE) content_id가 NULL이 되지(SET NULL) 않음
+-- - 보관 이동(RetentionService)은 content_keywords, content_tags, publish_logs 행을 콘텐츠와 같은 문장에서 보관 테이블로 옮기고
+--   revenue_stats에 통계가 있는 콘텐츠는 옮기지 않음 (V1_9_1)
+-- - 그 밖에 콘텐츠를 직접 삭제할 때는 참조하는 행도 함께 지워야 함
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS referencing, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'contents_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.referencing, fk.conname);
+        RAISE NOTICE 'Dropped foreign key % on %', fk.conname, fk.referencing;
+    END LOOP;
+END $$;
+
+-- 2. 파티션 테이블 생성
+CREATE TABLE contents (
+    id BIGINT NOT NULL DEFAULT nextval('contents_id_seq'),
+    title VARCHAR(255) NOT NULL,
+    slug VARCHAR(255),
+    body TEXT NOT NULL,
+    excerpt VARCHAR(1000),
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    language VARCHAR(10) NOT NULL,
+    source VARCHAR(100),
+    original_source VARCHAR(100),
+    category VARCHAR(50),
+    keyword VARCHAR(100),
+    tags VARCHAR(500),
+    generation_key VARCHAR(200),
+    thumbnail VARCHAR(255),
+    author VARCHAR(100),
+    view_count INTEGER,
+    like_count INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    published_at TIMESTAMP,
+    CONSTRAINT contents_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE content_sources (
+    id BIGINT NOT NULL DEFAULT nextval('content_sources_id_seq'),
+    content_id BIGINT NOT NULL,
+    source_name VARCHAR(100) NOT NULL,
+    source_url VARCHAR(500) NOT NULL,
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT content_sources_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 기존 테이블을 삭제해도 시퀀스가 남도록 소유 컬럼 변경
+ALTER SEQUENCE contents_id_seq OWNED BY contents.id;
+ALTER SEQUENCE content_sources_id_seq OWNED BY content_sources.id;
+
+-- 3. 기존 데이터가 있는 달부터 3개월 뒤까지 월 파티션 생성 (이름: 테이블_pYYYYMM)
+DO $$
+DECLARE
+    parent TEXT;
+    month DATE;
+    last_month DATE := date_trunc('month', LOCALTIMESTAMP + INTERVAL '3 months')::DATE;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['contents', 'content_sources'] LOOP
+        EXECUTE format('SELECT COALESCE(date_trunc(''month'', MIN(created_at))::DATE, date_trunc(''month'', LOCALTIMESTAMP)::DATE) FROM %I',
+                       parent || '_unpartitioned')
+            INTO month;
+        WHILE month <= last_month LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           parent || '_p' || to_char(month, 'YYYYMM'), parent, month, (month + INTERVAL '1 month')::DATE);
+            month := (month + INTERVAL '1 month')::DATE;
+        END LOOP;
+    END LOOP;
+END $$;
+
+-- 월 파티션이 없는 달의 INSERT가 실패하지 않도록 기본 파티션 생성 (ContentPartitionService가 밀린 경우 등)
+CREATE TABLE contents_default PARTITION OF contents DEFAULT;
+CREATE TABLE content_sources_default PARTITION OF content_sources DEFAULT;
+
+-- 4. 데이터 복사
+INSERT INTO contents (id, title, slug, body, excerpt, type, status, language, source, original_source, category,
+                      keyword, tags, generation_key, thumbnail, author, view_count, like_count, created_at, updated_at, published_at)
+SELECT id, title, slug, body, excerpt, type, status, language, source, original_source, category,
+       keyword, tags, generation_key, thumbnail, author, view_count, like_count, created_at, updated_at, published_at
+FROM contents_unpartitioned;
+
+INSERT INTO content_sources (id, content_id, source_name, source_url, description, created_at)
+SELECT id, content_id, source_name, source_url, description, created_at
+FROM content_sources_unpartitioned;
+
+-- 5. 인덱스 (부모 테이블에 만들면 모든 파티션에 생성됨)
+CREATE INDEX idx_contents_status_created ON contents (status, created_at);
+CREATE INDEX idx_contents_status_published ON contents (status, published_at);
+CREATE INDEX idx_contents_generation_key ON contents (generation_key);
+CREATE INDEX idx_contents_slug ON contents (slug);
+CREATE INDEX idx_content_sources_content ON content_sources (content_id);
+CREATE INDEX idx_content_sources_url ON content_sources (source_url);
+
+-- 6. 기존 테이블 삭제
+DROP TABLE contents_unpartitioned;
+DROP TABLE content_sources_unpartitioned;
+
+ANALYZE contents;
+ANALYZE content_sources;
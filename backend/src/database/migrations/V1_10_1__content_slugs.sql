@@ -0,0 +1,32 @@
+-- 콘텐츠 슬러그 고유성 복원
+-- V1_10_0에서 contents를 파티션 테이블로 바꾸면서 uk_slug(UNIQUE (slug))가 일반 인덱스로 바뀜
+-- (파티션 테이블의 고유 제약에는 파티션 키 created_at이 포함되어야 하므로 slug만으로는 만들 수 없음)
+-- 대신 슬러그를 content_slugs의 기본 키로 등록하고, 콘텐츠를 저장하는 트랜잭션에서 함께 등록함 (OpenAiService.claimUniqueSlug)
+-- 보관하거나 삭제한 콘텐츠의 슬러그도 남겨 두어 예전 URL이 다른 콘텐츠를 가리키지 않도록 함
+
+CREATE TABLE IF NOT EXISTS content_slugs (
+    slug VARCHAR(255) PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- 1. 고유 제약이 없던 동안 생긴 중복 슬러그는 가장 먼저 만든 콘텐츠만 남기고 뒤에 -<id>를 붙임
+UPDATE contents c
+SET slug = left(d.slug, 254 - length(d.id::TEXT)) || '-' || d.id
+FROM (
+    SELECT id, created_at, slug,
+           row_number() OVER (PARTITION BY slug ORDER BY created_at, id) AS rank
+    FROM contents
+    WHERE slug IS NOT NULL
+) d
+WHERE c.id = d.id AND c.created_at = d.created_at AND d.rank > 1;
+
+-- 2. 기존 슬러그 등록 (보관한 콘텐츠 포함)
+INSERT INTO content_slugs (slug, created_at)
+SELECT slug, MIN(created_at) FROM contents WHERE slug IS NOT NULL GROUP BY slug
+ON CONFLICT (slug) DO NOTHING;
+
+INSERT INTO content_slugs (slug, created_at)
+SELECT slug, MIN(created_at) FROM contents_archive WHERE slug IS NOT NULL GROUP BY slug
+ON CONFLICT (slug) DO NOTHING;
+
+ANALYZE content_slugs;
@@ -0,0 +1,27 @@
+-- 콘텐츠 생성 작업 테이블
+-- 작업자는 SELECT ... FOR UPDATE SKIP LOCKED로 작업을 가져가고 임대 토큰으로 완료 처리합니다.
+CREATE TABLE IF NOT EXISTS generation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_type VARCHAR(20) NOT NULL,
+    reference_id BIGINT,
+    language VARCHAR(10) NOT NULL,
+    payload TEXT,
+    idempotency_key VARCHAR(200) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    lease_token VARCHAR(36),
+    lease_until TIMESTAMP,
+    available_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    content_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_generation_jobs_status_available ON generation_jobs(status, available_at);
+CREATE INDEX IF NOT EXISTS idx_generation_jobs_type_created ON generation_jobs(job_type, created_at);
+
+-- 생성 작업의 멱등 키 (재시도된 작업이 콘텐츠를 중복 저장하지 않도록 확인)
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS generation_key VARCHAR(200);
+CREATE INDEX IF NOT EXISTS idx_contents_generation_key ON contents(generation_key);
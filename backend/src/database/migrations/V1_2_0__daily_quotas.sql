@@ -0,0 +1,10 @@
+-- 인스턴스가 함께 쓰는 일일 사용 한도 (한도 이름과 날짜별 한 행)
+CREATE TABLE IF NOT EXISTS daily_quotas (
+    id BIGSERIAL PRIMARY KEY,
+    quota_name VARCHAR(50) NOT NULL,
+    window_date DATE NOT NULL,
+    quota_limit INTEGER NOT NULL,
+    used INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_daily_quotas_name_window UNIQUE (quota_name, window_date)
+);
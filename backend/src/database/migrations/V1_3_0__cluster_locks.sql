@@ -0,0 +1,16 @@
+-- 배치 작업 잠금 (작업별 한 행, 획득할 때마다 펜싱 토큰 증가)
+CREATE TABLE IF NOT EXISTS job_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    locked_until TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP,
+    heartbeat_at TIMESTAMP
+);
+
+-- 실행 중인 노드 (작업 분할용 하트비트)
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,19 @@
+-- 키워드 수집 대상 ((언어, 지역, 소스)별 수집 주기와 요청 속도 제한)
+CREATE TABLE IF NOT EXISTS keyword_collection_targets (
+    id BIGSERIAL PRIMARY KEY,
+    language VARCHAR(10) NOT NULL,
+    geo VARCHAR(10) NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    interval_minutes INTEGER NOT NULL DEFAULT 1440,
+    requests_per_minute INTEGER NOT NULL DEFAULT 6,
+    next_due_at TIMESTAMP,
+    last_collected_at TIMESTAMP,
+    last_keyword_count INTEGER,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_keyword_collection_targets UNIQUE (language, geo, source)
+);
+
+CREATE INDEX IF NOT EXISTS idx_keyword_collection_targets_due ON keyword_collection_targets (active, next_due_at);
@@ -0,0 +1,8 @@
+-- 키워드 추세 점수 (keyword_sources 관측을 지수 감쇠로 누적한 값과 속도, 가속도)
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS trend_score DOUBLE PRECISION;
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS baseline_score DOUBLE PRECISION;
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS trend_velocity DOUBLE PRECISION;
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS trend_acceleration DOUBLE PRECISION;
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS scored_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_keywords_source_scored_at ON keywords (source, scored_at);
@@ -0,0 +1,20 @@
+-- 키워드 카테고리 사전 (키워드에 포함된 단어로 카테고리 분류, language가 NULL이면 모든 언어에 적용)
+CREATE TABLE IF NOT EXISTS keyword_category_terms (
+    id BIGSERIAL PRIMARY KEY,
+    category VARCHAR(50) NOT NULL,
+    term VARCHAR(100) NOT NULL,
+    language VARCHAR(10),
+    weight DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_keyword_category_terms UNIQUE (category, term, language)
+);
+
+-- 기존 분류 규칙을 초기 사전으로 등록
+INSERT INTO keyword_category_terms (category, term, language)
+VALUES ('health', '코로나', 'ko'), ('health', '백신', 'ko'), ('health', '건강', 'ko'),
+       ('finance', '주식', 'ko'), ('finance', '비트코인', 'ko'), ('finance', '투자', 'ko'),
+       ('entertainment', '영화', 'ko'), ('entertainment', '드라마', 'ko'), ('entertainment', '배우', 'ko'),
+       ('game', '게임', 'ko'), ('game', '출시', 'ko')
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,23 @@
+-- 키워드 정규화 키 (표기만 다른 키워드를 하나로 합침)
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS canonical_key VARCHAR(500);
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS merged_into_id BIGINT;
+
+-- 합쳐진 키워드는 canonical_key가 NULL이므로 유일성 검사에서 빠짐
+CREATE UNIQUE INDEX IF NOT EXISTS uk_keywords_language_canonical_key ON keywords (language, canonical_key);
+
+-- 표기 변환 사전 (예: iphone -> 아이폰, language가 NULL이면 모든 언어에 적용)
+CREATE TABLE IF NOT EXISTS keyword_aliases (
+    id BIGSERIAL PRIMARY KEY,
+    alias VARCHAR(100) NOT NULL,
+    canonical VARCHAR(100) NOT NULL,
+    language VARCHAR(10),
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_keyword_aliases UNIQUE (alias, language)
+);
+
+INSERT INTO keyword_aliases (alias, canonical, language)
+VALUES ('iphone', '아이폰', 'ko'), ('galaxy', '갤럭시', 'ko'), ('youtube', '유튜브', 'ko'),
+       ('netflix', '넷플릭스', 'ko'), ('chatgpt', '챗gpt', 'ko')
+ON CONFLICT DO NOTHING;
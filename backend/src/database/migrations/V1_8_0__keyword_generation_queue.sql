@@ -0,0 +1,7 @@
+-- 콘텐츠 생성 대상 키워드 선택 (우선순위 순으로 남은 한도만큼 SELECT ... FOR UPDATE SKIP LOCKED)
+ALTER TABLE keywords ADD COLUMN IF NOT EXISTS generation_claimed_until TIMESTAMP;
+
+-- 활성 키워드만 담는 부분 인덱스, 우선순위 순으로 읽다가 한도만큼 찾으면 멈춤
+CREATE INDEX IF NOT EXISTS idx_keywords_generation_queue
+    ON keywords (language, priority DESC, id)
+    WHERE active = true;
@@ -0,0 +1,61 @@
+-- 오래된 데이터 보관 (RetentionService가 청크 단위로 옮기고, 보관 기간이 지난 월 파티션은 테이블째 삭제)
+
+-- 보관 대상을 created_at 순으로 찾기 위한 인덱스
+CREATE INDEX IF NOT EXISTS idx_keyword_sources_created ON keyword_sources (created_at);
+CREATE INDEX IF NOT EXISTS idx_keyword_sources_keyword_collected ON keyword_sources (keyword_id, collection_date);
+CREATE INDEX IF NOT EXISTS idx_contents_status_created ON contents (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_content_sources_content ON content_sources (content_id);
+
+-- 보관 테이블 (created_at 기준 월별 범위 파티션, 파티션은 keyword_sources_archive_p202601처럼 이동 시 생성)
+CREATE TABLE IF NOT EXISTS keyword_sources_archive (
+    id BIGINT NOT NULL,
+    keyword_id BIGINT NOT NULL,
+    source_name VARCHAR(50) NOT NULL,
+    collection_date TIMESTAMP NOT NULL,
+    details VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (created_at);
+CREATE INDEX IF NOT EXISTS idx_keyword_sources_archive_keyword ON keyword_sources_archive (keyword_id);
+
+CREATE TABLE IF NOT EXISTS contents_archive (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    slug VARCHAR(255),
+    body TEXT NOT NULL,
+    excerpt VARCHAR(1000),
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    language VARCHAR(10) NOT NULL,
+    source VARCHAR(100),
+    original_source VARCHAR(100),
+    category VARCHAR(50),
+    keyword VARCHAR(100),
+    tags VARCHAR(500),
+    generation_key VARCHAR(200),
+    thumbnail VARCHAR(255),
+    author VARCHAR(100),
+    view_count INTEGER,
+    like_count INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    published_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (created_at);
+CREATE INDEX IF NOT EXISTS idx_contents_archive_id ON contents_archive (id);
+
+CREATE TABLE IF NOT EXISTS content_sources_archive (
+    id BIGINT NOT NULL,
+    content_id BIGINT NOT NULL,
+    source_name VARCHAR(100) NOT NULL,
+    source_url VARCHAR(500) NOT NULL,
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (created_at);
+CREATE INDEX IF NOT EXISTS idx_content_sources_archive_content ON content_sources_archive (content_id);
+
+-- 청크 이동으로 생기는 데드 튜플을 바로 정리하도록 운영 테이블의 autovacuum 기준을 낮춤
+ALTER TABLE keyword_sources SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE contents SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE content_sources SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
@@ -0,0 +1,41 @@
+-- 콘텐츠를 보관 테이블로 옮길 때 콘텐츠를 참조하는 행도 함께 보관 (RetentionService가 콘텐츠와 같은 문장에서 옮김)
+-- 콘텐츠를 지우면 외래 키(ON DELETE CASCADE)가 이 행들을 지우므로, 삭제 전에 각 보관 테이블로 옮겨 둠
+-- 보관 테이블은 원래 콘텐츠의 created_at(content_created_at) 기준 월별 범위 파티션이며,
+-- contents_archive와 같은 달 파티션이 archive-months가 지나면 함께 삭제됨
+-- revenue_stats는 날짜별 수익 집계이므로 옮기지 않고, 통계가 있는 콘텐츠는 보관 대상에서 제외함
+-- (외래 키가 ON DELETE SET NULL이라 콘텐츠를 옮기면 수익 기록의 콘텐츠 연결이 사라짐)
+
+CREATE TABLE IF NOT EXISTS content_keywords_archive (
+    id BIGINT NOT NULL,
+    content_id BIGINT NOT NULL,
+    keyword_id BIGINT NOT NULL,
+    is_primary BOOLEAN,
+    created_at TIMESTAMP,
+    content_created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (content_created_at);
+CREATE INDEX IF NOT EXISTS idx_content_keywords_archive_content ON content_keywords_archive (content_id);
+
+CREATE TABLE IF NOT EXISTS content_tags_archive (
+    id BIGINT NOT NULL,
+    content_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    created_at TIMESTAMP,
+    content_created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (content_created_at);
+CREATE INDEX IF NOT EXISTS idx_content_tags_archive_content ON content_tags_archive (content_id);
+
+CREATE TABLE IF NOT EXISTS publish_logs_archive (
+    id BIGINT NOT NULL,
+    content_id BIGINT NOT NULL,
+    platform VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    external_url TEXT,
+    error_message TEXT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    content_created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
+) PARTITION BY RANGE (content_created_at);
+CREATE INDEX IF NOT EXISTS idx_publish_logs_archive_content ON publish_logs_archive (content_id);
@@ -0,0 +1,28 @@
+package com.jsportal.config;
+
+import com.jsportal.service.scheduling.WorkloadTaskScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * 스케줄 작업 구성
+ * 기본 스케줄러는 스레드가 하나라 긴 작업이 다른 작업의 실행 시각을 밀어내므로,
+ * 부하 종류별 풀을 가진 {@link WorkloadTaskScheduler}를 사용합니다.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final WorkloadTaskScheduler workloadTaskScheduler;
+
+    @Autowired
+    public SchedulingConfig(WorkloadTaskScheduler workloadTaskScheduler) {
+        this.workloadTaskScheduler = workloadTaskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(workloadTaskScheduler);
+    }
+}
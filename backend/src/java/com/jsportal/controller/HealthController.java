@@ -1,5 +1,8 @@
 package com.jsportal.controller;
 
+import com.jsportal.service.datasource.ReplicaLagMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,6 +18,13 @@ import java.util.Map;
 @RequestMapping("/health")
 public class HealthController {
 
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    @Autowired
+    public HealthController(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
     /**
      * 서버 상태 확인 엔드포인트
      * @return 서버 상태 정보
@@ -24,6 +34,15 @@ public class HealthController {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
         response.put("message", "JS Portal API is running");
+        // 읽기 복제본을 구성한 경우 복제본 사용 여부와 지연
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor != null) {
+            Map<String, Object> replica = new HashMap<>();
+            replica.put("healthy", monitor.isHealthy());
+            replica.put("usable", monitor.isUsable());
+            replica.put("lagMs", monitor.getLagMillis());
+            response.put("replica", replica);
+        }
         return ResponseEntity.ok(response);
     }
 } 
\ No newline at end of file
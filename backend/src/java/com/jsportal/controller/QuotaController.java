@@ -0,0 +1,34 @@
+package com.jsportal.controller;
+
+import com.jsportal.service.batch.QuotaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 일일 사용 한도 조회를 위한 컨트롤러
+ */
+@RestController
+@RequestMapping("/quotas")
+public class QuotaController {
+
+    private final QuotaService quotaService;
+
+    @Autowired
+    public QuotaController(QuotaService quotaService) {
+        this.quotaService = quotaService;
+    }
+
+    /**
+     * 오늘 한도별 한도, 사용량, 남은 허용량 조회
+     * @return 한도 사용 현황 목록
+     */
+    @GetMapping
+    public ResponseEntity<List<QuotaService.QuotaStatus>> getQuotas() {
+        return ResponseEntity.ok(quotaService.getStatuses());
+    }
+}
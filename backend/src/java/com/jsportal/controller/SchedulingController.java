@@ -0,0 +1,34 @@
+package com.jsportal.controller;
+
+import com.jsportal.service.scheduling.WorkloadTaskScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 스케줄 작업 실행 현황 조회를 위한 컨트롤러
+ */
+@RestController
+@RequestMapping("/scheduling")
+public class SchedulingController {
+
+    private final WorkloadTaskScheduler workloadTaskScheduler;
+
+    @Autowired
+    public SchedulingController(WorkloadTaskScheduler workloadTaskScheduler) {
+        this.workloadTaskScheduler = workloadTaskScheduler;
+    }
+
+    /**
+     * 풀별 대기 작업 수, 지연 시간과 작업별 실행 기록 조회
+     * @return 스케줄러 풀 현황 목록
+     */
+    @GetMapping
+    public ResponseEntity<List<WorkloadTaskScheduler.PoolStatus>> getPools() {
+        return ResponseEntity.ok(workloadTaskScheduler.getPoolStatuses());
+    }
+}
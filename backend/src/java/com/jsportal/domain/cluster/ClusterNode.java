@@ -0,0 +1,26 @@
+package com.jsportal.domain.cluster;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 실행 중인 애플리케이션 노드 엔티티
+ * 노드는 주기적으로 하트비트를 기록하고, 최근 하트비트가 있는 노드끼리 작업을 나눠 맡습니다.
+ */
+@Data
+@Entity
+@Table(name = "cluster_nodes")
+public class ClusterNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
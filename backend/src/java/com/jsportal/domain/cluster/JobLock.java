@@ -0,0 +1,36 @@
+package com.jsportal.domain.cluster;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 배치 작업 잠금 엔티티
+ * 작업 이름별로 한 행을 두고, 잠금을 얻을 때마다 펜싱 토큰을 1씩 올립니다.
+ * 시각 비교는 노드 간 시계 차이를 피하기 위해 모두 DB 시각으로 합니다.
+ */
+@Data
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(length = 100)
+    private String owner; // 잠금을 가진 노드 ID (해제되면 null)
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken = 0L;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
-@Table(name = "contents")
+@Table(name = "contents", indexes = {
+    @Index(name = "idx_contents_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_contents_status_published", columnList = "status, published_at"),
+    @Index(name = "idx_contents_generation_key", columnList = "generation_key"),
+    @Index(name = "idx_contents_slug", columnList = "slug")
+})
 public class Content {
 
     @Id
@@ -54,6 +59,12 @@ public class Content {
     @Column(length = 100)
     private String keyword; // 콘텐츠 생성에 사용된 키워드
     
+    @Column(length = 500)
+    private String tags; // 쉼표로 구분된 태그 목록
+    
+    @Column(name = "generation_key", length = 200)
+    private String generationKey; // 생성 작업의 멱등 키 (재시도 시 중복 저장 방지)
+    
     @Column(length = 255)
     private String thumbnail;
     
@@ -0,0 +1,25 @@
+package com.jsportal.domain.content;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 콘텐츠 슬러그 등록 엔티티
+ * 월별 파티션 테이블인 contents에는 created_at을 포함하지 않는 고유 제약을 둘 수 없으므로,
+ * 슬러그를 이 테이블의 기본 키로 등록하여 모든 파티션에 걸친 고유성을 보장합니다.
+ * 콘텐츠를 저장하는 트랜잭션에서 함께 등록하며, 콘텐츠를 보관하거나 삭제해도 슬러그는 다시 쓰지 않습니다.
+ */
+@Data
+@Entity
+@Table(name = "content_slugs")
+public class ContentSlug {
+
+    @Id
+    @Column(length = 255)
+    private String slug;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
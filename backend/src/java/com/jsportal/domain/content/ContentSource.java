@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
-@Table(name = "content_sources")
+@Table(name = "content_sources", indexes = {
+    @Index(name = "idx_content_sources_content", columnList = "content_id"),
+    @Index(name = "idx_content_sources_url", columnList = "source_url")
+})
 public class ContentSource {
 
     @Id
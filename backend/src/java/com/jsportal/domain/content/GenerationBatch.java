@@ -0,0 +1,60 @@
+package com.jsportal.domain.content;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * OpenAI Batch API 작업 엔티티
+ * 제출한 배치 작업의 상태를 저장하여 재시작 후에도 결과를 수집할 수 있도록 합니다.
+ */
+@Data
+@Entity
+@Table(name = "generation_batches")
+public class GenerationBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false, length = 100, unique = true)
+    private String batchId; // OpenAI 배치 ID
+
+    @Column(name = "input_file_id", nullable = false, length = 100)
+    private String inputFileId;
+
+    @Column(name = "output_file_id", length = 100)
+    private String outputFileId;
+
+    @Column(name = "error_file_id", length = 100)
+    private String errorFileId;
+
+    @Column(nullable = false, length = 30)
+    private String status; // validating, in_progress, finalizing, completed, failed, expired, cancelled, ingested
+
+    @Column(nullable = false, length = 10)
+    private String language;
+
+    @Column(name = "request_count", nullable = false)
+    private Integer requestCount = 0;
+
+    @Column(name = "ingested_count")
+    private Integer ingestedCount = 0;
+
+    @Column(name = "failed_count")
+    private Integer failedCount = 0;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,73 @@
+package com.jsportal.domain.content;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 콘텐츠 생성 작업 엔티티
+ * 키워드나 크롤링한 포스트 하나에 대한 생성 요청을 저장하여 재시작 후에도 이어서 처리할 수 있도록 합니다.
+ * 작업자는 임대(lease) 토큰을 받아 작업을 가져가고, 같은 토큰으로만 완료 처리할 수 있습니다.
+ */
+@Data
+@Entity
+@Table(name = "generation_jobs", indexes = {
+    @Index(name = "idx_generation_jobs_status_available", columnList = "status, available_at"),
+    @Index(name = "idx_generation_jobs_type_created", columnList = "job_type, created_at")
+})
+public class GenerationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_type", nullable = false, length = 20)
+    private String jobType; // KEYWORD, POST
+
+    @Column(name = "reference_id")
+    private Long referenceId; // 키워드 ID (POST 작업은 없음)
+
+    @Column(nullable = false, length = 10)
+    private String language;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // POST 작업의 포스트 정보 (JSON)
+
+    @Column(name = "idempotency_key", nullable = false, length = 200, unique = true)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 20)
+    private String status; // PENDING, RUNNING, DONE, FAILED
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt; // 재시도 대기 후 다시 가져갈 수 있는 시각
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "content_id")
+    private Long contentId; // 생성된 콘텐츠 ID
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -58,6 +58,18 @@ public class CommunitySource {
     @Column(length = 1000)
     private String notes;
     
+    @Column(name = "consecutive_failures")
+    private Integer consecutiveFailures = 0;
+    
+    @Column(name = "last_failure_reason", length = 500)
+    private String lastFailureReason; // 마지막 크롤링 실패 사유 (서킷 브레이커/실패 예산 기록)
+    
+    @Column(name = "last_failure_at")
+    private LocalDateTime lastFailureAt;
+    
+    @Column(name = "deprioritized_levels")
+    private Integer deprioritizedLevels = 0; // 실패 예산 초과로 낮춘 우선순위 단계 수 (회복 시 복구, 재시작 후에도 유지)
+    
     /**
      * 기본 생성자
      */
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "keywords", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"keyword", "language"})
+    @UniqueConstraint(columnNames = {"keyword", "language"}),
+    @UniqueConstraint(name = "uk_keywords_language_canonical_key", columnNames = {"language", "canonical_key"})
 })
 public class Keyword {
 
@@ -27,6 +28,12 @@ public class Keyword {
     @Column(nullable = false, length = 10)
     private String language;
 
+    @Column(name = "canonical_key", length = 500)
+    private String canonicalKey; // 표기 차이를 없앤 중복 판단용 키 (KeywordNormalizer)
+
+    @Column(name = "merged_into_id")
+    private Long mergedIntoId; // 같은 키의 다른 키워드로 합쳐졌으면 그 키워드 ID
+
     @Column(nullable = false, length = 50)
     private String category;
 
@@ -42,6 +49,24 @@ public class Keyword {
     @Column(name = "last_generated_at")
     private LocalDateTime lastGeneratedAt;
 
+    @Column(name = "generation_claimed_until")
+    private LocalDateTime generationClaimedUntil; // 콘텐츠 생성 대상으로 선택되어 다른 실행이 가져가지 않는 시각
+
+    @Column(name = "trend_score")
+    private Double trendScore; // 짧은 반감기로 감쇠하는 관측 수 (최근 화제성)
+
+    @Column(name = "baseline_score")
+    private Double baselineScore; // 긴 반감기로 감쇠하는 관측 수 (평소 수준)
+
+    @Column(name = "trend_velocity")
+    private Double trendVelocity; // 일 단위 최근 관측률 - 평소 관측률
+
+    @Column(name = "trend_acceleration")
+    private Double trendAcceleration; // 일 단위 속도 변화량
+
+    @Column(name = "scored_at")
+    private LocalDateTime scoredAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
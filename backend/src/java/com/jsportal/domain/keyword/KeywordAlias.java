@@ -0,0 +1,56 @@
+package com.jsportal.domain.keyword;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 키워드 표기 변환 사전 항목 엔티티
+ * 정규화 키를 만들 때 alias 표기(예: iphone)를 canonical 표기(예: 아이폰)로 바꿔 같은 키워드로 봅니다.
+ * language가 없으면 모든 언어의 키워드에 적용합니다.
+ */
+@Data
+@Entity
+@Table(name = "keyword_aliases",
+       uniqueConstraints = @UniqueConstraint(name = "uk_keyword_aliases", columnNames = {"alias", "language"}))
+public class KeywordAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String alias;
+
+    @Column(nullable = false, length = 100)
+    private String canonical;
+
+    @Column(length = 10)
+    private String language;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 기본 생성자
+     */
+    public KeywordAlias() {
+    }
+
+    public KeywordAlias(String alias, String canonical, String language) {
+        this.alias = alias;
+        this.canonical = canonical;
+        this.language = language;
+    }
+}
@@ -0,0 +1,60 @@
+package com.jsportal.domain.keyword;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 키워드 카테고리 사전 항목 엔티티
+ * 키워드에 term이 포함되면 category에 weight만큼 점수를 주며, 점수가 가장 높은 카테고리로 분류합니다.
+ * language가 없으면 모든 언어의 키워드에 적용합니다.
+ */
+@Data
+@Entity
+@Table(name = "keyword_category_terms",
+       uniqueConstraints = @UniqueConstraint(name = "uk_keyword_category_terms",
+                                             columnNames = {"category", "term", "language"}))
+public class KeywordCategoryTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 100)
+    private String term;
+
+    @Column(length = 10)
+    private String language;
+
+    @Column(nullable = false)
+    private Double weight = 1.0;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 기본 생성자
+     */
+    public KeywordCategoryTerm() {
+    }
+
+    public KeywordCategoryTerm(String category, String term, String language) {
+        this.category = category;
+        this.term = term;
+        this.language = language;
+    }
+}
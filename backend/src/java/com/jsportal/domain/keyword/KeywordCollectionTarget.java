@@ -0,0 +1,85 @@
+package com.jsportal.domain.keyword;
+
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 키워드 수집 대상 엔티티
+ * (언어, 지역, 수집 소스) 조합마다 한 행이며, 대상별 수집 주기와 요청 속도 제한을 가집니다.
+ */
+@Data
+@Entity
+@Table(name = "keyword_collection_targets",
+       uniqueConstraints = @UniqueConstraint(name = "uk_keyword_collection_targets",
+                                             columnNames = {"language", "geo", "source"}),
+       indexes = @Index(name = "idx_keyword_collection_targets_due", columnList = "active, next_due_at"))
+public class KeywordCollectionTarget {
+
+    public static final String SOURCE_GOOGLE_TRENDS = "google-trends";
+    public static final String SOURCE_NAVER_DATALAB = "naver-datalab";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String language;
+
+    @Column(nullable = false, length = 10)
+    private String geo;
+
+    @Column(nullable = false, length = 50)
+    private String source;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @Column(name = "interval_minutes", nullable = false)
+    private Integer intervalMinutes = 1440; // 기본값 하루
+
+    @Column(name = "requests_per_minute", nullable = false)
+    private Integer requestsPerMinute = 6;
+
+    @Column(name = "next_due_at")
+    private LocalDateTime nextDueAt;
+
+    @Column(name = "last_collected_at")
+    private LocalDateTime lastCollectedAt;
+
+    @Column(name = "last_keyword_count")
+    private Integer lastKeywordCount;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 기본 생성자
+     */
+    public KeywordCollectionTarget() {
+    }
+
+    public KeywordCollectionTarget(String language, String geo, String source) {
+        this.language = language;
+        this.geo = geo;
+        this.source = source;
+    }
+
+    /**
+     * 로그 등에 쓰는 대상 이름 (예: ko-KR/google-trends)
+     */
+    public String getTargetName() {
+        return language + "-" + geo + "/" + source;
+    }
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
-@Table(name = "keyword_sources")
+@Table(name = "keyword_sources", indexes = {
+    @Index(name = "idx_keyword_sources_keyword_collected", columnList = "keyword_id, collection_date"),
+    @Index(name = "idx_keyword_sources_created", columnList = "created_at")
+})
 public class KeywordSource {
 
     @Id
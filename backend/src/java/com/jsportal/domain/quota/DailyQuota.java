@@ -0,0 +1,40 @@
+package com.jsportal.domain.quota;
+
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일일 사용 한도 엔티티
+ * 한도 이름과 날짜별로 한 행을 두고, 모든 인스턴스가 이 행에서 사용량을 나눠 가져갑니다.
+ */
+@Data
+@Entity
+@Table(name = "daily_quotas", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_quotas_name_window", columnNames = {"quota_name", "window_date"})
+})
+public class DailyQuota {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "quota_name", nullable = false, length = 50)
+    private String quotaName; // crawling, keyword-generation, post-generation 등
+
+    @Column(name = "window_date", nullable = false)
+    private LocalDate windowDate; // 설정된 시간대 기준 날짜
+
+    @Column(name = "quota_limit", nullable = false)
+    private Integer quotaLimit;
+
+    @Column(nullable = false)
+    private Integer used = 0; // 인스턴스가 가져간 허용량 (아직 쓰지 않은 선점분 포함)
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
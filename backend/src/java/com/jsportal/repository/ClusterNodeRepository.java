@@ -0,0 +1,41 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.cluster.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 애플리케이션 노드 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    /**
+     * 노드 하트비트 기록 (처음이면 등록)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cluster_nodes (node_id, started_at, heartbeat_at) VALUES (:nodeId, LOCALTIMESTAMP, LOCALTIMESTAMP) " +
+                   "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = LOCALTIMESTAMP",
+           nativeQuery = true)
+    int heartbeat(String nodeId);
+
+    /**
+     * 최근 하트비트가 있는 노드 ID 목록 (ID 순)
+     */
+    @Query(value = "SELECT node_id FROM cluster_nodes " +
+                   "WHERE heartbeat_at > LOCALTIMESTAMP - (:timeoutSeconds * INTERVAL '1 second') ORDER BY node_id",
+           nativeQuery = true)
+    List<String> findActiveNodeIds(int timeoutSeconds);
+
+    /**
+     * 오래전에 하트비트가 끊긴 노드 삭제
+     */
+    @Modifying
+    @Query(value = "DELETE FROM cluster_nodes WHERE heartbeat_at < LOCALTIMESTAMP - (:retentionSeconds * INTERVAL '1 second')",
+           nativeQuery = true)
+    int deleteStale(int retentionSeconds);
+}
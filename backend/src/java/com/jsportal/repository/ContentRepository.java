@@ -6,15 +6,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * 콘텐츠 엔티티를 위한 리포지토리 인터페이스
+ * 조회 메서드는 읽기 전용 트랜잭션으로 실행되어 읽기 복제본을 구성한 경우 복제본에서 읽습니다.
+ * 복제본은 주 DB보다 늦을 수 있으므로 저장 여부를 판단하는 조회는 쓰기 트랜잭션 안에서 호출합니다.
+ * (슬러그 중복 확인은 ContentSlugRepository.claim으로 주 DB에서 처리)
  */
 @Repository
+@Transactional(readOnly = true)
 public interface ContentRepository extends JpaRepository<Content, Long> {
 
     /**
@@ -47,20 +54,76 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      */
     Optional<Content> findBySlug(String slug);
     
+    /**
+     * 생성 작업의 멱등 키로 작업 생성 이후 저장된 콘텐츠를 검색합니다.
+     * created_at 하한으로 작업 생성 이후의 파티션만 확인합니다.
+     */
+    Optional<Content> findFirstByGenerationKeyAndCreatedAtGreaterThanEqual(String generationKey, LocalDateTime createdFrom);
+    
     /**
      * 특정 기간 내에 생성된 콘텐츠 수를 계산합니다.
      */
     long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * (생성 시각, ID) 순으로 (createdFrom, afterId) 다음 콘텐츠의 제목과 키워드를 조회합니다. (유사도 색인 동기화용)
+     * created_at 하한으로 그 이후의 파티션만 읽습니다.
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.keyword AS keyword, c.language AS language, c.createdAt AS createdAt " +
+           "FROM Content c WHERE c.createdAt >= :createdFrom AND (c.createdAt > :createdFrom OR c.id > :afterId) " +
+           "ORDER BY c.createdAt, c.id")
+    List<TitleView> findTitlesCreatedAfter(LocalDateTime createdFrom, Long afterId, Pageable pageable);
+    
+    /**
+     * 지정한 ID 중 createdFrom 이후에 만들어 아직 콘텐츠 테이블에 있는 ID를 조회합니다.
+     */
+    @Query("SELECT c.id FROM Content c WHERE c.id IN :ids AND c.createdAt >= :createdFrom")
+    List<Long> findIdsCreatedFrom(Collection<Long> ids, LocalDateTime createdFrom);
+    
+    /**
+     * createdFrom 이후에 만든 콘텐츠의 제목과 키워드를 본문 없이 조회합니다.
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.keyword AS keyword, c.language AS language, c.createdAt AS createdAt " +
+           "FROM Content c WHERE c.id = :id AND c.createdAt >= :createdFrom")
+    Optional<TitleView> findTitleByIdCreatedFrom(Long id, LocalDateTime createdFrom);
+    
+    /**
+     * 가장 오래된 콘텐츠의 생성 시각 (보관 테이블 파티션 준비용)
+     */
+    @Query("SELECT MIN(c.createdAt) FROM Content c")
+    LocalDateTime findOldestCreatedAt();
+    
+    /**
+     * 게시 시각이 [start, end)인 게시 콘텐츠 목록을 검색합니다.
+     * 게시는 생성 이후이므로 created_at < end 조건으로 end 이후 달의 파티션은 읽지 않습니다.
+     * 오래전에 만든 콘텐츠도 나중에 게시될 수 있어 created_at 하한은 두지 않으며, 파티션마다 (status, published_at) 인덱스로 찾습니다.
+     */
+    @Query("SELECT c FROM Content c WHERE c.status = 'PUBLISHED' AND c.publishedAt >= :start AND c.publishedAt < :end " +
+           "AND c.createdAt < :end ORDER BY c.publishedAt DESC")
+    List<Content> findPublishedBetween(LocalDateTime start, LocalDateTime end);
+    
     /**
      * 현재 날짜에 게시된 콘텐츠 목록을 검색합니다.
      */
-    @Query("SELECT c FROM Content c WHERE c.status = 'PUBLISHED' AND CAST(c.publishedAt AS date) = CURRENT_DATE")
-    List<Content> findTodayPublishedContents();
+    default List<Content> findTodayPublishedContents() {
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        return findPublishedBetween(start, start.plusDays(1));
+    }
     
     /**
      * 제목이나 본문에 특정 키워드가 포함된 콘텐츠를 검색합니다.
      */
     @Query("SELECT c FROM Content c WHERE (LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(c.body) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND c.status = 'PUBLISHED'")
     Page<Content> searchByKeyword(String keyword, Pageable pageable);
-} 
\ No newline at end of file
+    
+    /**
+     * 콘텐츠 제목, 키워드 조회 결과
+     */
+    interface TitleView {
+        Long getId();
+        String getTitle();
+        String getKeyword();
+        String getLanguage();
+        LocalDateTime getCreatedAt();
+    }
+}
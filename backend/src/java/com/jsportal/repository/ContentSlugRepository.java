@@ -0,0 +1,25 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.content.ContentSlug;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 콘텐츠 슬러그 등록 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface ContentSlugRepository extends JpaRepository<ContentSlug, String> {
+
+    /**
+     * 슬러그가 등록되지 않았으면 등록
+     * 다른 트랜잭션이 같은 슬러그를 등록하고 아직 커밋하지 않았으면 그 트랜잭션이 끝날 때까지 기다립니다.
+     * @return 등록했으면 1, 이미 등록된 슬러그면 0
+     */
+    @Modifying
+    @Query(value = "INSERT INTO content_slugs (slug, created_at) VALUES (:slug, LOCALTIMESTAMP) " +
+                   "ON CONFLICT (slug) DO NOTHING",
+           nativeQuery = true)
+    int claim(String slug);
+}
@@ -2,11 +2,15 @@ package com.jsportal.repository;
 
 import com.jsportal.domain.content.ContentSource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ContentSourceRepository extends JpaRepository<ContentSource, Long> {
     
     List<ContentSource> findByContentId(Long contentId);
@@ -14,4 +18,16 @@ public interface ContentSourceRepository extends JpaRepository<ContentSource, Lo
     List<ContentSource> findBySourceName(String sourceName);
     
     List<ContentSource> findBySourceNameAndSourceUrlContaining(String sourceName, String sourceUrlPart);
-} 
\ No newline at end of file
+    
+    /**
+     * 이미 콘텐츠를 만든 출처 URL인지 확인 (생성 여부를 판단하므로 복제 지연이 없는 주 DB에서 조회)
+     */
+    @Transactional
+    boolean existsBySourceUrl(String sourceUrl);
+    
+    /**
+     * 가장 오래된 출처 정보의 생성 시각 (보관 테이블 파티션 준비용)
+     */
+    @Query("SELECT MIN(s.createdAt) FROM ContentSource s")
+    LocalDateTime findOldestCreatedAt();
+}
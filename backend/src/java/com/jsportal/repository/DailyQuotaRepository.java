@@ -0,0 +1,50 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.quota.DailyQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 일일 사용 한도 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface DailyQuotaRepository extends JpaRepository<DailyQuota, Long> {
+
+    /**
+     * 한도 행이 없으면 생성 (다른 인스턴스가 먼저 만들었으면 무시)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_quotas (quota_name, window_date, quota_limit, used, updated_at) " +
+                   "VALUES (:quotaName, :windowDate, :quotaLimit, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (quota_name, window_date) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(String quotaName, LocalDate windowDate, int quotaLimit);
+
+    /**
+     * 한도 행을 잠그고 조회 (트랜잭션 안에서 호출)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<DailyQuota> findByQuotaNameAndWindowDate(String quotaName, LocalDate windowDate);
+
+    /**
+     * 특정 날짜의 모든 한도 조회
+     */
+    List<DailyQuota> findByWindowDateOrderByQuotaName(LocalDate windowDate);
+
+    /**
+     * 쓰지 않은 선점분 반환
+     */
+    @Modifying
+    @Query(value = "UPDATE daily_quotas SET used = GREATEST(used - :permits, 0), updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE quota_name = :quotaName AND window_date = :windowDate",
+           nativeQuery = true)
+    int returnPermits(String quotaName, LocalDate windowDate, int permits);
+}
@@ -0,0 +1,25 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.content.GenerationBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * OpenAI 배치 작업 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface GenerationBatchRepository extends JpaRepository<GenerationBatch, Long> {
+
+    /**
+     * 지정한 상태의 배치 작업 조회
+     */
+    List<GenerationBatch> findByStatusIn(Collection<String> statuses);
+
+    /**
+     * 특정 언어로 진행 중인 배치 작업이 있는지 확인
+     */
+    boolean existsByLanguageAndStatusIn(String language, Collection<String> statuses);
+}
@@ -0,0 +1,58 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.content.GenerationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 콘텐츠 생성 작업 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, Long> {
+
+    /**
+     * 가져갈 수 있는 작업을 잠그고 조회 (대기 중이거나 임대가 만료된 작업)
+     * 다른 작업자가 잠근 행은 건너뛰므로 여러 작업자가 서로 기다리지 않고 다른 작업을 가져갑니다.
+     * 트랜잭션 안에서 호출해야 합니다.
+     */
+    @Query(value = "SELECT * FROM generation_jobs " +
+                   "WHERE (status = 'PENDING' AND available_at <= :now) " +
+                   "   OR (status = 'RUNNING' AND lease_until < :now) " +
+                   "ORDER BY available_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<GenerationJob> lockClaimable(LocalDateTime now, int limit);
+
+    /**
+     * 임대 토큰이 일치하는 실행 중 작업을 잠그고 조회 (완료/실패 처리용)
+     * 트랜잭션 안에서 호출해야 합니다.
+     */
+    @Query(value = "SELECT * FROM generation_jobs WHERE id = :id AND lease_token = :leaseToken " +
+                   "AND status = 'RUNNING' FOR UPDATE",
+           nativeQuery = true)
+    Optional<GenerationJob> lockLeased(Long id, String leaseToken);
+
+    /**
+     * 같은 멱등 키의 작업이 있는지 확인
+     */
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * 최대 시도 횟수를 다 써서 실패한 작업을 처음부터 다시 시도하도록 대기 상태로 되돌림
+     * @return 되돌렸으면 1, 실패한 작업이 아니면 0
+     */
+    @Modifying
+    @Query("UPDATE GenerationJob j SET j.status = 'PENDING', j.attempts = 0, j.availableAt = :now, " +
+           "j.leaseToken = NULL, j.leaseUntil = NULL WHERE j.idempotencyKey = :idempotencyKey AND j.status = 'FAILED'")
+    int retryFailed(String idempotencyKey, LocalDateTime now);
+
+    /**
+     * 상태별 작업 수
+     */
+    long countByStatus(String status);
+}
@@ -0,0 +1,72 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.cluster.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 배치 작업 잠금 엔티티를 위한 저장소 인터페이스
+ * 잠금 상태 변경은 모두 DB 시각(LOCALTIMESTAMP) 기준의 조건부 UPDATE로 처리합니다.
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * 잠금 행이 없으면 해제된 상태로 생성
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (job_name, fencing_token, locked_until) VALUES (:jobName, 0, LOCALTIMESTAMP) " +
+                   "ON CONFLICT (job_name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(String jobName);
+
+    /**
+     * 잠금이 만료되었으면 획득하고 펜싱 토큰을 올림
+     * @return 획득했으면 1
+     */
+    @Modifying
+    @Query(value = "UPDATE job_locks SET owner = :owner, fencing_token = fencing_token + 1, " +
+                   "locked_until = LOCALTIMESTAMP + (:leaseSeconds * INTERVAL '1 second'), " +
+                   "acquired_at = LOCALTIMESTAMP, heartbeat_at = LOCALTIMESTAMP " +
+                   "WHERE job_name = :jobName AND locked_until <= LOCALTIMESTAMP",
+           nativeQuery = true)
+    int acquire(String jobName, String owner, int leaseSeconds);
+
+    /**
+     * 현재 펜싱 토큰 조회
+     */
+    @Query(value = "SELECT fencing_token FROM job_locks WHERE job_name = :jobName", nativeQuery = true)
+    long findFencingToken(String jobName);
+
+    /**
+     * 잠금 연장 (하트비트)
+     * @return 아직 이 토큰의 잠금이면 1, 잠금을 잃었으면 0
+     */
+    @Modifying
+    @Query(value = "UPDATE job_locks SET locked_until = LOCALTIMESTAMP + (:leaseSeconds * INTERVAL '1 second'), " +
+                   "heartbeat_at = LOCALTIMESTAMP " +
+                   "WHERE job_name = :jobName AND owner = :owner AND fencing_token = :fencingToken " +
+                   "AND locked_until > LOCALTIMESTAMP",
+           nativeQuery = true)
+    int extend(String jobName, String owner, long fencingToken, int leaseSeconds);
+
+    /**
+     * 잠금 해제 (획득 후 최소 유지 시간이 지나기 전이면 그때까지는 다른 노드가 가져가지 못함)
+     */
+    @Modifying
+    @Query(value = "UPDATE job_locks SET owner = NULL, " +
+                   "locked_until = GREATEST(LOCALTIMESTAMP, acquired_at + (:minHoldSeconds * INTERVAL '1 second')) " +
+                   "WHERE job_name = :jobName AND owner = :owner AND fencing_token = :fencingToken",
+           nativeQuery = true)
+    int release(String jobName, String owner, long fencingToken, int minHoldSeconds);
+
+    /**
+     * 펜싱 토큰이 아직 유효한지 확인
+     */
+    @Query(value = "SELECT COUNT(*) FROM job_locks WHERE job_name = :jobName AND owner = :owner " +
+                   "AND fencing_token = :fencingToken AND locked_until > LOCALTIMESTAMP",
+           nativeQuery = true)
+    long countValid(String jobName, String owner, long fencingToken);
+}
@@ -0,0 +1,27 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.keyword.KeywordCategoryTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 키워드 카테고리 사전 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface KeywordCategoryTermRepository extends JpaRepository<KeywordCategoryTerm, Long> {
+
+    /**
+     * 활성 사전 항목 전체 조회
+     */
+    List<KeywordCategoryTerm> findByActiveTrue();
+
+    /**
+     * 사전이 마지막으로 바뀐 시각 (항목 추가, 수정 감지용)
+     */
+    @Query("SELECT MAX(COALESCE(t.updatedAt, t.createdAt)) FROM KeywordCategoryTerm t")
+    LocalDateTime findLastModifiedAt();
+}
@@ -0,0 +1,40 @@
+package com.jsportal.repository;
+
+import com.jsportal.domain.keyword.KeywordCollectionTarget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 키워드 수집 대상 엔티티를 위한 저장소 인터페이스
+ */
+@Repository
+public interface KeywordCollectionTargetRepository extends JpaRepository<KeywordCollectionTarget, Long> {
+
+    /**
+     * 언어, 지역, 소스로 수집 대상 찾기
+     */
+    Optional<KeywordCollectionTarget> findByLanguageAndGeoAndSource(String language, String geo, String source);
+
+    /**
+     * 수집 예정 시각이 지난 활성 대상 조회
+     */
+    @Query("SELECT t FROM KeywordCollectionTarget t WHERE t.active = true " +
+           "AND (t.nextDueAt IS NULL OR t.nextDueAt <= :now) ORDER BY t.nextDueAt")
+    List<KeywordCollectionTarget> findDueTargets(LocalDateTime now);
+
+    /**
+     * 수집 예정 시각이 지났으면 다음 예정 시각을 임대 만료 시각으로 미뤄 이 노드가 수집을 맡음
+     * 수집 중 노드가 죽으면 임대 만료 후 다른 노드가 다시 수집합니다.
+     * @return 맡았으면 1, 다른 노드가 먼저 맡았으면 0
+     */
+    @Modifying
+    @Query("UPDATE KeywordCollectionTarget t SET t.nextDueAt = :leaseUntil " +
+           "WHERE t.id = :id AND t.active = true AND (t.nextDueAt IS NULL OR t.nextDueAt <= :now)")
+    int claim(Long id, LocalDateTime now, LocalDateTime leaseUntil);
+}
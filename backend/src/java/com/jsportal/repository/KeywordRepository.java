@@ -2,11 +2,12 @@ package com.jsportal.repository;
 
 import com.jsportal.domain.keyword.Keyword;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,17 @@ public interface KeywordRepository extends JpaRepository<Keyword, Long> {
     
     Optional<Keyword> findByKeywordAndLanguage(String keyword, String language);
     
+    Optional<Keyword> findByLanguageAndCanonicalKey(String language, String canonicalKey);
+    
+    List<Keyword> findByMergedIntoIdIsNullOrderById();
+    
+    /**
+     * 합쳐진 키워드를 가리키던 키워드들이 합친 키워드를 가리키도록 변경
+     */
+    @Modifying
+    @Query("UPDATE Keyword k SET k.mergedIntoId = :toId WHERE k.mergedIntoId = :fromId")
+    int reassignMerged(Long fromId, Long toId);
+    
     List<Keyword> findByLanguageAndActive(String language, boolean active);
     
     List<Keyword> findByLanguageAndActiveAndUpdatedAtAfter(String language, boolean active, LocalDateTime date);
@@ -25,9 +37,47 @@ public interface KeywordRepository extends JpaRepository<Keyword, Long> {
     
     long countByLanguageAndCreatedAtAfter(String language, LocalDateTime date);
     
-    @Query("SELECT k FROM Keyword k WHERE k.language = :language AND k.active = :active AND (k.lastGeneratedAt IS NULL OR k.lastGeneratedAt < :cutoffDate) ORDER BY k.priority DESC")
-    List<Keyword> findByLanguageAndActiveAndLastGeneratedAtIsNullOrLastGeneratedAtBefore(
-        @Param("language") String language, 
-        @Param("active") boolean active, 
-        @Param("cutoffDate") LocalDateTime cutoffDate);
+    /**
+     * since 이후 관측이 없는 수집 키워드를 비활성화 (다시 관측되면 수집 시 활성화됨)
+     * @return 비활성화한 키워드 수
+     */
+    @Modifying
+    @Query("UPDATE Keyword k SET k.active = false WHERE k.source = :source AND k.active = true AND k.createdAt < :since " +
+           "AND NOT EXISTS (SELECT s.id FROM KeywordSource s WHERE s.keywordId = k.id AND s.collectionDate >= :since)")
+    int deactivateUnobservedSince(String source, LocalDateTime since);
+    
+    List<Keyword> findBySourceAndActiveTrueAndScoredAtIsNull(String source);
+    
+    List<Keyword> findBySourceAndActiveTrueAndScoredAtBefore(String source, LocalDateTime cutoff);
+    
+    /**
+     * 점수를 계산한 뒤 다른 곳에서 점수가 갱신되지 않았을 때만 추세 점수와 우선순위 저장
+     * @return 저장했으면 1, 그 사이 새 관측이 반영되었으면 0
+     */
+    @Modifying
+    @Query("UPDATE Keyword k SET k.trendScore = :trendScore, k.baselineScore = :baselineScore, " +
+           "k.trendVelocity = :velocity, k.trendAcceleration = :acceleration, k.priority = :priority, k.scoredAt = :scoredAt " +
+           "WHERE k.id = :id AND k.scoredAt = :previousScoredAt")
+    int updateTrendScore(Long id, double trendScore, double baselineScore, double velocity, double acceleration,
+                         int priority, LocalDateTime scoredAt, LocalDateTime previousScoredAt);
+    
+    /**
+     * 콘텐츠 생성 대상 키워드를 우선순위 순으로 최대 limit개 잠그고 조회
+     * 활성 상태이고 생성한 적이 없거나 cutoff 이전에 생성했으며, 다른 실행이 선택하지 않은 키워드가 대상입니다.
+     * 다른 트랜잭션이 잠근 행은 건너뛰며, 트랜잭션 안에서 호출해야 합니다.
+     */
+    @Query(value = "SELECT * FROM keywords " +
+                   "WHERE language = :language AND active = true " +
+                   "AND (last_generated_at IS NULL OR last_generated_at < :cutoff) " +
+                   "AND (generation_claimed_until IS NULL OR generation_claimed_until < :now) " +
+                   "ORDER BY priority DESC, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Keyword> lockGenerationCandidates(String language, LocalDateTime cutoff, LocalDateTime now, int limit);
+    
+    /**
+     * 생성 작업으로 등록하지 못한 키워드의 선택 해제
+     */
+    @Modifying
+    @Query("UPDATE Keyword k SET k.generationClaimedUntil = NULL WHERE k.id IN :ids")
+    int releaseGenerationClaims(Collection<Long> ids);
 } 
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.jsportal.repository;
 
 import com.jsportal.domain.keyword.KeywordSource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -17,4 +19,33 @@ public interface KeywordSourceRepository extends JpaRepository<KeywordSource, Lo
     List<KeywordSource> findByCollectionDateAfter(LocalDateTime date);
     
     List<KeywordSource> findByKeywordIdAndSourceName(Long keywordId, String sourceName);
-} 
\ No newline at end of file
+    
+    /**
+     * 키워드를 합칠 때 관측 기록을 합친 키워드로 옮김
+     */
+    @Modifying
+    @Query("UPDATE KeywordSource s SET s.keywordId = :toId WHERE s.keywordId = :fromId")
+    int reassign(Long fromId, Long toId);
+    
+    /**
+     * 가장 오래된 관측 기록의 생성 시각 (보관 테이블 파티션 준비용)
+     */
+    @Query("SELECT MIN(s.createdAt) FROM KeywordSource s")
+    LocalDateTime findOldestCreatedAt();
+    
+    /**
+     * cutoff 이전에 만든 관측 기록을 최대 limit개 보관 테이블로 옮김
+     * 삭제와 보관 테이블 저장을 한 문장으로 처리하며, 다른 트랜잭션이 잠근 행은 건너뜁니다.
+     * @return 옮긴 행 수
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (" +
+                   "DELETE FROM keyword_sources WHERE id IN (" +
+                   "SELECT id FROM keyword_sources WHERE created_at < :cutoff " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING id, keyword_id, source_name, collection_date, details, created_at) " +
+                   "INSERT INTO keyword_sources_archive (id, keyword_id, source_name, collection_date, details, created_at) " +
+                   "SELECT id, keyword_id, source_name, collection_date, details, created_at FROM moved",
+           nativeQuery = true)
+    int archiveCreatedBefore(LocalDateTime cutoff, int limit);
+}
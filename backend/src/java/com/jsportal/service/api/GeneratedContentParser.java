@@ -0,0 +1,263 @@
+package com.jsportal.service.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jsportal.domain.content.Content;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * LLM이 생성한 텍스트를 Content 필드로 변환하는 파서
+ * JSON 스키마 응답은 스트리밍 JsonParser로 한 번만 읽어 바로 Content에 채우고,
+ * 형식을 강제하지 않은 응답이 JSON이 아니면 첫 줄을 제목, 나머지를 본문으로 보는 기존 방식으로 처리합니다.
+ */
+public final class GeneratedContentParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final int TITLE_MAX_LENGTH = 255;
+    private static final int EXCERPT_MAX_LENGTH = 1000;
+    private static final int CATEGORY_MAX_LENGTH = 50;
+    private static final int TAGS_MAX_LENGTH = 500;
+    private static final int SLUG_MAX_LENGTH = 200;
+    private static final int MAX_TAGS = 10;
+
+    /**
+     * 응답 JSON 스키마 (OpenAI response_format, Ollama format에 사용)
+     */
+    public static final Map<String, Object> RESPONSE_SCHEMA = Map.of(
+        "type", "object",
+        "properties", Map.of(
+            "title", Map.of("type", "string"),
+            "body", Map.of("type", "string"),
+            "excerpt", Map.of("type", "string"),
+            "tags", Map.of("type", "array", "items", Map.of("type", "string")),
+            "category", Map.of("type", "string"),
+            "slug", Map.of("type", "string")
+        ),
+        "required", List.of("title", "body", "excerpt", "tags", "category", "slug"),
+        "additionalProperties", false
+    );
+
+    /**
+     * 프롬프트 끝에 덧붙이는 응답 형식 안내
+     */
+    public static final String RESPONSE_INSTRUCTION = "\n\nRespond only with a JSON object with these fields: "
+        + "title, body (the full article, same language as requested), excerpt (1-2 sentence summary), "
+        + "tags (up to 5 short keywords), category (one word such as general, tech, health, entertainment), "
+        + "slug (short lowercase URL slug using a-z, 0-9 and hyphens).";
+
+    private GeneratedContentParser() {
+    }
+
+    /**
+     * 생성된 텍스트를 Content에 채움
+     * JSON 응답이면 모든 필드를, 아니면 제목과 본문만 채웁니다.
+     * 응답 스키마로 형식을 강제했는데 JSON으로 읽을 수 없으면(중간에 잘린 응답 등) 텍스트로 처리하지 않고 실패로 봅니다.
+     * 키워드 콘텐츠처럼 이미 카테고리가 정해진 경우 응답의 카테고리로 덮어쓰지 않습니다.
+     * @param generatedText LLM 응답 텍스트
+     * @param content 채울 콘텐츠
+     * @param structured 응답 스키마로 형식을 강제한 응답인지 여부
+     * @return 채웠으면 true (false면 Content를 변경하지 않음)
+     */
+    public static boolean apply(String generatedText, Content content, boolean structured) {
+        if (applyJson(generatedText, content)) {
+            return true;
+        }
+        if (structured) {
+            return false;
+        }
+        applyPlainText(generatedText, content);
+        return true;
+    }
+
+    /**
+     * JSON 응답을 스트리밍으로 한 번 읽어 Content에 채움
+     * 응답 앞뒤의 코드 펜스 등은 첫 '{'부터 읽어 무시합니다.
+     * @return 제목과 본문을 모두 읽었으면 true (false면 Content를 변경하지 않음)
+     */
+    static boolean applyJson(String generatedText, Content content) {
+        int start = generatedText.indexOf('{');
+        if (start < 0) {
+            return false;
+        }
+
+        String title = null;
+        String body = null;
+        String excerpt = null;
+        String tags = null;
+        String category = null;
+        String slug = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(generatedText.substring(start))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "title":
+                        title = textValue(parser, value);
+                        break;
+                    case "body":
+                        body = textValue(parser, value);
+                        break;
+                    case "excerpt":
+                        excerpt = textValue(parser, value);
+                        break;
+                    case "category":
+                        category = textValue(parser, value);
+                        break;
+                    case "slug":
+                        slug = textValue(parser, value);
+                        break;
+                    case "tags":
+                        tags = readTags(parser, value);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+
+        if (isBlank(title) || isBlank(body)) {
+            return false;
+        }
+
+        content.setTitle(truncate(stripHeadingMarker(title.trim()), TITLE_MAX_LENGTH));
+        content.setBody(body.trim());
+        if (!isBlank(excerpt)) {
+            content.setExcerpt(truncate(excerpt.trim(), EXCERPT_MAX_LENGTH));
+        }
+        if (!isBlank(tags)) {
+            content.setTags(tags);
+        }
+        if (content.getCategory() == null && !isBlank(category)) {
+            content.setCategory(truncate(category.trim().toLowerCase(Locale.ROOT), CATEGORY_MAX_LENGTH));
+        }
+        String normalizedSlug = slug != null ? normalizeSlug(slug) : null;
+        if (!isBlank(normalizedSlug)) {
+            content.setSlug(normalizedSlug);
+        }
+        return true;
+    }
+
+    /**
+     * 일반 텍스트 응답 처리: 첫 번째 비어 있지 않은 줄을 제목으로, 나머지를 본문으로 사용
+     * 텍스트를 한 번만 훑으며 줄 단위로 잘라냅니다.
+     */
+    static void applyPlainText(String generatedText, Content content) {
+        String title = null;
+        StringBuilder body = new StringBuilder();
+        int length = generatedText.length();
+        int lineStart = 0;
+
+        while (lineStart <= length) {
+            int lineEnd = generatedText.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            String line = generatedText.substring(lineStart, lineEnd).trim();
+
+            if (title == null) {
+                if (!line.isEmpty()) {
+                    title = stripHeadingMarker(line);
+                }
+            } else {
+                body.append(line).append('\n');
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        content.setTitle(title != null ? truncate(title, TITLE_MAX_LENGTH) : "Generated Content");
+        content.setBody(body.toString().trim());
+    }
+
+    /**
+     * 슬러그 힌트를 URL에 쓸 수 있는 형태로 정리
+     * 소문자 영숫자와 한글 등 문자만 남기고 나머지는 하이픈 하나로 합칩니다.
+     */
+    static String normalizeSlug(String slugHint) {
+        String normalized = Normalizer.normalize(slugHint, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder slug = new StringBuilder(Math.min(normalized.length(), SLUG_MAX_LENGTH));
+        boolean pendingHyphen = false;
+
+        for (int i = 0; i < normalized.length() && slug.length() < SLUG_MAX_LENGTH; i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingHyphen && slug.length() > 0) {
+                    slug.append('-');
+                }
+                slug.append(c);
+                pendingHyphen = false;
+            } else {
+                pendingHyphen = true;
+            }
+        }
+
+        return slug.toString();
+    }
+
+    private static String textValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * 태그 배열을 쉼표로 구분된 문자열로 변환
+     */
+    private static String readTags(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        StringJoiner tags = new StringJoiner(",");
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_STRING && count < MAX_TAGS) {
+                String tag = parser.getText().replace(',', ' ').trim();
+                if (!tag.isEmpty() && tags.length() + tag.length() + 1 <= TAGS_MAX_LENGTH) {
+                    tags.add(tag);
+                    count++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tags.toString();
+    }
+
+    /**
+     * 마크다운 제목 표시(# ) 제거
+     */
+    private static String stripHeadingMarker(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) == '#') {
+            i++;
+        }
+        return i > 0 && i < line.length() && line.charAt(i) == ' ' ? line.substring(i + 1) : line;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,377 @@
+package com.jsportal.service.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsportal.domain.content.Content;
+import com.jsportal.domain.content.GenerationBatch;
+import com.jsportal.domain.keyword.Keyword;
+import com.jsportal.repository.ContentRepository;
+import com.jsportal.repository.GenerationBatchRepository;
+import com.jsportal.repository.KeywordRepository;
+import com.jsportal.service.api.llm.OpenAiCompatibleProvider;
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * OpenAI Batch API를 사용하여 키워드 콘텐츠를 비동기로 대량 생성하는 서비스
+ * 요청을 JSONL 파일로 업로드해 하나의 배치 작업으로 제출하고,
+ * 주기적으로 상태를 확인하여 완료된 결과를 contents 테이블에 일괄 저장합니다.
+ * openai.api.base-url을 로컬 대체 서버로 지정하면 실제 API 없이 동작을 확인할 수 있습니다.
+ */
+@Service
+public class OpenAiBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiBatchService.class);
+
+    // custom_id 접두사 (kw-<키워드 ID>)
+    private static final String KEYWORD_ID_PREFIX = "kw-";
+
+    // 아직 결과를 수집하지 않은 배치 상태
+    private static final Set<String> ACTIVE_STATUSES = Set.of("validating", "in_progress", "finalizing", "completed");
+
+    // 결과 없이 종료된 배치 상태
+    private static final Set<String> TERMINAL_STATUSES = Set.of("failed", "expired", "cancelled");
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final OpenAiService openAiService;
+    private final GenerationBatchRepository generationBatchRepository;
+    private final KeywordRepository keywordRepository;
+    private final ContentRepository contentRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    @Value("${openai.api.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${openai.batch.completion-window:24h}")
+    private String completionWindow;
+
+    @Value("${openai.batch.ingest-chunk-size:100}")
+    private int ingestChunkSize;
+
+    @Autowired
+    public OpenAiBatchService(RestTemplate restTemplate, ObjectMapper objectMapper,
+                              OpenAiService openAiService,
+                              GenerationBatchRepository generationBatchRepository,
+                              KeywordRepository keywordRepository,
+                              ContentRepository contentRepository,
+                              JobLockService jobLockService,
+                              PlatformTransactionManager transactionManager) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.openAiService = openAiService;
+        this.generationBatchRepository = generationBatchRepository;
+        this.keywordRepository = keywordRepository;
+        this.contentRepository = contentRepository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 키워드 목록으로 배치 요청 파일을 만들어 제출
+     * @param keywords 콘텐츠를 생성할 키워드 목록
+     * @param language 언어 코드
+     * @return 제출된 배치 작업, 제출할 키워드가 없으면 null
+     */
+    public GenerationBatch submitKeywordBatch(List<Keyword> keywords, String language) throws IOException {
+        if (keywords.isEmpty()) {
+            return null;
+        }
+
+        byte[] requestFile = buildKeywordRequestFile(keywords, language);
+        String inputFileId = uploadRequestFile(requestFile);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("input_file_id", inputFileId);
+        requestBody.put("endpoint", "/v1/chat/completions");
+        requestBody.put("completion_window", completionWindow);
+
+        JsonNode batchNode = postJson(baseUrl + "/batches", requestBody);
+
+        GenerationBatch batch = new GenerationBatch();
+        batch.setBatchId(batchNode.path("id").asText());
+        batch.setInputFileId(inputFileId);
+        batch.setStatus(batchNode.path("status").asText("validating"));
+        batch.setLanguage(language);
+        batch.setRequestCount(keywords.size());
+        GenerationBatch savedBatch = generationBatchRepository.save(batch);
+
+        logger.info("Submitted content generation batch {} with {} requests", savedBatch.getBatchId(), keywords.size());
+        return savedBatch;
+    }
+
+    /**
+     * 특정 언어로 결과를 아직 수집하지 않은 배치가 있는지 확인
+     */
+    public boolean hasActiveBatch(String language) {
+        return generationBatchRepository.existsByLanguageAndStatusIn(language, ACTIVE_STATUSES);
+    }
+
+    /**
+     * 진행 중인 배치 작업의 상태를 확인하고, 완료된 배치의 결과를 수집
+     * 기본 5분마다 실행 (같은 결과를 두 노드가 저장하지 않도록 잠금을 얻은 한 노드만 실행)
+     */
+    @Workload(WorkloadType.LLM)
+    @Scheduled(fixedDelayString = "${openai.batch.poll-interval-ms:300000}",
+               initialDelayString = "${openai.batch.initial-delay-ms:60000}")
+    public void pollBatches() {
+        jobLockService.runExclusive("openai-batch-poll", lease -> {
+            List<GenerationBatch> activeBatches = generationBatchRepository.findByStatusIn(ACTIVE_STATUSES);
+
+            for (GenerationBatch batch : activeBatches) {
+                if (lease.isLost()) {
+                    logger.warn("Lost batch polling lock, stopping");
+                    return;
+                }
+                try {
+                    checkBatch(batch);
+                } catch (Exception e) {
+                    logger.error("Error checking batch {}: {}", batch.getBatchId(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 단일 배치 작업의 상태를 갱신하고, 완료되었으면 결과를 수집
+     * @return 저장된 콘텐츠 수
+     */
+    public int checkBatch(GenerationBatch batch) throws IOException {
+        String response = restTemplate.exchange(baseUrl + "/batches/" + batch.getBatchId(), HttpMethod.GET,
+            new HttpEntity<>(authHeaders()), String.class).getBody();
+        JsonNode batchNode = objectMapper.readTree(response);
+
+        String status = batchNode.path("status").asText();
+        batch.setStatus(status);
+        batch.setOutputFileId(batchNode.path("output_file_id").asText(null));
+        batch.setErrorFileId(batchNode.path("error_file_id").asText(null));
+        batch.setFailedCount(batchNode.path("request_counts").path("failed").asInt(0));
+
+        if (TERMINAL_STATUSES.contains(status)) {
+            logger.warn("Batch {} ended with status {}", batch.getBatchId(), status);
+            batch.setCompletedAt(LocalDateTime.now());
+            generationBatchRepository.save(batch);
+            return 0;
+        }
+
+        if (!"completed".equals(status)) {
+            generationBatchRepository.save(batch);
+            return 0;
+        }
+
+        // 수집 건수는 청크를 저장할 때마다 누적됨 (중단 후 다시 수집하면 이전 수집분에 더해짐)
+        int ingestedCount = batch.getOutputFileId() != null ? ingestResults(batch) : 0;
+        batch.setStatus("ingested");
+        batch.setCompletedAt(LocalDateTime.now());
+        generationBatchRepository.save(batch);
+
+        logger.info("Ingested {} contents from batch {} ({} failed requests)",
+            ingestedCount, batch.getBatchId(), batch.getFailedCount());
+        return ingestedCount;
+    }
+
+    /**
+     * 키워드별 Chat Completions 요청을 한 줄씩 담은 JSONL 파일 생성
+     */
+    byte[] buildKeywordRequestFile(List<Keyword> keywords, String language) throws IOException {
+        StringBuilder lines = new StringBuilder();
+
+        for (Keyword keyword : keywords) {
+            String prompt = openAiService.buildKeywordPrompt(keyword.getKeyword(), keyword.getCategory(), language);
+
+            Map<String, Object> line = new HashMap<>();
+            line.put("custom_id", KEYWORD_ID_PREFIX + keyword.getId());
+            line.put("method", "POST");
+            line.put("url", "/v1/chat/completions");
+            line.put("body", openAiService.buildChatRequestBody(prompt));
+
+            lines.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 배치 요청 파일 업로드
+     * @return 업로드된 파일 ID
+     */
+    private String uploadRequestFile(byte[] requestFile) throws IOException {
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("purpose", "batch");
+        form.add("file", new ByteArrayResource(requestFile) {
+            @Override
+            public String getFilename() {
+                return "keyword-content-batch.jsonl";
+            }
+        });
+
+        String response = restTemplate.postForObject(baseUrl + "/files", new HttpEntity<>(form, headers), String.class);
+        return objectMapper.readTree(response).path("id").asText();
+    }
+
+    /**
+     * 배치 결과 파일을 한 줄씩 읽어 콘텐츠로 변환하고 청크 단위로 일괄 저장
+     * 이미 이 배치 이후에 생성 처리된 키워드는 건너뛰어, 수집 도중 중단되어 다시 수집해도 중복 저장하지 않습니다.
+     */
+    private int ingestResults(GenerationBatch batch) {
+        Integer ingestedCount = restTemplate.execute(
+            baseUrl + "/files/" + batch.getOutputFileId() + "/content",
+            HttpMethod.GET,
+            request -> request.getHeaders().setBearerAuth(apiKey),
+            response -> {
+                int count = 0;
+                Map<Long, String> chunk = new HashMap<>();
+
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        parseResultLine(line, chunk);
+                        if (chunk.size() >= ingestChunkSize) {
+                            count += saveChunk(batch, chunk);
+                            chunk.clear();
+                        }
+                    }
+                }
+
+                return count + saveChunk(batch, chunk);
+            });
+
+        return ingestedCount != null ? ingestedCount : 0;
+    }
+
+    /**
+     * 결과 파일의 한 줄을 파싱하여 성공한 응답의 생성 텍스트를 키워드 ID별로 모음
+     */
+    private void parseResultLine(String line, Map<Long, String> chunk) {
+        try {
+            JsonNode resultNode = objectMapper.readTree(line);
+            String customId = resultNode.path("custom_id").asText();
+            JsonNode responseNode = resultNode.path("response");
+
+            if (!customId.startsWith(KEYWORD_ID_PREFIX) || responseNode.path("status_code").asInt() != 200) {
+                logger.warn("Skipping failed batch result {}: {}", customId, resultNode.path("error"));
+                return;
+            }
+
+            JsonNode choicesNode = responseNode.path("body").path("choices");
+            if (choicesNode.isArray() && choicesNode.size() > 0) {
+                // 형식을 강제한 응답이 max_tokens에서 잘렸으면 JSON이 완성되지 않았으므로 버림 (키워드는 다음 생성 주기에 다시 생성)
+                if (OpenAiCompatibleProvider.FINISH_REASON_LENGTH.equals(choicesNode.get(0).path("finish_reason").asText())
+                        && openAiService.isBatchResponseStructured()) {
+                    logger.warn("Skipping truncated batch result {}", customId);
+                    return;
+                }
+                String generatedText = choicesNode.get(0).path("message").path("content").asText();
+                if (!generatedText.isEmpty()) {
+                    chunk.put(Long.valueOf(customId.substring(KEYWORD_ID_PREFIX.length())), generatedText);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error parsing batch result line: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모인 결과를 콘텐츠로 변환해 저장하고 키워드의 최근 생성 시간을 갱신
+     * 콘텐츠 저장, 키워드 갱신, 배치의 수집 건수 갱신을 한 트랜잭션으로 처리하여
+     * 중간에 실패해도 콘텐츠만 저장되고 키워드는 미처리로 남는 일이 없어, 다시 수집할 때 중복 저장되지 않습니다.
+     */
+    private int saveChunk(GenerationBatch batch, Map<Long, String> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        Integer savedCount = transactionTemplate.execute(status -> {
+            Map<Long, Keyword> keywords = keywordRepository.findAllById(chunk.keySet()).stream()
+                .collect(Collectors.toMap(Keyword::getId, Function.identity()));
+
+            List<Content> contents = new ArrayList<>();
+            List<Keyword> generatedKeywords = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+
+            for (Map.Entry<Long, String> entry : chunk.entrySet()) {
+                Keyword keyword = keywords.get(entry.getKey());
+                if (keyword == null || (keyword.getLastGeneratedAt() != null
+                        && keyword.getLastGeneratedAt().isAfter(batch.getCreatedAt()))) {
+                    continue;
+                }
+
+                Content content = openAiService.buildKeywordContent(entry.getValue(),
+                    openAiService.isBatchResponseStructured(), keyword.getKeyword(), keyword.getCategory(), batch.getLanguage());
+                if (content == null) {
+                    logger.warn("Skipping batch result for keyword {} that is not the requested JSON", keyword.getId());
+                    continue;
+                }
+                openAiService.claimUniqueSlug(content);
+                contents.add(content);
+                keyword.setLastGeneratedAt(now);
+                generatedKeywords.add(keyword);
+            }
+
+            contentRepository.saveAll(contents);
+            keywordRepository.saveAll(generatedKeywords);
+
+            // 수집 도중 중단되어도 여기까지 저장한 건수가 배치에 남도록 함께 갱신
+            batch.setIngestedCount((batch.getIngestedCount() != null ? batch.getIngestedCount() : 0) + contents.size());
+            generationBatchRepository.save(batch);
+            return contents.size();
+        });
+
+        return savedCount != null ? savedCount : 0;
+    }
+
+    private JsonNode postJson(String url, Map<String, Object> requestBody) throws IOException {
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        String response = restTemplate.postForObject(url, new HttpEntity<>(requestBody, headers), String.class);
+        return objectMapper.readTree(response);
+    }
+
+    private HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(apiKey);
+        return headers;
+    }
+}
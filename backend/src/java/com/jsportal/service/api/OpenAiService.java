@@ -1,52 +1,71 @@
 package com.jsportal.service.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jsportal.domain.content.Content;
 import com.jsportal.domain.keyword.Keyword;
 import com.jsportal.repository.ContentRepository;
+import com.jsportal.repository.ContentSlugRepository;
+import com.jsportal.service.api.llm.LlmCompletion;
+import com.jsportal.service.api.llm.LlmException;
+import com.jsportal.service.api.llm.LlmRouter;
+import com.jsportal.service.api.llm.OpenAiCompatibleProvider;
+import com.jsportal.service.api.llm.TokenCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
- * OpenAI API를 사용하여 콘텐츠를 생성하는 서비스
+ * LLM을 사용하여 콘텐츠를 생성하는 서비스
+ * 실제 호출은 LlmRouter가 선택한 백엔드(OpenAI 호환 API, 로컬 LLM 서버 등)로 전달됩니다.
  */
 @Service
 public class OpenAiService {
 
     private static final Logger logger = LoggerFactory.getLogger(OpenAiService.class);
     
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final LlmRouter llmRouter;
+    private final OpenAiCompatibleProvider openAiProvider;
+    private final TokenCounter tokenCounter;
+    private final ContentRepository contentRepository;
+    private final ContentSlugRepository contentSlugRepository;
+    private final TransactionTemplate transactionTemplate;
     
-    @Value("${openai.api.key}")
-    private String apiKey;
+    // 요청 유형별 최대 생성 토큰 수
+    @Value("${llm.max-tokens.keyword:${openai.api.max-tokens:2048}}")
+    private int keywordMaxTokens;
     
-    @Value("${openai.api.model:gpt-3.5-turbo}")
-    private String model;
+    @Value("${llm.max-tokens.fun:1024}")
+    private int funMaxTokens;
     
-    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
-    private String apiUrl;
+    // 모델 컨텍스트 크기 (프롬프트 + 생성 토큰)
+    @Value("${llm.context-window-tokens:8192}")
+    private int contextWindowTokens;
     
-    private final ContentRepository contentRepository;
+    // 프롬프트에 넣을 원본 콘텐츠의 최대 토큰 수
+    @Value("${llm.prompt.max-input-tokens:3000}")
+    private int maxInputTokens;
+    
+    // 제목, 본문, 요약, 태그 등을 JSON 스키마 응답으로 받을지 여부
+    @Value("${llm.structured-output:true}")
+    private boolean structuredOutput;
 
     @Autowired
-    public OpenAiService(RestTemplate restTemplate, ContentRepository contentRepository, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
+    public OpenAiService(LlmRouter llmRouter, OpenAiCompatibleProvider openAiProvider,
+                         TokenCounter tokenCounter, ContentRepository contentRepository,
+                         ContentSlugRepository contentSlugRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.llmRouter = llmRouter;
+        this.openAiProvider = openAiProvider;
+        this.tokenCounter = tokenCounter;
         this.contentRepository = contentRepository;
-        this.objectMapper = objectMapper;
+        this.contentSlugRepository = contentSlugRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
     /**
@@ -61,17 +80,19 @@ public class OpenAiService {
         
         try {
             String prompt = buildPrompt(originalContent, language);
-            String generatedText = callOpenAiApi(prompt);
+            LlmCompletion completion = generateText(prompt, funMaxTokens, false);
             
-            if (generatedText == null || generatedText.isEmpty()) {
+            if (completion == null || completion.getText().isEmpty()) {
                 logger.error("Failed to generate content, received empty response");
                 return null;
             }
             
             // 콘텐츠 객체 생성
             Content content = new Content();
-            content.setTitle(extractTitle(generatedText));
-            content.setBody(extractBody(generatedText));
+            if (!GeneratedContentParser.apply(completion.getText(), content, completion.isStructured())) {
+                logger.error("Failed to generate content, response from {} is not the requested JSON", completion.getProvider());
+                return null;
+            }
             content.setLanguage(language);
             content.setSource("OpenAI");
             content.setOriginalSource(source);
@@ -111,138 +132,164 @@ public class OpenAiService {
                                "Include a title and body. Make it more interesting than the original content: \n\n%s";
         }
         
-        return String.format(promptTemplate, originalContent);
+        // 원본 콘텐츠는 길이 제한이 없으므로 컨텍스트와 입력 예산에 맞게 자름
+        int templateTokens = tokenCounter.count(withResponseInstruction(String.format(promptTemplate, "")));
+        int inputBudget = Math.min(maxInputTokens, contextWindowTokens - funMaxTokens - templateTokens);
+        String input = tokenCounter.truncate(originalContent, inputBudget);
+        if (input.length() < originalContent.length()) {
+            logger.info("Truncated original content from {} to {} characters to fit {} tokens",
+                originalContent.length(), input.length(), inputBudget);
+        }
+        
+        return withResponseInstruction(String.format(promptTemplate, input));
     }
     
     /**
-     * OpenAI API 호출
+     * Chat Completions 요청 본문 생성 (배치 요청 파일에서도 같은 형식을 사용)
      */
-    private String callOpenAiApi(String prompt) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-            
-            Map<String, Object> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", prompt);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("messages", new Object[]{message});
-            requestBody.put("temperature", 0.7);
-            requestBody.put("max_tokens", 500);
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, entity, String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode rootNode = objectMapper.readTree(response.getBody());
-                JsonNode choicesNode = rootNode.path("choices");
-                
-                if (choicesNode.isArray() && choicesNode.size() > 0) {
-                    return choicesNode.get(0).path("message").path("content").asText();
-                }
-            }
-            
-            logger.error("API call failed with status code: {}", response.getStatusCodeValue());
+    Map<String, Object> buildChatRequestBody(String prompt) {
+        return openAiProvider.buildRequestBody(prompt, keywordMaxTokens, responseSchema());
+    }
+    
+    /**
+     * Batch API 응답이 응답 스키마로 형식을 강제한 응답인지 여부 (요청 파일을 만들 때와 같은 설정 기준)
+     */
+    boolean isBatchResponseStructured() {
+        return openAiProvider.constrainsFormat(responseSchema());
+    }
+    
+    /**
+     * 구조화된 응답 사용 시 응답 JSON 스키마
+     */
+    private Map<String, Object> responseSchema() {
+        return structuredOutput ? GeneratedContentParser.RESPONSE_SCHEMA : null;
+    }
+    
+    /**
+     * 라우터를 통해 사용 가능한 LLM 백엔드로 텍스트 생성
+     * 프롬프트와 생성 토큰의 합이 컨텍스트 크기를 넘지 않도록 최대 생성 토큰 수를 줄입니다.
+     * @param maxTokens 요청 유형별 최대 생성 토큰 수
+     * @param hedged 헤지 요청 사용 여부 (응답 시간이 중요한 관리자 요청용)
+     * @return 생성 결과, 모든 백엔드가 실패하면 null
+     */
+    private LlmCompletion generateText(String prompt, int maxTokens, boolean hedged) {
+        int promptTokens = tokenCounter.count(prompt);
+        int allowedTokens = Math.min(maxTokens, contextWindowTokens - promptTokens);
+        if (allowedTokens <= 0) {
+            logger.error("Prompt of {} tokens does not fit the context window of {}", promptTokens, contextWindowTokens);
             return null;
-        } catch (Exception e) {
-            logger.error("Error calling OpenAI API: {}", e.getMessage(), e);
+        }
+        
+        try {
+            LlmCompletion completion = hedged
+                ? llmRouter.completeHedged(prompt, allowedTokens, responseSchema())
+                : llmRouter.complete(prompt, allowedTokens, responseSchema());
+            logger.debug("Generated text with provider {} ({} prompt + {} completion tokens)",
+                completion.getProvider(), completion.getPromptTokens(), completion.getCompletionTokens());
+            return completion;
+        } catch (LlmException e) {
+            logger.error("Error generating text: {}", e.getMessage());
             return null;
         }
     }
     
     /**
-     * 생성된 텍스트에서 제목 추출
+     * 키워드를 기반으로 콘텐츠 생성
+     * @param keyword 키워드
+     * @param category 카테고리
+     * @param language 언어 코드
+     * @return 생성된 콘텐츠
      */
-    private String extractTitle(String generatedText) {
-        // 일반적으로 첫 번째 줄이 제목일 가능성이 높습니다.
-        String[] lines = generatedText.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (!line.isEmpty()) {
-                // # 또는 다른 마크다운 형식의 제목 표시 제거
-                return line.replaceAll("^#+ ", "");
-            }
-        }
-        
-        // 제목을 찾지 못한 경우 기본값 반환
-        return "Generated Content";
+    public Content generateKeywordContent(String keyword, String category, String language) {
+        return generateKeywordContent(keyword, category, language, false);
     }
     
     /**
-     * 생성된 텍스트에서 본문 추출
+     * 키워드를 기반으로 콘텐츠 생성
+     * @param keyword 키워드
+     * @param category 카테고리
+     * @param language 언어 코드
+     * @param hedged 헤지 요청 사용 여부 (관리자 수동 생성처럼 응답 시간이 중요한 경우)
+     * @return 생성된 콘텐츠
      */
-    private String extractBody(String generatedText) {
-        String[] lines = generatedText.split("\n");
-        boolean titleFound = false;
-        StringBuilder body = new StringBuilder();
+    public Content generateKeywordContent(String keyword, String category, String language, boolean hedged) {
+        Content content = createKeywordContent(keyword, category, language, hedged);
+        if (content == null) {
+            return null;
+        }
         
-        for (String line : lines) {
-            line = line.trim();
-            
-            if (!titleFound && !line.isEmpty()) {
-                // 첫 번째 비어있지 않은 줄은 제목으로 간주
-                titleFound = true;
-                continue;
-            }
+        try {
+            // 슬러그 등록과 콘텐츠 저장을 한 트랜잭션으로 처리
+            Content savedContent = transactionTemplate.execute(status -> {
+                claimUniqueSlug(content);
+                return contentRepository.save(content);
+            });
             
-            if (titleFound) {
-                body.append(line).append("\n");
-            }
+            logger.info("Successfully generated and saved content: {}", content.getTitle());
+            return savedContent;
+        } catch (Exception e) {
+            logger.error("Error saving content for keyword {}: {}", keyword, e.getMessage(), e);
+            return null;
         }
-        
-        return body.toString().trim();
     }
-
+    
     /**
-     * 키워드를 기반으로 콘텐츠 생성
+     * 키워드를 기반으로 콘텐츠를 생성하되 저장하지 않음
+     * 생성 작업처럼 작업 완료 처리와 같은 트랜잭션에서 저장해야 하는 경우에 사용합니다.
      * @param keyword 키워드
      * @param category 카테고리
      * @param language 언어 코드
-     * @return 생성된 콘텐츠
+     * @param hedged 헤지 요청 사용 여부
+     * @return 저장되지 않은 콘텐츠, 생성에 실패하면 null
      */
-    public Content generateKeywordContent(String keyword, String category, String language) {
+    public Content createKeywordContent(String keyword, String category, String language, boolean hedged) {
         logger.info("Generating content for keyword '{}' in category '{}', language '{}'", keyword, category, language);
         
         try {
             String prompt = buildKeywordPrompt(keyword, category, language);
-            String generatedText = callOpenAiApi(prompt);
+            LlmCompletion completion = generateText(prompt, keywordMaxTokens, hedged);
             
-            if (generatedText == null || generatedText.isEmpty()) {
+            if (completion == null || completion.getText().isEmpty()) {
                 logger.error("Failed to generate content, received empty response");
                 return null;
             }
             
-            // 콘텐츠 객체 생성
-            Content content = new Content();
-            content.setTitle(extractTitle(generatedText));
-            content.setBody(extractBody(generatedText));
-            content.setLanguage(language);
-            content.setSource("OpenAI");
-            content.setType("KEYWORD");
-            content.setCategory(category);
-            content.setKeyword(keyword);
-            content.setStatus("PUBLISHED");
-            content.setCreatedAt(LocalDateTime.now());
-            
-            // 콘텐츠 저장
-            Content savedContent = contentRepository.save(content);
-            
-            logger.info("Successfully generated and saved content: {}", content.getTitle());
-            return savedContent;
+            Content content = buildKeywordContent(completion.getText(), completion.isStructured(), keyword, category, language);
+            if (content == null) {
+                logger.error("Failed to generate content for keyword {}, response from {} is not the requested JSON",
+                    keyword, completion.getProvider());
+            }
+            return content;
         } catch (Exception e) {
             logger.error("Error generating content for keyword {}: {}", keyword, e.getMessage(), e);
             return null;
         }
     }
     
+    /**
+     * 생성된 텍스트로 키워드 콘텐츠 객체 생성
+     * @param structured 응답 스키마로 형식을 강제한 응답인지 여부
+     * @return 콘텐츠, 형식을 강제한 응답을 JSON으로 읽을 수 없으면 null
+     */
+    Content buildKeywordContent(String generatedText, boolean structured, String keyword, String category, String language) {
+        Content content = new Content();
+        content.setCategory(category);
+        if (!GeneratedContentParser.apply(generatedText, content, structured)) {
+            return null;
+        }
+        content.setLanguage(language);
+        content.setSource("OpenAI");
+        content.setType("KEYWORD");
+        content.setKeyword(keyword);
+        content.setStatus("PUBLISHED");
+        content.setCreatedAt(LocalDateTime.now());
+        return content;
+    }
+    
     /**
      * 키워드 기반 프롬프트 생성
      */
-    private String buildKeywordPrompt(String keyword, String category, String language) {
+    String buildKeywordPrompt(String keyword, String category, String language) {
         String promptTemplate = "";
         
         if ("ko".equals(language)) {
@@ -265,6 +312,32 @@ public class OpenAiService {
                            "明確なタイトルと構造化されたコンテンツを回答に含めてください。";
         }
         
-        return String.format(promptTemplate, keyword, category);
+        return withResponseInstruction(String.format(promptTemplate, keyword, category));
+    }
+    
+    /**
+     * 구조화된 응답을 사용하면 프롬프트에 JSON 응답 형식 안내를 덧붙임
+     */
+    private String withResponseInstruction(String prompt) {
+        return structuredOutput ? prompt + GeneratedContentParser.RESPONSE_INSTRUCTION : prompt;
+    }
+    
+    /**
+     * 콘텐츠의 슬러그 힌트를 슬러그 등록 테이블에 등록하고, 이미 쓰인 슬러그면 -2, -3... 을 붙여 등록
+     * 등록은 호출한 쪽의 트랜잭션에 포함되므로 콘텐츠를 저장하는 트랜잭션 안에서 호출해야 합니다.
+     * (저장이 롤백되면 등록도 취소되고, 커밋되기 전까지 같은 슬러그를 등록하려는 다른 트랜잭션은 기다림)
+     * @param content 저장할 콘텐츠 (슬러그 힌트가 없으면 그대로 둠)
+     */
+    public void claimUniqueSlug(Content content) {
+        String slugHint = content.getSlug();
+        if (slugHint == null || slugHint.isEmpty()) {
+            return;
+        }
+        
+        String slug = slugHint;
+        for (int suffix = 2; contentSlugRepository.claim(slug) == 0; suffix++) {
+            slug = slugHint + "-" + suffix;
+        }
+        content.setSlug(slug);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,230 @@
+package com.jsportal.service.api.llm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * tiktoken 형식(.tiktoken: "base64 토큰 rank" 한 줄씩) 병합 순위 표를 사용하는 BPE 토큰 카운터
+ * 순위 표는 한 번만 읽어 바이트 배열 키의 개방 주소 해시 테이블에 보관하므로,
+ * 토큰을 셀 때 조회용 객체를 만들지 않습니다. 토큰 ID가 아니라 개수와 경계만 계산합니다.
+ */
+class BpeTokenizer {
+
+    // cl100k_base 사전 분할 패턴
+    private static final Pattern PRE_TOKENIZE = Pattern.compile(
+        "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    // 스레드별 재사용 버퍼 (조각의 UTF-8 바이트와 병합 경계)
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final byte[][] keys;
+    private final int[] ranks;
+    private final int mask;
+
+    private BpeTokenizer(List<byte[]> tokens, List<Integer> tokenRanks) {
+        int capacity = Integer.highestOneBit(Math.max(16, tokens.size() * 2 - 1)) << 1;
+        this.keys = new byte[capacity][];
+        this.ranks = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            byte[] token = tokens.get(i);
+            int slot = hash(token, 0, token.length) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = token;
+            ranks[slot] = tokenRanks.get(i);
+        }
+    }
+
+    /**
+     * 순위 표 읽기
+     * @param input .tiktoken 형식 스트림
+     */
+    static BpeTokenizer load(InputStream input) throws IOException {
+        List<byte[]> tokens = new ArrayList<>();
+        List<Integer> tokenRanks = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    continue;
+                }
+                tokens.add(Base64.getDecoder().decode(line.substring(0, space)));
+                tokenRanks.add(Integer.parseInt(line.substring(space + 1).trim()));
+            }
+        }
+
+        if (tokens.isEmpty()) {
+            throw new IOException("Empty BPE ranks file");
+        }
+        return new BpeTokenizer(tokens, tokenRanks);
+    }
+
+    /**
+     * 토큰 수 계산
+     */
+    int count(CharSequence text) {
+        return countUntil(text, Integer.MAX_VALUE)[0];
+    }
+
+    /**
+     * 최대 토큰 수 안에 들어가는 앞부분의 길이(문자 수) 계산
+     * 사전 분할 조각 단위로 자르므로 단어 중간에서 잘리지 않습니다.
+     */
+    int prefixLength(CharSequence text, int maxTokens) {
+        return countUntil(text, maxTokens)[1];
+    }
+
+    /**
+     * @return [누적 토큰 수, 예산 안에 들어간 문자 수]
+     */
+    private int[] countUntil(CharSequence text, int maxTokens) {
+        Buffers buffers = BUFFERS.get();
+        Matcher matcher = PRE_TOKENIZE.matcher(text);
+        int total = 0;
+        int end = 0;
+
+        while (matcher.find()) {
+            int length = encodeUtf8(text, matcher.start(), matcher.end(), buffers);
+            int pieceTokens = countPiece(buffers, length);
+            if (total + pieceTokens > maxTokens) {
+                break;
+            }
+            total += pieceTokens;
+            end = matcher.end();
+        }
+
+        return new int[]{total, end};
+    }
+
+    /**
+     * 한 조각의 바이트를 병합 순위가 가장 낮은 쌍부터 합쳐 남은 토큰 수를 반환
+     */
+    private int countPiece(Buffers buffers, int length) {
+        byte[] bytes = buffers.bytes;
+        if (rank(bytes, 0, length) >= 0) {
+            return 1;
+        }
+
+        int[] bounds = buffers.bounds(length + 1);
+        for (int i = 0; i <= length; i++) {
+            bounds[i] = i;
+        }
+        int parts = length + 1;
+
+        while (parts > 2) {
+            int bestRank = Integer.MAX_VALUE;
+            int bestIndex = -1;
+            for (int i = 0; i + 2 < parts; i++) {
+                int rank = rank(bytes, bounds[i], bounds[i + 2] - bounds[i]);
+                if (rank >= 0 && rank < bestRank) {
+                    bestRank = rank;
+                    bestIndex = i;
+                }
+            }
+            if (bestIndex < 0) {
+                break;
+            }
+            System.arraycopy(bounds, bestIndex + 2, bounds, bestIndex + 1, parts - bestIndex - 2);
+            parts--;
+        }
+
+        return parts - 1;
+    }
+
+    private int rank(byte[] bytes, int offset, int length) {
+        int slot = hash(bytes, offset, length) & mask;
+        byte[] key;
+        while ((key = keys[slot]) != null) {
+            if (key.length == length && equalsRange(key, bytes, offset)) {
+                return ranks[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean equalsRange(byte[] key, byte[] bytes, int offset) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 문자열 범위를 재사용 버퍼에 UTF-8로 인코딩
+     * @return 인코딩된 바이트 수
+     */
+    private static int encodeUtf8(CharSequence text, int start, int end, Buffers buffers) {
+        byte[] bytes = buffers.bytes((end - start) * 4);
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            int c = text.charAt(i);
+            if (Character.isHighSurrogate((char) c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, text.charAt(++i));
+            }
+
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c < 0x10000) {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                bytes[length++] = (byte) (0xF0 | (c >> 18));
+                bytes[length++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 스레드별 재사용 버퍼
+     */
+    private static class Buffers {
+        private byte[] bytes = new byte[256];
+        private int[] bounds = new int[257];
+
+        byte[] bytes(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = new byte[Math.max(capacity, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        int[] bounds(int capacity) {
+            if (bounds.length < capacity) {
+                bounds = new int[Math.max(capacity, bounds.length * 2)];
+            }
+            return bounds;
+        }
+    }
+}
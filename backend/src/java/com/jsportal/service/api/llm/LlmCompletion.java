@@ -0,0 +1,47 @@
+package com.jsportal.service.api.llm;
+
+/**
+ * LLM 생성 결과
+ */
+public class LlmCompletion {
+
+    private final String provider;
+    private final String text;
+    private final int promptTokens;
+    private final int completionTokens;
+
+    // 응답 스키마로 형식을 강제한 응답인지 여부 (true면 JSON이 아닌 응답은 생성 실패로 봄)
+    private final boolean structured;
+
+    public LlmCompletion(String provider, String text, int promptTokens, int completionTokens, boolean structured) {
+        this.provider = provider;
+        this.text = text;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.structured = structured;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getPromptTokens() {
+        return promptTokens;
+    }
+
+    public int getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public int getTotalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    public boolean isStructured() {
+        return structured;
+    }
+}
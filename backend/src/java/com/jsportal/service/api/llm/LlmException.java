@@ -0,0 +1,15 @@
+package com.jsportal.service.api.llm;
+
+/**
+ * LLM 백엔드 호출 실패 예외
+ */
+public class LlmException extends RuntimeException {
+
+    public LlmException(String message) {
+        super(message);
+    }
+
+    public LlmException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
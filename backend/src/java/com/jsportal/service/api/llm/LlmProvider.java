@@ -0,0 +1,35 @@
+package com.jsportal.service.api.llm;
+
+import java.util.Map;
+
+/**
+ * 텍스트 생성 LLM 백엔드 인터페이스
+ * LlmRouter가 측정한 지연 시간, 오류율, 비용에 따라 백엔드를 선택합니다.
+ */
+public interface LlmProvider {
+
+    /**
+     * 라우팅 통계와 로그에 사용할 백엔드 이름
+     */
+    String getName();
+
+    /**
+     * 설정상 사용 가능한 백엔드인지 여부
+     */
+    boolean isEnabled();
+
+    /**
+     * 1,000 토큰당 비용 (USD, 라우팅 가중치로만 사용)
+     */
+    double getCostPer1kTokens();
+
+    /**
+     * 프롬프트로 텍스트 생성
+     * @param prompt 사용자 프롬프트
+     * @param maxTokens 최대 생성 토큰 수
+     * @param responseSchema 응답 JSON 스키마 (null이면 자유 형식 텍스트)
+     * @return 생성 결과
+     * @throws LlmException 호출 실패 또는 빈 응답
+     */
+    LlmCompletion complete(String prompt, int maxTokens, Map<String, Object> responseSchema);
+}
@@ -0,0 +1,272 @@
+package com.jsportal.service.api.llm;
+
+import com.jsportal.service.execution.TaskExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 LLM 백엔드 중 하나를 골라 호출하는 라우터
+ * 백엔드별 최근 p95 지연 시간, 오류율, 비용으로 점수를 매겨 가장 좋은 백엔드부터 시도하고,
+ * 실패하면 다음 백엔드로 넘어갑니다. 오류율이 높은 백엔드는 통계 윈도우가 지날 때까지 뒤로 밀립니다.
+ * 관리자 요청처럼 응답 시간이 중요한 경로에서는 헤지 요청(hedged request)을 사용합니다.
+ */
+@Service
+public class LlmRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmRouter.class);
+
+    private final List<LlmProvider> providers;
+    private final TokenCounter tokenCounter;
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+
+    // 헤지 요청을 동시에 실행하기 위한 실행기
+    private final ExecutorService hedgeExecutor;
+
+    @Value("${llm.router.window-size:50}")
+    private int windowSize;
+
+    @Value("${llm.router.window-seconds:300}")
+    private int windowSeconds;
+
+    @Value("${llm.router.min-samples:3}")
+    private int minSamples;
+
+    @Value("${llm.router.error-rate-threshold:0.5}")
+    private double errorRateThreshold;
+
+    @Value("${llm.router.latency-weight:1.0}")
+    private double latencyWeight;
+
+    @Value("${llm.router.error-weight:5.0}")
+    private double errorWeight;
+
+    @Value("${llm.router.cost-weight:10.0}")
+    private double costWeight;
+
+    @Value("${llm.router.hedge-delay-ms:0}")
+    private long hedgeDelayMillis;
+
+    @Value("${llm.router.min-hedge-delay-ms:2000}")
+    private long minHedgeDelayMillis;
+
+    @Autowired
+    public LlmRouter(List<LlmProvider> providers, TokenCounter tokenCounter, TaskExecutors taskExecutors) {
+        this.providers = providers;
+        this.tokenCounter = tokenCounter;
+        this.hedgeExecutor = taskExecutors.newExecutor("llm-hedge", 0);
+    }
+
+    /**
+     * 점수가 좋은 백엔드부터 순서대로 호출하여 첫 성공 결과를 반환
+     * @param prompt 프롬프트
+     * @param maxTokens 최대 생성 토큰 수
+     * @param responseSchema 응답 JSON 스키마 (null이면 자유 형식 텍스트)
+     * @return 생성 결과
+     * @throws LlmException 모든 백엔드가 실패한 경우
+     */
+    public LlmCompletion complete(String prompt, int maxTokens, Map<String, Object> responseSchema) {
+        return completeSequentially(rankProviders(), prompt, maxTokens, responseSchema, null);
+    }
+
+    /**
+     * 헤지 요청으로 생성
+     * 가장 좋은 백엔드의 응답이 p95 지연 시간 안에 오지 않으면 두 번째 백엔드에도 요청하고,
+     * 먼저 성공한 결과를 사용합니다. 둘 다 실패하면 나머지 백엔드를 순서대로 시도합니다.
+     * 라우터가 취소한 요청이 그 때문에 실패한 것은 백엔드 오류가 아니므로 통계에 기록하지 않습니다.
+     */
+    public LlmCompletion completeHedged(String prompt, int maxTokens, Map<String, Object> responseSchema) {
+        List<LlmProvider> ranked = rankProviders();
+        if (ranked.size() < 2) {
+            return completeSequentially(ranked, prompt, maxTokens, responseSchema, null);
+        }
+
+        LlmProvider primary = ranked.get(0);
+        LlmProvider secondary = ranked.get(1);
+        ExecutorCompletionService<LlmCompletion> completionService = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<LlmCompletion>> futures = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        LlmException lastError = null;
+
+        try {
+            futures.add(completionService.submit(() -> call(primary, prompt, maxTokens, responseSchema, cancelled)));
+            Future<LlmCompletion> first = completionService.poll(hedgeDelay(primary), TimeUnit.MILLISECONDS);
+            int pending = 1;
+
+            if (first != null) {
+                pending--;
+                try {
+                    return first.get();
+                } catch (ExecutionException e) {
+                    lastError = unwrap(e);
+                }
+            } else {
+                logger.debug("Hedging request to {} after slow response from {}", secondary.getName(), primary.getName());
+            }
+
+            futures.add(completionService.submit(() -> call(secondary, prompt, maxTokens, responseSchema, cancelled)));
+            pending++;
+
+            while (pending > 0) {
+                Future<LlmCompletion> done = completionService.take();
+                pending--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    lastError = unwrap(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for LLM response", e);
+        } finally {
+            // 늦게 도착하는 쪽은 결과를 버림 (취소 전에 끝난 응답의 시간은 통계에 계속 기록됨)
+            cancelled.set(true);
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return completeSequentially(ranked.subList(2, ranked.size()), prompt, maxTokens, responseSchema, lastError);
+    }
+
+    /**
+     * 사용 가능한 백엔드를 점수순으로 정렬
+     * 오류율이 임계값을 넘은 백엔드는 점수와 관계없이 뒤로 보냅니다.
+     */
+    List<LlmProvider> rankProviders() {
+        Map<LlmProvider, ProviderStats.Snapshot> snapshots = new LinkedHashMap<>();
+        for (LlmProvider provider : providers) {
+            if (provider.isEnabled()) {
+                snapshots.put(provider, statsFor(provider).snapshot());
+            }
+        }
+
+        if (snapshots.isEmpty()) {
+            throw new LlmException("No LLM provider is enabled");
+        }
+
+        return snapshots.keySet().stream()
+            .sorted(Comparator.<LlmProvider>comparingInt(provider -> isDegraded(snapshots.get(provider)) ? 1 : 0)
+                .thenComparingDouble(provider -> score(provider, snapshots.get(provider))))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 백엔드 점수 (낮을수록 좋음)
+     * p95 지연(초), 오류율, 호출당 예상 비용의 가중합입니다.
+     */
+    double score(LlmProvider provider, ProviderStats.Snapshot snapshot) {
+        double averageTokens = snapshot.getAverageTokens() > 0 ? snapshot.getAverageTokens() : 1000;
+        double expectedCost = provider.getCostPer1kTokens() * averageTokens / 1000.0;
+        return latencyWeight * snapshot.getP95LatencyMillis() / 1000.0
+            + errorWeight * snapshot.getErrorRate()
+            + costWeight * expectedCost;
+    }
+
+    /**
+     * 백엔드별 현재 통계 (관리/모니터링용)
+     */
+    public Map<String, ProviderStats.Snapshot> getProviderStats() {
+        Map<String, ProviderStats.Snapshot> result = new LinkedHashMap<>();
+        for (LlmProvider provider : providers) {
+            result.put(provider.getName(), statsFor(provider).snapshot());
+        }
+        return result;
+    }
+
+    private LlmCompletion completeSequentially(List<LlmProvider> candidates, String prompt, int maxTokens,
+                                               Map<String, Object> responseSchema, LlmException previousError) {
+        LlmException lastError = previousError;
+
+        for (LlmProvider provider : candidates) {
+            try {
+                return call(provider, prompt, maxTokens, responseSchema, null);
+            } catch (LlmException e) {
+                logger.warn("LLM provider {} failed, trying next: {}", provider.getName(), e.getMessage());
+                lastError = e;
+            }
+        }
+
+        throw new LlmException("All LLM providers failed", lastError);
+    }
+
+    /**
+     * 백엔드를 호출하고 결과를 통계에 기록
+     * @param cancelled 헤지 요청에서 라우터가 이 호출을 취소했는지 여부 (취소 후의 실패는 기록하지 않음, 헤지가 아니면 null)
+     */
+    private LlmCompletion call(LlmProvider provider, String prompt, int maxTokens,
+                               Map<String, Object> responseSchema, AtomicBoolean cancelled) {
+        long startedAt = System.nanoTime();
+        try {
+            LlmCompletion completion = withTokenCounts(provider.complete(prompt, maxTokens, responseSchema), prompt);
+            statsFor(provider).record(elapsedMillis(startedAt), false, completion.getTotalTokens());
+            return completion;
+        } catch (RuntimeException e) {
+            if (cancelled == null || !cancelled.get()) {
+                statsFor(provider).record(elapsedMillis(startedAt), true, 0);
+            }
+            throw e instanceof LlmException ? (LlmException) e
+                : new LlmException("Error calling " + provider.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 사용량을 보고하지 않는 백엔드의 결과에는 로컬에서 센 토큰 수를 채움 (비용 점수 계산용)
+     */
+    private LlmCompletion withTokenCounts(LlmCompletion completion, String prompt) {
+        if (completion.getTotalTokens() > 0) {
+            return completion;
+        }
+        return new LlmCompletion(completion.getProvider(), completion.getText(),
+            tokenCounter.count(prompt), tokenCounter.count(completion.getText()), completion.isStructured());
+    }
+
+    private long hedgeDelay(LlmProvider provider) {
+        if (hedgeDelayMillis > 0) {
+            return hedgeDelayMillis;
+        }
+        return Math.max(minHedgeDelayMillis, statsFor(provider).snapshot().getP95LatencyMillis());
+    }
+
+    private boolean isDegraded(ProviderStats.Snapshot snapshot) {
+        return snapshot.getSamples() >= minSamples && snapshot.getErrorRate() >= errorRateThreshold;
+    }
+
+    private ProviderStats statsFor(LlmProvider provider) {
+        return stats.computeIfAbsent(provider.getName(),
+            name -> new ProviderStats(windowSize, TimeUnit.SECONDS.toMillis(windowSeconds)));
+    }
+
+    private static LlmException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof LlmException ? (LlmException) cause : new LlmException(String.valueOf(cause), cause);
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    /**
+     * 종료 시 헤지 요청 스레드 풀 정리
+     */
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,110 @@
+package com.jsportal.service.api.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 로컬 LLM 서버 백엔드 (Ollama /api/generate 형식)
+ * 자체 호스팅 모델을 사용하므로 비용이 낮고, 외부 API가 느려지거나 장애일 때 대체 경로가 됩니다.
+ */
+@Component
+public class LocalLlmProvider implements LlmProvider {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${llm.local.enabled:false}")
+    private boolean enabled;
+
+    @Value("${llm.local.base-url:http://127.0.0.1:11434}")
+    private String baseUrl;
+
+    @Value("${llm.local.model:llama3}")
+    private String model;
+
+    @Value("${llm.local.temperature:0.7}")
+    private double temperature;
+
+    @Value("${llm.local.cost-per-1k-tokens:0.0}")
+    private double costPer1kTokens;
+
+    @Autowired
+    public LocalLlmProvider(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+                            @Value("${llm.request-timeout-ms:60000}") long requestTimeoutMillis) {
+        this.restTemplate = restTemplateBuilder
+            .setConnectTimeout(Duration.ofSeconds(5))
+            .setReadTimeout(Duration.ofMillis(requestTimeoutMillis))
+            .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public double getCostPer1kTokens() {
+        return costPer1kTokens;
+    }
+
+    @Override
+    public LlmCompletion complete(String prompt, int maxTokens, Map<String, Object> responseSchema) {
+        Map<String, Object> options = new HashMap<>();
+        options.put("temperature", temperature);
+        options.put("num_predict", maxTokens);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("prompt", prompt);
+        requestBody.put("stream", false);
+        requestBody.put("options", options);
+        if (responseSchema != null) {
+            requestBody.put("format", responseSchema);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        try {
+            String response = restTemplate.postForObject(baseUrl + "/api/generate",
+                new HttpEntity<>(requestBody, headers), String.class);
+            JsonNode rootNode = objectMapper.readTree(response);
+
+            String text = rootNode.path("response").asText();
+            if (text.isEmpty()) {
+                throw new LlmException("Empty response from " + getName());
+            }
+
+            // format을 보낸 응답이 num_predict에서 잘리면 JSON이 완성되지 않으므로 실패로 처리
+            boolean structured = responseSchema != null;
+            if (structured && OpenAiCompatibleProvider.FINISH_REASON_LENGTH.equals(rootNode.path("done_reason").asText())) {
+                throw new LlmException("Structured response from " + getName() + " was cut off at " + maxTokens + " tokens");
+            }
+
+            return new LlmCompletion(getName(), text,
+                rootNode.path("prompt_eval_count").asInt(0), rootNode.path("eval_count").asInt(0), structured);
+        } catch (LlmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LlmException("Error calling " + getName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jsportal.service.api.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI Chat Completions 호환 HTTP 백엔드
+ * OpenAI뿐 아니라 같은 API를 제공하는 서버(vLLM, llama.cpp server 등)에도 사용할 수 있습니다.
+ * 응답 스키마는 모델이 지원하는 response_format으로만 보냅니다. 지원하지 않는 형식을 보내면 요청 자체가
+ * 400으로 거부되므로, 스키마를 보낼 수 없는 모델은 프롬프트의 JSON 지시와 파서의 텍스트 대체 처리에 맡깁니다.
+ * 형식을 강제한 응답이 max_tokens에서 잘리면(finish_reason=length) JSON이 완성되지 않으므로 호출 실패로 처리합니다.
+ */
+@Component
+public class OpenAiCompatibleProvider implements LlmProvider {
+
+    static final String FORMAT_JSON_SCHEMA = "json_schema";
+    static final String FORMAT_JSON_OBJECT = "json_object";
+    static final String FORMAT_NONE = "none";
+
+    // 생성 토큰 한도에 도달해 응답이 잘렸을 때의 finish_reason
+    public static final String FINISH_REASON_LENGTH = "length";
+
+    // Structured Outputs(json_schema)를 지원하는 OpenAI 모델 (o1-mini, o1-preview 제외)
+    private static final Pattern JSON_SCHEMA_MODELS =
+        Pattern.compile("^(gpt-4o|gpt-4\\.1|gpt-4\\.5|gpt-5|o1(?!-mini|-preview)|o3|o4)");
+
+    // JSON 모드(json_object)만 지원하는 OpenAI 모델
+    private static final Pattern JSON_OBJECT_MODELS =
+        Pattern.compile("^(gpt-4-turbo|gpt-4-1106|gpt-4-0125|gpt-3\\.5-turbo(-1106|-0125)?$)");
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    @Value("${openai.api.model:gpt-3.5-turbo}")
+    private String model;
+
+    @Value("${openai.api.url:${openai.api.base-url:https://api.openai.com/v1}/chat/completions}")
+    private String apiUrl;
+
+    @Value("${openai.api.temperature:0.7}")
+    private double temperature;
+
+    @Value("${openai.api.enabled:true}")
+    private boolean enabled;
+
+    @Value("${openai.api.cost-per-1k-tokens:0.03}")
+    private double costPer1kTokens;
+
+    @Value("${openai.api.response-format:auto}")
+    private String responseFormat;
+
+    @Autowired
+    public OpenAiCompatibleProvider(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+                                    @Value("${llm.request-timeout-ms:60000}") long requestTimeoutMillis) {
+        this.restTemplate = restTemplateBuilder
+            .setConnectTimeout(Duration.ofSeconds(10))
+            .setReadTimeout(Duration.ofMillis(requestTimeoutMillis))
+            .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return "openai";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public double getCostPer1kTokens() {
+        return costPer1kTokens;
+    }
+
+    @Override
+    public LlmCompletion complete(String prompt, int maxTokens, Map<String, Object> responseSchema) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+
+        try {
+            String response = restTemplate.postForObject(apiUrl,
+                new HttpEntity<>(buildRequestBody(prompt, maxTokens, responseSchema), headers), String.class);
+            JsonNode rootNode = objectMapper.readTree(response);
+            JsonNode choicesNode = rootNode.path("choices");
+
+            JsonNode choiceNode = choicesNode.isArray() && choicesNode.size() > 0
+                ? choicesNode.get(0) : objectMapper.createObjectNode();
+            String text = choiceNode.path("message").path("content").asText();
+            if (text.isEmpty()) {
+                throw new LlmException("Empty response from " + getName());
+            }
+
+            boolean structured = constrainsFormat(responseSchema);
+            if (structured && FINISH_REASON_LENGTH.equals(choiceNode.path("finish_reason").asText())) {
+                throw new LlmException("Structured response from " + getName() + " was cut off at " + maxTokens + " tokens");
+            }
+
+            JsonNode usageNode = rootNode.path("usage");
+            return new LlmCompletion(getName(), text,
+                usageNode.path("prompt_tokens").asInt(0), usageNode.path("completion_tokens").asInt(0), structured);
+        } catch (LlmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LlmException("Error calling " + getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Chat Completions 요청 본문 생성 (Batch API 요청 파일에서도 같은 형식을 사용)
+     * @param responseSchema 응답 JSON 스키마 (null이면 자유 형식 텍스트)
+     */
+    public Map<String, Object> buildRequestBody(String prompt, int maxTokens, Map<String, Object> responseSchema) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", prompt);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", new Object[]{message});
+        requestBody.put("temperature", temperature);
+        requestBody.put("max_tokens", maxTokens);
+
+        if (constrainsFormat(responseSchema)) {
+            String format = resolveResponseFormat();
+            if (FORMAT_JSON_SCHEMA.equals(format)) {
+                Map<String, Object> jsonSchema = new HashMap<>();
+                jsonSchema.put("name", "generated_content");
+                jsonSchema.put("strict", true);
+                jsonSchema.put("schema", responseSchema);
+                requestBody.put("response_format", Map.of("type", FORMAT_JSON_SCHEMA, "json_schema", jsonSchema));
+            } else if (FORMAT_JSON_OBJECT.equals(format)) {
+                requestBody.put("response_format", Map.of("type", FORMAT_JSON_OBJECT));
+            }
+        }
+        return requestBody;
+    }
+
+    /**
+     * 응답 스키마를 요청하면 이 모델에 response_format을 보내 응답 형식을 강제하는지 여부
+     * (false면 형식을 강제하지 않으므로 JSON이 아닌 응답을 텍스트로 처리해야 함)
+     */
+    public boolean constrainsFormat(Map<String, Object> responseSchema) {
+        return responseSchema != null && !FORMAT_NONE.equals(resolveResponseFormat());
+    }
+
+    /**
+     * 모델에 보낼 response_format 종류 (json_schema, json_object, none)
+     * openai.api.response-format=auto면 모델 이름으로 판단하고, 알 수 없는 모델(gpt-4, 호환 서버 등)에는 보내지 않습니다.
+     */
+    String resolveResponseFormat() {
+        String configured = responseFormat != null ? responseFormat.trim().toLowerCase(Locale.ROOT) : "auto";
+        if (!"auto".equals(configured)) {
+            return configured;
+        }
+        String modelName = model.toLowerCase(Locale.ROOT);
+        if (JSON_SCHEMA_MODELS.matcher(modelName).find()) {
+            return FORMAT_JSON_SCHEMA;
+        }
+        if (JSON_OBJECT_MODELS.matcher(modelName).find()) {
+            return FORMAT_JSON_OBJECT;
+        }
+        return FORMAT_NONE;
+    }
+}
@@ -0,0 +1,120 @@
+package com.jsportal.service.api.llm;
+
+import java.util.Arrays;
+
+/**
+ * LLM 백엔드별 최근 호출 통계
+ * 최근 호출 결과를 고정 크기 링 버퍼에 보관하며, 일정 시간이 지난 기록은 통계에서 제외합니다.
+ * 오래된 기록이 빠지면 장애로 밀려난 백엔드도 자연스럽게 다시 시도됩니다.
+ */
+public class ProviderStats {
+
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final boolean[] failures;
+    private final long windowMillis;
+    private int next;
+    private int size;
+
+    // 성공한 호출의 토큰 합계와 횟수 (실패한 호출은 토큰을 쓰지 않았으므로 평균에서 제외)
+    private long totalTokens;
+    private long successfulCalls;
+
+    public ProviderStats(int capacity, long windowMillis) {
+        this.timestamps = new long[capacity];
+        this.latencies = new long[capacity];
+        this.failures = new boolean[capacity];
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 호출 결과 기록
+     * @param latencyMillis 응답 시간
+     * @param failed 실패 여부
+     * @param tokens 사용한 토큰 수 (실패 시 0)
+     */
+    public synchronized void record(long latencyMillis, boolean failed, int tokens) {
+        timestamps[next] = System.currentTimeMillis();
+        latencies[next] = latencyMillis;
+        failures[next] = failed;
+        next = (next + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+        if (!failed) {
+            totalTokens += tokens;
+            successfulCalls++;
+        }
+    }
+
+    /**
+     * 통계 윈도우 안의 스냅샷
+     */
+    public synchronized Snapshot snapshot() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        long[] successLatencies = new long[size];
+        int samples = 0;
+        int successes = 0;
+        int failed = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] < cutoff) {
+                continue;
+            }
+            samples++;
+            if (failures[i]) {
+                failed++;
+            } else {
+                successLatencies[successes++] = latencies[i];
+            }
+        }
+
+        long p95 = 0;
+        if (successes > 0) {
+            long[] sorted = Arrays.copyOf(successLatencies, successes);
+            Arrays.sort(sorted);
+            p95 = sorted[(int) Math.ceil(successes * 0.95) - 1];
+        } else if (failed > 0) {
+            // 성공 기록이 없으면 실패까지 걸린 시간으로 대신 추정
+            for (int i = 0; i < size; i++) {
+                if (timestamps[i] >= cutoff) {
+                    p95 = Math.max(p95, latencies[i]);
+                }
+            }
+        }
+
+        double averageTokens = successfulCalls > 0 ? (double) totalTokens / successfulCalls : 0;
+        return new Snapshot(samples, samples > 0 ? (double) failed / samples : 0, p95, averageTokens);
+    }
+
+    /**
+     * 통계 스냅샷
+     */
+    public static class Snapshot {
+        private final int samples;
+        private final double errorRate;
+        private final long p95LatencyMillis;
+        private final double averageTokens;
+
+        public Snapshot(int samples, double errorRate, long p95LatencyMillis, double averageTokens) {
+            this.samples = samples;
+            this.errorRate = errorRate;
+            this.p95LatencyMillis = p95LatencyMillis;
+            this.averageTokens = averageTokens;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public long getP95LatencyMillis() {
+            return p95LatencyMillis;
+        }
+
+        public double getAverageTokens() {
+            return averageTokens;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.jsportal.service.api.llm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * 프롬프트 토큰 수 계산과 토큰 예산에 맞춘 자르기
+ * llm.tokenizer.ranks-file에 tiktoken 순위 표(cl100k_base.tiktoken 등)를 지정하면 BPE로 정확히 세고,
+ * 지정하지 않거나 읽을 수 없으면 문자 종류별 평균 토큰 비율로 추정합니다.
+ */
+@Component
+public class TokenCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenCounter.class);
+
+    private final BpeTokenizer tokenizer;
+
+    @Autowired
+    public TokenCounter(@Value("${llm.tokenizer.ranks-file:}") String ranksFile) {
+        this.tokenizer = loadTokenizer(ranksFile);
+    }
+
+    /**
+     * BPE 순위 표를 사용한 정확한 계산인지 여부
+     */
+    public boolean isExact() {
+        return tokenizer != null;
+    }
+
+    /**
+     * 토큰 수 계산
+     */
+    public int count(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return tokenizer != null ? tokenizer.count(text) : estimate(text);
+    }
+
+    /**
+     * 최대 토큰 수에 맞게 텍스트 앞부분만 남김
+     * 가능하면 문장이나 줄 경계에서 자릅니다.
+     * @param text 원본 텍스트
+     * @param maxTokens 최대 토큰 수
+     * @return 예산 안의 텍스트 (이미 예산 안이면 원본 그대로)
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        if (maxTokens <= 0) {
+            return "";
+        }
+
+        int end = tokenizer != null ? tokenizer.prefixLength(text, maxTokens) : estimatedPrefixLength(text, maxTokens);
+        if (end >= text.length()) {
+            return text;
+        }
+
+        // 잘린 위치에서 가까운 문장/줄 경계로 당김 (남는 부분의 20% 이내에서만)
+        int boundary = lastBoundary(text, end);
+        if (boundary > end * 0.8) {
+            end = boundary;
+        }
+        return text.substring(0, end).trim();
+    }
+
+    /**
+     * 문자 종류별 평균 토큰 비율로 추정 (영문 약 4자당 1토큰, 한글·한자·가나 약 1자당 1토큰)
+     */
+    private static int estimate(CharSequence text) {
+        double tokens = 0;
+        for (int i = 0; i < text.length(); i++) {
+            tokens += charWeight(text.charAt(i));
+        }
+        return (int) Math.ceil(tokens);
+    }
+
+    private static int estimatedPrefixLength(CharSequence text, int maxTokens) {
+        double tokens = 0;
+        for (int i = 0; i < text.length(); i++) {
+            tokens += charWeight(text.charAt(i));
+            if (tokens > maxTokens) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private static double charWeight(char c) {
+        if (c < 0x80) {
+            return 0.25;
+        }
+        if ((c >= 0xAC00 && c <= 0xD7A3) || (c >= 0x3040 && c <= 0x30FF) || (c >= 0x4E00 && c <= 0x9FFF)) {
+            return 1.0;
+        }
+        return 0.5;
+    }
+
+    private static int lastBoundary(String text, int end) {
+        for (int i = end - 1; i > 0; i--) {
+            char c = text.charAt(i);
+            if (c == '\n' || ((c == '.' || c == '!' || c == '?' || c == '。') && i + 1 < text.length()
+                    && Character.isWhitespace(text.charAt(i + 1)))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static BpeTokenizer loadTokenizer(String ranksFile) {
+        if (ranksFile == null || ranksFile.isBlank()) {
+            logger.info("No BPE ranks file configured, using estimated token counts");
+            return null;
+        }
+
+        Resource resource = new DefaultResourceLoader().getResource(
+            ranksFile.contains(":") ? ranksFile : "file:" + ranksFile);
+        try (InputStream input = resource.getInputStream()) {
+            long startedAt = System.currentTimeMillis();
+            BpeTokenizer tokenizer = BpeTokenizer.load(input);
+            logger.info("Loaded BPE ranks from {} in {}ms", ranksFile, System.currentTimeMillis() - startedAt);
+            return tokenizer;
+        } catch (Exception e) {
+            logger.warn("Error loading BPE ranks from {}, using estimated token counts: {}", ranksFile, e.getMessage());
+            return null;
+        }
+    }
+}
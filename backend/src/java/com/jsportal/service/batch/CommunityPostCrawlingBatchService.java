@@ -1,21 +1,32 @@
 package com.jsportal.service.batch;
 
-import com.jsportal.domain.content.Content;
 import com.jsportal.domain.crawling.CommunitySource;
-import com.jsportal.service.api.OpenAiService;
+import com.jsportal.repository.CommunitySourceRepository;
+import com.jsportal.repository.ContentSourceRepository;
+import com.jsportal.service.crawling.CrawlCircuitBreaker;
+import com.jsportal.service.crawling.CrawlScheduler;
 import com.jsportal.service.crawling.CrawlingService;
+import com.jsportal.service.crawling.CrawlingException;
 import com.jsportal.service.crawling.CrawlingService.CrawledPost;
+import com.jsportal.service.crawling.ForbiddenKeywordFilter;
+import com.jsportal.service.execution.TaskExecutors;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * 커뮤니티 사이트에서 포스트를 자동으로 크롤링하고 콘텐츠를 생성하는 배치 서비스
@@ -38,13 +49,17 @@ public class CommunityPostCrawlingBatchService {
     private int maxSourcesPerCrawl;
     
     private final CrawlingService crawlingService;
-    private final OpenAiService openAiService;
+    private final GenerationJobService generationJobService;
+    private final CrawlScheduler crawlScheduler;
+    private final CrawlCircuitBreaker circuitBreaker;
+    private final QuotaService quotaService;
+    private final CommunitySourceRepository communitySourceRepository;
+    private final ContentSourceRepository contentSourceRepository;
     
-    // 일일 크롤링 및 콘텐츠 생성 카운터
-    private final AtomicInteger dailyCrawledCount = new AtomicInteger(0);
-    private final AtomicInteger dailyGeneratedCount = new AtomicInteger(0);
+    // 소스 동시 크롤링용 스레드 풀 (호스트별 요청 간격은 CrawlPolitenessService가 보장)
+    private final ExecutorService crawlExecutor;
     
-    // 한국어 커뮤니티 사이트 리스트
+    // 기본 등록할 한국어 커뮤니티 사이트 리스트
     private static final List<String> COMMUNITY_SITES = List.of(
         "ruliweb",
         "fmkorea",
@@ -61,211 +76,167 @@ public class CommunityPostCrawlingBatchService {
     
     @Autowired
     public CommunityPostCrawlingBatchService(CrawlingService crawlingService, 
-                                           OpenAiService openAiService) {
+                                           GenerationJobService generationJobService,
+                                           CrawlScheduler crawlScheduler,
+                                           CrawlCircuitBreaker circuitBreaker,
+                                           QuotaService quotaService,
+                                           CommunitySourceRepository communitySourceRepository,
+                                           ContentSourceRepository contentSourceRepository,
+                                           TaskExecutors taskExecutors,
+                                           @Value("${crawling.concurrency:4}") int crawlConcurrency) {
         this.crawlingService = crawlingService;
-        this.openAiService = openAiService;
+        this.generationJobService = generationJobService;
+        this.crawlScheduler = crawlScheduler;
+        this.circuitBreaker = circuitBreaker;
+        this.quotaService = quotaService;
+        this.communitySourceRepository = communitySourceRepository;
+        this.contentSourceRepository = contentSourceRepository;
+        this.crawlExecutor = taskExecutors.newExecutor("crawl", Math.max(1, crawlConcurrency));
     }
     
     /**
-     * 자정에 일일 카운터 초기화
+     * 종료 시 크롤링 스레드 풀 정리
      */
-    @Scheduled(cron = "0 0 0 * * ?")
-    public void resetDailyCounters() {
-        logger.info("Resetting daily crawling and content generation counters");
-        dailyCrawledCount.set(0);
-        dailyGeneratedCount.set(0);
+    @PreDestroy
+    public void shutdown() {
+        crawlExecutor.shutdownNow();
     }
     
     /**
-     * 모든 커뮤니티 소스를 주기적으로 크롤링
-     * 3시간마다 실행
+     * 애플리케이션 시작 시 DB에 없는 기본 커뮤니티 소스 등록
      */
-    @Scheduled(cron = "0 0 */3 * * ?")
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerDefaultSources() {
+        for (String siteName : COMMUNITY_SITES) {
+            try {
+                if (communitySourceRepository.findByName(siteName).isEmpty()) {
+                    communitySourceRepository.save(new CommunitySource(siteName, "ko"));
+                    logger.info("Registered default community source: {}", siteName);
+                }
+            } catch (Exception e) {
+                logger.error("Error registering community source {}: {}", siteName, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 크롤링 예정 시각이 된 커뮤니티 소스를 크롤링
+     * 스케줄러 큐를 주기적으로 확인하여 소스별 간격에 맞춰 실행
+     */
+    @Workload(WorkloadType.CRAWL)
+    @Scheduled(fixedDelayString = "${crawling.scheduler.poll-interval-ms:60000}",
+               initialDelayString = "${crawling.scheduler.initial-delay-ms:30000}")
     public void crawlAllCommunitySources() {
-        logger.info("Starting scheduled crawling of all community sources");
+        List<CommunitySource> dueSources = crawlScheduler.pollDueSources(maxSourcesPerCrawl);
+        if (dueSources.isEmpty()) {
+            return;
+        }
         
-        // 최대 소스 크롤링 개수 제한
-        int sourcesToCrawl = Math.min(COMMUNITY_SITES.size(), maxSourcesPerCrawl);
+        logger.info("Starting crawling of {} due community sources", dueSources.size());
         
-        for (int i = 0; i < sourcesToCrawl; i++) {
-            String siteName = COMMUNITY_SITES.get(i);
-            CommunitySource source = new CommunitySource(siteName, "ko");
-            
+        List<Future<?>> futures = new ArrayList<>();
+        for (CommunitySource source : dueSources) {
+            futures.add(crawlExecutor.submit(() -> crawlDueSource(source)));
+        }
+        
+        for (Future<?> future : futures) {
             try {
-                int crawledCount = crawlCommunitySource(source);
-                logger.info("Crawled {} posts from {}", crawledCount, source.getName());
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             } catch (Exception e) {
-                logger.error("Error crawling source {}: {}", source.getName(), e.getMessage(), e);
+                logger.error("Error waiting for crawl task: {}", e.getMessage());
             }
         }
         
-        logger.info("Completed scheduled crawling of all community sources");
+        logger.info("Completed crawling of due community sources");
     }
     
     /**
-     * 크롤링된 포스트로부터 콘텐츠 생성
-     * 5시간마다 실행
+     * 크롤링 예정 소스 하나를 크롤링하고 결과를 스케줄러에 반영
      */
-    @Scheduled(cron = "0 0 */5 * * ?")
-    public void generateContentFromCrawledPosts() {
-        logger.info("Starting scheduled content generation from crawled posts");
+    private void crawlDueSource(CommunitySource source) {
+        // 일일 제한에 도달하면 수집량을 판단할 수 없으므로 간격을 유지한 채 다시 등록
+        if (!quotaService.hasRemaining(QuotaService.CRAWLING, dailyCrawlingLimit)) {
+            logger.info("Daily crawling limit reached: {}", dailyCrawlingLimit);
+            crawlScheduler.release(source);
+            return;
+        }
         
         try {
-            int count = generateContentFromPosts();
-            logger.info("Generated {} contents from crawled posts", count);
+            int crawledCount = crawlCommunitySource(source);
+            logger.info("Crawled {} new posts from {}", crawledCount, source.getName());
+            crawlScheduler.recordYield(source, crawledCount);
+        } catch (CrawlingException e) {
+            // 실패는 수집량이 아니므로 간격을 조정하지 않고, 서킷이 열렸으면 재시도 시각까지, 아니면 연속 실패 횟수만큼 미룸
+            logger.warn("Crawling of {} failed: {}", source.getName(), e.getMessage());
+            LocalDateTime retryAt = circuitBreaker.getRetryAt(source);
+            if (retryAt != null) {
+                crawlScheduler.deferUntil(source, retryAt);
+            } else {
+                crawlScheduler.recordFailure(source);
+            }
         } catch (Exception e) {
-            logger.error("Error generating content: {}", e.getMessage(), e);
+            logger.error("Error crawling source {}: {}", source.getName(), e.getMessage(), e);
+            crawlScheduler.recordYield(source, 0);
         }
-        
-        logger.info("Completed scheduled content generation from crawled posts");
     }
     
     /**
      * 특정 커뮤니티 소스 크롤링
      * @param source 커뮤니티 소스 정보
-     * @return 처리된 포스트 수
+     * @return 콘텐츠 생성 작업으로 등록된 포스트 수
      */
     private int crawlCommunitySource(CommunitySource source) {
-        // 일일 제한 확인
-        if (dailyCrawledCount.get() >= dailyCrawlingLimit) {
-            logger.info("Daily crawling limit reached: {}", dailyCrawlingLimit);
-            return 0;
-        }
-        
-        List<String> forbiddenKeywords = Arrays.asList(forbiddenKeywordsString.split(","));
+        ForbiddenKeywordFilter forbiddenKeywordFilter = new ForbiddenKeywordFilter(forbiddenKeywordsString);
         
         // 크롤링 실행
-        List<CrawledPost> posts = crawlingService.crawlPopularPosts(source.getName());
+        List<CrawledPost> posts = crawlingService.crawlPopularPosts(source);
         int processedCount = 0;
         
         for (CrawledPost post : posts) {
-            // 일일 제한 확인
-            if (dailyCrawledCount.get() >= dailyCrawlingLimit) {
-                break;
-            }
-            
             // 금지 키워드 확인
-            boolean containsForbiddenKeyword = false;
-            for (String keyword : forbiddenKeywords) {
-                if (keyword.isEmpty()) continue;
-                
-                if (post.getTitle().toLowerCase().contains(keyword.toLowerCase()) || 
-                    post.getContent().toLowerCase().contains(keyword.toLowerCase())) {
-                    containsForbiddenKeyword = true;
-                    break;
-                }
+            if (forbiddenKeywordFilter.isForbidden(post)) {
+                logger.info("Skipping post with forbidden keyword: {}", post.getTitle());
+                continue;
             }
             
-            if (containsForbiddenKeyword) {
-                logger.info("Skipping post with forbidden keyword: {}", post.getTitle());
+            // 이미 수집한 포스트 제외
+            if (contentSourceRepository.existsBySourceUrl(post.getUrl())) {
                 continue;
             }
             
-            try {
-                // 포스트 처리 및 저장
-                crawlingService.processAndSaveCrawledPost(post);
-                dailyCrawledCount.incrementAndGet();
-                processedCount++;
-            } catch (Exception e) {
-                logger.error("Error processing post: {}", e.getMessage());
+            // 일일 제한 확인 (모든 인스턴스가 같은 한도를 나눠 씀)
+            if (!quotaService.tryAcquire(QuotaService.CRAWLING, dailyCrawlingLimit)) {
+                logger.info("Daily crawling limit reached: {}", dailyCrawlingLimit);
+                break;
             }
-        }
-        
-        return processedCount;
-    }
-    
-    /**
-     * 크롤링된 포스트로부터 콘텐츠 생성
-     * @return 생성된 콘텐츠 수
-     */
-    private int generateContentFromPosts() {
-        // 일일 제한 확인
-        if (dailyGeneratedCount.get() >= dailyContentGenerationLimit) {
-            logger.info("Daily content generation limit reached: {}", dailyContentGenerationLimit);
-            return 0;
-        }
-        
-        // 이 부분은 실제 구현에서는 크롤링된 포스트 중 아직 처리되지 않은 것을 가져오는 로직으로 대체
-        List<CrawledPost> unprocessedPosts = getUnprocessedPosts();
-        int generatedCount = 0;
-        
-        for (CrawledPost post : unprocessedPosts) {
-            // 일일 제한 확인
-            if (dailyGeneratedCount.get() >= dailyContentGenerationLimit) {
+            
+            // 생성 한도를 넘은 포스트는 등록하지 않고 다음 크롤링에서 다시 수집
+            if (!quotaService.tryAcquire(QuotaService.POST_GENERATION, dailyContentGenerationLimit)) {
+                logger.info("Daily content generation limit reached: {}", dailyContentGenerationLimit);
+                quotaService.release(QuotaService.CRAWLING, 1);
                 break;
             }
             
+            boolean queued = false;
             try {
-                // OpenAI를 통해 콘텐츠 생성
-                Content content = openAiService.generateFunContent(
-                    post.getContent(), 
-                    post.getSource(), 
-                    "ko"  // 한국어로 고정
-                );
-                
-                if (content != null) {
-                    dailyGeneratedCount.incrementAndGet();
-                    generatedCount++;
-                    
-                    // 포스트 처리 완료 표시 (실제 구현에서 필요)
-                    markPostAsProcessed(post);
+                // 콘텐츠 생성은 작업자가 처리 (같은 포스트는 한 번만 등록됨)
+                queued = generationJobService.enqueuePost(post);
+                if (queued) {
+                    processedCount++;
                 }
             } catch (Exception e) {
-                logger.error("Error generating content from post: {}", e.getMessage());
+                logger.error("Error queueing post: {}", e.getMessage());
+            } finally {
+                if (!queued) {
+                    quotaService.release(QuotaService.CRAWLING, 1);
+                    quotaService.release(QuotaService.POST_GENERATION, 1);
+                }
             }
         }
         
-        return generatedCount;
-    }
-    
-    /**
-     * 아직 처리되지 않은 크롤링된 포스트 가져오기 (예시 메서드)
-     */
-    private List<CrawledPost> getUnprocessedPosts() {
-        // 실제 구현에서는 데이터베이스에서 아직 처리되지 않은 포스트를 조회합니다.
-        // 이 예제에서는 임시로 빈 리스트를 반환합니다.
-        return List.of();
-    }
-    
-    /**
-     * 크롤링된 포스트를 처리 완료로 표시 (예시 메서드)
-     */
-    private void markPostAsProcessed(CrawledPost post) {
-        // 실제 구현에서는 데이터베이스에서 해당 포스트의 상태를 업데이트합니다.
-    }
-    
-    /**
-     * 일일 크롤링 제한 상태 조회
-     */
-    public int getDailyCrawlingCount() {
-        return dailyCrawledCount.get();
-    }
-    
-    /**
-     * 일일 콘텐츠 생성 제한 상태 조회
-     */
-    public int getDailyContentGenerationCount() {
-        return dailyGeneratedCount.get();
-    }
-    
-    /**
-     * 커뮤니티 소스 클래스 (실제 구현에서는 엔티티로 정의)
-     */
-    private static class CommunitySource {
-        private final String name;
-        private final String language;
-        
-        public CommunitySource(String name, String language) {
-            this.name = name;
-            this.language = language;
-        }
-        
-        public String getName() {
-            return name;
-        }
-        
-        public String getLanguage() {
-            return language;
-        }
+        return processedCount;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
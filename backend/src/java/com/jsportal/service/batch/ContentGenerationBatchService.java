@@ -4,17 +4,28 @@ import com.jsportal.domain.content.Content;
 import com.jsportal.domain.keyword.Keyword;
 import com.jsportal.repository.ContentRepository;
 import com.jsportal.repository.KeywordRepository;
+import com.jsportal.service.api.OpenAiBatchService;
 import com.jsportal.service.api.OpenAiService;
+import com.jsportal.service.cluster.JobLease;
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.similarity.ContentSimilarityIndex;
+import com.jsportal.service.scheduling.WorkloadType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 키워드 기반으로 자동으로 콘텐츠를 생성하는 배치 서비스
@@ -27,15 +38,23 @@ public class ContentGenerationBatchService {
     @Value("${content.generation.daily.limit:10}")
     private int dailyContentGenerationLimit;
     
-    @Value("${content.generation.interval.seconds:60}")
-    private int contentGenerationIntervalSeconds;
+    // sync: 키워드별 동기 호출, batch: OpenAI Batch API로 일괄 제출
+    @Value("${content.generation.mode:sync}")
+    private String contentGenerationMode;
+    
+    // 선택한 키워드를 다른 실행이 가져가지 않는 시간 (생성 작업이 끝나면 마지막 생성 시각으로 제외됨)
+    @Value("${content.generation.claim-hours:12}")
+    private int claimHours;
     
     private final KeywordRepository keywordRepository;
     private final ContentRepository contentRepository;
     private final OpenAiService openAiService;
-    
-    // 일일 콘텐츠 생성 카운터
-    private final AtomicInteger dailyGeneratedCount = new AtomicInteger(0);
+    private final OpenAiBatchService openAiBatchService;
+    private final GenerationJobService generationJobService;
+    private final QuotaService quotaService;
+    private final JobLockService jobLockService;
+    private final ContentSimilarityIndex similarityIndex;
+    private final TransactionTemplate transactionTemplate;
     
     // 한국어 설정
     private static final String LANGUAGE = "ko";
@@ -43,31 +62,50 @@ public class ContentGenerationBatchService {
     @Autowired
     public ContentGenerationBatchService(KeywordRepository keywordRepository,
                                        ContentRepository contentRepository,
-                                       OpenAiService openAiService) {
+                                       OpenAiService openAiService,
+                                       OpenAiBatchService openAiBatchService,
+                                       GenerationJobService generationJobService,
+                                       QuotaService quotaService,
+                                       JobLockService jobLockService,
+                                       ContentSimilarityIndex similarityIndex,
+                                       PlatformTransactionManager transactionManager) {
         this.keywordRepository = keywordRepository;
         this.contentRepository = contentRepository;
         this.openAiService = openAiService;
+        this.openAiBatchService = openAiBatchService;
+        this.generationJobService = generationJobService;
+        this.quotaService = quotaService;
+        this.jobLockService = jobLockService;
+        this.similarityIndex = similarityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
     /**
-     * 자정에 일일 카운터 초기화
-     */
-    @Scheduled(cron = "0 0 0 * * ?")
-    public void resetDailyCounter() {
-        logger.info("Resetting daily content generation counter");
-        dailyGeneratedCount.set(0);
-    }
-    
-    /**
-     * 매일 오전 8시에 자동으로 콘텐츠 생성
+     * 매일 오전 8시에 자동으로 콘텐츠 생성 (여러 노드 중 잠금을 얻은 한 노드만 실행)
      */
+    @Workload(WorkloadType.LLM)
     @Scheduled(cron = "0 0 8 * * ?")
     public void generateContent() {
+        jobLockService.runExclusive("content-generation", this::runContentGeneration);
+    }
+    
+    private void runContentGeneration(JobLease lease) {
         logger.info("Starting scheduled content generation");
         
         try {
-            int count = generateContentFromKeywords();
-            logger.info("Generated {} contents", count);
+            if ("batch".equalsIgnoreCase(contentGenerationMode)) {
+                // 배치 제출은 되돌릴 수 없으므로 제출 직전에 잠금이 아직 유효한지 확인
+                if (!jobLockService.verify(lease)) {
+                    logger.warn("Lost content generation lock, skipping batch submission");
+                    return;
+                }
+                int count = submitContentGenerationBatch();
+                logger.info("Submitted {} keywords for batch generation", count);
+                return;
+            }
+            
+            int count = enqueueContentGeneration();
+            logger.info("Queued {} keywords for content generation", count);
         } catch (Exception e) {
             logger.error("Error generating content: {}", e.getMessage(), e);
         }
@@ -76,63 +114,156 @@ public class ContentGenerationBatchService {
     }
     
     /**
-     * 키워드를 기반으로 콘텐츠 생성
-     * @return 생성된 콘텐츠 수
+     * 콘텐츠 생성 대상 키워드를 생성 작업으로 등록
+     * 실제 생성은 GenerationJobService의 작업자가 처리하므로, 재시작해도 남은 작업을 이어서 처리합니다.
+     * @return 새로 등록된 작업 수
      */
-    public int generateContentFromKeywords() {
-        // 일일 제한 확인
-        if (dailyGeneratedCount.get() >= dailyContentGenerationLimit) {
+    public int enqueueContentGeneration() {
+        // 남은 일일 한도만큼만 키워드를 선택 (모든 인스턴스가 같은 한도를 나눠 씀)
+        int granted = quotaService.tryAcquireUpTo(QuotaService.KEYWORD_GENERATION,
+            dailyContentGenerationLimit, dailyContentGenerationLimit);
+        if (granted == 0) {
             logger.info("Daily content generation limit reached: {}", dailyContentGenerationLimit);
             return 0;
         }
         
-        // 콘텐츠 생성에 사용할 키워드 가져오기
-        List<Keyword> activeKeywords = getKeywordsForContentGeneration();
-        int generatedCount = 0;
-        
-        for (Keyword keyword : activeKeywords) {
-            // 일일 제한 확인
-            if (dailyGeneratedCount.get() >= dailyContentGenerationLimit) {
-                break;
-            }
-            
-            try {
-                // OpenAI를 통해 콘텐츠 생성
-                Content content = openAiService.generateKeywordContent(
-                    keyword.getKeyword(),
-                    keyword.getCategory(),
-                    LANGUAGE
-                );
-                
-                if (content != null) {
-                    dailyGeneratedCount.incrementAndGet();
-                    generatedCount++;
-                    
-                    // 키워드 최근 생성 시간 업데이트
-                    keyword.setLastGeneratedAt(LocalDateTime.now());
-                    keywordRepository.save(keyword);
+        int queuedCount = 0;
+        List<Long> unusedKeywordIds = new ArrayList<>();
+        try {
+            for (Keyword keyword : excludeCoveredKeywords(claimKeywordsForContentGeneration(granted))) {
+                if (generationJobService.enqueueKeyword(keyword, LANGUAGE)) {
+                    queuedCount++;
+                } else {
+                    unusedKeywordIds.add(keyword.getId());
                 }
-                
-                // 콘텐츠 생성 간격 대기
-                Thread.sleep(contentGenerationIntervalSeconds * 1000L);
-            } catch (Exception e) {
-                logger.error("Error generating content for keyword {}: {}", keyword.getKeyword(), e.getMessage());
             }
+        } finally {
+            // 이미 등록된 작업이거나 비슷한 콘텐츠가 있거나 대상 키워드가 모자라 쓰지 않은 한도는 되돌림
+            quotaService.release(QuotaService.KEYWORD_GENERATION, granted - queuedCount);
+            releaseClaims(unusedKeywordIds);
         }
         
-        return generatedCount;
+        return queuedCount;
     }
     
     /**
-     * 콘텐츠 생성에 사용할 키워드 목록 조회
+     * 콘텐츠 생성 대상 키워드를 OpenAI 배치 작업으로 제출
+     * 결과는 OpenAiBatchService가 배치 완료 후 일괄 저장합니다.
+     * @return 제출된 키워드 수
+     */
+    public int submitContentGenerationBatch() throws IOException {
+        // 이전 배치 결과를 수집하기 전에는 같은 키워드가 다시 제출될 수 있으므로 새 배치를 만들지 않음
+        if (openAiBatchService.hasActiveBatch(LANGUAGE)) {
+            logger.info("Previous content generation batch is still in progress");
+            return 0;
+        }
+        
+        // 제출할 요청 수만큼 일일 한도를 미리 차감
+        int granted = quotaService.tryAcquireUpTo(QuotaService.KEYWORD_GENERATION,
+            dailyContentGenerationLimit, dailyContentGenerationLimit);
+        if (granted == 0) {
+            logger.info("Daily content generation limit reached: {}", dailyContentGenerationLimit);
+            return 0;
+        }
+        
+        List<Keyword> batchKeywords = new ArrayList<>();
+        boolean submitted = false;
+        try {
+            batchKeywords = excludeCoveredKeywords(claimKeywordsForContentGeneration(granted));
+            submitted = !batchKeywords.isEmpty()
+                && openAiBatchService.submitKeywordBatch(batchKeywords, LANGUAGE) != null;
+        } finally {
+            // 제출하지 못한 요청 수는 한도에 되돌림
+            quotaService.release(QuotaService.KEYWORD_GENERATION, submitted ? granted - batchKeywords.size() : granted);
+            if (!submitted) {
+                releaseClaims(batchKeywords.stream().map(Keyword::getId).collect(Collectors.toList()));
+            }
+        }
+        return submitted ? batchKeywords.size() : 0;
+    }
+
+    /**
+     * 콘텐츠 생성에 사용할 키워드를 우선순위 순으로 최대 limit개 선택
+     * 한도만큼만 조회하고, 선택한 키워드는 claim-hours 동안 다른 실행(다른 노드 포함)이 선택하지 않습니다.
+     * @param limit 선택할 최대 키워드 수 (남은 일일 한도)
      * @return 키워드 목록
      */
-    private List<Keyword> getKeywordsForContentGeneration() {
+    private List<Keyword> claimKeywordsForContentGeneration(int limit) {
         // 활성 상태이며, 아직 콘텐츠가 생성되지 않았거나 일정 기간 이상 지난 키워드 선택
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7); // 7일 이상 지난 키워드는 재사용
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoffDate = now.minusDays(7); // 7일 이상 지난 키워드는 재사용
+        
+        List<Keyword> keywords = transactionTemplate.execute(status -> {
+            List<Keyword> candidates = keywordRepository.lockGenerationCandidates(LANGUAGE, cutoffDate, now, limit);
+            candidates.forEach(keyword -> keyword.setGenerationClaimedUntil(now.plusHours(claimHours)));
+            return keywordRepository.saveAll(candidates);
+        });
+        return keywords != null ? keywords : List.of();
+    }
+    
+    /**
+     * 같은 주제의 최근 콘텐츠가 이미 있거나 같은 실행에서 먼저 선택한 키워드와 비슷한 키워드 제외
+     * 제외한 키워드는 콘텐츠를 생성한 것으로 기록해 재생성 주기 동안 다시 선택되지 않도록 합니다.
+     * @return 생성할 키워드 목록
+     */
+    private List<Keyword> excludeCoveredKeywords(List<Keyword> keywords) {
+        if (keywords.isEmpty() || !similarityIndex.isEnabled()) {
+            return keywords;
+        }
+        // 이전 실행 이후 생성된 콘텐츠까지 비교하도록 색인 갱신
+        similarityIndex.refresh();
         
-        return keywordRepository.findByLanguageAndActiveAndLastGeneratedAtIsNullOrLastGeneratedAtBefore(
-            LANGUAGE, true, cutoffDate);
+        List<Keyword> selected = new ArrayList<>();
+        List<float[]> selectedVectors = new ArrayList<>();
+        for (Keyword keyword : keywords) {
+            float[] vector = similarityIndex.vectorize(keyword.getKeyword(), LANGUAGE);
+            
+            Keyword similarKeyword = null;
+            for (int i = 0; i < selected.size() && similarKeyword == null; i++) {
+                if (similarityIndex.isSimilar(vector, selectedVectors.get(i))) {
+                    similarKeyword = selected.get(i);
+                }
+            }
+            if (similarKeyword != null) {
+                logger.info("Skipping keyword '{}': similar to keyword '{}' in this run",
+                    keyword.getKeyword(), similarKeyword.getKeyword());
+                markCovered(keyword);
+                continue;
+            }
+            
+            Optional<ContentSimilarityIndex.SimilarContent> content =
+                similarityIndex.findCoveringContent(vector, keyword.getKeyword(), LANGUAGE);
+            if (content.isPresent()) {
+                logger.info("Skipping keyword '{}': covered by content #{} '{}' (similarity {})", keyword.getKeyword(),
+                    content.get().getContentId(), content.get().getTitle(), String.format("%.2f", content.get().getSimilarity()));
+                markCovered(keyword);
+                continue;
+            }
+            
+            selected.add(keyword);
+            selectedVectors.add(vector);
+        }
+        return selected;
+    }
+    
+    private void markCovered(Keyword keyword) {
+        keyword.setLastGeneratedAt(LocalDateTime.now());
+        keyword.setGenerationClaimedUntil(null);
+        keywordRepository.save(keyword);
+    }
+    
+    /**
+     * 사용하지 않은 키워드 선택 해제 (다음 실행에서 다시 선택될 수 있도록)
+     */
+    private void releaseClaims(List<Long> keywordIds) {
+        if (keywordIds.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> keywordRepository.releaseGenerationClaims(keywordIds));
+        } catch (Exception e) {
+            logger.warn("Error releasing {} keyword claims: {}", keywordIds.size(), e.getMessage());
+        }
     }
     
     /**
@@ -143,10 +274,12 @@ public class ContentGenerationBatchService {
      */
     public Content generateContentForKeyword(String keyword, String category) {
         try {
+            // 관리자가 기다리는 요청이므로 느린 백엔드에 대비해 헤지 요청 사용
             Content content = openAiService.generateKeywordContent(
                 keyword,
                 category,
-                LANGUAGE
+                LANGUAGE,
+                true
             );
             
             if (content != null) {
@@ -0,0 +1,449 @@
+package com.jsportal.service.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsportal.domain.content.Content;
+import com.jsportal.domain.content.ContentSource;
+import com.jsportal.domain.content.GenerationJob;
+import com.jsportal.domain.keyword.Keyword;
+import com.jsportal.repository.ContentRepository;
+import com.jsportal.repository.ContentSourceRepository;
+import com.jsportal.repository.GenerationJobRepository;
+import com.jsportal.repository.KeywordRepository;
+import com.jsportal.service.api.OpenAiService;
+import com.jsportal.service.crawling.CrawlingService.CrawledPost;
+import com.jsportal.service.execution.TaskExecutors;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * DB에 저장된 콘텐츠 생성 작업을 여러 작업자가 나눠 처리하는 서비스
+ * 작업은 멱등 키로 한 번만 등록되고, 작업자는 SKIP LOCKED로 서로 다른 작업을 가져가 임대 토큰을 받습니다.
+ * 생성 결과는 임대 토큰을 확인한 같은 트랜잭션에서 저장하므로, 임대가 만료되어 다른 작업자가
+ * 같은 작업을 다시 실행하더라도 콘텐츠는 하나만 저장됩니다.
+ */
+@Service
+public class GenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+
+    public static final String TYPE_KEYWORD = "KEYWORD";
+    public static final String TYPE_POST = "POST";
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_DONE = "DONE";
+    static final String STATUS_FAILED = "FAILED";
+
+    @Value("${generation.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${generation.jobs.lease-minutes:10}")
+    private int leaseMinutes;
+
+    @Value("${generation.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${generation.jobs.retry-delay-seconds:300}")
+    private long retryDelaySeconds;
+
+    // 키워드 작업이 최종 실패하면 이 시간 동안 생성 대상으로 선택하지 않음 (이후 선택되면 같은 작업을 다시 시도)
+    @Value("${generation.jobs.failure-cooldown-hours:24}")
+    private long failureCooldownHours;
+
+    private final GenerationJobRepository jobRepository;
+    private final KeywordRepository keywordRepository;
+    private final ContentRepository contentRepository;
+    private final ContentSourceRepository contentSourceRepository;
+    private final OpenAiService openAiService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // 생성 작업자 스레드 풀
+    private final int workerCount;
+    private final ExecutorService workerExecutor;
+
+    @Autowired
+    public GenerationJobService(GenerationJobRepository jobRepository,
+                                KeywordRepository keywordRepository,
+                                ContentRepository contentRepository,
+                                ContentSourceRepository contentSourceRepository,
+                                OpenAiService openAiService,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                TaskExecutors taskExecutors,
+                                @Value("${generation.jobs.workers:2}") int workerCount) {
+        this.jobRepository = jobRepository;
+        this.keywordRepository = keywordRepository;
+        this.contentRepository = contentRepository;
+        this.contentSourceRepository = contentSourceRepository;
+        this.openAiService = openAiService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = Math.max(1, workerCount);
+        this.workerExecutor = taskExecutors.newExecutor("generation-worker", this.workerCount);
+    }
+
+    /**
+     * 종료 시 작업자 스레드 풀 정리
+     * 실행 중이던 작업은 임대가 만료된 뒤 다른 작업자(또는 재시작 후)가 다시 가져갑니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workerExecutor.shutdownNow();
+    }
+
+    /**
+     * 키워드 콘텐츠 생성 작업 등록
+     * 멱등 키에 키워드의 마지막 생성 시각을 포함하므로, 같은 생성 주기에는 몇 번을 등록해도 작업이 하나만 생깁니다.
+     * 같은 주기의 작업이 최종 실패한 상태면 재시도 대기 시간(failure-cooldown-hours)이 지나 다시 선택된 것이므로
+     * 그 작업을 처음부터 다시 시도합니다.
+     * @return 새로 등록했거나 실패한 작업을 되돌렸으면 true, 이미 진행 중이거나 완료된 작업이 있으면 false
+     */
+    public boolean enqueueKeyword(Keyword keyword, String language) {
+        GenerationJob job = newJob(TYPE_KEYWORD, language, keywordKey(keyword));
+        job.setReferenceId(keyword.getId());
+        if (insert(job)) {
+            return true;
+        }
+        Integer retried = transactionTemplate.execute(status ->
+            jobRepository.retryFailed(job.getIdempotencyKey(), LocalDateTime.now()));
+        if (retried != null && retried > 0) {
+            logger.info("Retrying failed generation job {}", job.getIdempotencyKey());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 크롤링한 포스트의 콘텐츠 생성 작업 등록
+     * 포스트 URL로 멱등 키를 만들므로 같은 포스트는 한 번만 등록됩니다.
+     * @return 새로 등록되었으면 true, 이미 같은 작업이 있으면 false
+     */
+    public boolean enqueuePost(CrawledPost post) {
+        GenerationJob job = newJob(TYPE_POST, post.getLanguage(), "post:" + sha256(post.getUrl()));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("title", post.getTitle());
+        payload.put("content", post.getContent());
+        payload.put("url", post.getUrl());
+        payload.put("source", post.getSource());
+        try {
+            job.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Error serializing post payload", e);
+        }
+        return insert(job);
+    }
+
+    /**
+     * 작업자마다 대기 중인 작업을 하나씩 가져와 처리
+     * 작업자 하나당 주기마다 한 건씩 처리하므로 주기가 LLM 호출 간격이 됩니다.
+     */
+    @Workload(WorkloadType.LLM)
+    @Scheduled(fixedDelayString = "PT${content.generation.interval.seconds:60}S",
+               initialDelayString = "${generation.jobs.initial-delay-ms:30000}")
+    public void processJobs() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            futures.add(workerExecutor.submit(this::processNextJob));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error waiting for generation worker: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 작업 하나를 가져와 처리
+     * @return 처리할 작업이 있었으면 true
+     */
+    public boolean processNextJob() {
+        GenerationJob job = claimNextJob();
+        if (job == null) {
+            return false;
+        }
+
+        try {
+            if (TYPE_KEYWORD.equals(job.getJobType())) {
+                runKeywordJob(job);
+            } else if (TYPE_POST.equals(job.getJobType())) {
+                runPostJob(job);
+            } else {
+                fail(job, "Unknown job type: " + job.getJobType(), false);
+            }
+        } catch (Exception e) {
+            logger.error("Error running generation job {}: {}", job.getIdempotencyKey(), e.getMessage(), e);
+            fail(job, e.getMessage(), true);
+        }
+        return true;
+    }
+
+    /**
+     * 가져갈 수 있는 작업 하나에 임대 토큰을 발급
+     * 최대 시도 횟수를 다 쓰고 임대가 만료된 작업은 실패로 정리하고 다음 작업을 찾습니다.
+     * @return 임대한 작업, 없으면 null
+     */
+    GenerationJob claimNextJob() {
+        return transactionTemplate.execute(status -> {
+            while (true) {
+                LocalDateTime now = LocalDateTime.now();
+                List<GenerationJob> candidates = jobRepository.lockClaimable(now, 1);
+                if (candidates.isEmpty()) {
+                    return null;
+                }
+
+                GenerationJob job = candidates.get(0);
+                if (job.getAttempts() >= maxAttempts) {
+                    logger.warn("Generation job {} lease expired after {} attempts", job.getIdempotencyKey(), job.getAttempts());
+                    job.setStatus(STATUS_FAILED);
+                    job.setLastError("Lease expired after " + job.getAttempts() + " attempts");
+                    job.setLeaseToken(null);
+                    job.setLeaseUntil(null);
+                    jobRepository.save(job);
+                    deferKeyword(job);
+                    continue;
+                }
+
+                job.setStatus(STATUS_RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLeaseToken(UUID.randomUUID().toString());
+                job.setLeaseUntil(now.plusMinutes(leaseMinutes));
+                return jobRepository.save(job);
+            }
+        });
+    }
+
+    /**
+     * 키워드 작업 실행
+     */
+    private void runKeywordJob(GenerationJob job) {
+        Keyword keyword = keywordRepository.findById(job.getReferenceId()).orElse(null);
+        if (keyword == null) {
+            fail(job, "Keyword not found: " + job.getReferenceId(), false);
+            return;
+        }
+
+        // 등록 후 관리자 수동 생성 등으로 이미 새 주기가 시작되었으면 생성하지 않음
+        if (!job.getIdempotencyKey().equals(keywordKey(keyword))) {
+            logger.info("Keyword '{}' was generated after job {} was queued, skipping", keyword.getKeyword(), job.getId());
+            complete(job, null);
+            return;
+        }
+
+        Content content = openAiService.createKeywordContent(
+            keyword.getKeyword(), keyword.getCategory(), job.getLanguage(), false);
+        if (content == null) {
+            fail(job, "No usable generation result", true);
+            return;
+        }
+        complete(job, content);
+    }
+
+    /**
+     * 포스트 작업 실행
+     */
+    private void runPostJob(GenerationJob job) throws Exception {
+        JsonNode payload = objectMapper.readTree(job.getPayload());
+        String url = payload.path("url").asText();
+
+        // 다른 경로로 이미 콘텐츠가 만들어진 포스트
+        if (contentSourceRepository.existsBySourceUrl(url)) {
+            complete(job, null);
+            return;
+        }
+
+        Content content = openAiService.generateFunContent(
+            payload.path("content").asText(), payload.path("source").asText(), job.getLanguage());
+        if (content == null) {
+            fail(job, "No usable generation result", true);
+            return;
+        }
+        complete(job, content);
+    }
+
+    /**
+     * 임대 토큰을 확인하고 생성 결과 저장과 작업 완료를 한 트랜잭션으로 처리
+     * 임대를 잃었으면(만료 후 다른 작업자가 가져감) 결과를 버립니다.
+     * @param content 저장할 콘텐츠 (생성할 필요가 없어 건너뛴 경우 null)
+     * @return 완료 처리되었으면 true
+     */
+    boolean complete(GenerationJob job, Content content) {
+        Boolean completed = transactionTemplate.execute(status -> {
+            GenerationJob leased = jobRepository.lockLeased(job.getId(), job.getLeaseToken()).orElse(null);
+            if (leased == null) {
+                logger.warn("Lost lease on generation job {}, discarding result", job.getIdempotencyKey());
+                return false;
+            }
+
+            if (content != null) {
+                // 이전 시도가 저장까지 마쳤다면 그 콘텐츠를 그대로 연결
+                Content saved = contentRepository.findFirstByGenerationKeyAndCreatedAtGreaterThanEqual(
+                    leased.getIdempotencyKey(), leased.getCreatedAt()).orElse(null);
+                if (saved == null) {
+                    content.setGenerationKey(leased.getIdempotencyKey());
+                    openAiService.claimUniqueSlug(content);
+                    saved = contentRepository.save(content);
+                    recordGenerated(leased, saved);
+                }
+                leased.setContentId(saved.getId());
+            }
+
+            leased.setStatus(STATUS_DONE);
+            leased.setLeaseToken(null);
+            leased.setLeaseUntil(null);
+            leased.setLastError(null);
+            leased.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(leased);
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(completed) && content != null) {
+            logger.info("Completed generation job {}: {}", job.getIdempotencyKey(), content.getTitle());
+        }
+        return Boolean.TRUE.equals(completed);
+    }
+
+    /**
+     * 작업 실패 처리
+     * 재시도 가능한 실패는 시도 횟수에 따라 대기 시간을 늘려 다시 대기 상태로 돌리고,
+     * 최대 시도 횟수를 넘었거나 재시도할 수 없는 실패는 실패 상태로 남깁니다.
+     */
+    void fail(GenerationJob job, String error, boolean retryable) {
+        transactionTemplate.executeWithoutResult(status ->
+            jobRepository.lockLeased(job.getId(), job.getLeaseToken()).ifPresent(leased -> {
+                boolean exhausted = !retryable || leased.getAttempts() >= maxAttempts;
+                long delaySeconds = retryDelaySeconds << Math.min(leased.getAttempts() - 1, 6);
+
+                leased.setStatus(exhausted ? STATUS_FAILED : STATUS_PENDING);
+                leased.setAvailableAt(LocalDateTime.now().plusSeconds(delaySeconds));
+                leased.setLeaseToken(null);
+                leased.setLeaseUntil(null);
+                leased.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+                jobRepository.save(leased);
+                if (exhausted) {
+                    deferKeyword(leased);
+                }
+
+                logger.warn("Generation job {} failed (attempt {}/{}){}: {}", leased.getIdempotencyKey(),
+                    leased.getAttempts(), maxAttempts, exhausted ? "" : ", will retry", error);
+            }));
+    }
+
+    /**
+     * 최종 실패한 키워드 작업의 키워드를 failure-cooldown-hours 동안 생성 대상에서 제외
+     * 마지막 생성 시각은 그대로이므로, 제외하지 않으면 우선순위가 높은 키워드가 매번 선택되어
+     * 이미 실패한 작업과 멱등 키가 겹쳐 등록되지 않은 채 한도 자리만 차지합니다.
+     */
+    private void deferKeyword(GenerationJob job) {
+        if (!TYPE_KEYWORD.equals(job.getJobType())) {
+            return;
+        }
+        keywordRepository.findById(job.getReferenceId()).ifPresent(keyword -> {
+            keyword.setGenerationClaimedUntil(LocalDateTime.now().plusHours(failureCooldownHours));
+            keywordRepository.save(keyword);
+        });
+    }
+
+    /**
+     * 콘텐츠 저장과 함께 원본 데이터에 생성 사실을 기록
+     */
+    private void recordGenerated(GenerationJob job, Content content) {
+        if (TYPE_KEYWORD.equals(job.getJobType())) {
+            keywordRepository.findById(job.getReferenceId()).ifPresent(keyword -> {
+                keyword.setLastGeneratedAt(LocalDateTime.now());
+                keywordRepository.save(keyword);
+            });
+        } else if (TYPE_POST.equals(job.getJobType())) {
+            try {
+                JsonNode payload = objectMapper.readTree(job.getPayload());
+                ContentSource source = new ContentSource();
+                source.setContentId(content.getId());
+                source.setSourceName(payload.path("source").asText());
+                source.setSourceUrl(payload.path("url").asText());
+                contentSourceRepository.save(source);
+            } catch (Exception e) {
+                throw new IllegalStateException("Error reading post payload", e);
+            }
+        }
+    }
+
+    private boolean insert(GenerationJob job) {
+        if (jobRepository.existsByIdempotencyKey(job.getIdempotencyKey())) {
+            return false;
+        }
+        try {
+            jobRepository.save(job);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 같은 작업을 먼저 등록함
+            return false;
+        }
+    }
+
+    private static GenerationJob newJob(String jobType, String language, String idempotencyKey) {
+        GenerationJob job = new GenerationJob();
+        job.setJobType(jobType);
+        job.setLanguage(language);
+        job.setIdempotencyKey(idempotencyKey);
+        job.setStatus(STATUS_PENDING);
+        job.setAvailableAt(LocalDateTime.now());
+        return job;
+    }
+
+    /**
+     * 키워드 작업의 멱등 키 (키워드 ID + 마지막 생성 시각)
+     */
+    private static String keywordKey(Keyword keyword) {
+        LocalDateTime lastGeneratedAt = keyword.getLastGeneratedAt();
+        return "keyword:" + keyword.getId() + ":"
+            + (lastGeneratedAt == null ? "new" : lastGeneratedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
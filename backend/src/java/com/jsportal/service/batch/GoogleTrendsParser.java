@@ -0,0 +1,174 @@
+package com.jsportal.service.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Google Trends 일일 트렌드 응답 스트리밍 파서
+ * 응답 전체를 문자열이나 JsonNode 트리로 만들지 않고, 입력 스트림 앞의 XSSI 방지 접두사()]}',)를 건너뛴 뒤
+ * 토큰을 따라가며 default.trendingSearchesDays[].trendingSearches[]의 title.query와
+ * relatedQueries[].query만 읽습니다. 기사 목록 등 나머지 값은 문자열로 변환하지 않고 건너뜁니다.
+ */
+public final class GoogleTrendsParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 응답 앞에 붙는 XSSI 방지 접두사 (뒤에 쉼표가 붙음)
+    private static final byte[] XSSI_PREFIX = {')', ']', '}', '\''};
+
+    private GoogleTrendsParser() {
+    }
+
+    /**
+     * 응답 스트림에서 키워드를 읽어 순서대로 전달
+     * @param input 응답 본문
+     * @param keywordConsumer 키워드를 받을 함수 (트렌드 제목 다음에 관련 검색어)
+     * @return 전달한 키워드 수
+     */
+    public static int parseKeywords(InputStream input, Consumer<String> keywordConsumer) throws IOException {
+        InputStream body = skipXssiPrefix(input);
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("default".equals(field) && value == JsonToken.START_OBJECT) {
+                    count += readDefault(parser, keywordConsumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 스트림이 XSSI 방지 접두사로 시작하면 접두사와 뒤따르는 쉼표를 건너뜀
+     */
+    private static InputStream skipXssiPrefix(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input);
+        buffered.mark(XSSI_PREFIX.length + 1);
+
+        for (byte expected : XSSI_PREFIX) {
+            if (buffered.read() != expected) {
+                buffered.reset();
+                return buffered;
+            }
+        }
+
+        buffered.mark(1);
+        if (buffered.read() != ',') {
+            buffered.reset();
+        }
+        return buffered;
+    }
+
+    private static int readDefault(JsonParser parser, Consumer<String> keywordConsumer) throws IOException {
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("trendingSearchesDays".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    count += readObject(parser, "trendingSearches", keywordConsumer, GoogleTrendsParser::readTrendingSearches);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    private static int readTrendingSearches(JsonParser parser, Consumer<String> keywordConsumer) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            count += readTrend(parser, keywordConsumer);
+        }
+        return count;
+    }
+
+    private static int readTrend(JsonParser parser, Consumer<String> keywordConsumer) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return 0;
+        }
+
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("title".equals(field)) {
+                count += readQuery(parser, keywordConsumer);
+            } else if ("relatedQueries".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    count += readQuery(parser, keywordConsumer);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {"query": "..."} 객체에서 query 값을 읽어 전달
+     */
+    private static int readQuery(JsonParser parser, Consumer<String> keywordConsumer) throws IOException {
+        return readObject(parser, "query", keywordConsumer, (p, consumer) -> {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                String query = p.getText();
+                if (!query.isEmpty()) {
+                    consumer.accept(query);
+                    return 1;
+                }
+            } else {
+                p.skipChildren();
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * 현재 객체에서 지정한 필드 값만 reader로 읽고 나머지 필드는 건너뜀
+     */
+    private static int readObject(JsonParser parser, String targetField, Consumer<String> keywordConsumer,
+                                  FieldReader reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return 0;
+        }
+
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (targetField.equals(field)) {
+                count += reader.read(parser, keywordConsumer);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        int read(JsonParser parser, Consumer<String> keywordConsumer) throws IOException;
+    }
+}
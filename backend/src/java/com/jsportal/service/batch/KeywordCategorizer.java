@@ -0,0 +1,127 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.keyword.KeywordCategoryTerm;
+import com.jsportal.repository.KeywordCategoryTermRepository;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * keyword_category_terms 사전으로 키워드 카테고리를 정하는 컴포넌트
+ * 사전은 Aho-Corasick 오토마톤(KeywordCategoryMatcher)으로 컴파일해 두고, 주기적으로 사전 변경을 확인해
+ * 바뀌었으면 새로 컴파일한 오토마톤으로 교체합니다. 분류는 메모리에서만 이루어지므로 DB나 LLM을 호출하지 않습니다.
+ */
+@Component
+public class KeywordCategorizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordCategorizer.class);
+
+    public static final String DEFAULT_CATEGORY = "general";
+
+    // 사전이 비어 있을 때 등록할 기본 항목 (기존 분류 규칙)
+    private static final Map<String, List<String>> DEFAULT_TERMS = Map.of(
+        "health", List.of("코로나", "백신", "건강"),
+        "finance", List.of("주식", "비트코인", "투자"),
+        "entertainment", List.of("영화", "드라마", "배우"),
+        "game", List.of("게임", "출시")
+    );
+    private static final String DEFAULT_TERMS_LANGUAGE = "ko";
+
+    private final KeywordCategoryTermRepository termRepository;
+
+    private volatile KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of());
+
+    // 마지막으로 컴파일한 사전의 항목 수와 변경 시각 (변경 감지용)
+    private volatile long loadedCount = -1;
+    private volatile LocalDateTime loadedModifiedAt;
+
+    @Autowired
+    public KeywordCategorizer(KeywordCategoryTermRepository termRepository) {
+        this.termRepository = termRepository;
+    }
+
+    /**
+     * 애플리케이션 시작 시 사전이 비어 있으면 기본 항목을 등록하고 사전 컴파일
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (termRepository.count() == 0) {
+                List<KeywordCategoryTerm> defaults = new ArrayList<>();
+                DEFAULT_TERMS.forEach((category, terms) -> terms.forEach(term ->
+                    defaults.add(new KeywordCategoryTerm(category, term, DEFAULT_TERMS_LANGUAGE))));
+                termRepository.saveAll(defaults);
+                logger.info("Registered {} default keyword category terms", defaults.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Error registering default keyword category terms: {}", e.getMessage());
+        }
+        reload();
+    }
+
+    /**
+     * 사전이 바뀌었으면 다시 컴파일
+     * 항목 추가, 수정은 변경 시각으로, 삭제는 항목 수로 감지합니다.
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${keyword.categorizer.reload-interval-ms:60000}",
+               initialDelayString = "${keyword.categorizer.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        try {
+            long count = termRepository.count();
+            LocalDateTime modifiedAt = termRepository.findLastModifiedAt();
+            if (count != loadedCount || !Objects.equals(modifiedAt, loadedModifiedAt)) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.warn("Error checking keyword category terms: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사전을 읽어 새 오토마톤으로 교체 (실패하면 기존 오토마톤 유지)
+     */
+    public void reload() {
+        try {
+            long count = termRepository.count();
+            LocalDateTime modifiedAt = termRepository.findLastModifiedAt();
+
+            List<KeywordCategoryMatcher.Entry> entries = new ArrayList<>();
+            for (KeywordCategoryTerm term : termRepository.findByActiveTrue()) {
+                double weight = term.getWeight() != null ? term.getWeight() : 1.0;
+                entries.add(new KeywordCategoryMatcher.Entry(term.getCategory(), term.getTerm(), term.getLanguage(), weight));
+            }
+
+            long started = System.nanoTime();
+            matcher = KeywordCategoryMatcher.compile(entries);
+            loadedCount = count;
+            loadedModifiedAt = modifiedAt;
+            logger.info("Compiled {} keyword category terms in {} ms",
+                matcher.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Error loading keyword category terms: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 키워드 카테고리 분류
+     * @param keyword 키워드 텍스트
+     * @param language 키워드 언어
+     * @return 카테고리 (사전 단어가 없으면 general)
+     */
+    public String categorize(String keyword, String language) {
+        return matcher.categorize(keyword, language, DEFAULT_CATEGORY);
+    }
+}
@@ -0,0 +1,217 @@
+package com.jsportal.service.batch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 카테고리 사전을 컴파일한 Aho-Corasick 오토마톤
+ * 키워드를 한 번 훑으면서 사전 단어를 모두 찾으므로 분류 시간이 사전 크기와 관계없이 키워드 길이에 비례합니다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드가 잠금 없이 함께 사용할 수 있고, 사전이 바뀌면 새로 만들어 교체합니다.
+ * 대소문자는 구분하지 않습니다.
+ */
+public final class KeywordCategoryMatcher {
+
+    /**
+     * 사전 항목 (language가 null이면 모든 언어에 적용)
+     */
+    public static final class Entry {
+        private final String category;
+        private final String term;
+        private final String language;
+        private final double weight;
+
+        public Entry(String category, String term, String language, double weight) {
+            this.category = category;
+            this.term = term;
+            this.language = language;
+            this.weight = weight;
+        }
+    }
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final String[] categories;
+
+    // 상태별 전이: 정렬된 문자와 같은 위치의 다음 상태
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+
+    // 실패 링크 (전이가 없을 때 이동할 가장 긴 접미사 상태)
+    private final int[] failure;
+
+    // 상태에서 끝나는 사전 항목 (실패 링크를 따라 끝나는 항목까지 포함)
+    private final int[][] outputs;
+
+    // 항목별 카테고리 번호, 언어, 가중치
+    private final int[] entryCategories;
+    private final String[] entryLanguages;
+    private final double[] entryWeights;
+
+    private KeywordCategoryMatcher(String[] categories, char[][] transitionChars, int[][] transitionTargets,
+                                   int[] failure, int[][] outputs, int[] entryCategories,
+                                   String[] entryLanguages, double[] entryWeights) {
+        this.categories = categories;
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.entryCategories = entryCategories;
+        this.entryLanguages = entryLanguages;
+        this.entryWeights = entryWeights;
+    }
+
+    /**
+     * 사전 항목으로 오토마톤 생성
+     */
+    public static KeywordCategoryMatcher compile(List<Entry> entries) {
+        Map<String, Integer> categoryIndex = new LinkedHashMap<>();
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        stateOutputs.add(new ArrayList<>());
+
+        List<Entry> accepted = new ArrayList<>();
+        for (Entry entry : entries) {
+            String term = normalize(entry.term);
+            if (term.isEmpty() || entry.category == null || entry.category.isBlank()) {
+                continue;
+            }
+            categoryIndex.putIfAbsent(entry.category, categoryIndex.size());
+
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = children.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    stateOutputs.add(new ArrayList<>());
+                    children.get(state).put(term.charAt(i), next);
+                }
+                state = next;
+            }
+            stateOutputs.get(state).add(accepted.size());
+            accepted.add(entry);
+        }
+
+        // 너비 우선으로 실패 링크를 만들고, 실패 상태의 출력을 이어 붙임
+        int stateCount = children.size();
+        int[] failure = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>(children.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> child : children.get(state).entrySet()) {
+                int target = child.getValue();
+                int fallback = failure[state];
+                while (state != 0 && fallback != 0 && !children.get(fallback).containsKey(child.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer link = state == 0 ? null : children.get(fallback).get(child.getKey());
+                failure[target] = link != null ? link : 0;
+                stateOutputs.get(target).addAll(stateOutputs.get(failure[target]));
+                queue.add(target);
+            }
+        }
+
+        char[][] transitionChars = new char[stateCount][];
+        int[][] transitionTargets = new int[stateCount][];
+        int[][] outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> sorted = new TreeMap<>(children.get(state));
+            transitionChars[state] = new char[sorted.size()];
+            transitionTargets[state] = new int[sorted.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> child : sorted.entrySet()) {
+                transitionChars[state][i] = child.getKey();
+                transitionTargets[state][i] = child.getValue();
+                i++;
+            }
+            List<Integer> out = stateOutputs.get(state);
+            outputs[state] = out.isEmpty() ? NO_OUTPUTS : out.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] entryCategories = new int[accepted.size()];
+        String[] entryLanguages = new String[accepted.size()];
+        double[] entryWeights = new double[accepted.size()];
+        for (int i = 0; i < accepted.size(); i++) {
+            Entry entry = accepted.get(i);
+            entryCategories[i] = categoryIndex.get(entry.category);
+            entryLanguages[i] = entry.language == null || entry.language.isBlank() ? null : entry.language;
+            entryWeights[i] = entry.weight;
+        }
+
+        return new KeywordCategoryMatcher(categoryIndex.keySet().toArray(new String[0]), transitionChars,
+            transitionTargets, failure, outputs, entryCategories, entryLanguages, entryWeights);
+    }
+
+    /**
+     * 키워드에 포함된 사전 단어의 가중치를 카테고리별로 더해 가장 높은 카테고리 반환
+     * 점수가 같으면 사전에 먼저 나온 카테고리를 고릅니다.
+     * @param keyword 키워드
+     * @param language 키워드 언어 (해당 언어 항목과 언어가 없는 항목만 적용)
+     * @param defaultCategory 일치하는 단어가 없을 때 반환할 카테고리
+     */
+    public String categorize(String keyword, String language, String defaultCategory) {
+        if (keyword == null || categories.length == 0) {
+            return defaultCategory;
+        }
+
+        double[] scores = null;
+        String text = normalize(keyword);
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            for (int entry : outputs[state]) {
+                String entryLanguage = entryLanguages[entry];
+                if (entryLanguage != null && !entryLanguage.equals(language)) {
+                    continue;
+                }
+                if (scores == null) {
+                    scores = new double[categories.length];
+                }
+                scores[entryCategories[entry]] += entryWeights[entry];
+            }
+        }
+
+        if (scores == null) {
+            return defaultCategory;
+        }
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return scores[best] > 0 ? categories[best] : defaultCategory;
+    }
+
+    /**
+     * 사전 단어 수
+     */
+    public int size() {
+        return entryCategories.length;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int index = Arrays.binarySearch(transitionChars[state], c);
+            if (index >= 0) {
+                return transitionTargets[state][index];
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,27 +3,53 @@ package com.jsportal.service.batch;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jsportal.domain.keyword.Keyword;
+import com.jsportal.domain.keyword.KeywordCollectionTarget;
 import com.jsportal.domain.keyword.KeywordSource;
+import com.jsportal.repository.KeywordCollectionTargetRepository;
 import com.jsportal.repository.KeywordRepository;
 import com.jsportal.repository.KeywordSourceRepository;
+import com.jsportal.service.execution.TaskExecutors;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 다양한 소스에서 인기 키워드를 수집하는 배치 서비스
+ * 수집 대상은 (언어, 지역, 소스) 조합으로 keyword_collection_targets 테이블에 등록되며, 대상마다 수집 주기와
+ * 분당 요청 수 제한을 가집니다. 수집 예정 시각이 된 대상들은 동시에 호출하고, 먼저 응답한 대상의 키워드부터
+ * 해당 언어로 저장합니다. 대상마다 제한 시간이 있어 느린 소스가 전체 수집을 붙잡지 않습니다.
  */
 @Service
 public class KeywordCollectionBatchService {
@@ -46,78 +72,192 @@ public class KeywordCollectionBatchService {
     private final ObjectMapper objectMapper;
     private final KeywordRepository keywordRepository;
     private final KeywordSourceRepository keywordSourceRepository;
+    private final KeywordCollectionTargetRepository targetRepository;
+    private final KeywordScoringService keywordScoringService;
+    private final KeywordCategorizer keywordCategorizer;
+    private final KeywordNormalizer keywordNormalizer;
+    private final TransactionTemplate transactionTemplate;
     
-    // 한국어 전용 서비스
+    // 소스별 호출을 동시에 실행하기 위한 실행기
+    private final ExecutorService sourceExecutor;
+    
+    // 소스 하나의 응답을 기다리는 최대 시간
+    private final long sourceTimeoutMillis;
+    
+    // 처음 시작할 때 등록할 수집 대상 (언어:지역:소스, 쉼표로 구분)
+    @Value("${keyword.collection.default-targets:ko:KR:google-trends,ko:KR:naver-datalab,ja:JP:google-trends,en:US:google-trends}")
+    private String defaultTargets;
+    
+    // 대상을 맡은 노드가 수집을 끝내지 못하면 이 시간 뒤 다른 노드가 다시 수집
+    @Value("${keyword.collection.lease-minutes:30}")
+    private int leaseMinutes;
+    
+    // 수집에 실패한 대상을 다시 시도하기까지의 최대 시간
+    @Value("${keyword.collection.retry-minutes:60}")
+    private int retryMinutes;
+    
+    // 대상별 다음 요청 가능 시각 (System.nanoTime 기준)
+    private final Map<Long, AtomicLong> nextRequestNanos = new ConcurrentHashMap<>();
+    
+    // 수동 추가, 조회 기본 언어
     private static final String LANGUAGE = "ko";
-    private static final String GEO = "KR";
+    
+    // 우선순위를 지정하지 않고 수동 추가한 키워드의 우선순위
+    private static final int DEFAULT_MANUAL_PRIORITY = 5;
+    
+    // Google Trends tz 파라미터 계산용 지역별 시간대
+    private static final Map<String, ZoneId> GEO_ZONES = Map.of(
+        "KR", ZoneId.of("Asia/Seoul"),
+        "JP", ZoneId.of("Asia/Tokyo"),
+        "US", ZoneId.of("America/New_York")
+    );
     
     @Autowired
-    public KeywordCollectionBatchService(RestTemplate restTemplate, 
+    public KeywordCollectionBatchService(RestTemplateBuilder restTemplateBuilder, 
                                         ObjectMapper objectMapper,
                                         KeywordRepository keywordRepository,
-                                        KeywordSourceRepository keywordSourceRepository) {
-        this.restTemplate = restTemplate;
+                                        KeywordSourceRepository keywordSourceRepository,
+                                        KeywordCollectionTargetRepository targetRepository,
+                                        KeywordScoringService keywordScoringService,
+                                        KeywordCategorizer keywordCategorizer,
+                                        KeywordNormalizer keywordNormalizer,
+                                        PlatformTransactionManager transactionManager,
+                                        TaskExecutors taskExecutors,
+                                        @Value("${keyword.collection.source-timeout-ms:15000}") long sourceTimeoutMillis) {
+        this.restTemplate = restTemplateBuilder
+            .setConnectTimeout(Duration.ofMillis(Math.min(sourceTimeoutMillis, 5000)))
+            .setReadTimeout(Duration.ofMillis(sourceTimeoutMillis))
+            .build();
         this.objectMapper = objectMapper;
         this.keywordRepository = keywordRepository;
         this.keywordSourceRepository = keywordSourceRepository;
+        this.targetRepository = targetRepository;
+        this.keywordScoringService = keywordScoringService;
+        this.keywordCategorizer = keywordCategorizer;
+        this.keywordNormalizer = keywordNormalizer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sourceExecutor = taskExecutors.newExecutor("keyword-source", 0);
+        this.sourceTimeoutMillis = sourceTimeoutMillis;
+    }
+    
+    /**
+     * 종료 시 소스 호출 실행기 정리
+     */
+    @PreDestroy
+    public void shutdown() {
+        sourceExecutor.shutdownNow();
+    }
+    
+    /**
+     * 애플리케이션 시작 시 DB에 없는 기본 수집 대상 등록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerDefaultTargets() {
+        for (String spec : defaultTargets.split(",")) {
+            String[] parts = spec.trim().split(":");
+            if (parts.length != 3) {
+                if (!spec.isBlank()) {
+                    logger.warn("Ignoring invalid keyword collection target: {}", spec);
+                }
+                continue;
+            }
+            
+            String language = parts[0].trim();
+            String geo = parts[1].trim().toUpperCase(Locale.ROOT);
+            String source = parts[2].trim();
+            try {
+                if (targetRepository.findByLanguageAndGeoAndSource(language, geo, source).isEmpty()) {
+                    targetRepository.save(new KeywordCollectionTarget(language, geo, source));
+                    logger.info("Registered keyword collection target: {}-{}/{}", language, geo, source);
+                }
+            } catch (Exception e) {
+                logger.error("Error registering keyword collection target {}: {}", spec, e.getMessage());
+            }
+        }
     }
     
     /**
-     * 키워드를 수집하는 스케줄링된 작업
-     * 매일 오전 6시에 실행
+     * 수집 예정 시각이 된 대상의 키워드를 수집하는 스케줄링된 작업
+     * 대상마다 수집을 맡은 노드 하나만 실행합니다.
      */
-    @Scheduled(cron = "0 0 6 * * ?")
+    @Workload(WorkloadType.CRAWL)
+    @Scheduled(fixedDelayString = "${keyword.collection.poll-interval-ms:300000}",
+               initialDelayString = "${keyword.collection.initial-delay-ms:60000}")
     public void collectKeywords() {
-        logger.info("Starting scheduled keyword collection");
-        
         try {
             int count = collectKeywordsFromSources();
-            logger.info("Collected {} new keywords", count);
+            if (count > 0) {
+                logger.info("Collected {} new keywords", count);
+            }
         } catch (Exception e) {
             logger.error("Error collecting keywords: {}", e.getMessage(), e);
         }
-        
-        logger.info("Completed scheduled keyword collection");
     }
     
     /**
-     * 다양한 소스에서 키워드 수집
+     * 수집 예정 시각이 된 대상에서 키워드 수집
+     * 모든 대상을 동시에 호출하므로 수집 시간은 대상별 시간의 합이 아니라 가장 느린 대상의 시간이 됩니다.
      * @return 수집된 키워드 수
      */
     public int collectKeywordsFromSources() {
-        logger.info("Collecting keywords");
-        
-        List<String> keywords = new ArrayList<>();
-        
-        // Google Trends에서 키워드 수집
-        try {
-            List<String> googleTrendsKeywords = collectGoogleTrendsKeywords();
-            keywords.addAll(googleTrendsKeywords);
-            logger.info("Collected {} keywords from Google Trends", googleTrendsKeywords.size());
-        } catch (Exception e) {
-            logger.error("Error collecting keywords from Google Trends: {}", e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        List<KeywordCollectionTarget> targets = new ArrayList<>();
+        for (KeywordCollectionTarget target : targetRepository.findDueTargets(now)) {
+            if (claim(target, now)) {
+                targets.add(target);
+            }
         }
-        
-        // Naver DataLab에서 키워드 수집
-        try {
-            List<String> naverKeywords = collectNaverDatalabKeywords();
-            keywords.addAll(naverKeywords);
-            logger.info("Collected {} keywords from Naver DataLab", naverKeywords.size());
-        } catch (Exception e) {
-            logger.error("Error collecting keywords from Naver DataLab: {}", e.getMessage());
+        if (targets.isEmpty()) {
+            return 0;
         }
         
-        // 수집된 키워드 중복 제거
-        List<String> uniqueKeywords = keywords.stream()
-                .distinct()
-                .collect(Collectors.toList());
+        logger.info("Collecting keywords from {} targets", targets.size());
+        
+        // 대상별 결과를 완료되는 순서대로 받음 (제한 시간이 있으므로 모든 대상이 결과를 남김)
+        // 요청 속도 제한으로 기다려야 하는 대상은 스레드를 점유하지 않고 지연 실행
+        BlockingQueue<SourceResult> results = new LinkedBlockingQueue<>();
+        for (KeywordCollectionTarget target : targets) {
+            long waitNanos = reserveRequest(target);
+            CompletableFuture.supplyAsync(() -> collectTargetKeywords(target),
+                    CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, sourceExecutor))
+                .orTimeout(TimeUnit.NANOSECONDS.toMillis(waitNanos) + sourceTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((keywords, error) -> results.add(new SourceResult(target, keywords, error)));
+        }
         
-        // 키워드 저장
+        // 수집된 키워드를 언어별로 중복 제거하며 저장
+        Set<String> seenKeywords = new HashSet<>();
         int savedCount = 0;
-        for (String keyword : uniqueKeywords) {
-            if (saveKeyword(keyword)) {
-                savedCount++;
+        for (int i = 0; i < targets.size(); i++) {
+            SourceResult result;
+            try {
+                result = results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            
+            KeywordCollectionTarget target = result.target;
+            if (result.error != null) {
+                Throwable cause = result.error instanceof CompletionException && result.error.getCause() != null
+                    ? result.error.getCause() : result.error;
+                String message = cause instanceof TimeoutException
+                    ? "Timed out after " + sourceTimeoutMillis + " ms" : cause.getMessage();
+                logger.error("Error collecting keywords from {}: {}", target.getTargetName(), message);
+                recordFailure(target, message);
+                continue;
             }
+            
+            logger.info("Collected {} keywords from {}", result.keywords.size(), target.getTargetName());
+            int targetSavedCount = 0;
+            for (String keyword : result.keywords) {
+                String canonicalKey = keywordNormalizer.canonicalKey(keyword, target.getLanguage());
+                String seenKey = target.getLanguage() + ":" + (canonicalKey.isEmpty() ? keyword : canonicalKey);
+                if (seenKeywords.add(seenKey) && saveKeyword(keyword, canonicalKey, target)) {
+                    targetSavedCount++;
+                }
+            }
+            recordSuccess(target, result.keywords.size());
+            savedCount += targetSavedCount;
         }
         
         logger.info("Saved {} new keywords", savedCount);
@@ -125,71 +265,104 @@ public class KeywordCollectionBatchService {
     }
     
     /**
-     * Google Trends API에서 인기 키워드 수집
+     * 다른 노드가 먼저 맡지 않았으면 대상의 다음 예정 시각을 임대 만료 시각으로 미뤄 수집을 맡음
+     */
+    private boolean claim(KeywordCollectionTarget target, LocalDateTime now) {
+        try {
+            Integer claimed = transactionTemplate.execute(status ->
+                targetRepository.claim(target.getId(), now, now.plusMinutes(leaseMinutes)));
+            return claimed != null && claimed == 1;
+        } catch (Exception e) {
+            logger.warn("Error claiming keyword collection target {}: {}", target.getTargetName(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private void recordSuccess(KeywordCollectionTarget target, int keywordCount) {
+        LocalDateTime now = LocalDateTime.now();
+        target.setLastCollectedAt(now);
+        target.setLastKeywordCount(keywordCount);
+        target.setLastError(null);
+        target.setNextDueAt(now.plusMinutes(target.getIntervalMinutes()));
+        saveTarget(target);
+    }
+    
+    private void recordFailure(KeywordCollectionTarget target, String message) {
+        target.setLastError(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        target.setNextDueAt(LocalDateTime.now().plusMinutes(Math.min(retryMinutes, target.getIntervalMinutes())));
+        saveTarget(target);
+    }
+    
+    private void saveTarget(KeywordCollectionTarget target) {
+        try {
+            targetRepository.save(target);
+        } catch (Exception e) {
+            logger.error("Error saving keyword collection target {}: {}", target.getTargetName(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 대상의 분당 요청 수 제한에 맞춰 다음 요청 시점을 예약
+     * @return 요청하기 전에 기다려야 하는 시간 (나노초)
+     */
+    private long reserveRequest(KeywordCollectionTarget target) {
+        long intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, target.getRequestsPerMinute());
+        AtomicLong nextRequest = nextRequestNanos.computeIfAbsent(target.getId(), id -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        long reserved = nextRequest.getAndAccumulate(now, (previous, current) -> Math.max(previous, current) + intervalNanos);
+        return Math.max(0L, Math.max(reserved, now) - now);
+    }
+    
+    /**
+     * 대상의 소스에서 키워드 수집
+     */
+    private List<String> collectTargetKeywords(KeywordCollectionTarget target) {
+        try {
+            switch (target.getSource()) {
+                case KeywordCollectionTarget.SOURCE_GOOGLE_TRENDS:
+                    return collectGoogleTrendsKeywords(target);
+                case KeywordCollectionTarget.SOURCE_NAVER_DATALAB:
+                    return collectNaverDatalabKeywords();
+                default:
+                    throw new IllegalArgumentException("Unknown keyword source: " + target.getSource());
+            }
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Google Trends API에서 대상 언어와 지역의 인기 키워드 수집
+     * 응답은 스트리밍으로 파싱하여 키워드만 추출합니다.
      * @return 수집된 키워드 리스트
      */
-    private List<String> collectGoogleTrendsKeywords() throws Exception {
+    private List<String> collectGoogleTrendsKeywords(KeywordCollectionTarget target) throws Exception {
+        // tz는 UTC와의 차이를 분 단위로, 동쪽을 음수로 표기 (KST는 -540)
+        ZoneOffset offset = GEO_ZONES.getOrDefault(target.getGeo(), ZoneOffset.UTC).getRules().getOffset(Instant.now());
         String url = googleTrendsApiUrl + 
-                "?hl=" + LANGUAGE + 
-                "&geo=" + GEO + 
-                "&tz=-540" +  // GMT+9 (KST)
+                "?hl=" + target.getLanguage() + 
+                "&geo=" + target.getGeo() + 
+                "&tz=" + (-offset.getTotalSeconds() / 60) + 
                 "&cat=all" + 
                 "&ns=15";
         
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        List<String> keywords = restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            List<String> collected = new ArrayList<>();
+            GoogleTrendsParser.parseKeywords(response.getBody(), collected::add);
+            return collected;
+        });
         
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            // Google Trends API는 응답 시작 부분에 ")]}'," 문자열을 포함하기 때문에 제거해야 함
-            String jsonString = response.getBody();
-            if (jsonString.startsWith(")]}',")) {
-                jsonString = jsonString.substring(5);
-            }
-            
-            JsonNode rootNode = objectMapper.readTree(jsonString);
-            JsonNode trendingSearchesNode = rootNode.path("default").path("trendingSearchesDays");
-            
-            List<String> keywords = new ArrayList<>();
-            
-            if (trendingSearchesNode.isArray()) {
-                for (JsonNode dayNode : trendingSearchesNode) {
-                    JsonNode trendsNode = dayNode.path("trendingSearches");
-                    
-                    if (trendsNode.isArray()) {
-                        for (JsonNode trendNode : trendsNode) {
-                            String keyword = trendNode.path("title").path("query").asText();
-                            if (!keyword.isEmpty()) {
-                                keywords.add(keyword);
-                            }
-                            
-                            // 관련 쿼리도 수집
-                            JsonNode relatedQueriesNode = trendNode.path("relatedQueries");
-                            if (relatedQueriesNode.isArray()) {
-                                for (JsonNode queryNode : relatedQueriesNode) {
-                                    String relatedKeyword = queryNode.path("query").asText();
-                                    if (!relatedKeyword.isEmpty()) {
-                                        keywords.add(relatedKeyword);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            
-            return keywords;
-        } else {
-            logger.error("Failed to get data from Google Trends: {}", response.getStatusCode());
-            return Collections.emptyList();
-        }
+        return keywords != null ? keywords : Collections.emptyList();
     }
     
     /**
-     * Naver DataLab API에서 인기 키워드 수집
+     * Naver DataLab API에서 인기 키워드 수집 (한국어 대상)
      * @return 수집된 키워드 리스트
      */
     private List<String> collectNaverDatalabKeywords() throws Exception {
         // 네이버 API 자격 증명이 기본값인 경우 빈 목록 반환
-        if ("NAVER_CLIENT_ID_PLACEHOLDER".equals(naverClientId) || 
+        if (naverClientId.isBlank() || naverClientSecret.isBlank() ||
+            "NAVER_CLIENT_ID_PLACEHOLDER".equals(naverClientId) || 
             "NAVER_CLIENT_SECRET_PLACEHOLDER".equals(naverClientSecret)) {
             logger.warn("Naver API credentials not configured. Skipping Naver DataLab keyword collection.");
             return Collections.emptyList();
@@ -256,60 +429,50 @@ public class KeywordCollectionBatchService {
     }
     
     /**
-     * 키워드를 저장하고 출처 정보 추가
+     * 키워드를 수집 대상의 언어로 저장하고 출처 정보 추가
      * @param term 키워드 텍스트
+     * @param canonicalKey 정규화 키 (표기만 다른 키워드가 이미 있으면 그 키워드에 관측 추가)
+     * @param target 수집 대상
      * @return 저장 성공 여부
      */
-    private boolean saveKeyword(String term) {
+    private boolean saveKeyword(String term, String canonicalKey, KeywordCollectionTarget target) {
         // 이미 존재하는 키워드인지 확인
-        Optional<Keyword> existingKeyword = keywordRepository.findByKeywordAndLanguage(term, LANGUAGE);
+        Optional<Keyword> existingKeyword = findExistingKeyword(term, canonicalKey, target.getLanguage());
         if (existingKeyword.isPresent()) {
-            // 이미 존재하는 경우 우선순위만 업데이트
+            // 이미 존재하는 경우 관측을 추세 점수에 반영하고 우선순위 업데이트
             Keyword keyword = existingKeyword.get();
-            keyword.setUpdatedAt(LocalDateTime.now());
+            LocalDateTime now = LocalDateTime.now();
+            keyword.setUpdatedAt(now);
             
             // 활성 상태로 변경 (만약 비활성화되어 있었다면)
             if (!keyword.isActive()) {
                 keyword.setActive(true);
             }
             
+            if (KeywordScoringService.SCORED_SOURCE.equals(keyword.getSource())) {
+                keywordScoringService.recordObservation(keyword, now);
+            }
             keywordRepository.save(keyword);
+            saveObservation(keyword, target, now);
             return false;
         }
         
         // 새 키워드 생성
         try {
+            LocalDateTime now = LocalDateTime.now();
             Keyword keyword = new Keyword();
             keyword.setKeyword(term);
-            keyword.setLanguage(LANGUAGE);
-            keyword.setSource("api");
-            keyword.setPriority(getKeywordPriority(term));
+            keyword.setLanguage(target.getLanguage());
+            keyword.setCanonicalKey(canonicalKey.isEmpty() ? null : canonicalKey);
+            keyword.setSource(KeywordScoringService.SCORED_SOURCE);
             keyword.setActive(true);
-            keyword.setCreatedAt(LocalDateTime.now());
-            keyword.setUpdatedAt(LocalDateTime.now());
-            
-            // 카테고리는 간단한 휴리스틱으로 설정 (실제로는 더 복잡한 로직이 필요)
-            String category = "general";
-            if (term.contains("코로나") || term.contains("백신") || term.contains("건강")) {
-                category = "health";
-            } else if (term.contains("주식") || term.contains("비트코인") || term.contains("투자")) {
-                category = "finance";
-            } else if (term.contains("영화") || term.contains("드라마") || term.contains("배우")) {
-                category = "entertainment";
-            } else if (term.contains("게임") || term.contains("출시")) {
-                category = "game";
-            }
-            
-            keyword.setCategory(category);
+            keyword.setCreatedAt(now);
+            keyword.setUpdatedAt(now);
+            keywordScoringService.recordObservation(keyword, now);
+            keyword.setCategory(keywordCategorizer.categorize(term, target.getLanguage()));
             
             Keyword savedKeyword = keywordRepository.save(keyword);
-            
-            // 키워드 출처 정보 저장
-            KeywordSource source = new KeywordSource();
-            source.setKeywordId(savedKeyword.getId());
-            source.setSourceName("api-collection");
-            source.setCollectionDate(LocalDateTime.now());
-            keywordSourceRepository.save(source);
+            saveObservation(savedKeyword, target, now);
             
             return true;
         } catch (Exception e) {
@@ -319,43 +482,46 @@ public class KeywordCollectionBatchService {
     }
     
     /**
-     * 키워드 우선순위 계산 (길이, 특수 단어 등을 고려)
-     * @param keyword 키워드 텍스트
-     * @return 우선순위 값 (1-10)
+     * 정규화 키나 텍스트가 같은 키워드 조회
+     * 키가 아직 계산되지 않은 기존 키워드는 텍스트로 찾고, 다른 키워드로 합쳐진 키워드면 합친 키워드를 반환합니다.
      */
-    private int getKeywordPriority(String keyword) {
-        int priority = 5; // 기본 우선순위
-        
-        // 단어 길이에 따른 우선순위 조정
-        if (keyword.length() < 3) {
-            priority -= 2; // 너무 짧은 키워드는 우선순위 낮춤
-        } else if (keyword.length() > 10) {
-            priority += 1; // 긴 키워드는 조금 더 높은 우선순위
+    private Optional<Keyword> findExistingKeyword(String term, String canonicalKey, String language) {
+        Optional<Keyword> keyword = canonicalKey.isEmpty() ? Optional.empty()
+            : keywordRepository.findByLanguageAndCanonicalKey(language, canonicalKey);
+        if (keyword.isEmpty()) {
+            keyword = keywordRepository.findByKeywordAndLanguage(term, language);
         }
-        
-        // 특정 단어 포함 여부에 따른 우선순위 조정
-        List<String> highPriorityWords = Arrays.asList("신규", "출시", "화제", "인기", "논란", "이슈");
-        
-        for (String word : highPriorityWords) {
-            if (keyword.contains(word)) {
-                priority += 1;
-                break;
+        if (keyword.isPresent() && keyword.get().getMergedIntoId() != null) {
+            Optional<Keyword> survivor = keywordRepository.findById(keyword.get().getMergedIntoId());
+            if (survivor.isPresent()) {
+                return survivor;
             }
         }
-        
-        // 우선순위 범위 제한 (1-10)
-        return Math.max(1, Math.min(10, priority));
+        return keyword;
+    }
+    
+    /**
+     * 키워드 관측 기록 (추세 점수를 처음부터 다시 계산할 때 이력으로 사용)
+     */
+    private void saveObservation(Keyword keyword, KeywordCollectionTarget target, LocalDateTime collectedAt) {
+        KeywordSource source = new KeywordSource();
+        source.setKeywordId(keyword.getId());
+        source.setSourceName(target.getSource());
+        source.setCollectionDate(collectedAt);
+        source.setDetails(target.getTargetName());
+        keywordSourceRepository.save(source);
     }
     
     /**
      * 키워드를 수동으로 추가
      * @param term 키워드 텍스트
-     * @param priority 우선순위 (null이면 자동 계산)
+     * @param priority 우선순위 (null이면 기본값 5, 수동 키워드는 추세 점수로 바꾸지 않음)
      * @return 저장된 키워드 객체
      */
     public Keyword addKeywordManually(String term, Integer priority) {
-        // 이미 존재하는 경우 해당 키워드 반환
-        Optional<Keyword> existingKeyword = keywordRepository.findByKeywordAndLanguage(term, LANGUAGE);
+        // 이미 존재하는 경우 해당 키워드 반환 (표기만 다른 키워드 포함)
+        String canonicalKey = keywordNormalizer.canonicalKey(term, LANGUAGE);
+        Optional<Keyword> existingKeyword = findExistingKeyword(term, canonicalKey, LANGUAGE);
         if (existingKeyword.isPresent()) {
             return existingKeyword.get();
         }
@@ -363,14 +529,13 @@ public class KeywordCollectionBatchService {
         Keyword keyword = new Keyword();
         keyword.setKeyword(term);
         keyword.setLanguage(LANGUAGE);
+        keyword.setCanonicalKey(canonicalKey.isEmpty() ? null : canonicalKey);
         keyword.setSource("manual");
-        keyword.setPriority(priority != null ? priority : getKeywordPriority(term));
+        keyword.setPriority(priority != null ? priority : DEFAULT_MANUAL_PRIORITY);
         keyword.setActive(true);
         keyword.setCreatedAt(LocalDateTime.now());
         keyword.setUpdatedAt(LocalDateTime.now());
-        
-        // 카테고리는 기본값으로 설정 (실제 운영 시에는 사용자가 지정)
-        keyword.setCategory("general");
+        keyword.setCategory(keywordCategorizer.categorize(term, LANGUAGE));
         
         Keyword savedKeyword = keywordRepository.save(keyword);
         
@@ -397,4 +562,19 @@ public class KeywordCollectionBatchService {
             return keywordRepository.findByLanguageAndActive(LANGUAGE, true);
         }
     }
+    
+    /**
+     * 수집 대상 하나의 수집 결과
+     */
+    private static class SourceResult {
+        private final KeywordCollectionTarget target;
+        private final List<String> keywords;
+        private final Throwable error;
+        
+        SourceResult(KeywordCollectionTarget target, List<String> keywords, Throwable error) {
+            this.target = target;
+            this.keywords = keywords;
+            this.error = error;
+        }
+    }
 } 
\ No newline at end of file
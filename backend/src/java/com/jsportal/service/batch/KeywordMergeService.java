@@ -0,0 +1,150 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.keyword.Keyword;
+import com.jsportal.repository.KeywordRepository;
+import com.jsportal.repository.KeywordSourceRepository;
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정규화 키가 같은 키워드를 하나로 합치는 서비스
+ * 키가 없는 기존 키워드와 표기 변환 사전이 바뀌어 키가 달라진 키워드의 키를 다시 계산하고,
+ * 같은 키를 가진 키워드가 여럿이면 먼저 키를 가진(없으면 가장 먼저 만든) 키워드로 합칩니다.
+ * 합쳐진 키워드는 비활성화되고 merged_into_id로 합친 키워드를 가리키므로 다시 생성 대상이 되지 않습니다.
+ */
+@Service
+public class KeywordMergeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordMergeService.class);
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordSourceRepository keywordSourceRepository;
+    private final KeywordNormalizer keywordNormalizer;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public KeywordMergeService(KeywordRepository keywordRepository,
+                               KeywordSourceRepository keywordSourceRepository,
+                               KeywordNormalizer keywordNormalizer,
+                               JobLockService jobLockService,
+                               PlatformTransactionManager transactionManager) {
+        this.keywordRepository = keywordRepository;
+        this.keywordSourceRepository = keywordSourceRepository;
+        this.keywordNormalizer = keywordNormalizer;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 정규화 키를 다시 계산하고 같은 키의 키워드를 합치는 주기 작업
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${keyword.canonicalization.interval-ms:3600000}",
+               initialDelayString = "${keyword.canonicalization.initial-delay-ms:90000}")
+    public void canonicalizeKeywords() {
+        jobLockService.runExclusive("keyword-canonicalization", () -> {
+            try {
+                mergeKeywords();
+            } catch (Exception e) {
+                logger.error("Error canonicalizing keywords: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 합쳐지지 않은 키워드 전체의 키를 계산해 키별로 합침
+     * @return 합쳐진 키워드 수
+     */
+    public int mergeKeywords() {
+        Map<String, List<Keyword>> groups = new LinkedHashMap<>();
+        for (Keyword keyword : keywordRepository.findByMergedIntoIdIsNullOrderById()) {
+            String canonicalKey = keywordNormalizer.canonicalKey(keyword.getKeyword(), keyword.getLanguage());
+            if (canonicalKey.isEmpty()) {
+                // 글자나 숫자가 없는 키워드는 키로 비교하지 않음
+                continue;
+            }
+            groups.computeIfAbsent(keyword.getLanguage() + ":" + canonicalKey, key -> new ArrayList<>()).add(keyword);
+        }
+
+        int rekeyed = 0;
+        int merged = 0;
+        for (Map.Entry<String, List<Keyword>> entry : groups.entrySet()) {
+            String canonicalKey = entry.getKey().substring(entry.getKey().indexOf(':') + 1);
+            List<Keyword> group = entry.getValue();
+            Keyword survivor = group.stream()
+                .filter(keyword -> canonicalKey.equals(keyword.getCanonicalKey()))
+                .findFirst()
+                .orElse(group.get(0));
+            if (group.size() == 1 && canonicalKey.equals(survivor.getCanonicalKey())) {
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Keyword duplicate : group) {
+                        if (duplicate != survivor) {
+                            merge(duplicate, survivor);
+                        }
+                    }
+                    survivor.setCanonicalKey(canonicalKey);
+                    keywordRepository.saveAndFlush(survivor);
+                });
+                rekeyed++;
+                merged += group.size() - 1;
+            } catch (Exception e) {
+                // 수집 중 같은 키의 키워드가 새로 저장된 경우 등은 다음 실행에서 다시 시도
+                logger.warn("Error merging keywords into '{}': {}", survivor.getKeyword(), e.getMessage());
+            }
+        }
+
+        if (rekeyed > 0) {
+            logger.info("Updated canonical keys of {} keywords, merged {} duplicates", rekeyed, merged);
+        }
+        return merged;
+    }
+
+    /**
+     * 중복 키워드를 합친 키워드로 합침
+     * 관측 기록을 옮기고 활성 상태, 우선순위, 마지막 생성 시각은 둘 중 큰 값을 유지합니다.
+     * 수집 키워드는 옮긴 관측 기록으로 추세 점수를 다시 계산하도록 점수를 비웁니다.
+     */
+    private void merge(Keyword duplicate, Keyword survivor) {
+        logger.info("Merging keyword '{}' into '{}' ({})", duplicate.getKeyword(), survivor.getKeyword(), survivor.getLanguage());
+
+        keywordSourceRepository.reassign(duplicate.getId(), survivor.getId());
+        keywordRepository.reassignMerged(duplicate.getId(), survivor.getId());
+
+        survivor.setActive(survivor.isActive() || duplicate.isActive());
+        survivor.setPriority(Math.max(survivor.getPriority(), duplicate.getPriority()));
+        if (duplicate.getLastGeneratedAt() != null
+            && (survivor.getLastGeneratedAt() == null || duplicate.getLastGeneratedAt().isAfter(survivor.getLastGeneratedAt()))) {
+            survivor.setLastGeneratedAt(duplicate.getLastGeneratedAt());
+        }
+        if (KeywordScoringService.SCORED_SOURCE.equals(survivor.getSource())) {
+            survivor.setTrendScore(null);
+            survivor.setBaselineScore(null);
+            survivor.setTrendVelocity(null);
+            survivor.setTrendAcceleration(null);
+            survivor.setScoredAt(null);
+        }
+
+        duplicate.setActive(false);
+        duplicate.setCanonicalKey(null);
+        duplicate.setMergedIntoId(survivor.getId());
+        keywordRepository.saveAndFlush(duplicate);
+    }
+}
@@ -0,0 +1,282 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.keyword.KeywordAlias;
+import com.jsportal.repository.KeywordAliasRepository;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 표기만 다른 키워드를 같은 키워드로 보기 위한 정규화 키 생성 컴포넌트
+ * 키는 다음 순서로 만듭니다.
+ * 1. NFKC 정규화와 소문자 변환 (전각 문자, 호환 자모 등 통일)
+ * 2. 공백, 문장 부호로 나누고 문자 종류(한글, 라틴 문자, 숫자 등)가 바뀌는 곳에서도 나눔
+ * 3. keyword_aliases 사전으로 표기 변환 (연속된 토큰을 합친 표기도 확인, 예: iphone -> 아이폰)
+ * 4. 토큰을 구분자 없이 이어 붙이고, 한글 음절은 자모로 풀어 받침을 초성 자모로 바꿈
+ *    (그래서 "아이폰 16", "아이폰16", "iPhone 16"과 자모로 입력된 "ㅇㅏㅇㅣㅍㅗㄴ16"이 같은 키가 됨)
+ * 5. 악센트 등 결합 문자 제거
+ */
+@Component
+public class KeywordNormalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordNormalizer.class);
+
+    // 사전이 비어 있을 때 등록할 기본 표기 변환 (한국어 키워드에 적용)
+    private static final Map<String, String> DEFAULT_ALIASES = Map.of(
+        "iphone", "아이폰",
+        "galaxy", "갤럭시",
+        "youtube", "유튜브",
+        "netflix", "넷플릭스",
+        "chatgpt", "챗gpt"
+    );
+    private static final String DEFAULT_ALIASES_LANGUAGE = "ko";
+
+    // 모든 언어에 적용하는 표기 변환의 언어 키
+    private static final String ANY_LANGUAGE = "";
+
+    // 받침(종성) 자모 U+11A8..U+11C2를 같은 소리의 초성 자모로 바꾼 값
+    private static final String[] FINAL_TO_INITIAL = {
+        "ᄀ", "ᄁ", "ᄀᄉ", "ᄂ", "ᄂᄌ", "ᄂᄒ", "ᄃ", "ᄅ",
+        "ᄅᄀ", "ᄅᄆ", "ᄅᄇ", "ᄅᄉ", "ᄅᄐ", "ᄅᄑ",
+        "ᄅᄒ", "ᄆ", "ᄇ", "ᄇᄉ", "ᄉ", "ᄊ", "ᄋ", "ᄌ", "ᄎ",
+        "ᄏ", "ᄐ", "ᄑ", "ᄒ"
+    };
+
+    private static final int CLASS_SEPARATOR = 0;
+    private static final int CLASS_HANGUL = 1;
+    private static final int CLASS_LATIN = 2;
+    private static final int CLASS_DIGIT = 3;
+    private static final int CLASS_OTHER = 4;
+
+    private final KeywordAliasRepository aliasRepository;
+
+    // 언어별 표기 변환 (토큰을 이어 붙인 표기 -> 바꿀 표기)
+    private volatile AliasTable aliases = new AliasTable(Map.of(), 0);
+
+    // 마지막으로 읽은 사전의 항목 수와 변경 시각 (변경 감지용)
+    private volatile long loadedCount = -1;
+    private volatile LocalDateTime loadedModifiedAt;
+
+    @Autowired
+    public KeywordNormalizer(KeywordAliasRepository aliasRepository) {
+        this.aliasRepository = aliasRepository;
+    }
+
+    /**
+     * 애플리케이션 시작 시 사전이 비어 있으면 기본 항목을 등록하고 사전 로드
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (aliasRepository.count() == 0) {
+                List<KeywordAlias> defaults = new ArrayList<>();
+                DEFAULT_ALIASES.forEach((alias, canonical) ->
+                    defaults.add(new KeywordAlias(alias, canonical, DEFAULT_ALIASES_LANGUAGE)));
+                aliasRepository.saveAll(defaults);
+                logger.info("Registered {} default keyword aliases", defaults.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Error registering default keyword aliases: {}", e.getMessage());
+        }
+        reload();
+    }
+
+    /**
+     * 사전이 바뀌었으면 다시 로드
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${keyword.normalizer.reload-interval-ms:60000}",
+               initialDelayString = "${keyword.normalizer.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        try {
+            long count = aliasRepository.count();
+            LocalDateTime modifiedAt = aliasRepository.findLastModifiedAt();
+            if (count != loadedCount || !Objects.equals(modifiedAt, loadedModifiedAt)) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.warn("Error checking keyword aliases: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사전을 읽어 표기 변환 교체 (실패하면 기존 사전 유지)
+     */
+    public void reload() {
+        try {
+            long count = aliasRepository.count();
+            LocalDateTime modifiedAt = aliasRepository.findLastModifiedAt();
+
+            Map<String, Map<String, String>> byLanguage = new HashMap<>();
+            int maxTokens = 0;
+            for (KeywordAlias alias : aliasRepository.findByActiveTrue()) {
+                List<String> aliasTokens = tokenize(fold(alias.getAlias()));
+                String canonical = String.join("", tokenize(fold(alias.getCanonical())));
+                if (aliasTokens.isEmpty() || canonical.isEmpty()) {
+                    continue;
+                }
+                String language = alias.getLanguage() == null || alias.getLanguage().isBlank()
+                    ? ANY_LANGUAGE : alias.getLanguage();
+                byLanguage.computeIfAbsent(language, key -> new HashMap<>())
+                    .put(String.join("", aliasTokens), canonical);
+                maxTokens = Math.max(maxTokens, aliasTokens.size());
+            }
+
+            aliases = new AliasTable(byLanguage, maxTokens);
+            loadedCount = count;
+            loadedModifiedAt = modifiedAt;
+            logger.info("Loaded {} keyword aliases", byLanguage.values().stream().mapToInt(Map::size).sum());
+        } catch (Exception e) {
+            logger.error("Error loading keyword aliases: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 키워드의 정규화 키 생성
+     * @param keyword 키워드 텍스트
+     * @param language 키워드 언어 (해당 언어와 모든 언어용 표기 변환만 적용)
+     * @return 정규화 키 (글자나 숫자가 없으면 빈 문자열)
+     */
+    public String canonicalKey(String keyword, String language) {
+        List<String> tokens = tokenize(fold(keyword));
+        AliasTable table = aliases;
+        Map<String, String> languageAliases = table.byLanguage.getOrDefault(language, Map.of());
+        Map<String, String> anyAliases = table.byLanguage.getOrDefault(ANY_LANGUAGE, Map.of());
+
+        StringBuilder key = new StringBuilder();
+        int i = 0;
+        while (i < tokens.size()) {
+            // 가장 많은 토큰을 합친 표기부터 사전에서 찾음
+            int matchedEnd = -1;
+            String replacement = null;
+            StringBuilder joined = new StringBuilder();
+            int end = Math.min(tokens.size(), i + table.maxTokens);
+            List<String> candidates = new ArrayList<>();
+            for (int j = i; j < end; j++) {
+                joined.append(tokens.get(j));
+                candidates.add(joined.toString());
+            }
+            for (int j = candidates.size() - 1; j >= 0 && replacement == null; j--) {
+                String candidate = candidates.get(j);
+                replacement = languageAliases.getOrDefault(candidate, anyAliases.get(candidate));
+                matchedEnd = i + j + 1;
+            }
+
+            if (replacement != null) {
+                key.append(replacement);
+                i = matchedEnd;
+            } else {
+                key.append(tokens.get(i));
+                i++;
+            }
+        }
+        return decompose(key.toString());
+    }
+
+    /**
+     * NFKC 정규화와 소문자 변환
+     */
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 공백, 문장 부호와 문자 종류가 바뀌는 곳에서 나눈 토큰
+     */
+    static List<String> tokenize(String folded) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        int tokenClass = CLASS_SEPARATOR;
+
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            int charClass = classify(codePoint);
+            if (charClass != tokenClass && token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+            if (charClass != CLASS_SEPARATOR) {
+                token.appendCodePoint(codePoint);
+            }
+            tokenClass = charClass;
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * 한글 음절을 자모로 풀어 받침을 초성 자모로 바꾸고 결합 문자 제거
+     */
+    static String decompose(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (c >= 'ᆨ' && c <= 'ᇂ') {
+                result.append(FINAL_TO_INITIAL[c - 'ᆨ']);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static int classify(int codePoint) {
+        if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+            return CLASS_SEPARATOR;
+        }
+        int type = Character.getType(codePoint);
+        if (type == Character.CONNECTOR_PUNCTUATION || type == Character.DASH_PUNCTUATION
+            || type == Character.START_PUNCTUATION || type == Character.END_PUNCTUATION
+            || type == Character.INITIAL_QUOTE_PUNCTUATION || type == Character.FINAL_QUOTE_PUNCTUATION
+            || type == Character.OTHER_PUNCTUATION || type == Character.CONTROL || type == Character.FORMAT) {
+            return CLASS_SEPARATOR;
+        }
+        if (Character.isDigit(codePoint)) {
+            return CLASS_DIGIT;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        if (script == Character.UnicodeScript.HANGUL) {
+            return CLASS_HANGUL;
+        }
+        if (script == Character.UnicodeScript.LATIN) {
+            return CLASS_LATIN;
+        }
+        return CLASS_OTHER;
+    }
+
+    /**
+     * 언어별 표기 변환 (교체 시 한 번에 바꾸기 위해 묶음)
+     */
+    private static class AliasTable {
+        private final Map<String, Map<String, String>> byLanguage;
+        private final int maxTokens;
+
+        AliasTable(Map<String, Map<String, String>> byLanguage, int maxTokens) {
+            this.byLanguage = byLanguage;
+            this.maxTokens = maxTokens;
+        }
+    }
+}
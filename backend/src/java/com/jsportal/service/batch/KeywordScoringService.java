@@ -0,0 +1,196 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.keyword.Keyword;
+import com.jsportal.domain.keyword.KeywordSource;
+import com.jsportal.repository.KeywordRepository;
+import com.jsportal.repository.KeywordSourceRepository;
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 키워드 관측(keyword_sources)으로 추세를 계산해 우선순위를 정하는 서비스
+ * 관측 수를 반감기가 짧은 카운터(최근 화제성)와 긴 카운터(평소 수준)에 지수 감쇠로 누적하고,
+ * 두 카운터의 일 단위 관측률 차이를 속도, 속도의 변화량을 가속도로 봅니다.
+ * 점수는 관측이 들어올 때와 주기적인 감쇠 작업에서 이전 값으로부터 갱신되므로 관측 이력을 다시 읽지 않습니다.
+ * 수집된 키워드(source=api)만 점수를 매기며, 수동으로 추가한 키워드는 지정한 우선순위를 유지합니다.
+ */
+@Service
+public class KeywordScoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordScoringService.class);
+
+    public static final String SCORED_SOURCE = "api";
+
+    private static final double HOURS_PER_DAY = 24.0;
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordSourceRepository keywordSourceRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${keyword.scoring.fast-half-life-hours:12}")
+    private double fastHalfLifeHours;
+
+    @Value("${keyword.scoring.slow-half-life-hours:168}")
+    private double slowHalfLifeHours;
+
+    @Value("${keyword.scoring.velocity-weight:2.0}")
+    private double velocityWeight;
+
+    @Value("${keyword.scoring.acceleration-weight:0.5}")
+    private double accelerationWeight;
+
+    // 점수가 이 값이면 우선순위가 중간(5~6)이 됨
+    @Value("${keyword.scoring.half-priority-score:2.0}")
+    private double halfPriorityScore;
+
+    // 같은 수집 실행의 여러 관측으로 가속도가 튀지 않도록, 이 시간 이상 지났을 때만 가속도 갱신
+    @Value("${keyword.scoring.min-acceleration-hours:1}")
+    private double minAccelerationHours;
+
+    @Value("${keyword.scoring.interval-ms:3600000}")
+    private long decayIntervalMillis;
+
+    @Autowired
+    public KeywordScoringService(KeywordRepository keywordRepository,
+                                 KeywordSourceRepository keywordSourceRepository,
+                                 JobLockService jobLockService,
+                                 PlatformTransactionManager transactionManager) {
+        this.keywordRepository = keywordRepository;
+        this.keywordSourceRepository = keywordSourceRepository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 관측 하나를 점수에 반영하고 우선순위 갱신 (저장은 호출한 쪽에서)
+     * @param keyword 관측된 키워드
+     * @param observedAt 관측 시각
+     */
+    public void recordObservation(Keyword keyword, LocalDateTime observedAt) {
+        advance(keyword, observedAt, 1.0);
+    }
+
+    /**
+     * 관측이 없는 동안의 감쇠를 반영하는 주기 작업
+     * 점수가 없는 수집 키워드는 keyword_sources 관측 이력으로 처음 한 번 점수를 만듭니다.
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${keyword.scoring.interval-ms:3600000}",
+               initialDelayString = "${keyword.scoring.initial-delay-ms:120000}")
+    public void decayScores() {
+        jobLockService.runExclusive("keyword-scoring", () -> {
+            try {
+                int backfilled = backfillScores();
+                int rescored = rescoreStaleKeywords();
+                logger.info("Rescored {} keywords ({} from observation history)", rescored + backfilled, backfilled);
+            } catch (Exception e) {
+                logger.error("Error rescoring keywords: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 점수가 없는 수집 키워드의 관측 이력을 시간순으로 다시 반영
+     */
+    int backfillScores() {
+        int count = 0;
+        for (Keyword keyword : keywordRepository.findBySourceAndActiveTrueAndScoredAtIsNull(SCORED_SOURCE)) {
+            List<KeywordSource> observations = keywordSourceRepository.findByKeywordId(keyword.getId());
+            observations.sort(Comparator.comparing(KeywordSource::getCollectionDate));
+            for (KeywordSource observation : observations) {
+                recordObservation(keyword, observation.getCollectionDate());
+            }
+            advance(keyword, LocalDateTime.now(), 0.0);
+            keywordRepository.save(keyword);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 감쇠 주기 이상 점수가 갱신되지 않은 키워드의 점수를 현재 시각 기준으로 감쇠
+     * 계산하는 사이 새 관측이 반영된 키워드는 건너뜁니다.
+     */
+    int rescoreStaleKeywords() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(Duration.ofMillis(decayIntervalMillis / 2));
+        int count = 0;
+
+        for (Keyword keyword : keywordRepository.findBySourceAndActiveTrueAndScoredAtBefore(SCORED_SOURCE, cutoff)) {
+            LocalDateTime previousScoredAt = keyword.getScoredAt();
+            advance(keyword, now, 0.0);
+
+            Integer updated = transactionTemplate.execute(status -> keywordRepository.updateTrendScore(
+                keyword.getId(), keyword.getTrendScore(), keyword.getBaselineScore(), keyword.getTrendVelocity(),
+                keyword.getTrendAcceleration(), keyword.getPriority(), keyword.getScoredAt(), previousScoredAt));
+            if (updated != null && updated > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 마지막 점수 계산 시각부터 at까지 감쇠시키고 관측 가중치를 더한 뒤 속도, 가속도, 우선순위를 다시 계산
+     */
+    private void advance(Keyword keyword, LocalDateTime at, double weight) {
+        LocalDateTime scoredAt = keyword.getScoredAt();
+        double elapsedHours = scoredAt == null ? 0.0
+            : Math.max(0.0, Duration.between(scoredAt, at).toMillis() / 3_600_000.0);
+
+        double trendScore = valueOf(keyword.getTrendScore()) * decay(elapsedHours, fastHalfLifeHours) + weight;
+        double baselineScore = valueOf(keyword.getBaselineScore()) * decay(elapsedHours, slowHalfLifeHours) + weight;
+
+        // 감쇠 카운터 / 평균 수명 = 시간당 관측률, 일 단위로 환산
+        double trendRate = trendScore * Math.log(2) / fastHalfLifeHours * HOURS_PER_DAY;
+        double baselineRate = baselineScore * Math.log(2) / slowHalfLifeHours * HOURS_PER_DAY;
+        double velocity = trendRate - baselineRate;
+
+        double acceleration = valueOf(keyword.getTrendAcceleration());
+        if (scoredAt != null && elapsedHours >= minAccelerationHours) {
+            acceleration = (velocity - valueOf(keyword.getTrendVelocity())) / (elapsedHours / HOURS_PER_DAY);
+        }
+
+        keyword.setTrendScore(trendScore);
+        keyword.setBaselineScore(baselineScore);
+        keyword.setTrendVelocity(velocity);
+        keyword.setTrendAcceleration(acceleration);
+        keyword.setPriority(toPriority(trendRate, velocity, acceleration));
+        if (scoredAt == null || at.isAfter(scoredAt)) {
+            keyword.setScoredAt(at);
+        }
+    }
+
+    /**
+     * 최근 관측률과 상승 속도, 가속도를 1~10 우선순위로 변환 (점수가 커질수록 10에 가까워짐)
+     */
+    private int toPriority(double trendRate, double velocity, double acceleration) {
+        double score = trendRate
+            + velocityWeight * Math.max(0.0, velocity)
+            + accelerationWeight * Math.max(0.0, acceleration);
+        return 1 + (int) Math.round(9.0 * score / (score + halfPriorityScore));
+    }
+
+    private static double decay(double elapsedHours, double halfLifeHours) {
+        return Math.pow(0.5, elapsedHours / halfLifeHours);
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
@@ -0,0 +1,263 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.quota.DailyQuota;
+import com.jsportal.repository.DailyQuotaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 인스턴스가 함께 쓰는 일일 사용 한도 서비스
+ * 한도별 사용량은 daily_quotas 테이블의 날짜별 한 행에 저장되며, 인스턴스는 허용량을 청크 단위로
+ * 미리 가져와(선점) 로컬에서 나눠 쓰므로 허용량 하나마다 DB를 조회하지 않습니다.
+ * 날짜는 quota.zone 시간대 기준이고, 날짜가 바뀌면 새 행에서 다시 시작합니다.
+ */
+@Service
+public class QuotaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotaService.class);
+
+    public static final String CRAWLING = "crawling";
+    public static final String KEYWORD_GENERATION = "keyword-generation";
+    public static final String POST_GENERATION = "post-generation";
+
+    private final DailyQuotaRepository quotaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+
+    @Value("${quota.chunk-size:5}")
+    private int chunkSize;
+
+    // 한도별로 이 인스턴스가 선점한 허용량
+    private final Map<String, LocalPermits> localPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QuotaService(DailyQuotaRepository quotaRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${quota.zone:Asia/Seoul}") String zone) {
+        this.quotaRepository = quotaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.zone = ZoneId.of(zone);
+    }
+
+    /**
+     * 허용량 하나 획득
+     * @param quotaName 한도 이름
+     * @param dailyLimit 일일 한도 (설정값이 바뀌면 오늘 행에도 반영)
+     * @return 획득했으면 true, 오늘 한도를 다 썼으면 false
+     */
+    public boolean tryAcquire(String quotaName, int dailyLimit) {
+        return tryAcquireUpTo(quotaName, dailyLimit, 1) == 1;
+    }
+
+    /**
+     * 허용량을 최대 permits개까지 획득
+     * @return 실제로 획득한 허용량 (0 이상 permits 이하)
+     */
+    public int tryAcquireUpTo(String quotaName, int dailyLimit, int permits) {
+        if (permits <= 0) {
+            return 0;
+        }
+
+        LocalPermits local = localPermits.computeIfAbsent(quotaName, name -> new LocalPermits());
+        local.lock.lock();
+        try {
+            LocalDate today = today();
+            if (!today.equals(local.windowDate)) {
+                // 어제 선점하고 남은 허용량은 어제 행에만 해당하므로 버림
+                local.windowDate = today;
+                local.available = 0;
+            }
+
+            if (local.available < permits) {
+                int fetchSize = Math.max(chunkSize, permits - local.available);
+                local.available += fetchPermits(quotaName, today, dailyLimit, fetchSize);
+            }
+
+            int granted = Math.min(permits, local.available);
+            local.available -= granted;
+            return granted;
+        } finally {
+            local.lock.unlock();
+        }
+    }
+
+    /**
+     * 오늘 한도가 남아 있는지 확인 (허용량을 쓰지 않음)
+     */
+    public boolean hasRemaining(String quotaName, int dailyLimit) {
+        if (!tryAcquire(quotaName, dailyLimit)) {
+            return false;
+        }
+        release(quotaName, 1);
+        return true;
+    }
+
+    /**
+     * 획득했지만 사용하지 않은 허용량을 로컬 선점분으로 되돌림
+     * (예: 작업 등록이 중복이라 실제로 한도를 쓰지 않은 경우)
+     */
+    public void release(String quotaName, int permits) {
+        LocalPermits local = localPermits.get(quotaName);
+        if (local == null || permits <= 0) {
+            return;
+        }
+        local.lock.lock();
+        try {
+            if (today().equals(local.windowDate)) {
+                local.available += permits;
+            }
+        } finally {
+            local.lock.unlock();
+        }
+    }
+
+    /**
+     * 오늘 한도별 사용 현황
+     * 사용량에는 인스턴스들이 선점했지만 아직 쓰지 않은 허용량이 포함되며,
+     * 이 인스턴스의 선점분은 localAvailable로 따로 표시합니다.
+     */
+    public List<QuotaStatus> getStatuses() {
+        LocalDate today = today();
+        List<QuotaStatus> statuses = new ArrayList<>();
+        for (DailyQuota quota : quotaRepository.findByWindowDateOrderByQuotaName(today)) {
+            LocalPermits local = localPermits.get(quota.getQuotaName());
+            int localAvailable = 0;
+            if (local != null) {
+                local.lock.lock();
+                try {
+                    localAvailable = today.equals(local.windowDate) ? local.available : 0;
+                } finally {
+                    local.lock.unlock();
+                }
+            }
+            statuses.add(new QuotaStatus(quota.getQuotaName(), today, quota.getQuotaLimit(), quota.getUsed(), localAvailable));
+        }
+        return statuses;
+    }
+
+    /**
+     * 종료 시 쓰지 않은 선점분을 DB에 반환하여 다른 인스턴스가 쓸 수 있도록 함
+     */
+    @PreDestroy
+    public void returnLocalPermits() {
+        LocalDate today = today();
+        localPermits.forEach((quotaName, local) -> {
+            local.lock.lock();
+            try {
+                if (!today.equals(local.windowDate) || local.available <= 0) {
+                    return;
+                }
+                int permits = local.available;
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        quotaRepository.returnPermits(quotaName, today, permits));
+                    local.available = 0;
+                } catch (Exception e) {
+                    logger.warn("Error returning {} unused {} permits: {}", permits, quotaName, e.getMessage());
+                }
+            } finally {
+                local.lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * DB 한도 행을 잠그고 남은 한도 안에서 허용량을 가져옴
+     * @return 가져온 허용량 (한도를 다 썼으면 0)
+     */
+    private int fetchPermits(String quotaName, LocalDate windowDate, int dailyLimit, int requested) {
+        Integer fetched = transactionTemplate.execute(status -> {
+            quotaRepository.insertIfAbsent(quotaName, windowDate, dailyLimit);
+            DailyQuota quota = quotaRepository.findByQuotaNameAndWindowDate(quotaName, windowDate)
+                .orElseThrow(() -> new IllegalStateException("Quota row missing: " + quotaName));
+
+            quota.setQuotaLimit(dailyLimit);
+            int granted = Math.max(0, Math.min(requested, dailyLimit - quota.getUsed()));
+            if (granted > 0) {
+                quota.setUsed(quota.getUsed() + granted);
+            }
+            quotaRepository.save(quota);
+            return granted;
+        });
+
+        int granted = fetched != null ? fetched : 0;
+        if (granted == 0) {
+            logger.debug("Daily quota {} exhausted for {} (limit {})", quotaName, windowDate, dailyLimit);
+        }
+        return granted;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * 이 인스턴스가 선점한 허용량
+     * 허용량을 가져오는 동안 DB를 기다리므로 가상 스레드가 고정되지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+     */
+    private static class LocalPermits {
+        private final ReentrantLock lock = new ReentrantLock();
+        private LocalDate windowDate;
+        private int available;
+    }
+
+    /**
+     * 한도 사용 현황
+     */
+    public static class QuotaStatus {
+        private final String name;
+        private final LocalDate windowDate;
+        private final int limit;
+        private final int used;
+        private final int localAvailable;
+
+        public QuotaStatus(String name, LocalDate windowDate, int limit, int used, int localAvailable) {
+            this.name = name;
+            this.windowDate = windowDate;
+            this.limit = limit;
+            this.used = used;
+            this.localAvailable = localAvailable;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDate getWindowDate() {
+            return windowDate;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getUsed() {
+            return used;
+        }
+
+        public int getLocalAvailable() {
+            return localAvailable;
+        }
+
+        /**
+         * 아직 어느 인스턴스도 가져가지 않은 허용량
+         */
+        public int getRemaining() {
+            return Math.max(0, limit - used);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.jsportal.service.cluster;
+
+import com.jsportal.repository.ClusterNodeRepository;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 중인 노드 목록을 관리하고 작업을 노드별로 나누는 서비스
+ * 각 노드는 cluster_nodes 테이블에 주기적으로 하트비트를 남기고, 최근 하트비트가 있는 노드 목록에 대해
+ * 렌데부 해싱(rendezvous hashing)으로 키마다 담당 노드 하나를 정합니다.
+ * 노드가 추가되거나 빠져도 그 노드가 맡던(맡을) 키만 옮겨 갑니다.
+ */
+@Service
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final ClusterNodeRepository clusterNodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    @Value("${cluster.node-timeout-seconds:30}")
+    private int nodeTimeoutSeconds;
+
+    // 하트비트가 끊긴 노드 행을 남겨 둘 기간
+    @Value("${cluster.node-retention-seconds:86400}")
+    private int nodeRetentionSeconds;
+
+    @Value("${cluster.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMillis;
+
+    // 마지막으로 확인한 활성 노드 목록 (ID 순)
+    private volatile List<String> activeNodes;
+
+    // 마지막으로 하트비트를 기록한 시각 (System.nanoTime, 0이면 아직 기록 전)
+    private volatile long lastHeartbeatNanos;
+
+    @Autowired
+    public ClusterMembership(ClusterNodeRepository clusterNodeRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${cluster.node-id:}") String nodeId) {
+        this.clusterNodeRepository = clusterNodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.activeNodes = List.of(this.nodeId);
+    }
+
+    /**
+     * 애플리케이션 시작 시 노드 등록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        logger.info("Joining cluster as node {}", nodeId);
+        heartbeat();
+    }
+
+    /**
+     * 하트비트를 기록하고 활성 노드 목록 갱신
+     * DB에 접근할 수 없으면 마지막으로 확인한 목록을 유지합니다.
+     */
+    @Workload(WorkloadType.HEARTBEAT)
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:10000}",
+               initialDelayString = "${cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        try {
+            List<String> nodes = transactionTemplate.execute(status -> {
+                clusterNodeRepository.heartbeat(nodeId);
+                clusterNodeRepository.deleteStale(nodeRetentionSeconds);
+                return clusterNodeRepository.findActiveNodeIds(nodeTimeoutSeconds);
+            });
+
+            if (nodes == null || !nodes.contains(nodeId)) {
+                return;
+            }
+            lastHeartbeatNanos = System.nanoTime();
+            if (!nodes.equals(activeNodes)) {
+                logger.info("Cluster membership changed: {}", nodes);
+            }
+            activeNodes = List.copyOf(nodes);
+        } catch (Exception e) {
+            logger.warn("Error recording cluster heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 노드 등록 해제 (남은 노드들이 다음 하트비트에서 작업을 나눠 가짐)
+     */
+    @PreDestroy
+    public void leave() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> clusterNodeRepository.deleteById(nodeId));
+        } catch (Exception e) {
+            logger.warn("Error leaving cluster: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 이 노드가 키의 담당 노드인지 확인
+     * 하트비트를 한동안 기록하지 못했으면 다른 노드들은 이미 이 노드를 빼고 키를 나눴을 수 있으므로,
+     * 같은 키를 두 노드가 처리하지 않도록 하트비트가 다시 성공할 때까지 어떤 키도 맡지 않습니다.
+     * @param key 작업을 나누는 기준 키 (소스 이름, 키워드 등)
+     */
+    public boolean isOwner(String key) {
+        return isMembershipCurrent() && nodeId.equals(ownerOf(key));
+    }
+
+    /**
+     * 다른 노드가 이 노드를 제외하기 전에 하트비트를 기록했는지 확인
+     * 노드 제외 기준(node-timeout-seconds)보다 하트비트 주기 하나만큼 일찍 만료로 봅니다.
+     */
+    public boolean isMembershipCurrent() {
+        long last = lastHeartbeatNanos;
+        if (last == 0L) {
+            return false;
+        }
+        long validMillis = Math.max(heartbeatIntervalMillis, nodeTimeoutSeconds * 1000L - heartbeatIntervalMillis);
+        return System.nanoTime() - last < TimeUnit.MILLISECONDS.toNanos(validMillis);
+    }
+
+    /**
+     * 키의 담당 노드 (노드와 키를 함께 해시한 값이 가장 큰 노드)
+     */
+    public String ownerOf(String key) {
+        List<String> nodes = activeNodes;
+        long keyHash = hash(key);
+        String owner = null;
+        long bestScore = Long.MIN_VALUE;
+
+        for (String node : nodes) {
+            long score = mix(hash(node) ^ keyHash);
+            if (owner == null || score > bestScore) {
+                owner = node;
+                bestScore = score;
+            }
+        }
+        return owner;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<String> getActiveNodes() {
+        return activeNodes;
+    }
+
+    /**
+     * 64비트 FNV-1a 해시 (노드마다 같은 값이 나와야 하므로 String.hashCode 대신 사용)
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * 비트를 고르게 섞는 마무리 함수 (SplitMix64)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jsportal.service.cluster;
+
+/**
+ * 배치 작업 잠금을 가진 동안의 임대 정보
+ * 펜싱 토큰은 잠금을 얻을 때마다 증가하므로, 잠금을 잃은 노드의 늦은 요청을 구분하는 데 사용합니다.
+ */
+public class JobLease {
+
+    private final String jobName;
+    private final String owner;
+    private final long fencingToken;
+    private volatile boolean lost;
+
+    JobLease(String jobName, String owner, long fencingToken) {
+        this.jobName = jobName;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    /**
+     * 하트비트 실패로 잠금을 잃었는지 여부 (긴 작업은 단계마다 확인)
+     */
+    public boolean isLost() {
+        return lost;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+}
@@ -0,0 +1,164 @@
+package com.jsportal.service.cluster;
+
+import com.jsportal.repository.JobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 여러 노드 중 한 노드만 배치 작업을 실행하도록 하는 DB 기반 잠금 서비스
+ * 잠금은 job_locks 테이블의 작업별 한 행이며, 잠금을 가진 노드는 임대 시간의 1/3마다 하트비트로 연장합니다.
+ * 노드가 죽으면 임대 시간이 지난 뒤 다른 노드가 가져가고, 그때 펜싱 토큰이 올라가므로
+ * 이전 노드의 연장·해제 요청은 무시됩니다.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+
+    private final JobLockRepository jobLockRepository;
+    private final ClusterMembership clusterMembership;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cluster.lock.lease-seconds:120}")
+    private int leaseSeconds;
+
+    // 크론 작업이 노드 간 시계 차이로 두 번 실행되지 않도록 잠금을 유지하는 최소 시간
+    @Value("${cluster.lock.min-hold-seconds:30}")
+    private int minHoldSeconds;
+
+    // 잠금 하트비트 전용 스레드
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lock-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public JobLockService(JobLockRepository jobLockRepository,
+                          ClusterMembership clusterMembership,
+                          PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.clusterMembership = clusterMembership;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 잠금을 얻은 경우에만 작업 실행
+     * 작업이 끝나면(예외 포함) 잠금을 해제합니다.
+     * @param jobName 작업 이름
+     * @param task 실행할 작업 (임대 정보를 받아 긴 작업 중 잠금 유효성을 확인할 수 있음)
+     * @return 실행했으면 true, 다른 노드가 실행 중이면 false
+     */
+    public boolean runExclusive(String jobName, Consumer<JobLease> task) {
+        JobLease lease = tryAcquire(jobName);
+        if (lease == null) {
+            logger.debug("Skipping {}: lock held by another node", jobName);
+            return false;
+        }
+
+        long heartbeatMillis = Math.max(1000L, TimeUnit.SECONDS.toMillis(leaseSeconds) / 3);
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleWithFixedDelay(
+            () -> extend(lease), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            task.accept(lease);
+            return true;
+        } finally {
+            heartbeat.cancel(false);
+            release(lease);
+        }
+    }
+
+    /**
+     * 잠금을 얻은 경우에만 작업 실행
+     */
+    public boolean runExclusive(String jobName, Runnable task) {
+        return runExclusive(jobName, lease -> task.run());
+    }
+
+    /**
+     * 펜싱 토큰이 아직 현재 잠금인지 DB에서 확인
+     * 외부 API 제출처럼 되돌릴 수 없는 작업 직전에 사용합니다.
+     * 읽기 복제본은 지연될 수 있으므로 쓰기 트랜잭션으로 실행해 기본 DB에서 확인합니다.
+     */
+    public boolean verify(JobLease lease) {
+        if (lease.isLost()) {
+            return false;
+        }
+        try {
+            Long valid = transactionTemplate.execute(status ->
+                jobLockRepository.countValid(lease.getJobName(), lease.getOwner(), lease.getFencingToken()));
+            return valid != null && valid > 0;
+        } catch (Exception e) {
+            logger.warn("Error verifying lock {}: {}", lease.getJobName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 잠금 획득 시도
+     * @return 임대 정보, 다른 노드가 잠금을 가지고 있으면 null
+     */
+    JobLease tryAcquire(String jobName) {
+        String owner = clusterMembership.getNodeId();
+        try {
+            return transactionTemplate.execute(status -> {
+                jobLockRepository.insertIfAbsent(jobName);
+                if (jobLockRepository.acquire(jobName, owner, leaseSeconds) == 0) {
+                    return null;
+                }
+                long fencingToken = jobLockRepository.findFencingToken(jobName);
+                logger.debug("Acquired lock {} with fencing token {}", jobName, fencingToken);
+                return new JobLease(jobName, owner, fencingToken);
+            });
+        } catch (Exception e) {
+            logger.warn("Error acquiring lock {}: {}", jobName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void extend(JobLease lease) {
+        if (lease.isLost()) {
+            return;
+        }
+        try {
+            Integer updated = transactionTemplate.execute(status -> jobLockRepository.extend(
+                lease.getJobName(), lease.getOwner(), lease.getFencingToken(), leaseSeconds));
+            if (updated == null || updated == 0) {
+                logger.warn("Lost lock {} (fencing token {})", lease.getJobName(), lease.getFencingToken());
+                lease.markLost();
+            }
+        } catch (Exception e) {
+            // 일시적인 DB 오류는 다음 하트비트에서 다시 시도 (임대 시간 안에 회복하면 잠금 유지)
+            logger.warn("Error extending lock {}: {}", lease.getJobName(), e.getMessage());
+        }
+    }
+
+    private void release(JobLease lease) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(
+                lease.getJobName(), lease.getOwner(), lease.getFencingToken(), minHoldSeconds));
+        } catch (Exception e) {
+            logger.warn("Error releasing lock {}: {}", lease.getJobName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 하트비트 스레드 정리
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,256 @@
+package com.jsportal.service.crawling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsportal.domain.crawling.CommunitySource;
+import com.jsportal.service.crawling.CrawlingService.CrawledPost;
+import com.jsportal.service.crawling.StreamingDetailExtractor.DetailFields;
+import com.jsportal.service.crawling.StreamingDetailExtractor.DetailSelectors;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 커뮤니티 사이트 목록/상세 페이지를 가져와 파싱하는 크롤링 엔진
+ * DB에 의존하지 않으므로 크롤링 벤치마크에서도 그대로 사용됩니다.
+ */
+@Service
+public class CommunityCrawler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommunityCrawler.class);
+    
+    private final ObjectMapper objectMapper;
+    private final CrawlPolitenessService politenessService;
+    
+    @Value("${crawling.user-agent:JsPortalBot/1.0}")
+    private String userAgent;
+    
+    @Value("${crawling.timeout-ms:10000}")
+    private int crawlTimeoutMillis;
+    
+    @Value("${crawling.detail.enabled:true}")
+    private boolean detailCrawlingEnabled;
+    
+    @Value("${crawling.detail.streaming:true}")
+    private boolean streamingDetailParsing;
+
+    // 크롤링할 사이트 정보와 선택자를 저장하는 맵
+    private final Map<String, CrawlConfig> crawlConfigs = new LinkedHashMap<>();
+
+    @Autowired
+    public CommunityCrawler(ObjectMapper objectMapper, CrawlPolitenessService politenessService) {
+        this.objectMapper = objectMapper;
+        this.politenessService = politenessService;
+        
+        initializeCrawlConfigs();
+    }
+    
+    /**
+     * 크롤링 설정 초기화
+     */
+    private void initializeCrawlConfigs() {
+        // 한국 커뮤니티 설정
+        crawlConfigs.put("ruliweb", new CrawlConfig(
+            "루리웹",
+            "https://bbs.ruliweb.com/best",
+            "ko",
+            "table.board_list_table tr.item",
+            "td.subject a",
+            "td.divsn a",
+            "a.nick",
+            "https://bbs.ruliweb.com",
+            new DetailSelectors(
+                "span.subject_inner_text",
+                "div.view_content",
+                "span.like_value",
+                "strong.reply_count"
+            )
+        ));
+        
+        crawlConfigs.put("fmkorea", new CrawlConfig(
+            "에펨코리아",
+            "https://www.fmkorea.com/index.php?mid=best",
+            "ko",
+            "div.fm_best_widget ul li",
+            "h3.title a",
+            "span.category",
+            "a.author",
+            "https://www.fmkorea.com",
+            new DetailSelectors(
+                "span.np_18px_span",
+                "article div.xe_content",
+                "span.new_voted_count",
+                "span.comment_count"
+            )
+        ));
+        
+        // 일본 커뮤니티 설정
+        crawlConfigs.put("5ch", new CrawlConfig(
+            "5ch",
+            "https://5ch.net",
+            "ja",
+            "div.thread",
+            "a.title",
+            "span.category",
+            "span.name",
+            ""
+        ));
+        
+        crawlConfigs.put("girlschannel", new CrawlConfig(
+            "Girls Channel",
+            "https://girlschannel.net/topics/new/",
+            "ja",
+            "article.topic",
+            "h1.topic-title a",
+            "div.topic-tag",
+            "div.topic-footer .name",
+            ""
+        ));
+    }
+    
+    /**
+     * 사이트 이름에 해당하는 크롤링 설정 조회
+     * @return 크롤링 설정, 없으면 null
+     */
+    public CrawlConfig getConfig(String sourceName) {
+        return crawlConfigs.get(sourceName);
+    }
+    
+    /**
+     * 크롤링 설정이 있는 사이트 이름 목록
+     */
+    public Set<String> getConfiguredSources() {
+        return Collections.unmodifiableSet(crawlConfigs.keySet());
+    }
+    
+    /**
+     * 설정된 선택자로 인기 글 목록 페이지와 상세 페이지를 크롤링
+     * robots.txt에서 금지된 경우 빈 목록을 반환합니다.
+     * @param config 크롤링 설정
+     * @param source 커뮤니티 소스 (최대 포스트 수, 선택자 덮어쓰기 설정)
+     * @return 크롤링된 글 목록
+     */
+    public List<CrawledPost> crawl(CrawlConfig config, CommunitySource source) 
+            throws IOException, InterruptedException {
+        if (!politenessService.acquire(config.getUrl())) {
+            return List.of();
+        }
+        
+        Document document = Jsoup.connect(config.getUrl())
+            .userAgent(userAgent)
+            .timeout(crawlTimeoutMillis)
+            .get();
+        
+        List<CrawledPost> posts = new ArrayList<>();
+        Elements items = document.select(config.getItemSelector());
+        DetailSelectors detailSelectors = resolveDetailSelectors(config, source);
+        
+        for (Element item : items) {
+            if (posts.size() >= source.getMaxPostsPerCrawl()) {
+                break;
+            }
+            
+            Element titleElement = item.selectFirst(config.getTitleSelector());
+            if (titleElement == null || titleElement.text().isEmpty()) {
+                continue;
+            }
+            
+            String url = titleElement.absUrl("href");
+            if (url.isEmpty()) {
+                url = config.getBaseUrl() + titleElement.attr("href");
+            }
+            
+            String title = titleElement.text();
+            DetailFields detail = detailCrawlingEnabled && !detailSelectors.isEmpty()
+                ? crawlDetailPage(url, detailSelectors)
+                : null;
+            
+            posts.add(new CrawledPost(
+                detail != null && detail.getTitle() != null ? detail.getTitle() : title,
+                detail != null && detail.getBody() != null ? detail.getBody() : title,
+                url,
+                source.getName(),
+                detail != null && detail.getLikes() != null ? detail.getLikes() : 0,
+                detail != null && detail.getComments() != null ? detail.getComments() : 0,
+                config.getLanguage(),
+                LocalDateTime.now()
+            ));
+        }
+        
+        return posts;
+    }
+    
+    /**
+     * 게시글 상세 페이지에서 제목, 본문, 좋아요/댓글 수를 추출
+     * 스트리밍 모드에서는 필요한 요소를 모두 찾으면 나머지 응답을 읽지 않습니다.
+     * @return 추출된 필드, 접근이 금지되었거나 실패한 경우 null
+     */
+    private DetailFields crawlDetailPage(String url, DetailSelectors selectors) throws InterruptedException {
+        try {
+            if (!politenessService.acquire(url)) {
+                return null;
+            }
+            
+            Connection connection = Jsoup.connect(url)
+                .userAgent(userAgent)
+                .timeout(crawlTimeoutMillis)
+                .maxBodySize(0);
+            
+            if (!streamingDetailParsing) {
+                return StreamingDetailExtractor.extract(connection.get(), selectors);
+            }
+            
+            try (StreamParser parser = connection.execute().streamParser()) {
+                return StreamingDetailExtractor.extract(parser, selectors);
+            }
+        } catch (IOException e) {
+            logger.warn("Error crawling detail page {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 소스의 selector_config(JSON)에 지정된 상세 페이지 선택자로 기본 설정을 덮어씁니다.
+     * 예: {"detailTitle": "h1.title", "detailBody": "div.content", "detailLikes": ".likes", "detailComments": ".comments"}
+     */
+    private DetailSelectors resolveDetailSelectors(CrawlConfig config, CommunitySource source) {
+        String selectorConfig = source.getSelectorConfig();
+        if (selectorConfig == null || selectorConfig.isBlank() || "{}".equals(selectorConfig.trim())) {
+            return config.getDetailSelectors();
+        }
+        
+        try {
+            JsonNode node = objectMapper.readTree(selectorConfig);
+            if (!node.has("detailTitle") && !node.has("detailBody")
+                    && !node.has("detailLikes") && !node.has("detailComments")) {
+                return config.getDetailSelectors();
+            }
+            return new DetailSelectors(
+                node.path("detailTitle").asText(null),
+                node.path("detailBody").asText(null),
+                node.path("detailLikes").asText(null),
+                node.path("detailComments").asText(null)
+            );
+        } catch (Exception e) {
+            logger.warn("Invalid selector config for {}: {}", source.getName(), e.getMessage());
+            return config.getDetailSelectors();
+        }
+    }
+}
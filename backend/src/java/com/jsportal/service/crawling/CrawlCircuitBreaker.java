@@ -0,0 +1,280 @@
+package com.jsportal.service.crawling;
+
+import com.jsportal.domain.crawling.CommunitySource;
+import com.jsportal.repository.CommunitySourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 커뮤니티 소스별 서킷 브레이커와 일일 실패 예산
+ * 최근 요청 윈도우의 실패율이 임계값을 넘으면 서킷을 열어 일정 시간 요청을 막고,
+ * 이후 반열림(half-open) 상태에서 제한된 수의 시험 요청으로 복구 여부를 판단합니다.
+ * 일일 실패 예산을 초과한 소스는 우선순위를 낮추고 실패 사유를 소스에 기록합니다.
+ * 낮춘 단계 수는 소스(deprioritized_levels)에 저장하므로 재시작하거나 다른 노드가 소스를 맡아도 복구됩니다.
+ */
+@Service
+public class CrawlCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlCircuitBreaker.class);
+
+    // 실패 예산 초과로 낮출 수 있는 최저 우선순위 (기본 우선순위 1인 소스도 한 단계 낮출 수 있도록 0)
+    private static final int MIN_PRIORITY = 0;
+
+    @Value("${crawling.circuit-breaker.window-size:10}")
+    private int windowSize;
+
+    @Value("${crawling.circuit-breaker.minimum-calls:4}")
+    private int minimumCalls;
+
+    @Value("${crawling.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${crawling.circuit-breaker.open-duration-minutes:30}")
+    private int openDurationMinutes;
+
+    @Value("${crawling.circuit-breaker.max-open-duration-minutes:720}")
+    private int maxOpenDurationMinutes;
+
+    @Value("${crawling.circuit-breaker.half-open-probes:1}")
+    private int halfOpenProbes;
+
+    @Value("${crawling.failure-budget.per-day:5}")
+    private int dailyFailureBudget;
+
+    private final CommunitySourceRepository communitySourceRepository;
+
+    // 소스 이름별 서킷 상태
+    private final Map<String, BreakerState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CrawlCircuitBreaker(CommunitySourceRepository communitySourceRepository) {
+        this.communitySourceRepository = communitySourceRepository;
+    }
+
+    /**
+     * 소스에 요청해도 되는지 확인합니다.
+     * 열린 서킷의 대기 시간이 지났으면 반열림 상태로 전환하고 시험 요청을 허용합니다.
+     * @param source 커뮤니티 소스
+     * @return 요청 허용 여부
+     */
+    public boolean tryAcquire(CommunitySource source) {
+        return state(source).tryAcquire(LocalDateTime.now());
+    }
+
+    /**
+     * 서킷이 열려 있으면 다음 시험 요청 가능 시각, 닫혀 있으면 null
+     */
+    public LocalDateTime getRetryAt(CommunitySource source) {
+        return state(source).getRetryAt(LocalDateTime.now());
+    }
+
+    /**
+     * 결과 없이 끝난 요청(중단 등)의 시험 요청 슬롯을 반환합니다.
+     */
+    public void cancel(CommunitySource source) {
+        state(source).cancel();
+    }
+
+    /**
+     * 요청 성공 기록
+     * 서킷이 닫혔거나 오늘 실패 예산이 남아 있으면 실패 예산 초과로 낮췄던 우선순위를 복구합니다.
+     * (호출한 쪽에서 소스를 저장)
+     */
+    public void recordSuccess(CommunitySource source) {
+        BreakerState state = state(source);
+        boolean closed = state.recordSuccess();
+        if (closed) {
+            logger.info("Circuit closed for {}", source.getName());
+        }
+
+        Integer levels = source.getDeprioritizedLevels();
+        if (levels != null && levels > 0 && (closed || !state.isFailureBudgetExhausted(LocalDate.now()))) {
+            source.setPriority(source.getPriority() + levels);
+            source.setDeprioritizedLevels(0);
+            logger.info("Priority of {} restored to {}", source.getName(), source.getPriority());
+        }
+        source.setConsecutiveFailures(0);
+    }
+
+    /**
+     * 요청 실패 기록
+     * 실패 사유를 소스에 기록하고, 서킷 전환이나 실패 예산 초과 시 우선순위를 조정합니다.
+     */
+    public void recordFailure(CommunitySource source, Throwable cause) {
+        LocalDateTime now = LocalDateTime.now();
+        BreakerState state = state(source);
+        String reason = describe(cause);
+
+        LocalDateTime openUntil = state.recordFailure(now);
+        if (openUntil != null) {
+            logger.warn("Circuit opened for {} until {}: {}", source.getName(), openUntil, reason);
+            reason = "circuit open until " + openUntil.withNano(0) + " - " + reason;
+        }
+
+        if (state.consumeFailureBudget(now.toLocalDate()) && source.getPriority() > MIN_PRIORITY) {
+            source.setPriority(source.getPriority() - 1);
+            Integer levels = source.getDeprioritizedLevels();
+            source.setDeprioritizedLevels(levels != null ? levels + 1 : 1);
+            logger.warn("Failure budget exhausted for {}, priority lowered to {}", source.getName(), source.getPriority());
+            reason = "failure budget exhausted (" + dailyFailureBudget + "/day) - " + reason;
+        }
+
+        Integer failures = source.getConsecutiveFailures();
+        source.setConsecutiveFailures(failures != null ? failures + 1 : 1);
+        source.setLastFailureReason(reason.length() > 500 ? reason.substring(0, 500) : reason);
+        source.setLastFailureAt(now);
+
+        try {
+            communitySourceRepository.save(source);
+        } catch (Exception e) {
+            logger.error("Error recording failure of {}: {}", source.getName(), e.getMessage());
+        }
+    }
+
+    private BreakerState state(CommunitySource source) {
+        return states.computeIfAbsent(source.getName(), name -> new BreakerState());
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + (root.getMessage() != null ? ": " + root.getMessage() : "");
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 단일 소스의 서킷 상태 (최근 요청 결과를 링 버퍼로 보관)
+     */
+    private class BreakerState {
+        private final boolean[] outcomes = new boolean[windowSize];
+        private int outcomeCount;
+        private int nextIndex;
+        private int failureCount;
+
+        private State state = State.CLOSED;
+        private LocalDateTime openUntil;
+        private int consecutiveOpens;
+        private int probesInFlight;
+
+        private LocalDate budgetDate;
+        private int budgetFailures;
+
+        public synchronized boolean tryAcquire(LocalDateTime now) {
+            if (state == State.OPEN) {
+                if (now.isBefore(openUntil)) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+            }
+            return true;
+        }
+
+        public synchronized void cancel() {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        public synchronized LocalDateTime getRetryAt(LocalDateTime now) {
+            return state == State.OPEN && now.isBefore(openUntil) ? openUntil : null;
+        }
+
+        /**
+         * @return 반열림 상태에서 닫힘으로 복구되었는지 여부
+         */
+        public synchronized boolean recordSuccess() {
+            if (state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                consecutiveOpens = 0;
+                resetWindow();
+                return true;
+            }
+            record(false);
+            return false;
+        }
+
+        /**
+         * @return 이번 실패로 서킷이 열렸으면 열림 종료 시각, 아니면 null
+         */
+        public synchronized LocalDateTime recordFailure(LocalDateTime now) {
+            if (state == State.HALF_OPEN) {
+                return open(now);
+            }
+            record(true);
+            if (state == State.CLOSED && outcomeCount >= minimumCalls
+                    && (double) failureCount / outcomeCount >= failureRateThreshold) {
+                return open(now);
+            }
+            return null;
+        }
+
+        /**
+         * @return 오늘 실패 예산을 이번 실패로 초과했는지 여부 (하루 한 번만 true)
+         */
+        public synchronized boolean consumeFailureBudget(LocalDate today) {
+            if (!today.equals(budgetDate)) {
+                budgetDate = today;
+                budgetFailures = 0;
+            }
+            budgetFailures++;
+            return budgetFailures == dailyFailureBudget + 1;
+        }
+
+        public synchronized boolean isFailureBudgetExhausted(LocalDate today) {
+            return today.equals(budgetDate) && budgetFailures > dailyFailureBudget;
+        }
+
+        private LocalDateTime open(LocalDateTime now) {
+            // 연속으로 열릴수록 대기 시간을 두 배씩 늘림
+            long duration = Math.min(maxOpenDurationMinutes,
+                (long) openDurationMinutes << Math.min(consecutiveOpens, 10));
+            consecutiveOpens++;
+            state = State.OPEN;
+            openUntil = now.plusMinutes(duration);
+            probesInFlight = 0;
+            resetWindow();
+            return openUntil;
+        }
+
+        private void record(boolean failure) {
+            if (outcomeCount == outcomes.length) {
+                if (outcomes[nextIndex]) {
+                    failureCount--;
+                }
+            } else {
+                outcomeCount++;
+            }
+            outcomes[nextIndex] = failure;
+            if (failure) {
+                failureCount++;
+            }
+            nextIndex = (nextIndex + 1) % outcomes.length;
+        }
+
+        private void resetWindow() {
+            outcomeCount = 0;
+            nextIndex = 0;
+            failureCount = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jsportal.service.crawling;
+
+import com.jsportal.service.crawling.StreamingDetailExtractor.DetailSelectors;
+
+/**
+ * 커뮤니티 사이트 크롤링 설정 (목록/상세 페이지 선택자)
+ */
+public class CrawlConfig {
+    private final String name;
+    private final String url;
+    private final String language;
+    private final String itemSelector;
+    private final String titleSelector;
+    private final String categorySelector;
+    private final String authorSelector;
+    private final String baseUrl;
+    private final DetailSelectors detailSelectors;
+    
+    public CrawlConfig(String name, String url, String language, String itemSelector, 
+                       String titleSelector, String categorySelector, String authorSelector, String baseUrl) {
+        this(name, url, language, itemSelector, titleSelector, categorySelector, authorSelector, baseUrl,
+             new DetailSelectors(null, null, null, null));
+    }
+    
+    public CrawlConfig(String name, String url, String language, String itemSelector, 
+                       String titleSelector, String categorySelector, String authorSelector, String baseUrl,
+                       DetailSelectors detailSelectors) {
+        this.name = name;
+        this.url = url;
+        this.language = language;
+        this.itemSelector = itemSelector;
+        this.titleSelector = titleSelector;
+        this.categorySelector = categorySelector;
+        this.authorSelector = authorSelector;
+        this.baseUrl = baseUrl;
+        this.detailSelectors = detailSelectors;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public String getLanguage() {
+        return language;
+    }
+    
+    public String getItemSelector() {
+        return itemSelector;
+    }
+    
+    public String getTitleSelector() {
+        return titleSelector;
+    }
+    
+    public String getCategorySelector() {
+        return categorySelector;
+    }
+    
+    public String getAuthorSelector() {
+        return authorSelector;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    public DetailSelectors getDetailSelectors() {
+        return detailSelectors;
+    }
+    
+    /**
+     * 목록 페이지 주소만 바꾼 설정 사본 (크롤링 벤치마크의 로컬 서버용)
+     * @param listUrl 목록 페이지 URL
+     * @param baseUrl 상대 링크 기준 주소
+     */
+    public CrawlConfig withUrl(String listUrl, String baseUrl) {
+        return new CrawlConfig(name, listUrl, language, itemSelector, titleSelector,
+                               categorySelector, authorSelector, baseUrl, detailSelectors);
+    }
+}
@@ -0,0 +1,236 @@
+package com.jsportal.service.crawling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 크롤링 예의(politeness) 관리 서비스
+ * 호스트별 robots.txt를 TTL 캐시에 보관하고, Crawl-delay를 반영한 호스트별 토큰 버킷으로
+ * 모든 크롤링 스레드의 요청 간격을 제한합니다.
+ * robots.txt를 가져오지 못한 결과(5xx, 네트워크 오류)는 짧은 TTL로만 보관하고, 그동안은 마지막으로 받은 규칙을
+ * 사용합니다(RFC 9309에 따라 최대 24시간). 받은 적이 없으면 전체 금지로 처리합니다.
+ */
+@Service
+public class CrawlPolitenessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlPolitenessService.class);
+
+    private final RestTemplate restTemplate;
+
+    @Value("${crawling.user-agent:JsPortalBot/1.0}")
+    private String userAgent;
+
+    @Value("${crawling.politeness.default-delay-ms:1000}")
+    private long defaultDelayMillis;
+
+    @Value("${crawling.politeness.max-delay-ms:60000}")
+    private long maxDelayMillis;
+
+    @Value("${crawling.politeness.burst:1}")
+    private int burst;
+
+    // 호스트별 robots.txt 규칙 캐시 (항목마다 TTL이 다름)
+    private final Cache<String, CachedRules> robotsCache;
+
+    // 호스트별 마지막으로 성공한 robots.txt 규칙 (가져오기 실패 시 사용)
+    private final Cache<String, RobotsRules> lastGoodRules = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofHours(24))
+        .maximumSize(1000)
+        .build();
+
+    // 호스트별 토큰 버킷 (모든 크롤링 스레드가 공유)
+    private final Map<String, TokenBucket> hostBuckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CrawlPolitenessService(RestTemplateBuilder restTemplateBuilder,
+                                  @Value("${crawling.robots.cache-ttl-minutes:360}") long robotsCacheTtlMinutes,
+                                  @Value("${crawling.robots.failure-ttl-minutes:10}") long failureTtlMinutes,
+                                  @Value("${crawling.robots.timeout-ms:5000}") long robotsTimeoutMillis) {
+        // 응답이 느린 호스트가 크롤링 스레드를 붙잡지 않도록 robots.txt 요청에는 별도 타임아웃 적용
+        this.restTemplate = restTemplateBuilder
+            .setConnectTimeout(Duration.ofMillis(robotsTimeoutMillis))
+            .setReadTimeout(Duration.ofMillis(robotsTimeoutMillis))
+            .build();
+        long successTtlNanos = TimeUnit.MINUTES.toNanos(robotsCacheTtlMinutes);
+        long failureTtlNanos = TimeUnit.MINUTES.toNanos(Math.min(failureTtlMinutes, robotsCacheTtlMinutes));
+        this.robotsCache = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, CachedRules>() {
+                @Override
+                public long expireAfterCreate(String key, CachedRules value, long currentTime) {
+                    return value.isFetchFailed() ? failureTtlNanos : successTtlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CachedRules value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CachedRules value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .maximumSize(1000)
+            .build();
+    }
+
+    /**
+     * URL 접근 허가를 받습니다.
+     * robots.txt에서 금지된 경로면 false를 반환하고, 허용된 경로면 호스트의 요청 간격을 지킬 때까지 대기합니다.
+     * @param url 요청할 URL
+     * @return 요청 허용 여부
+     */
+    public boolean acquire(String url) throws InterruptedException {
+        URI uri = URI.create(url);
+        String hostKey = hostKey(uri);
+        RobotsRules rules = getRules(hostKey);
+
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path = path + "?" + uri.getRawQuery();
+        }
+
+        if (!rules.isAllowed(path)) {
+            logger.info("Skipping {} disallowed by robots.txt", url);
+            return false;
+        }
+
+        TokenBucket bucket = hostBuckets.computeIfAbsent(hostKey, key -> new TokenBucket(burst));
+        bucket.acquire(delayMillis(rules));
+        return true;
+    }
+
+    /**
+     * 호스트의 robots.txt 규칙 조회 (캐시 미스 시 한 번만 가져옴)
+     */
+    public RobotsRules getRules(String hostKey) {
+        return robotsCache.get(hostKey, this::fetchRules).getRules();
+    }
+
+    private CachedRules fetchRules(String hostKey) {
+        String robotsUrl = hostKey + "/robots.txt";
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.USER_AGENT, userAgent);
+            ResponseEntity<String> response = restTemplate.exchange(
+                robotsUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+            String body = response.getBody();
+            if (!response.getStatusCode().is2xxSuccessful() || body == null) {
+                return succeeded(hostKey, RobotsRules.allowAll());
+            }
+
+            RobotsRules rules = RobotsRules.parse(body, productToken());
+            logger.debug("Loaded robots.txt for {} (crawl-delay: {})", hostKey, rules.getCrawlDelaySeconds());
+            return succeeded(hostKey, rules);
+        } catch (HttpClientErrorException e) {
+            // 4xx: robots.txt가 없으므로 모든 경로 허용
+            return succeeded(hostKey, RobotsRules.allowAll());
+        } catch (Exception e) {
+            // 5xx 및 네트워크 오류: 마지막으로 받은 규칙을 쓰고, 없으면 확인할 수 없으므로 전체 금지 (RFC 9309)
+            RobotsRules previous = lastGoodRules.getIfPresent(hostKey);
+            logger.warn("Unable to fetch {}, {}: {}", robotsUrl,
+                previous != null ? "using last known rules" : "disallowing all paths", e.getMessage());
+            return new CachedRules(previous != null ? previous : RobotsRules.disallowAll(), true);
+        }
+    }
+
+    private CachedRules succeeded(String hostKey, RobotsRules rules) {
+        lastGoodRules.put(hostKey, rules);
+        return new CachedRules(rules, false);
+    }
+
+    private long delayMillis(RobotsRules rules) {
+        Double crawlDelay = rules.getCrawlDelaySeconds();
+        if (crawlDelay == null) {
+            return defaultDelayMillis;
+        }
+        long delay = (long) (crawlDelay * 1000);
+        return Math.min(maxDelayMillis, Math.max(defaultDelayMillis, delay));
+    }
+
+    private String productToken() {
+        int slashIndex = userAgent.indexOf('/');
+        return slashIndex > 0 ? userAgent.substring(0, slashIndex) : userAgent;
+    }
+
+    private static String hostKey(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme() : "https";
+        return uri.getPort() > 0
+            ? scheme + "://" + uri.getHost() + ":" + uri.getPort()
+            : scheme + "://" + uri.getHost();
+    }
+
+    /**
+     * robots.txt 캐시 항목 (가져오기 실패 결과는 짧은 TTL로 보관)
+     */
+    private static class CachedRules {
+        private final RobotsRules rules;
+        private final boolean fetchFailed;
+
+        public CachedRules(RobotsRules rules, boolean fetchFailed) {
+            this.rules = rules;
+            this.fetchFailed = fetchFailed;
+        }
+
+        public RobotsRules getRules() {
+            return rules;
+        }
+
+        public boolean isFetchFailed() {
+            return fetchFailed;
+        }
+    }
+
+    /**
+     * 호스트별 토큰 버킷
+     * 요청 시점을 미리 예약하고 락 밖에서 대기하므로 여러 스레드가 같은 호스트를 공유해도 간격이 유지됩니다.
+     */
+    private static class TokenBucket {
+        private final int capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        public TokenBucket(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        public void acquire(long intervalMillis) throws InterruptedException {
+            long waitNanos = reserve(TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervalMillis)));
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        private synchronized long reserve(long intervalNanos) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) / intervalNanos);
+            lastRefillNanos = now;
+
+            // 토큰이 음수가 되면 그만큼 미래의 요청 시점을 예약한 것
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens * intervalNanos);
+        }
+    }
+}
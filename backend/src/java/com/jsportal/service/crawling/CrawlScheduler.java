@@ -0,0 +1,325 @@
+package com.jsportal.service.crawling;
+
+import com.jsportal.domain.crawling.CommunitySource;
+import com.jsportal.repository.CommunitySourceRepository;
+import com.jsportal.service.cluster.ClusterMembership;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 커뮤니티 소스별 적응형 크롤링 스케줄러
+ * 다음 크롤링 예정 시각 순으로 정렬된 우선순위 큐를 유지하고,
+ * 크롤링 결과로 얻은 신규 포스트 수에 따라 소스별 크롤링 간격을 조정합니다.
+ * 여러 노드가 실행 중이면 소스 이름의 해시로 나눠 각 노드는 자신이 담당하는 소스만 큐에 등록합니다.
+ * 활성 노드 목록이 바뀌면 바로 큐를 다시 동기화하고, 꺼낼 때도 담당 여부를 다시 확인합니다.
+ */
+@Service
+public class CrawlScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlScheduler.class);
+
+    @Value("${crawling.scheduler.min-interval-minutes:15}")
+    private int minIntervalMinutes;
+
+    @Value("${crawling.scheduler.max-interval-minutes:1440}")
+    private int maxIntervalMinutes;
+
+    @Value("${crawling.scheduler.refresh-interval-minutes:10}")
+    private int refreshIntervalMinutes;
+
+    @Value("${crawling.scheduler.hot-yield-ratio:0.5}")
+    private double hotYieldRatio;
+
+    @Value("${crawling.scheduler.cold-yield-ratio:0.2}")
+    private double coldYieldRatio;
+
+    private final CommunitySourceRepository communitySourceRepository;
+    private final ClusterMembership clusterMembership;
+
+    // 다음 크롤링 예정 시각이 빠른 순, 같으면 우선순위가 높은 순
+    private final PriorityQueue<ScheduledSource> queue = new PriorityQueue<>(
+        Comparator.comparing(ScheduledSource::getNextDueAt)
+            .thenComparing(entry -> -entry.getSource().getPriority()));
+
+    // 큐에 대기 중인 소스 (소스 ID 기준)
+    private final Map<Long, ScheduledSource> queuedSources = new HashMap<>();
+
+    // 현재 크롤링 중인 소스 ID
+    private final Set<Long> inFlightSourceIds = new HashSet<>();
+
+    // 큐 상태 보호용 잠금 (소스 저장 등 DB 작업을 포함하므로 가상 스레드가 고정되지 않도록 synchronized 대신 사용)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LocalDateTime lastRefreshedAt;
+
+    // 마지막 동기화 시점의 활성 노드 목록과 멤버십 유효 여부 (바뀌면 담당 소스가 달라지므로 다시 동기화)
+    private List<String> refreshedNodes;
+    private boolean refreshedMembershipCurrent;
+
+    @Autowired
+    public CrawlScheduler(CommunitySourceRepository communitySourceRepository,
+                          ClusterMembership clusterMembership) {
+        this.communitySourceRepository = communitySourceRepository;
+        this.clusterMembership = clusterMembership;
+    }
+
+    /**
+     * 크롤링 예정 시각이 지난 소스를 큐에서 꺼냅니다.
+     * 꺼낸 소스는 recordYield 또는 release로 반드시 다시 등록해야 합니다.
+     * 지금은 다른 노드가 담당하는 소스는 꺼내지 않고 큐에 남겨 두어 다음 동기화에서 정리합니다.
+     * @param limit 최대 소스 수
+     * @return 크롤링할 소스 목록
+     */
+    public List<CommunitySource> pollDueSources(int limit) {
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (lastRefreshedAt == null || lastRefreshedAt.isBefore(now.minusMinutes(refreshIntervalMinutes))
+                    || membershipChanged()) {
+                refresh();
+            }
+
+            List<CommunitySource> dueSources = new ArrayList<>();
+            List<ScheduledSource> notOwned = new ArrayList<>();
+            while (dueSources.size() < limit && !queue.isEmpty() && !queue.peek().getNextDueAt().isAfter(now)) {
+                ScheduledSource entry = queue.poll();
+                if (!isOwner(entry.getSource())) {
+                    notOwned.add(entry);
+                    continue;
+                }
+                queuedSources.remove(entry.getSource().getId());
+                inFlightSourceIds.add(entry.getSource().getId());
+                dueSources.add(entry.getSource());
+            }
+            queue.addAll(notOwned);
+
+            return dueSources;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 크롤링 결과를 반영하여 소스의 크롤링 간격을 조정하고 다시 큐에 등록합니다.
+     * @param source 크롤링한 소스
+     * @param newPostCount 새로 수집된 포스트 수
+     */
+    public void recordYield(CommunitySource source, int newPostCount) {
+        lock.lock();
+        try {
+            int currentInterval = source.getCrawlIntervalMinutes() != null
+                ? source.getCrawlIntervalMinutes() : maxIntervalMinutes;
+            int nextInterval = adaptInterval(currentInterval, newPostCount, source.getMaxPostsPerCrawl());
+
+            if (nextInterval != currentInterval) {
+                logger.info("Adjusting crawl interval of {} from {} to {} minutes ({} new posts)",
+                    source.getName(), currentInterval, nextInterval, newPostCount);
+            }
+
+            source.setCrawlIntervalMinutes(nextInterval);
+            source.setLastCrawledAt(LocalDateTime.now());
+            CommunitySource savedSource = communitySourceRepository.save(source);
+
+            inFlightSourceIds.remove(savedSource.getId());
+            enqueue(savedSource, savedSource.getLastCrawledAt().plusMinutes(nextInterval));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 크롤링 간격을 조정하지 않고 소스를 다시 큐에 등록합니다.
+     * 일일 한도 도달 등 수집량을 판단할 수 없는 경우에 사용합니다.
+     * @param source 크롤링하지 못한 소스
+     */
+    public void release(CommunitySource source) {
+        lock.lock();
+        try {
+            inFlightSourceIds.remove(source.getId());
+            int interval = source.getCrawlIntervalMinutes() != null
+                ? source.getCrawlIntervalMinutes() : maxIntervalMinutes;
+            enqueue(source, LocalDateTime.now().plusMinutes(Math.min(interval, refreshIntervalMinutes)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 크롤링에 실패한 소스를 연속 실패 횟수만큼 늦춰 다시 큐에 등록합니다.
+     * 실패는 수집량이 아니므로 소스의 크롤링 간격은 그대로 두고, 이번 대기 시간만 간격의 2^연속 실패 배로 늘립니다.
+     * 실패하는 소스가 정상 소스보다 자주 재시도되지 않도록 최소한 원래 간격만큼 기다립니다.
+     * @param source 크롤링에 실패한 소스
+     */
+    public void recordFailure(CommunitySource source) {
+        lock.lock();
+        try {
+            inFlightSourceIds.remove(source.getId());
+            int interval = source.getCrawlIntervalMinutes() != null
+                ? source.getCrawlIntervalMinutes() : maxIntervalMinutes;
+            int failures = source.getConsecutiveFailures() != null ? source.getConsecutiveFailures() : 0;
+            long delay = Math.min(maxIntervalMinutes, (long) interval << Math.min(failures, 10));
+            logger.info("Backing off {} for {} minutes after {} consecutive failures",
+                source.getName(), delay, failures);
+            enqueue(source, LocalDateTime.now().plusMinutes(Math.max(interval, delay)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 크롤링 간격을 조정하지 않고 지정한 시각 이후로 소스를 다시 큐에 등록합니다.
+     * 서킷 브레이커가 열린 소스를 재시도 시각까지 미룰 때 사용합니다.
+     * @param source 크롤링하지 못한 소스
+     * @param nextDueAt 다음 크롤링 예정 시각
+     */
+    public void deferUntil(CommunitySource source, LocalDateTime nextDueAt) {
+        lock.lock();
+        try {
+            inFlightSourceIds.remove(source.getId());
+            enqueue(source, nextDueAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * DB의 활성 소스 목록과 큐를 동기화합니다.
+     * 새로 추가된 소스는 마지막 크롤링 시각을 기준으로 등록하고, 비활성화된 소스는 제거합니다.
+     * 다른 노드가 담당하는 소스도 비활성 소스처럼 제거합니다.
+     */
+    public void refresh() {
+        lock.lock();
+        try {
+            refreshedNodes = clusterMembership.getActiveNodes();
+            refreshedMembershipCurrent = clusterMembership.isMembershipCurrent();
+            List<CommunitySource> activeSources = communitySourceRepository.findByActiveTrue();
+            Set<Long> activeIds = new HashSet<>();
+
+            for (CommunitySource source : activeSources) {
+                if (!isOwner(source)) {
+                    continue;
+                }
+                activeIds.add(source.getId());
+                if (inFlightSourceIds.contains(source.getId())) {
+                    continue;
+                }
+
+                ScheduledSource existing = queuedSources.get(source.getId());
+                if (existing != null) {
+                    // 관리자가 변경한 설정(우선순위 등)을 반영하기 위해 다시 등록
+                    queue.remove(existing);
+                    queuedSources.remove(source.getId());
+                    enqueue(source, existing.getNextDueAt());
+                } else {
+                    enqueue(source, initialDueAt(source));
+                }
+            }
+
+            queuedSources.keySet().removeIf(id -> {
+                if (activeIds.contains(id)) {
+                    return false;
+                }
+                queue.removeIf(entry -> entry.getSource().getId().equals(id));
+                return true;
+            });
+
+            lastRefreshedAt = LocalDateTime.now();
+            logger.debug("Crawl schedule refreshed: {} queued, {} in flight", queue.size(), inFlightSourceIds.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 신규 포스트 비율에 따라 다음 크롤링 간격을 계산합니다.
+     * 신규 포스트가 많으면 간격을 줄이고, 없으면 간격을 늘립니다.
+     */
+    int adaptInterval(int currentInterval, int newPostCount, int maxPostsPerCrawl) {
+        double yieldRatio = (double) newPostCount / Math.max(1, maxPostsPerCrawl);
+        double nextInterval = currentInterval;
+
+        if (newPostCount == 0) {
+            nextInterval = currentInterval * 2.0;
+        } else if (yieldRatio >= hotYieldRatio) {
+            nextInterval = currentInterval * 0.5;
+        } else if (yieldRatio < coldYieldRatio) {
+            nextInterval = currentInterval * 1.25;
+        }
+
+        return (int) Math.max(minIntervalMinutes, Math.min(maxIntervalMinutes, Math.round(nextInterval)));
+    }
+
+    private boolean isOwner(CommunitySource source) {
+        return clusterMembership.isOwner("crawl-source:" + source.getName());
+    }
+
+    /**
+     * 마지막 동기화 이후 활성 노드 목록이나 멤버십 유효 여부가 바뀌었는지 확인
+     */
+    private boolean membershipChanged() {
+        return !clusterMembership.getActiveNodes().equals(refreshedNodes)
+            || clusterMembership.isMembershipCurrent() != refreshedMembershipCurrent;
+    }
+
+    private LocalDateTime initialDueAt(CommunitySource source) {
+        if (source.getLastCrawledAt() == null) {
+            return LocalDateTime.now();
+        }
+        int interval = source.getCrawlIntervalMinutes() != null
+            ? source.getCrawlIntervalMinutes() : maxIntervalMinutes;
+        return source.getLastCrawledAt().plusMinutes(interval);
+    }
+
+    private void enqueue(CommunitySource source, LocalDateTime nextDueAt) {
+        ScheduledSource entry = new ScheduledSource(source, nextDueAt);
+        queue.add(entry);
+        queuedSources.put(source.getId(), entry);
+    }
+
+    /**
+     * 큐에 대기 중인 소스 수 조회
+     */
+    public int getQueuedSourceCount() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 스케줄 큐 항목
+     */
+    private static class ScheduledSource {
+        private final CommunitySource source;
+        private final LocalDateTime nextDueAt;
+
+        public ScheduledSource(CommunitySource source, LocalDateTime nextDueAt) {
+            this.source = source;
+            this.nextDueAt = nextDueAt;
+        }
+
+        public CommunitySource getSource() {
+            return source;
+        }
+
+        public LocalDateTime getNextDueAt() {
+            return nextDueAt;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.jsportal.service.crawling;
+
+/**
+ * 커뮤니티 소스 크롤링 실패 예외
+ * 요청 실패뿐 아니라 서킷 브레이커가 열려 요청하지 않은 경우에도 사용됩니다.
+ */
+public class CrawlingException extends RuntimeException {
+
+    public CrawlingException(String message) {
+        super(message);
+    }
+
+    public CrawlingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -8,22 +8,16 @@ import com.jsportal.repository.ContentRepository;
 import com.jsportal.repository.ContentSourceRepository;
 import com.jsportal.repository.CommunitySourceRepository;
 import com.jsportal.service.api.OpenAiService;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,74 +34,27 @@ public class CrawlingService {
     private final ContentRepository contentRepository;
     private final ContentSourceRepository contentSourceRepository;
     private final CommunitySourceRepository communitySourceRepository;
+    private final CommunityCrawler communityCrawler;
+    private final CrawlCircuitBreaker circuitBreaker;
 
-    // 크롤링할 사이트 정보와 선택자를 저장하는 맵
-    private final Map<String, CrawlConfig> crawlConfigs = new HashMap<>();
+    @Value("${crawling.live.enabled:true}")
+    private boolean liveCrawlingEnabled;
 
     @Autowired
     public CrawlingService(RestTemplate restTemplate, ObjectMapper objectMapper, 
                           OpenAiService openAiService, ContentRepository contentRepository,
                           ContentSourceRepository contentSourceRepository,
-                          CommunitySourceRepository communitySourceRepository) {
+                          CommunitySourceRepository communitySourceRepository,
+                          CommunityCrawler communityCrawler,
+                          CrawlCircuitBreaker circuitBreaker) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
         this.openAiService = openAiService;
         this.contentRepository = contentRepository;
         this.contentSourceRepository = contentSourceRepository;
         this.communitySourceRepository = communitySourceRepository;
-        
-        initializeCrawlConfigs();
-    }
-    
-    /**
-     * 크롤링 설정 초기화
-     */
-    private void initializeCrawlConfigs() {
-        // 한국 커뮤니티 설정
-        crawlConfigs.put("ruliweb", new CrawlConfig(
-            "루리웹",
-            "https://bbs.ruliweb.com/best",
-            "ko",
-            "table.board_list_table tr.item",
-            "td.subject a",
-            "td.divsn a",
-            "a.nick",
-            "https://bbs.ruliweb.com"
-        ));
-        
-        crawlConfigs.put("fmkorea", new CrawlConfig(
-            "에펨코리아",
-            "https://www.fmkorea.com/index.php?mid=best",
-            "ko",
-            "div.fm_best_widget ul li",
-            "h3.title a",
-            "span.category",
-            "a.author",
-            "https://www.fmkorea.com"
-        ));
-        
-        // 일본 커뮤니티 설정
-        crawlConfigs.put("5ch", new CrawlConfig(
-            "5ch",
-            "https://5ch.net",
-            "ja",
-            "div.thread",
-            "a.title",
-            "span.category",
-            "span.name",
-            ""
-        ));
-        
-        crawlConfigs.put("girlschannel", new CrawlConfig(
-            "Girls Channel",
-            "https://girlschannel.net/topics/new/",
-            "ja",
-            "article.topic",
-            "h1.topic-title a",
-            "div.topic-tag",
-            "div.topic-footer .name",
-            ""
-        ));
+        this.communityCrawler = communityCrawler;
+        this.circuitBreaker = circuitBreaker;
     }
     
     /**
@@ -126,26 +73,60 @@ public class CrawlingService {
             return List.of();
         }
         
-        CommunitySource source = sourceOpt.get();
-        
         try {
-            // 이 메서드는 실제 구현에서 해당 사이트에 맞는 크롤링 로직을 구현해야 합니다.
-            // 여기서는 예시로 크롤링된 포스트를 생성합니다.
-            List<CrawledPost> posts = simulateCrawling(source);
-            
+            return crawlPopularPosts(sourceOpt.get());
+        } catch (CrawlingException e) {
+            logger.error("Error crawling source {}: {}", sourceName, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 지정된 커뮤니티 소스에서 인기 글 목록을 크롤링
+     * 서킷 브레이커가 열린 소스는 요청하지 않으며, 실패는 서킷 브레이커에 기록됩니다.
+     * @param source 크롤링할 커뮤니티 소스
+     * @return 크롤링된 글 목록
+     * @throws CrawlingException 서킷이 열려 있거나 크롤링에 실패한 경우
+     */
+    public List<CrawledPost> crawlPopularPosts(CommunitySource source) {
+        String sourceName = source.getName();
+
+        if (!circuitBreaker.tryAcquire(source)) {
+            throw new CrawlingException("Circuit open for " + sourceName);
+        }
+
+        List<CrawledPost> posts;
+        try {
+            // 선택자 설정이 있는 사이트는 실제로 크롤링하고, 없는 사이트는 예시 데이터를 생성합니다.
+            CrawlConfig config = communityCrawler.getConfig(sourceName);
+            posts = liveCrawlingEnabled && config != null
+                ? communityCrawler.crawl(config, source)
+                : simulateCrawling(source);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.cancel(source);
+            throw new CrawlingException("Crawling interrupted: " + sourceName, e);
+        } catch (Exception e) {
+            logger.error("Error crawling source {}: {}", sourceName, e.getMessage(), e);
+            circuitBreaker.recordFailure(source, e);
+            throw new CrawlingException("Error crawling source " + sourceName, e);
+        }
+
+        circuitBreaker.recordSuccess(source);
+
+        try {
             // 소스의 마지막 크롤링 시간 업데이트
             source.setLastCrawledAt(LocalDateTime.now());
             communitySourceRepository.save(source);
-            
-            return posts;
         } catch (Exception e) {
-            logger.error("Error crawling source {}: {}", sourceName, e.getMessage(), e);
-            return List.of();
+            logger.error("Error updating source {}: {}", sourceName, e.getMessage());
         }
+
+        return posts;
     }
     
     /**
-     * 크롤링 시뮬레이션 (실제 구현에서는 제거)
+     * 크롤링 시뮬레이션 (선택자 설정이 없는 사이트용)
      */
     private List<CrawledPost> simulateCrawling(CommunitySource source) {
         List<CrawledPost> posts = new ArrayList<>();
@@ -226,64 +207,6 @@ public class CrawlingService {
         return count;
     }
     
-    /**
-     * 크롤링 설정 클래스
-     */
-    private static class CrawlConfig {
-        private final String name;
-        private final String url;
-        private final String language;
-        private final String itemSelector;
-        private final String titleSelector;
-        private final String categorySelector;
-        private final String authorSelector;
-        private final String baseUrl;
-        
-        public CrawlConfig(String name, String url, String language, String itemSelector, 
-                           String titleSelector, String categorySelector, String authorSelector, String baseUrl) {
-            this.name = name;
-            this.url = url;
-            this.language = language;
-            this.itemSelector = itemSelector;
-            this.titleSelector = titleSelector;
-            this.categorySelector = categorySelector;
-            this.authorSelector = authorSelector;
-            this.baseUrl = baseUrl;
-        }
-        
-        public String getName() {
-            return name;
-        }
-        
-        public String getUrl() {
-            return url;
-        }
-        
-        public String getLanguage() {
-            return language;
-        }
-        
-        public String getItemSelector() {
-            return itemSelector;
-        }
-        
-        public String getTitleSelector() {
-            return titleSelector;
-        }
-        
-        public String getCategorySelector() {
-            return categorySelector;
-        }
-        
-        public String getAuthorSelector() {
-            return authorSelector;
-        }
-        
-        public String getBaseUrl() {
-            return baseUrl;
-        }
-    }
-    
     /**
      * 크롤링된 포스트 데이터 클래스
      */
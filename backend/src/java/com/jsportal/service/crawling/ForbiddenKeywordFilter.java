@@ -0,0 +1,48 @@
+package com.jsportal.service.crawling;
+
+import com.jsportal.service.crawling.CrawlingService.CrawledPost;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 금지 키워드가 포함된 크롤링 포스트를 걸러내는 필터
+ * 키워드는 생성 시 한 번만 소문자로 변환해 둡니다.
+ */
+public class ForbiddenKeywordFilter {
+
+    private final List<String> forbiddenKeywords;
+
+    /**
+     * @param forbiddenKeywords 쉼표로 구분된 금지 키워드 목록
+     */
+    public ForbiddenKeywordFilter(String forbiddenKeywords) {
+        this.forbiddenKeywords = forbiddenKeywords == null ? List.of() : Arrays.stream(forbiddenKeywords.split(","))
+            .map(String::trim)
+            .filter(keyword -> !keyword.isEmpty())
+            .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 포스트의 제목 또는 본문에 금지 키워드가 포함되어 있는지 확인
+     * @param post 크롤링된 포스트
+     * @return 금지 키워드 포함 여부
+     */
+    public boolean isForbidden(CrawledPost post) {
+        if (forbiddenKeywords.isEmpty()) {
+            return false;
+        }
+
+        String title = post.getTitle().toLowerCase(Locale.ROOT);
+        String content = post.getContent().toLowerCase(Locale.ROOT);
+        for (String keyword : forbiddenKeywords) {
+            if (title.contains(keyword) || content.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,223 @@
+package com.jsportal.service.crawling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * robots.txt 규칙을 컴파일한 경로 매처
+ * 크롤러의 제품 토큰과 대소문자 구분 없이 정확히 일치하는 user-agent 그룹(없으면 * 그룹)의 Allow/Disallow 규칙을
+ * 길이 내림차순으로 정렬하여 가장 긴 규칙이 먼저 매칭되도록 합니다. (RFC 9309)
+ */
+public class RobotsRules {
+
+    private static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), null);
+    private static final RobotsRules DISALLOW_ALL = new RobotsRules(List.of(new Rule("/", false)), null);
+
+    private final List<Rule> rules;
+    private final Double crawlDelaySeconds;
+
+    private RobotsRules(List<Rule> rules, Double crawlDelaySeconds) {
+        this.rules = rules;
+        this.crawlDelaySeconds = crawlDelaySeconds;
+    }
+
+    /**
+     * 모든 경로를 허용하는 규칙 (robots.txt가 없는 경우)
+     */
+    public static RobotsRules allowAll() {
+        return ALLOW_ALL;
+    }
+
+    /**
+     * 모든 경로를 금지하는 규칙 (robots.txt를 확인할 수 없는 경우)
+     */
+    public static RobotsRules disallowAll() {
+        return DISALLOW_ALL;
+    }
+
+    /**
+     * robots.txt 본문을 파싱하여 규칙을 컴파일합니다.
+     * @param robotsTxt robots.txt 본문
+     * @param productToken 크롤러 식별 토큰 (예: JsPortalBot)
+     * @return 컴파일된 규칙
+     */
+    public static RobotsRules parse(String robotsTxt, String productToken) {
+        String token = productToken.toLowerCase(Locale.ROOT);
+
+        List<Rule> specificRules = new ArrayList<>();
+        List<Rule> wildcardRules = new ArrayList<>();
+        Double specificDelay = null;
+        Double wildcardDelay = null;
+        boolean specificGroupFound = false;
+
+        boolean inSpecificGroup = false;
+        boolean inWildcardGroup = false;
+        boolean lastLineWasUserAgent = false;
+
+        for (String rawLine : robotsTxt.split("\r?\n|\r")) {
+            int commentIndex = rawLine.indexOf('#');
+            String line = (commentIndex >= 0 ? rawLine.substring(0, commentIndex) : rawLine).trim();
+            int colonIndex = line.indexOf(':');
+            if (colonIndex <= 0) {
+                continue;
+            }
+
+            String field = line.substring(0, colonIndex).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colonIndex + 1).trim();
+
+            if ("user-agent".equals(field)) {
+                // 연속된 user-agent 라인은 같은 그룹에 속함
+                if (!lastLineWasUserAgent) {
+                    inSpecificGroup = false;
+                    inWildcardGroup = false;
+                }
+                String agent = productToken(value).toLowerCase(Locale.ROOT);
+                if ("*".equals(agent)) {
+                    inWildcardGroup = true;
+                } else if (!agent.isEmpty() && token.equals(agent)) {
+                    inSpecificGroup = true;
+                    specificGroupFound = true;
+                }
+                lastLineWasUserAgent = true;
+                continue;
+            }
+            lastLineWasUserAgent = false;
+
+            if ("allow".equals(field) || "disallow".equals(field)) {
+                // 빈 Disallow는 규칙 없음을 의미
+                if (value.isEmpty()) {
+                    continue;
+                }
+                Rule rule = new Rule(value, "allow".equals(field));
+                if (inSpecificGroup) {
+                    specificRules.add(rule);
+                }
+                if (inWildcardGroup) {
+                    wildcardRules.add(rule);
+                }
+            } else if ("crawl-delay".equals(field)) {
+                Double delay = parseDelay(value);
+                if (inSpecificGroup) {
+                    specificDelay = delay;
+                }
+                if (inWildcardGroup) {
+                    wildcardDelay = delay;
+                }
+            }
+        }
+
+        List<Rule> selectedRules = specificGroupFound ? specificRules : wildcardRules;
+        selectedRules.sort(Comparator.comparingInt(Rule::getLength).reversed()
+            .thenComparing(rule -> !rule.isAllow()));
+
+        return new RobotsRules(List.copyOf(selectedRules), specificGroupFound ? specificDelay : wildcardDelay);
+    }
+
+    /**
+     * 경로 접근 허용 여부 확인
+     * @param path 요청 경로 (쿼리 문자열 포함)
+     * @return 허용 여부
+     */
+    public boolean isAllowed(String path) {
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        if ("/robots.txt".equals(path)) {
+            return true;
+        }
+
+        // 가장 긴 규칙부터 검사하므로 처음 매칭된 규칙이 적용됨
+        for (Rule rule : rules) {
+            if (rule.matches(path)) {
+                return rule.isAllow();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * robots.txt에 지정된 Crawl-delay (초), 없으면 null
+     */
+    public Double getCrawlDelaySeconds() {
+        return crawlDelaySeconds;
+    }
+
+    /**
+     * user-agent 값의 제품 토큰 (예: "JsPortalBot/1.0" -> "JsPortalBot")
+     * "bot"처럼 크롤러 이름의 일부만 적은 그룹은 일치하지 않습니다.
+     */
+    private static String productToken(String value) {
+        int end = 0;
+        while (end < value.length() && value.charAt(end) != '/' && !Character.isWhitespace(value.charAt(end))) {
+            end++;
+        }
+        return value.substring(0, end);
+    }
+
+    private static Double parseDelay(String value) {
+        try {
+            double delay = Double.parseDouble(value);
+            return delay >= 0 ? delay : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 단일 Allow/Disallow 규칙
+     * 와일드카드가 없는 규칙은 접두사 비교로, 있는 규칙은 정규식으로 매칭합니다.
+     */
+    private static class Rule {
+        private final String literalPrefix;
+        private final Pattern pattern;
+        private final boolean allow;
+        private final int length;
+
+        public Rule(String path, boolean allow) {
+            this.allow = allow;
+            this.length = path.length();
+
+            boolean anchored = path.endsWith("$");
+            String body = anchored ? path.substring(0, path.length() - 1) : path;
+
+            if (!anchored && body.indexOf('*') < 0) {
+                this.literalPrefix = body;
+                this.pattern = null;
+            } else {
+                StringBuilder regex = new StringBuilder();
+                String[] parts = body.split("\\*", -1);
+                for (int i = 0; i < parts.length; i++) {
+                    if (i > 0) {
+                        regex.append(".*");
+                    }
+                    if (!parts[i].isEmpty()) {
+                        regex.append(Pattern.quote(parts[i]));
+                    }
+                }
+                if (anchored) {
+                    regex.append('$');
+                }
+                this.literalPrefix = null;
+                this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+            }
+        }
+
+        public boolean matches(String path) {
+            if (literalPrefix != null) {
+                return path.startsWith(literalPrefix);
+            }
+            return pattern.matcher(path).lookingAt();
+        }
+
+        public boolean isAllow() {
+            return allow;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+}
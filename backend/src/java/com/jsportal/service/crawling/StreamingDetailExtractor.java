@@ -0,0 +1,230 @@
+package com.jsportal.service.crawling;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 게시글 상세 페이지 스트리밍 추출기
+ * 전체 DOM을 만들지 않고 응답을 스트림으로 파싱하면서 설정된 선택자(제목, 본문, 좋아요/댓글 수)에
+ * 해당하는 요소만 추출하고, 모든 필드를 찾으면 나머지 입력은 읽지 않고 종료합니다.
+ * 닫힌 요소는 아직 찾지 못한 필드의 대상이 될 수 있는 상위 요소 안에 있지 않으면 바로 DOM에서 제거하므로,
+ * 끝까지 일치하지 않는 선택자가 있어도 DOM이 페이지 전체 크기로 커지지 않습니다.
+ */
+public final class StreamingDetailExtractor {
+
+    // 추출 대상이 될 수 없고 메모리만 차지하는 요소
+    private static final Set<String> PRUNED_TAGS = Set.of("script", "style", "noscript", "template", "svg", "iframe");
+
+    private StreamingDetailExtractor() {
+    }
+
+    /**
+     * Reader로부터 상세 페이지 필드를 추출합니다.
+     * @param reader HTML 입력
+     * @param baseUri 상대 URL 기준 주소
+     * @param selectors 상세 페이지 선택자
+     * @return 추출된 필드
+     */
+    public static DetailFields extract(Reader reader, String baseUri, DetailSelectors selectors) throws IOException {
+        try (StreamParser parser = new StreamParser(Parser.htmlParser())) {
+            parser.parse(reader, baseUri);
+            return extract(parser, selectors);
+        }
+    }
+
+    /**
+     * 파싱을 시작한 StreamParser로부터 상세 페이지 필드를 추출합니다.
+     * 요소는 닫히는 시점에 순서대로 전달되므로, 필드가 모두 채워지면 즉시 파싱을 중단합니다.
+     */
+    public static DetailFields extract(StreamParser parser, DetailSelectors selectors) throws IOException {
+        DetailFields fields = new DetailFields();
+        int pending = selectors.countConfigured();
+
+        // 열린 상위 요소별로 아직 찾지 못한 필드의 대상이 될 수 있는지 (자신 또는 그 상위 요소 기준)
+        Map<Element, Boolean> candidateAncestors = new IdentityHashMap<>();
+
+        Iterator<Element> elements = parser.iterator();
+        while (pending > 0 && elements.hasNext()) {
+            Element element = elements.next();
+
+            if (PRUNED_TAGS.contains(element.normalName())) {
+                element.remove();
+                continue;
+            }
+
+            if (fields.title == null && matches(element, selectors.titleEvaluator)) {
+                fields.title = element.text();
+                pending--;
+            }
+            if (fields.body == null && matches(element, selectors.bodyEvaluator)) {
+                fields.body = element.wholeText().trim();
+                pending--;
+            }
+            if (fields.likes == null && matches(element, selectors.likeEvaluator)) {
+                fields.likes = parseCount(element.text());
+                pending--;
+            }
+            if (fields.comments == null && matches(element, selectors.commentEvaluator)) {
+                fields.comments = parseCount(element.text());
+                pending--;
+            }
+
+            // 닫힌 요소의 하위 요소는 이미 모두 전달되었으므로, 남은 대상은 열린 상위 요소이거나 아직 열리지 않은 요소뿐
+            candidateAncestors.remove(element);
+            if (selectors.pruneSafe && !isCandidate(element.parent(), fields, selectors, candidateAncestors)) {
+                element.remove();
+            }
+        }
+
+        parser.stop();
+        return fields;
+    }
+
+    /**
+     * 전체 DOM을 만든 뒤 필드를 추출합니다. (스트리밍 비활성화 시 사용)
+     */
+    public static DetailFields extract(Document document, DetailSelectors selectors) {
+        DetailFields fields = new DetailFields();
+        Element element;
+
+        if (selectors.titleEvaluator != null && (element = document.selectFirst(selectors.titleEvaluator)) != null) {
+            fields.title = element.text();
+        }
+        if (selectors.bodyEvaluator != null && (element = document.selectFirst(selectors.bodyEvaluator)) != null) {
+            fields.body = element.wholeText().trim();
+        }
+        if (selectors.likeEvaluator != null && (element = document.selectFirst(selectors.likeEvaluator)) != null) {
+            fields.likes = parseCount(element.text());
+        }
+        if (selectors.commentEvaluator != null && (element = document.selectFirst(selectors.commentEvaluator)) != null) {
+            fields.comments = parseCount(element.text());
+        }
+
+        return fields;
+    }
+
+    private static boolean matches(Element element, Evaluator evaluator) {
+        return evaluator != null && element.is(evaluator);
+    }
+
+    /**
+     * 열린 요소 또는 그 상위 요소가 아직 찾지 못한 필드의 선택자와 일치할 수 있는지 확인
+     * 열린 요소의 태그, 속성과 상위 요소는 이미 정해져 있으므로 pruneSafe 선택자는 지금 평가해도 결과가 같습니다.
+     */
+    private static boolean isCandidate(Element element, DetailFields fields, DetailSelectors selectors,
+                                       Map<Element, Boolean> cache) {
+        if (element == null) {
+            return false;
+        }
+        Boolean cached = cache.get(element);
+        if (cached != null) {
+            return cached;
+        }
+        boolean candidate = (fields.title == null && matches(element, selectors.titleEvaluator))
+            || (fields.body == null && matches(element, selectors.bodyEvaluator))
+            || (fields.likes == null && matches(element, selectors.likeEvaluator))
+            || (fields.comments == null && matches(element, selectors.commentEvaluator))
+            || isCandidate(element.parent(), fields, selectors, cache);
+        cache.put(element, candidate);
+        return candidate;
+    }
+
+    /**
+     * "1,234" 같은 카운터 텍스트에서 숫자만 추출
+     */
+    private static int parseCount(String text) {
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = Math.min(Integer.MAX_VALUE, value * 10 + (c - '0'));
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * 상세 페이지 선택자 (생성 시 한 번만 컴파일)
+     */
+    public static class DetailSelectors {
+        private final Evaluator titleEvaluator;
+        private final Evaluator bodyEvaluator;
+        private final Evaluator likeEvaluator;
+        private final Evaluator commentEvaluator;
+
+        // 닫힌 요소를 제거해도 선택자 평가 결과가 바뀌지 않는지 (형제 순서, 하위 요소, 텍스트를 보는 선택자가 없음)
+        private final boolean pruneSafe;
+
+        public DetailSelectors(String titleSelector, String bodySelector,
+                               String likeSelector, String commentSelector) {
+            this.titleEvaluator = compile(titleSelector);
+            this.bodyEvaluator = compile(bodySelector);
+            this.likeEvaluator = compile(likeSelector);
+            this.commentEvaluator = compile(commentSelector);
+            this.pruneSafe = isPruneSafe(titleSelector) && isPruneSafe(bodySelector)
+                && isPruneSafe(likeSelector) && isPruneSafe(commentSelector);
+        }
+
+        public boolean isEmpty() {
+            return countConfigured() == 0;
+        }
+
+        private int countConfigured() {
+            int count = 0;
+            if (titleEvaluator != null) count++;
+            if (bodyEvaluator != null) count++;
+            if (likeEvaluator != null) count++;
+            if (commentEvaluator != null) count++;
+            return count;
+        }
+
+        /**
+         * 태그, id, 클래스, 속성과 하위/자식 결합자만 쓰는 선택자인지 확인
+         * 의사 클래스(:has, :contains, :nth-child 등)와 형제 결합자(+, ~)는 제거된 요소의 영향을 받습니다.
+         */
+        private static boolean isPruneSafe(String selector) {
+            return selector == null || (selector.indexOf(':') < 0 && selector.indexOf('+') < 0 && selector.indexOf('~') < 0);
+        }
+
+        private static Evaluator compile(String selector) {
+            return selector == null || selector.isEmpty() ? null : QueryParser.parse(selector);
+        }
+    }
+
+    /**
+     * 상세 페이지에서 추출된 필드 (찾지 못한 필드는 null)
+     */
+    public static class DetailFields {
+        private String title;
+        private String body;
+        private Integer likes;
+        private Integer comments;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public Integer getLikes() {
+            return likes;
+        }
+
+        public Integer getComments() {
+            return comments;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.jsportal.service.datasource;
+
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * 읽기 복제본의 복제 지연을 WAL 위치로 측정하는 컴포넌트
+ * 주기마다 기본 DB의 현재 WAL 위치를 시각과 함께 기록하고, 복제본이 재생한 WAL 위치가 그 위치를 넘으면
+ * 그 시각 이전에 커밋된 내용은 모두 복제본에서 보인다고 판단합니다(freshAsOf).
+ * 기본 DB가 한가해 WAL이 늘지 않아도 지연으로 보지 않으므로 마지막 재생 시각으로 재는 것보다 정확합니다.
+ * 복제본에 연결할 수 없거나 지연이 max-lag-ms를 넘으면 읽기도 기본 DB로 보냅니다.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // 복제본이 멈춰도 기록이 한없이 쌓이지 않도록 제한
+    private static final int MAX_SAMPLES = 1000;
+
+    private static final int QUERY_TIMEOUT_SECONDS = 5;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    // 기본 DB WAL 위치 기록 ({기록 시각, WAL 위치}), 오래된 것부터
+    private final Deque<long[]> samples = new ArrayDeque<>();
+
+    private volatile long freshAsOf;
+    private volatile boolean healthy;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        // 응답 없는 복제본이 확인 스레드를 붙잡지 않도록 제한 (넘으면 사용 불가로 처리)
+        this.primary.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        this.replica.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * 기본 DB WAL 위치를 기록하고 복제본 재생 위치와 비교
+     */
+    @Workload(WorkloadType.HEARTBEAT)
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try {
+            long now = System.currentTimeMillis();
+            Long primaryLsn = primary.queryForObject("SELECT (pg_current_wal_lsn() - '0/0')::BIGINT", Long.class);
+            Map<String, Object> replicaState = replica.queryForMap(
+                "SELECT pg_is_in_recovery() AS standby, (pg_last_wal_replay_lsn() - '0/0')::BIGINT AS replay_lsn");
+
+            synchronized (samples) {
+                samples.addLast(new long[] {now, primaryLsn != null ? primaryLsn : 0L});
+                if (samples.size() > MAX_SAMPLES) {
+                    samples.removeFirst();
+                }
+
+                Object replayLsn = replicaState.get("replay_lsn");
+                if (!Boolean.TRUE.equals(replicaState.get("standby")) || replayLsn == null) {
+                    // 복제 중인 대기 서버가 아니면(같은 DB를 가리키는 경우 등) 항상 최신
+                    freshAsOf = now;
+                    samples.clear();
+                } else {
+                    long replayed = ((Number) replayLsn).longValue();
+                    while (!samples.isEmpty() && samples.peekFirst()[1] <= replayed) {
+                        freshAsOf = Math.max(freshAsOf, samples.removeFirst()[0]);
+                    }
+                }
+            }
+
+            if (!healthy) {
+                logger.info("Read replica is available (lag {} ms)", getLagMillis());
+            }
+            healthy = true;
+        } catch (Exception e) {
+            if (healthy) {
+                logger.warn("Read replica is unavailable, routing reads to primary: {}", e.getMessage());
+            }
+            healthy = false;
+        }
+    }
+
+    /**
+     * 읽기를 복제본으로 보내도 되는지 확인 (연결 가능하고 지연이 기준 이하)
+     */
+    public boolean isUsable() {
+        return healthy && getLagMillis() <= maxLagMillis;
+    }
+
+    /**
+     * 이 시각(epoch ms) 이전에 커밋된 내용은 복제본에서 보임
+     */
+    public long getFreshAsOf() {
+        return freshAsOf;
+    }
+
+    public long getLagMillis() {
+        return Math.max(0L, System.currentTimeMillis() - freshAsOf);
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jsportal.service.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션을 읽기 복제본으로, 나머지를 기본 DB로 보내는 데이터 소스
+ * 저장소의 조회 메서드는 Spring Data 기본 설정으로 읽기 전용 트랜잭션에서 실행되므로 복제본으로 가고,
+ * save와 TransactionTemplate 안의 작업은 기본 DB로 갑니다.
+ * 트랜잭션을 시작할 때는 아직 읽기 전용 여부가 정해지지 않으므로 LazyConnectionDataSourceProxy로 감싸
+ * 첫 SQL을 실행할 때 연결을 고르도록 해야 합니다.
+ *
+ * 쓰기 후 읽기 일관성: 스레드가 쓰기 트랜잭션을 커밋하면 그 시각을 기록하고, 복제본이 그 시각까지 따라잡기 전에는
+ * 그 스레드의 읽기도 기본 DB로 보냅니다. 예를 들어 생성 작업자가 콘텐츠를 저장한 직후 조회해도 저장한 내용이 보입니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    // 스레드별 마지막 쓰기 커밋 시각 (epoch ms)
+    private static final ThreadLocal<Long> LAST_WRITE_AT = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            return PRIMARY;
+        }
+
+        Long lastWriteAt = LAST_WRITE_AT.get();
+        if (lastWriteAt != null) {
+            if (lagMonitor.getFreshAsOf() <= lastWriteAt) {
+                return PRIMARY;
+            }
+            LAST_WRITE_AT.remove();
+        }
+        return REPLICA;
+    }
+
+    /**
+     * 쓰기 트랜잭션이 커밋되면 이 스레드의 마지막 쓰기 시각 기록
+     */
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                LAST_WRITE_AT.set(System.currentTimeMillis());
+            }
+        });
+    }
+}
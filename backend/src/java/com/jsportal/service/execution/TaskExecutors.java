@@ -0,0 +1,199 @@
+package com.jsportal.service.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 크롤링, LLM 호출처럼 블로킹 I/O가 많은 작업용 실행기를 만드는 컴포넌트
+ * execution.mode=virtual이면 작업마다 가상 스레드 하나를 쓰고, 동시 실행 수는 스레드 수가 아닌
+ * 세마포어로 제한합니다. 따라서 동시 요청 수를 크게 늘려도 플랫폼 스레드가 늘어나지 않습니다.
+ * 가상 스레드는 Java 21 이상에서만 지원되므로, 이전 런타임에서는 경고를 남기고 플랫폼 스레드 풀을 사용합니다.
+ */
+@Component
+public class TaskExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutors.class);
+
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    private final boolean virtual;
+
+    @Autowired
+    public TaskExecutors(@Value("${execution.mode:platform}") String mode) {
+        boolean virtualRequested = MODE_VIRTUAL.equalsIgnoreCase(mode.trim());
+        this.virtual = virtualRequested && VirtualThreads.isSupported();
+
+        if (virtualRequested && !virtual) {
+            logger.warn("execution.mode=virtual requires Java 21 or later (running {}), using platform threads",
+                Runtime.version());
+        } else {
+            logger.info("Blocking tasks run on {} threads", virtual ? MODE_VIRTUAL : MODE_PLATFORM);
+        }
+    }
+
+    /**
+     * 작업 실행기 생성 (종료는 호출한 쪽에서 관리)
+     * @param name 스레드 이름 접두사
+     * @param maxConcurrency 동시에 실행할 최대 작업 수 (0 이하이면 제한 없음)
+     * @return 실행기
+     */
+    public ExecutorService newExecutor(String name, int maxConcurrency) {
+        if (virtual) {
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(name);
+            return maxConcurrency > 0 ? new ConcurrencyLimitedExecutor(executor, maxConcurrency) : executor;
+        }
+
+        ThreadFactory threadFactory = platformThreadFactory(name);
+        return maxConcurrency > 0
+            ? Executors.newFixedThreadPool(maxConcurrency, threadFactory)
+            : Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * 가상 스레드로 실행 중인지 여부
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    private static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> new Thread(runnable, name + "-" + counter.incrementAndGet());
+    }
+
+    /**
+     * 가상 스레드 API 호출 (Java 21 API를 Java 17 빌드에서 쓰기 위해 리플렉션 사용)
+     */
+    private static final class VirtualThreads {
+        private static final Method OF_VIRTUAL;
+        private static final Method BUILDER_NAME;
+        private static final Method BUILDER_FACTORY;
+        private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+        static {
+            Method ofVirtual = null;
+            Method builderName = null;
+            Method builderFactory = null;
+            Method newThreadPerTaskExecutor = null;
+            try {
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                builderName = builderType.getMethod("name", String.class, long.class);
+                builderFactory = builderType.getMethod("factory");
+                newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            } catch (ReflectiveOperationException e) {
+                // Java 21 미만 런타임
+            }
+            OF_VIRTUAL = ofVirtual;
+            BUILDER_NAME = builderName;
+            BUILDER_FACTORY = builderFactory;
+            NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        }
+
+        static boolean isSupported() {
+            if (OF_VIRTUAL == null) {
+                return false;
+            }
+            try {
+                // 미리보기 기능으로만 제공되는 런타임에서는 호출 시 예외가 발생함
+                factory("probe");
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        static ExecutorService newThreadPerTaskExecutor(String name) {
+            try {
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory(name));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Error creating virtual thread executor", e);
+            }
+        }
+
+        private static ThreadFactory factory(String name) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = BUILDER_NAME.invoke(builder, name + "-", 1L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads are not available", e);
+            }
+        }
+    }
+
+    /**
+     * 작업마다 스레드를 만드는 실행기에 동시 실행 수 제한을 더한 실행기
+     * 허용량을 기다리는 동안에는 가상 스레드가 캐리어 스레드를 점유하지 않습니다.
+     */
+    private static final class ConcurrencyLimitedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        ConcurrencyLimitedExecutor(ExecutorService delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // 시작하지 못한 작업의 Future가 완료되지 않은 채 남지 않도록 취소
+                    if (command instanceof Future) {
+                        ((Future<?>) command).cancel(false);
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.jsportal.service.execution;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)되는 구간을 찾는 진단 컴포넌트
+ * synchronized 블록 안에서 I/O를 기다리면 가상 스레드가 캐리어 스레드를 놓지 못해 동시성이 떨어지므로,
+ * JFR의 jdk.VirtualThreadPinned 이벤트를 구독하여 기준 시간보다 오래 고정된 위치를 스택과 함께 로그로 남깁니다.
+ * 가상 스레드 모드에서만 동작합니다.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // 로그에 남길 스택 프레임 수
+    private static final int MAX_FRAMES = 8;
+
+    private final TaskExecutors taskExecutors;
+    private final AtomicLong pinnedCount = new AtomicLong();
+
+    @Value("${execution.virtual.pinning-monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${execution.virtual.pinning-monitor.threshold-ms:20}")
+    private long thresholdMillis;
+
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(TaskExecutors taskExecutors) {
+        this.taskExecutors = taskExecutors;
+    }
+
+    /**
+     * 애플리케이션 시작 후 JFR 이벤트 구독 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || !taskExecutors.isVirtual() || recordingStream != null) {
+            return;
+        }
+
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            recordingStream = stream;
+            logger.info("Monitoring virtual thread pinning longer than {} ms", thresholdMillis);
+        } catch (Exception e) {
+            logger.warn("Error starting virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 JFR 스트림 정리
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * 시작 후 감지한 고정 구간 수
+     */
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), formatStack(event.getStackTrace()));
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(MAX_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            builder.append("\n\tat ")
+                .append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.jsportal.service.partition;
+
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * contents, content_sources 월 파티션을 미리 만드는 서비스
+ * 두 테이블은 created_at 기준 월별 범위 파티션이므로(V1_10_0 마이그레이션) 저장할 달의 파티션이 없으면 INSERT가 실패합니다.
+ * 시작할 때와 매일 이번 달부터 months-ahead개월 뒤까지의 파티션을 만들어 둡니다.
+ * 이 작업이 밀려도 INSERT가 실패하지 않도록 기본 파티션을 두며, 기본 파티션에 들어간 행은 그 달의 파티션을 만들 때 옮겨집니다.
+ * 마이그레이션 전의 일반 테이블(ddl-auto로 만든 개발 DB 등)이면 아무것도 하지 않습니다.
+ */
+@Service
+public class ContentPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentPartitionService.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("contents", "content_sources");
+
+    private final MonthlyPartitionManager partitionManager;
+    private final JobLockService jobLockService;
+
+    @Value("${content.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Autowired
+    public ContentPartitionService(MonthlyPartitionManager partitionManager, JobLockService jobLockService) {
+        this.partitionManager = partitionManager;
+        this.jobLockService = jobLockService;
+    }
+
+    /**
+     * 애플리케이션 시작 시 파티션 준비 (다른 노드가 동시에 만들어도 IF NOT EXISTS로 무시됨)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        createFuturePartitions();
+    }
+
+    /**
+     * 앞으로 쓸 월 파티션을 만드는 주기 작업
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${content.partitioning.interval-ms:86400000}",
+               initialDelayString = "${content.partitioning.interval-ms:86400000}")
+    public void maintainPartitions() {
+        jobLockService.runExclusive("content-partitions", this::createFuturePartitions);
+    }
+
+    /**
+     * 이번 달부터 months-ahead개월 뒤까지 빠진 파티션 생성
+     * @return 새로 만든 파티션 수
+     */
+    public int createFuturePartitions() {
+        LocalDate today = LocalDate.now();
+        int created = 0;
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                if (!partitionManager.isPartitioned(table)) {
+                    logger.debug("Table {} is not partitioned, skipping partition maintenance", table);
+                    continue;
+                }
+                partitionManager.ensureDefaultPartition(table);
+                created += partitionManager.ensureMonthlyPartitions(table, today, today.plusMonths(monthsAhead));
+            } catch (Exception e) {
+                logger.error("Error creating partitions of {}: {}", table, e.getMessage(), e);
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,241 @@
+package com.jsportal.service.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * created_at 기준 월별 범위 파티션 관리 컴포넌트 (보관 테이블, 콘텐츠 테이블)
+ * 파티션 이름은 "부모 테이블_pYYYYMM"으로 정하고, 이름으로 파티션의 월을 알아냅니다.
+ * 만료된 파티션은 행을 하나씩 지우지 않고 분리한 뒤 테이블째 삭제하므로 데드 튜플이나 VACUUM 부담이 남지 않습니다.
+ * 기본 파티션("부모 테이블_default")은 월 파티션이 없는 달의 행을 받아 두며, 그 달의 파티션을 만들 때 새 파티션으로 옮깁니다.
+ */
+@Component
+public class MonthlyPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyPartitionManager.class);
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public MonthlyPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * from이 속한 달부터 to가 속한 달까지 빠진 월 파티션 생성
+     * 기본 파티션에 그 달의 행이 있으면 새 파티션으로 옮긴 뒤 붙입니다.
+     * @return 새로 만든 파티션 수
+     */
+    public int ensureMonthlyPartitions(String parent, LocalDate from, LocalDate to) {
+        checkTableName(parent);
+        List<YearMonth> existing = new ArrayList<>();
+        for (Partition partition : listPartitions(parent)) {
+            existing.add(partition.getMonth());
+        }
+        String defaultPartition = findDefaultPartition(parent);
+
+        int created = 0;
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            if (existing.contains(month)) {
+                continue;
+            }
+            if (defaultPartition != null && hasRowsInMonth(parent, defaultPartition, month)) {
+                moveFromDefaultPartition(parent, defaultPartition, month);
+            } else {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(parent, month) +
+                    " PARTITION OF " + parent + " FOR VALUES " + bounds(month));
+                logger.info("Created partition {} of {}", partitionName(parent, month), parent);
+            }
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * 기본 파티션이 없으면 "부모 테이블_default"로 생성 (월 파티션이 없는 달의 INSERT가 실패하지 않도록)
+     * @return 새로 만들었으면 true
+     */
+    public boolean ensureDefaultPartition(String parent) {
+        checkTableName(parent);
+        if (findDefaultPartition(parent) != null) {
+            return false;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + parent + "_default PARTITION OF " + parent + " DEFAULT");
+        logger.info("Created default partition {}_default of {}", parent, parent);
+        return true;
+    }
+
+    /**
+     * 부모 테이블의 기본 파티션 이름 (없으면 null)
+     */
+    public String findDefaultPartition(String parent) {
+        checkTableName(parent);
+        List<String> names = jdbcTemplate.queryForList(
+            "SELECT d.relname FROM pg_partitioned_table pt " +
+            "JOIN pg_class p ON p.oid = pt.partrelid " +
+            "JOIN pg_class d ON d.oid = pt.partdefid " +
+            "WHERE p.relname = ? AND p.relnamespace = to_regnamespace(current_schema())",
+            String.class, parent);
+        return names.isEmpty() ? null : names.get(0);
+    }
+
+    /**
+     * 기본 파티션에 있는 그 달의 행을 새 월 파티션으로 옮기고 부모 테이블에 붙임
+     * 기본 파티션을 잠근 한 트랜잭션에서 처리하므로 옮기는 동안 그 달의 INSERT는 기다립니다.
+     */
+    private void moveFromDefaultPartition(String parent, String defaultPartition, YearMonth month) {
+        checkTableName(defaultPartition);
+        String name = partitionName(parent, month);
+        String key = partitionKey(parent);
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + defaultPartition + " IN ACCESS EXCLUSIVE MODE");
+            // 다른 노드가 먼저 만들었으면 건너뜀
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+                return 0;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + parent + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int rows = jdbcTemplate.update("INSERT INTO " + name + " SELECT * FROM " + defaultPartition +
+                " WHERE " + key + " >= ? AND " + key + " < ?", month.atDay(1), month.plusMonths(1).atDay(1));
+            jdbcTemplate.update("DELETE FROM " + defaultPartition + " WHERE " + key + " >= ? AND " + key + " < ?",
+                month.atDay(1), month.plusMonths(1).atDay(1));
+            jdbcTemplate.execute("ALTER TABLE " + parent + " ATTACH PARTITION " + name + " FOR VALUES " + bounds(month));
+            return rows;
+        });
+        if (moved != null && moved > 0) {
+            logger.warn("Created partition {} of {} and moved {} rows from {}", name, parent, moved, defaultPartition);
+        }
+    }
+
+    private boolean hasRowsInMonth(String parent, String defaultPartition, YearMonth month) {
+        checkTableName(defaultPartition);
+        String key = partitionKey(parent);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + " WHERE " + key + " >= ? AND " + key + " < ?)",
+            Boolean.class, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * 범위 파티션 키 컬럼 이름 (created_at, content_created_at 등)
+     */
+    private String partitionKey(String parent) {
+        String key = jdbcTemplate.queryForObject(
+            "SELECT a.attname FROM pg_partitioned_table pt " +
+            "JOIN pg_class p ON p.oid = pt.partrelid " +
+            "JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0] " +
+            "WHERE p.relname = ? AND p.relnamespace = to_regnamespace(current_schema())",
+            String.class, parent);
+        checkTableName(key);
+        return key;
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    /**
+     * 현재 스키마에 테이블이 있는지 확인 (일반 테이블, 파티션 테이블)
+     */
+    public boolean tableExists(String table) {
+        checkTableName(table);
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_class c WHERE c.relname = ? AND c.relkind IN ('r', 'p') " +
+            "AND c.relnamespace = to_regnamespace(current_schema())",
+            Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 테이블이 파티션 테이블인지 확인 (ddl-auto로 만든 일반 테이블이면 false)
+     */
+    public boolean isPartitioned(String table) {
+        checkTableName(table);
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = ? AND c.relnamespace = to_regnamespace(current_schema())",
+            Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 부모 테이블의 월 파티션 목록 (이름 규칙에 맞지 않는 파티션은 제외)
+     */
+    public List<Partition> listPartitions(String parent) {
+        checkTableName(parent);
+        Pattern namePattern = Pattern.compile(Pattern.quote(parent) + "_p(\\d{6})");
+        List<Partition> partitions = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? AND p.relnamespace = to_regnamespace(current_schema()) " +
+                "ORDER BY c.relname",
+                String.class, parent)) {
+            Matcher matcher = namePattern.matcher(name);
+            if (matcher.matches()) {
+                partitions.add(new Partition(name, YearMonth.parse(matcher.group(1), SUFFIX)));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 파티션을 부모 테이블에서 분리한 뒤 삭제 (트랜잭션 안에서 호출하면 함께 커밋됨)
+     */
+    public void dropPartition(String parent, Partition partition) {
+        checkTableName(parent);
+        checkTableName(partition.getName());
+        jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition.getName());
+        jdbcTemplate.execute("DROP TABLE " + partition.getName());
+        logger.info("Dropped partition {} of {}", partition.getName(), parent);
+    }
+
+    public static String partitionName(String parent, YearMonth month) {
+        return parent + "_p" + month.format(SUFFIX);
+    }
+
+    // DDL에는 바인드 변수를 쓸 수 없으므로 이름은 소문자 식별자만 허용
+    private static void checkTableName(String name) {
+        if (!TABLE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + name);
+        }
+    }
+
+    /**
+     * 월 파티션 (created_at이 해당 월인 행을 담음)
+     */
+    public static class Partition {
+        private final String name;
+        private final YearMonth month;
+
+        public Partition(String name, YearMonth month) {
+            this.name = name;
+            this.month = month;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.jsportal.service.retention;
+
+import com.jsportal.repository.ContentRepository;
+import com.jsportal.repository.ContentSourceRepository;
+import com.jsportal.repository.KeywordRepository;
+import com.jsportal.repository.KeywordSourceRepository;
+import com.jsportal.service.batch.KeywordScoringService;
+import com.jsportal.service.cluster.JobLockService;
+import com.jsportal.service.partition.MonthlyPartitionManager;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 오래된 데이터를 보관 테이블로 옮기고 만료된 보관 데이터를 삭제하는 서비스
+ * - keyword_sources: hot-days보다 오래된 관측 기록을 keyword_sources_archive로 이동
+ * - contents: hot-days보다 오래된 초안, 보관 상태 콘텐츠를 출처 정보와 함께 contents_archive, content_sources_archive로 이동
+ *   콘텐츠를 참조하는 content_keywords, content_tags, publish_logs 행도 같은 문장에서 각 보관 테이블로 옮기며,
+ *   revenue_stats에 통계가 있는 콘텐츠는 수익 기록의 콘텐츠 연결이 끊기지 않도록 옮기지 않습니다.
+ * - keywords: stale-days 동안 관측되지 않은 수집 키워드 비활성화 (다시 관측되면 수집 시 활성화됨)
+ * 보관 테이블은 created_at 기준 월별 범위 파티션이며, archive-months가 지난 파티션은 테이블째 삭제합니다.
+ * 이동은 청크마다 짧은 트랜잭션으로 처리해 운영 테이블의 잠금과 한 번에 생기는 데드 튜플을 제한합니다.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionService.class);
+
+    static final String KEYWORD_SOURCES_ARCHIVE = "keyword_sources_archive";
+    static final String CONTENTS_ARCHIVE = "contents_archive";
+    static final String CONTENT_SOURCES_ARCHIVE = "content_sources_archive";
+
+    private static final String CONTENT_COLUMNS = "id, title, slug, body, excerpt, type, status, language, source, " +
+        "original_source, category, keyword, tags, generation_key, thumbnail, author, view_count, like_count, " +
+        "created_at, updated_at, published_at";
+    private static final String CONTENT_SOURCE_COLUMNS = "id, content_id, source_name, source_url, description, created_at";
+
+    // contents를 참조하는 테이블 (schema.sql로 만든 DB에만 있음)
+    // 보관 테이블 "테이블_archive"는 원래 콘텐츠의 created_at(content_created_at)으로 나눠 콘텐츠 파티션과 함께 삭제됨
+    private static final List<ContentDependent> CONTENT_DEPENDENTS = List.of(
+        new ContentDependent("content_keywords", "id, content_id, keyword_id, is_primary, created_at"),
+        new ContentDependent("content_tags", "id, content_id, tag_id, created_at"),
+        new ContentDependent("publish_logs", "id, content_id, platform, status, external_url, error_message, created_at, updated_at")
+    );
+
+    // 날짜별 수익 집계 (콘텐츠를 지우면 외래 키가 content_id를 NULL로 바꾸므로 통계가 있는 콘텐츠는 보관하지 않음)
+    private static final String REVENUE_STATS = "revenue_stats";
+
+    // 보관 테이블이 없으면 만드는 DDL (src/database/migrations/V1_9_0__retention_archive.sql, V1_9_1__retention_archive_dependents.sql과 같음)
+    private static final List<String> ARCHIVE_DDL = List.of(
+        "CREATE TABLE IF NOT EXISTS keyword_sources_archive (" +
+            "id BIGINT NOT NULL, keyword_id BIGINT NOT NULL, source_name VARCHAR(50) NOT NULL, " +
+            "collection_date TIMESTAMP NOT NULL, details VARCHAR(500), created_at TIMESTAMP NOT NULL, " +
+            "archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_keyword_sources_archive_keyword ON keyword_sources_archive (keyword_id)",
+        "CREATE TABLE IF NOT EXISTS contents_archive (" +
+            "id BIGINT NOT NULL, title VARCHAR(255) NOT NULL, slug VARCHAR(255), body TEXT NOT NULL, " +
+            "excerpt VARCHAR(1000), type VARCHAR(50) NOT NULL, status VARCHAR(50) NOT NULL, language VARCHAR(10) NOT NULL, " +
+            "source VARCHAR(100), original_source VARCHAR(100), category VARCHAR(50), keyword VARCHAR(100), " +
+            "tags VARCHAR(500), generation_key VARCHAR(200), thumbnail VARCHAR(255), author VARCHAR(100), " +
+            "view_count INTEGER, like_count INTEGER, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, " +
+            "published_at TIMESTAMP, archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_contents_archive_id ON contents_archive (id)",
+        "CREATE TABLE IF NOT EXISTS content_sources_archive (" +
+            "id BIGINT NOT NULL, content_id BIGINT NOT NULL, source_name VARCHAR(100) NOT NULL, " +
+            "source_url VARCHAR(500) NOT NULL, description VARCHAR(500), created_at TIMESTAMP NOT NULL, " +
+            "archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_content_sources_archive_content ON content_sources_archive (content_id)",
+        "CREATE TABLE IF NOT EXISTS content_keywords_archive (" +
+            "id BIGINT NOT NULL, content_id BIGINT NOT NULL, keyword_id BIGINT NOT NULL, is_primary BOOLEAN, " +
+            "created_at TIMESTAMP, content_created_at TIMESTAMP NOT NULL, " +
+            "archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (content_created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_content_keywords_archive_content ON content_keywords_archive (content_id)",
+        "CREATE TABLE IF NOT EXISTS content_tags_archive (" +
+            "id BIGINT NOT NULL, content_id BIGINT NOT NULL, tag_id BIGINT NOT NULL, " +
+            "created_at TIMESTAMP, content_created_at TIMESTAMP NOT NULL, " +
+            "archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (content_created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_content_tags_archive_content ON content_tags_archive (content_id)",
+        "CREATE TABLE IF NOT EXISTS publish_logs_archive (" +
+            "id BIGINT NOT NULL, content_id BIGINT NOT NULL, platform VARCHAR(50) NOT NULL, status VARCHAR(20) NOT NULL, " +
+            "external_url TEXT, error_message TEXT, created_at TIMESTAMP, updated_at TIMESTAMP, " +
+            "content_created_at TIMESTAMP NOT NULL, " +
+            "archived_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP) PARTITION BY RANGE (content_created_at)",
+        "CREATE INDEX IF NOT EXISTS idx_publish_logs_archive_content ON publish_logs_archive (content_id)"
+    );
+
+    private final KeywordSourceRepository keywordSourceRepository;
+    private final KeywordRepository keywordRepository;
+    private final ContentRepository contentRepository;
+    private final ContentSourceRepository contentSourceRepository;
+    private final MonthlyPartitionManager partitionManager;
+    private final JobLockService jobLockService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${retention.enabled:true}")
+    private boolean enabled;
+
+    // 한 트랜잭션에서 옮기는 최대 행 수
+    @Value("${retention.chunk-size:5000}")
+    private int chunkSize;
+
+    // 한 번 실행에서 처리하는 최대 청크 수 (밀린 데이터는 다음 실행에서 이어서 처리)
+    @Value("${retention.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    // 청크 사이 대기 시간 (복제 지연, I/O 부담 완화)
+    @Value("${retention.chunk-pause-ms:200}")
+    private long chunkPauseMillis;
+
+    @Value("${retention.keyword-sources.hot-days:90}")
+    private int keywordSourceHotDays;
+
+    @Value("${retention.keywords.stale-days:30}")
+    private int keywordStaleDays;
+
+    @Value("${retention.contents.statuses:DRAFT,ARCHIVED}")
+    private String archivedContentStatuses;
+
+    @Value("${retention.contents.hot-days:180}")
+    private int contentHotDays;
+
+    @Value("${retention.archive-months:24}")
+    private int archiveMonths;
+
+    @Autowired
+    public RetentionService(KeywordSourceRepository keywordSourceRepository,
+                            KeywordRepository keywordRepository,
+                            ContentRepository contentRepository,
+                            ContentSourceRepository contentSourceRepository,
+                            MonthlyPartitionManager partitionManager,
+                            JobLockService jobLockService,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.keywordSourceRepository = keywordSourceRepository;
+        this.keywordRepository = keywordRepository;
+        this.contentRepository = contentRepository;
+        this.contentSourceRepository = contentSourceRepository;
+        this.partitionManager = partitionManager;
+        this.jobLockService = jobLockService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 애플리케이션 시작 시 보관 테이블이 없으면 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ARCHIVE_DDL.forEach(jdbcTemplate::execute);
+        } catch (Exception e) {
+            logger.warn("Error creating archive tables: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보관 이동, 키워드 비활성화, 만료 파티션 삭제를 차례로 실행하는 주기 작업
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${retention.interval-ms:3600000}",
+               initialDelayString = "${retention.initial-delay-ms:300000}")
+    public void enforceRetention() {
+        if (!enabled) {
+            return;
+        }
+        jobLockService.runExclusive("data-retention", () -> {
+            try {
+                int keywordSources = archiveKeywordSources();
+                int contents = archiveContents();
+                int keywords = deactivateStaleKeywords();
+                int partitions = dropExpiredPartitions();
+                logger.info("Retention: archived {} keyword sources and {} contents, deactivated {} keywords, dropped {} partitions",
+                    keywordSources, contents, keywords, partitions);
+            } catch (Exception e) {
+                logger.error("Error enforcing data retention: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 오래된 키워드 관측 기록을 보관 테이블로 이동
+     * @return 옮긴 행 수
+     */
+    public int archiveKeywordSources() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(keywordSourceHotDays).atStartOfDay();
+        LocalDateTime oldest = keywordSourceRepository.findOldestCreatedAt();
+        if (oldest == null || !oldest.isBefore(cutoff)) {
+            return 0;
+        }
+        partitionManager.ensureMonthlyPartitions(KEYWORD_SOURCES_ARCHIVE, oldest.toLocalDate(), cutoff.toLocalDate());
+        return moveInChunks(() -> keywordSourceRepository.archiveCreatedBefore(cutoff, chunkSize));
+    }
+
+    /**
+     * 오래된 초안, 보관 상태 콘텐츠를 출처 정보, 참조하는 행과 함께 보관 테이블로 이동
+     * @return 옮긴 콘텐츠 수
+     */
+    public int archiveContents() {
+        List<String> statuses = Arrays.stream(archivedContentStatuses.split(","))
+            .map(String::trim)
+            .filter(status -> !status.isEmpty())
+            .collect(Collectors.toList());
+        LocalDateTime cutoff = LocalDate.now().minusDays(contentHotDays).atStartOfDay();
+        LocalDateTime oldest = contentRepository.findOldestCreatedAt();
+        if (statuses.isEmpty() || oldest == null || !oldest.isBefore(cutoff)) {
+            return 0;
+        }
+        partitionManager.ensureMonthlyPartitions(CONTENTS_ARCHIVE, oldest.toLocalDate(), cutoff.toLocalDate());
+        List<ContentDependent> dependents = new ArrayList<>();
+        for (ContentDependent dependent : CONTENT_DEPENDENTS) {
+            partitionManager.ensureMonthlyPartitions(dependent.archive(), oldest.toLocalDate(), cutoff.toLocalDate());
+            if (partitionManager.tableExists(dependent.table)) {
+                dependents.add(dependent);
+            }
+        }
+        // 출처 정보는 콘텐츠보다 나중에 추가될 수 있으므로 오늘까지의 파티션을 준비
+        LocalDateTime oldestSource = contentSourceRepository.findOldestCreatedAt();
+        if (oldestSource != null) {
+            partitionManager.ensureMonthlyPartitions(CONTENT_SOURCES_ARCHIVE, oldestSource.toLocalDate(), LocalDate.now());
+        }
+
+        String sql = contentArchiveStatement(statuses.size(), dependents, partitionManager.tableExists(REVENUE_STATS));
+        List<Object> args = new ArrayList<>(statuses);
+        args.add(cutoff);
+        args.add(chunkSize);
+        return moveInChunks(() -> jdbcTemplate.update(sql, args.toArray()));
+    }
+
+    /**
+     * 콘텐츠를 최대 limit개 골라 출처 정보, 참조하는 행과 함께 보관 테이블로 옮기는 문장
+     * 삭제와 보관 테이블 저장을 한 문장으로 처리해 외래 키의 ON DELETE 동작보다 먼저 참조하는 행을 옮기며,
+     * 다른 트랜잭션이 잠근 콘텐츠는 건너뜁니다. 본문 대용량 객체는 그대로 두고 보관 파티션을 삭제할 때 함께 삭제합니다.
+     * 바인드 변수: 상태 statusCount개, cutoff, limit
+     */
+    private static String contentArchiveStatement(int statusCount, List<ContentDependent> dependents, boolean hasRevenueStats) {
+        List<String> ctes = new ArrayList<>();
+        ctes.add("moved AS (DELETE FROM contents WHERE id IN (" +
+            "SELECT c.id FROM contents c WHERE c.status IN (" + String.join(", ", Collections.nCopies(statusCount, "?")) + ") " +
+            "AND c.created_at < ? " +
+            (hasRevenueStats ? "AND NOT EXISTS (SELECT 1 FROM " + REVENUE_STATS + " r WHERE r.content_id = c.id) " : "") +
+            "ORDER BY c.created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING " + CONTENT_COLUMNS + ")");
+        ctes.add("moved_sources AS (DELETE FROM content_sources d USING moved WHERE d.content_id = moved.id " +
+            "RETURNING " + qualified(CONTENT_SOURCE_COLUMNS) + ")");
+        ctes.add("archived_sources AS (INSERT INTO " + CONTENT_SOURCES_ARCHIVE + " (" + CONTENT_SOURCE_COLUMNS + ") " +
+            "SELECT " + CONTENT_SOURCE_COLUMNS + " FROM moved_sources)");
+        for (ContentDependent dependent : dependents) {
+            ctes.add("moved_" + dependent.table + " AS (DELETE FROM " + dependent.table + " d USING moved " +
+                "WHERE d.content_id = moved.id " +
+                "RETURNING " + qualified(dependent.columns) + ", moved.created_at AS content_created_at)");
+            ctes.add("archived_" + dependent.table + " AS (INSERT INTO " + dependent.archive() +
+                " (" + dependent.columns + ", content_created_at) " +
+                "SELECT " + dependent.columns + ", content_created_at FROM moved_" + dependent.table + ")");
+        }
+        return "WITH " + String.join(", ", ctes) + " " +
+            "INSERT INTO " + CONTENTS_ARCHIVE + " (" + CONTENT_COLUMNS + ") SELECT " + CONTENT_COLUMNS + " FROM moved";
+    }
+
+    // 삭제 대상 별칭 d를 붙인 컬럼 목록 (USING moved와 이름이 겹치지 않도록)
+    private static String qualified(String columns) {
+        return Arrays.stream(columns.split(", "))
+            .map(column -> "d." + column)
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 오래 관측되지 않은 수집 키워드 비활성화 (생성 대상 인덱스를 활성 키워드로 작게 유지)
+     * @return 비활성화한 키워드 수
+     */
+    public int deactivateStaleKeywords() {
+        LocalDateTime since = LocalDateTime.now().minusDays(keywordStaleDays);
+        Integer deactivated = transactionTemplate.execute(status ->
+            keywordRepository.deactivateUnobservedSince(KeywordScoringService.SCORED_SOURCE, since));
+        return deactivated != null ? deactivated : 0;
+    }
+
+    /**
+     * 보관 기간이 지난 월 파티션 삭제
+     * 콘텐츠 파티션은 본문 대용량 객체도 함께 삭제합니다.
+     * @return 삭제한 파티션 수
+     */
+    public int dropExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(archiveMonths);
+        int dropped = 0;
+        List<String> parents = new ArrayList<>(List.of(KEYWORD_SOURCES_ARCHIVE, CONTENTS_ARCHIVE, CONTENT_SOURCES_ARCHIVE));
+        for (ContentDependent dependent : CONTENT_DEPENDENTS) {
+            parents.add(dependent.archive());
+        }
+        for (String parent : parents) {
+            for (MonthlyPartitionManager.Partition partition : partitionManager.listPartitions(parent)) {
+                if (!partition.getMonth().isBefore(oldestKept)) {
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (CONTENTS_ARCHIVE.equals(parent)) {
+                        unlinkBodies(partition.getName());
+                    }
+                    partitionManager.dropPartition(parent, partition);
+                });
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * 파티션 콘텐츠 본문의 대용량 객체 삭제 (본문 컬럼에는 대용량 객체 OID가 저장됨)
+     */
+    private void unlinkBodies(String partitionName) {
+        jdbcTemplate.query("SELECT lo_unlink(m.oid) FROM pg_largeobject_metadata m " +
+            "WHERE m.oid IN (SELECT body::oid FROM " + partitionName + " WHERE body ~ '^[0-9]+$')",
+            rs -> { });
+    }
+
+    /**
+     * 청크가 가득 차지 않거나 최대 청크 수에 이를 때까지 청크 단위 이동 반복
+     */
+    private int moveInChunks(IntSupplier chunk) {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            Integer moved = transactionTemplate.execute(status -> chunk.getAsInt());
+            int count = moved != null ? moved : 0;
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+            try {
+                Thread.sleep(chunkPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * contents를 참조하는 테이블과 보관할 컬럼
+     */
+    private static class ContentDependent {
+        private final String table;
+        private final String columns;
+
+        ContentDependent(String table, String columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        String archive() {
+            return table + "_archive";
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jsportal.service.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @Scheduled} 메서드를 실행할 스케줄러 풀 지정
+ * 지정하지 않은 스케줄 작업은 {@link WorkloadType#MAINTENANCE} 풀에서 실행됩니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadType value();
+}
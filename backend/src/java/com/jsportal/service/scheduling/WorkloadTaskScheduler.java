@@ -0,0 +1,416 @@
+package com.jsportal.service.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 부하 종류별 스레드 풀로 스케줄 작업을 나눠 실행하는 스케줄러
+ * {@code @Scheduled} 메서드는 {@link Workload}로 지정한 풀에서 실행되고, 작업마다 실행 횟수,
+ * 실행 시간, 예정 시각 대비 지연(lag)을 기록합니다.
+ * 종료 시에는 새 실행을 멈추고 실행 중인 작업이 끝날 때까지 정해진 시간만큼 기다립니다.
+ */
+@Component
+public class WorkloadTaskScheduler implements TaskScheduler, ApplicationListener<ContextClosedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadTaskScheduler.class);
+
+    private final Map<WorkloadType, ThreadPoolTaskScheduler> pools = new EnumMap<>(WorkloadType.class);
+    private final List<TaskStats> tasks = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Value("${scheduling.shutdown.await-seconds:30}")
+    private int shutdownAwaitSeconds;
+
+    // 예정 시각보다 이만큼 늦게 시작하면 경고 로그를 남김
+    @Value("${scheduling.lag-warn-ms:30000}")
+    private long lagWarnMillis;
+
+    @Autowired
+    public WorkloadTaskScheduler(@Value("${scheduling.pool.crawl.size:2}") int crawlPoolSize,
+                                 @Value("${scheduling.pool.llm.size:2}") int llmPoolSize,
+                                 @Value("${scheduling.pool.maintenance.size:2}") int maintenancePoolSize,
+                                 @Value("${scheduling.pool.heartbeat.size:2}") int heartbeatPoolSize) {
+        pools.put(WorkloadType.CRAWL, createPool(WorkloadType.CRAWL, crawlPoolSize));
+        pools.put(WorkloadType.LLM, createPool(WorkloadType.LLM, llmPoolSize));
+        pools.put(WorkloadType.MAINTENANCE, createPool(WorkloadType.MAINTENANCE, maintenancePoolSize));
+        pools.put(WorkloadType.HEARTBEAT, createPool(WorkloadType.HEARTBEAT, heartbeatPoolSize));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        TaskStats stats = register(task);
+        return pool(stats).schedule(instrument(stats, task), new RecordingTrigger(trigger, stats));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        TaskStats stats = register(task);
+        stats.expectedAt = startTime.getTime();
+        return pool(stats).schedule(instrument(stats, task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return schedule(task, periodicTrigger(startTime.getTime() - System.currentTimeMillis(), period, true));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return schedule(task, periodicTrigger(0, period, true));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return schedule(task, periodicTrigger(startTime.getTime() - System.currentTimeMillis(), delay, false));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return schedule(task, periodicTrigger(0, delay, false));
+    }
+
+    /**
+     * 종료 시작 시 새 실행을 멈추고 실행 중인 작업이 끝날 때까지 대기
+     * 빈 소멸(@PreDestroy)보다 먼저 실행되므로, 작업이 쓰는 서비스의 스레드 풀과 DB 연결이 살아 있는 동안 마무리됩니다.
+     */
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        pools.values().forEach(pool -> pool.getScheduledThreadPoolExecutor().shutdown());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownAwaitSeconds);
+
+        for (Map.Entry<WorkloadType, ThreadPoolTaskScheduler> entry : pools.entrySet()) {
+            ScheduledThreadPoolExecutor executor = entry.getValue().getScheduledThreadPoolExecutor();
+            try {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                if (!executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    logger.warn("Interrupting {} scheduled tasks still running after {}s on {} pool",
+                        executor.getActiveCount(), shutdownAwaitSeconds, entry.getKey().getKey());
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+        logger.info("Scheduled task pools drained");
+    }
+
+    /**
+     * 풀별 실행 현황 (대기 작업 수와 지연 포함)
+     */
+    public List<PoolStatus> getPoolStatuses() {
+        long now = System.currentTimeMillis();
+        List<PoolStatus> statuses = new ArrayList<>();
+
+        for (Map.Entry<WorkloadType, ThreadPoolTaskScheduler> entry : pools.entrySet()) {
+            ScheduledThreadPoolExecutor executor = entry.getValue().getScheduledThreadPoolExecutor();
+
+            // 예정 시각이 지났는데 스레드가 없어 아직 시작하지 못한 실행
+            int overdue = 0;
+            long maxLag = 0;
+            for (Runnable queued : executor.getQueue()) {
+                long delay = ((Delayed) queued).getDelay(TimeUnit.MILLISECONDS);
+                if (delay <= 0) {
+                    overdue++;
+                    maxLag = Math.max(maxLag, -delay);
+                }
+            }
+
+            List<TaskStatus> taskStatuses = new ArrayList<>();
+            for (TaskStats stats : tasks) {
+                if (stats.workload == entry.getKey()) {
+                    taskStatuses.add(stats.toStatus(now));
+                }
+            }
+
+            statuses.add(new PoolStatus(entry.getKey().getKey(), executor.getCorePoolSize(),
+                executor.getActiveCount(), overdue, maxLag, taskStatuses));
+        }
+        return statuses;
+    }
+
+    private static ThreadPoolTaskScheduler createPool(WorkloadType workload, int size) {
+        ThreadPoolTaskScheduler pool = new ThreadPoolTaskScheduler();
+        pool.setPoolSize(Math.max(1, size));
+        pool.setThreadNamePrefix("sched-" + workload.getKey() + "-");
+        pool.setRemoveOnCancelPolicy(true);
+        pool.initialize();
+
+        // 종료 후에는 예약된 다음 실행을 시작하지 않음
+        ScheduledThreadPoolExecutor executor = pool.getScheduledThreadPoolExecutor();
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        return pool;
+    }
+
+    private static PeriodicTrigger periodicTrigger(long initialDelay, long period, boolean fixedRate) {
+        PeriodicTrigger trigger = new PeriodicTrigger(period, TimeUnit.MILLISECONDS);
+        trigger.setInitialDelay(Math.max(0L, initialDelay));
+        trigger.setFixedRate(fixedRate);
+        return trigger;
+    }
+
+    private TaskStats register(Runnable task) {
+        TaskStats stats;
+        if (task instanceof ScheduledMethodRunnable) {
+            ScheduledMethodRunnable methodRunnable = (ScheduledMethodRunnable) task;
+            Class<?> targetClass = AopUtils.getTargetClass(methodRunnable.getTarget());
+            Method method = AopUtils.getMostSpecificMethod(methodRunnable.getMethod(), targetClass);
+            Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+            stats = new TaskStats(targetClass.getSimpleName() + "." + method.getName(),
+                workload != null ? workload.value() : WorkloadType.MAINTENANCE);
+        } else {
+            stats = new TaskStats(task.toString(), WorkloadType.MAINTENANCE);
+        }
+
+        tasks.add(stats);
+        logger.debug("Scheduling {} on {} pool", stats.name, stats.workload.getKey());
+        return stats;
+    }
+
+    private ThreadPoolTaskScheduler pool(TaskStats stats) {
+        return pools.get(stats.workload);
+    }
+
+    private Runnable instrument(TaskStats stats, Runnable task) {
+        return () -> {
+            long startedAt = System.currentTimeMillis();
+            long lag = stats.started(startedAt);
+            if (lag > lagWarnMillis) {
+                logger.warn("Scheduled task {} started {} ms late on {} pool", stats.name, lag, stats.workload.getKey());
+            }
+
+            boolean succeeded = false;
+            try {
+                task.run();
+                succeeded = true;
+            } finally {
+                stats.finished(System.currentTimeMillis(), succeeded);
+            }
+        };
+    }
+
+    /**
+     * 다음 실행 예정 시각을 기록하는 트리거 (시작 시 지연 계산에 사용)
+     */
+    private static class RecordingTrigger implements Trigger {
+        private final Trigger delegate;
+        private final TaskStats stats;
+
+        RecordingTrigger(Trigger delegate, TaskStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public Date nextExecutionTime(TriggerContext triggerContext) {
+            Date next = delegate.nextExecutionTime(triggerContext);
+            stats.expectedAt = next != null ? next.getTime() : 0L;
+            return next;
+        }
+    }
+
+    /**
+     * 스케줄 작업 하나의 실행 기록
+     */
+    private static class TaskStats {
+        private final String name;
+        private final WorkloadType workload;
+        private volatile long expectedAt;
+        private volatile boolean running;
+        private long runs;
+        private long failures;
+        private long lastStartedAt;
+        private long lastDurationMs;
+        private long lastLagMs;
+        private long maxLagMs;
+
+        TaskStats(String name, WorkloadType workload) {
+            this.name = name;
+            this.workload = workload;
+        }
+
+        synchronized long started(long startedAt) {
+            long lag = expectedAt > 0 ? Math.max(0L, startedAt - expectedAt) : 0L;
+            running = true;
+            lastStartedAt = startedAt;
+            lastLagMs = lag;
+            maxLagMs = Math.max(maxLagMs, lag);
+            return lag;
+        }
+
+        synchronized void finished(long finishedAt, boolean succeeded) {
+            running = false;
+            runs++;
+            if (!succeeded) {
+                failures++;
+            }
+            lastDurationMs = finishedAt - lastStartedAt;
+        }
+
+        synchronized TaskStatus toStatus(long now) {
+            // 예정 시각이 지났는데 아직 시작하지 못한 경우의 현재 지연
+            long overdueMs = !running && expectedAt > 0 ? Math.max(0L, now - expectedAt) : 0L;
+            return new TaskStatus(name, running, runs, failures,
+                lastStartedAt > 0 ? Instant.ofEpochMilli(lastStartedAt) : null,
+                lastDurationMs, lastLagMs, maxLagMs,
+                expectedAt > 0 ? Instant.ofEpochMilli(expectedAt) : null, overdueMs);
+        }
+    }
+
+    /**
+     * 스케줄러 풀 현황
+     */
+    public static class PoolStatus {
+        private final String workload;
+        private final int poolSize;
+        private final int activeThreads;
+        private final int overdueTasks;
+        private final long maxOverdueMs;
+        private final List<TaskStatus> tasks;
+
+        public PoolStatus(String workload, int poolSize, int activeThreads, int overdueTasks,
+                          long maxOverdueMs, List<TaskStatus> tasks) {
+            this.workload = workload;
+            this.poolSize = poolSize;
+            this.activeThreads = activeThreads;
+            this.overdueTasks = overdueTasks;
+            this.maxOverdueMs = maxOverdueMs;
+            this.tasks = tasks;
+        }
+
+        public String getWorkload() {
+            return workload;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        /**
+         * 예정 시각이 지났지만 빈 스레드가 없어 대기 중인 실행 수 (큐 깊이)
+         */
+        public int getOverdueTasks() {
+            return overdueTasks;
+        }
+
+        /**
+         * 대기 중인 실행 중 가장 오래 밀린 시간
+         */
+        public long getMaxOverdueMs() {
+            return maxOverdueMs;
+        }
+
+        public List<TaskStatus> getTasks() {
+            return tasks;
+        }
+    }
+
+    /**
+     * 스케줄 작업 실행 현황
+     */
+    public static class TaskStatus {
+        private final String name;
+        private final boolean running;
+        private final long runs;
+        private final long failures;
+        private final Instant lastStartedAt;
+        private final long lastDurationMs;
+        private final long lastLagMs;
+        private final long maxLagMs;
+        private final Instant nextRunAt;
+        private final long overdueMs;
+
+        public TaskStatus(String name, boolean running, long runs, long failures, Instant lastStartedAt,
+                          long lastDurationMs, long lastLagMs, long maxLagMs, Instant nextRunAt, long overdueMs) {
+            this.name = name;
+            this.running = running;
+            this.runs = runs;
+            this.failures = failures;
+            this.lastStartedAt = lastStartedAt;
+            this.lastDurationMs = lastDurationMs;
+            this.lastLagMs = lastLagMs;
+            this.maxLagMs = maxLagMs;
+            this.nextRunAt = nextRunAt;
+            this.overdueMs = overdueMs;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRunning() {
+            return running;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public Instant getLastStartedAt() {
+            return lastStartedAt;
+        }
+
+        public long getLastDurationMs() {
+            return lastDurationMs;
+        }
+
+        /**
+         * 마지막 실행이 예정 시각보다 늦게 시작한 시간
+         */
+        public long getLastLagMs() {
+            return lastLagMs;
+        }
+
+        public long getMaxLagMs() {
+            return maxLagMs;
+        }
+
+        public Instant getNextRunAt() {
+            return nextRunAt;
+        }
+
+        public long getOverdueMs() {
+            return overdueMs;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jsportal.service.scheduling;
+
+/**
+ * 스케줄 작업의 부하 종류
+ * 종류마다 별도 스케줄러 스레드 풀에서 실행되므로, 오래 걸리는 LLM 호출이
+ * 크롤링이나 클러스터 하트비트의 실행 시각을 밀어내지 않습니다.
+ */
+public enum WorkloadType {
+
+    /**
+     * 외부 사이트 크롤링, 트렌드 수집 등 네트워크 I/O 작업
+     */
+    CRAWL("crawl"),
+
+    /**
+     * OpenAI 호출과 배치 작업 처리
+     */
+    LLM("llm"),
+
+    /**
+     * 정리, 집계, 파티션 관리 등 DB 유지보수 작업
+     */
+    MAINTENANCE("maintenance"),
+
+    /**
+     * 클러스터 하트비트, 복제 지연 확인 등 주기를 놓치면 안 되는 짧은 작업
+     * 오래 걸리는 유지보수 작업이 풀을 모두 차지해도 하트비트가 밀리지 않도록 별도 풀을 씁니다.
+     */
+    HEARTBEAT("heartbeat");
+
+    private final String key;
+
+    WorkloadType(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 설정 키와 스레드 이름에 쓰는 이름
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,548 @@
+package com.jsportal.service.similarity;
+
+import com.jsportal.repository.ContentRepository;
+import com.jsportal.service.batch.KeywordNormalizer;
+import com.jsportal.service.scheduling.Workload;
+import com.jsportal.service.scheduling.WorkloadType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 기존 콘텐츠의 제목과 키워드로 만든 유사도 색인
+ * 콘텐츠마다 키워드와 제목의 n-gram 벡터(NgramVectorizer)를 메모리 맵 파일(MappedVectorStore)에 저장하고,
+ * 벡터를 군집으로 나눈 IVF 색인으로 질의 벡터와 가까운 몇 개 군집만 비교합니다.
+ * 생성 전에 키워드와 같은 주제의 콘텐츠가 이미 있는지 확인해 LLM 호출을 줄이는 데 씁니다.
+ * 새 콘텐츠는 생성 시각 순으로 주기적으로 색인에 추가하며, 색인 크기가 학습 때의 두 배가 되면 군집을 다시 학습합니다.
+ * 동기화는 지난번에 본 마지막 생성 시각보다 similarity.sync-overlap-minutes만큼 앞에서 다시 시작해
+ * 늦게 커밋된 콘텐츠도 색인하며, 이미 색인한 콘텐츠는 ID로 걸러냅니다.
+ * max-age-days가 지난 콘텐츠와 보관 등으로 콘텐츠 테이블에서 사라진 콘텐츠의 벡터는 주기적으로 압축해 지웁니다.
+ */
+@Component
+public class ContentSimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSimilarityIndex.class);
+
+    // 이보다 작으면 군집 없이 전체 비교
+    private static final int MIN_TRAIN_SIZE = 1024;
+    private static final int MAX_CLUSTERS = 64;
+    private static final int TRAIN_SAMPLE_SIZE = 4096;
+    private static final int TRAIN_ITERATIONS = 8;
+    private static final int SYNC_PAGE_SIZE = 1000;
+    private static final int COMPACT_BATCH_SIZE = 1000;
+
+    // 후보 콘텐츠를 확인할 최대 수 (같은 키워드의 콘텐츠 등을 건너뛰기 위해 여러 개 확인)
+    private static final int MAX_CANDIDATES = 5;
+
+    private final ContentRepository contentRepository;
+    private final KeywordNormalizer keywordNormalizer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${similarity.enabled:true}")
+    private boolean enabled;
+
+    @Value("${similarity.index.path:data/content-similarity.idx}")
+    private String indexPath;
+
+    @Value("${similarity.dimension:256}")
+    private int dimension;
+
+    // 이 값 이상이면 같은 주제로 봄
+    @Value("${similarity.threshold:0.75}")
+    private double threshold;
+
+    // 질의 벡터와 가까운 순으로 비교할 군집 수
+    @Value("${similarity.probes:4}")
+    private int probes;
+
+    // 이보다 오래된 콘텐츠가 있어도 새로 생성
+    @Value("${similarity.max-age-days:30}")
+    private int maxAgeDays;
+
+    // 동기화를 마지막으로 본 생성 시각보다 이만큼 앞에서 다시 시작 (생성 후 늦게 커밋되는 콘텐츠용)
+    @Value("${similarity.sync-overlap-minutes:10}")
+    private int syncOverlapMinutes;
+
+    private volatile MappedVectorStore store;
+
+    // 색인에 벡터가 있는 콘텐츠 ID (동기화 구간이 겹쳐도 두 번 추가하지 않음)
+    private final Set<Long> indexedIds = new HashSet<>();
+
+    // 군집 중심과 군집별 벡터 번호 (학습 전이면 null)
+    private float[][] centroids;
+    private int[][] clusterMembers;
+    private int[] clusterSizes;
+    private int trainedSize;
+
+    @Autowired
+    public ContentSimilarityIndex(ContentRepository contentRepository, KeywordNormalizer keywordNormalizer) {
+        this.contentRepository = contentRepository;
+        this.keywordNormalizer = keywordNormalizer;
+    }
+
+    /**
+     * 애플리케이션 시작 시 색인 파일을 열어 압축하고 군집을 학습한 뒤 새 콘텐츠 추가
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            store = MappedVectorStore.open(Paths.get(indexPath), dimension);
+            logger.info("Opened content similarity index {} with {} vectors", indexPath, store.size());
+            loadIndexedIds();
+            try {
+                removeStale();
+            } catch (RuntimeException e) {
+                // 콘텐츠 조회에 실패하면 다음 압축 때 다시 시도
+                logger.warn("Error compacting content similarity index on startup: {}", e.getMessage());
+            }
+            if (store != null && store.size() >= MIN_TRAIN_SIZE) {
+                train();
+            }
+        } catch (IOException e) {
+            logger.error("Error opening content similarity index {}, disabling: {}", indexPath, e.getMessage());
+            store = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh();
+    }
+
+    /**
+     * 색인 이후 저장된 콘텐츠를 색인에 추가
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${similarity.refresh-interval-ms:600000}",
+               initialDelayString = "${similarity.refresh-interval-ms:600000}")
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (store == null) {
+                return;
+            }
+            // 마지막으로 본 생성 시각에서 겹침 구간만큼 앞부터 (max-age-days보다 오래된 콘텐츠는 색인하지 않음)
+            LocalDateTime createdFrom = fromEpochSecond(store.getSyncedUntil()).minusMinutes(syncOverlapMinutes);
+            LocalDateTime minCreatedAt = LocalDateTime.now().minusDays(maxAgeDays);
+            if (createdFrom.isBefore(minCreatedAt)) {
+                createdFrom = minCreatedAt;
+            }
+            long afterId = 0;
+            long syncedUntil = store.getSyncedUntil();
+
+            int added = 0;
+            List<ContentRepository.TitleView> page;
+            do {
+                page = contentRepository.findTitlesCreatedAfter(createdFrom, afterId, PageRequest.of(0, SYNC_PAGE_SIZE));
+                for (ContentRepository.TitleView content : page) {
+                    long createdAt = toEpochSecond(content.getCreatedAt());
+                    if (indexedIds.add(content.getId())) {
+                        added += add(content.getId(), createdAt, content.getKeyword(), content.getLanguage());
+                        added += add(content.getId(), createdAt, content.getTitle(), content.getLanguage());
+                    }
+                    createdFrom = content.getCreatedAt();
+                    afterId = content.getId();
+                    syncedUntil = Math.max(syncedUntil, createdAt);
+                }
+            } while (page.size() == SYNC_PAGE_SIZE);
+            store.setSyncedUntil(syncedUntil);
+
+            if (added > 0) {
+                store.force();
+                if (store.size() >= MIN_TRAIN_SIZE && store.size() >= trainedSize * 2) {
+                    train();
+                }
+                logger.info("Added {} vectors to content similarity index ({} total)", added, store.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error refreshing content similarity index: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * max-age-days가 지났거나 콘텐츠 테이블에서 사라진 콘텐츠의 벡터를 지우고 군집을 다시 학습
+     */
+    @Workload(WorkloadType.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${similarity.compact-interval-ms:86400000}",
+               initialDelayString = "${similarity.compact-interval-ms:86400000}")
+    public void compact() {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (store != null && removeStale() && store.size() >= MIN_TRAIN_SIZE) {
+                train();
+            }
+        } catch (Exception e) {
+            logger.error("Error compacting content similarity index: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드와 같은 주제의 최근 콘텐츠 조회
+     * 같은 키워드(정규화 키 기준)로 만든 콘텐츠는 재생성 주기를 따르도록 제외합니다.
+     * @param vector 키워드 벡터 (vectorize로 생성)
+     * @param keyword 키워드 텍스트
+     * @param language 언어
+     * @return 유사도가 기준 이상인 가장 비슷한 콘텐츠
+     */
+    public Optional<SimilarContent> findCoveringContent(float[] vector, String keyword, String language) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String keywordKey = keywordNormalizer.canonicalKey(keyword, language);
+        LocalDateTime minCreatedAt = LocalDateTime.now().minusDays(maxAgeDays);
+
+        for (Map.Entry<Long, Float> candidate : search(vector, language).entrySet()) {
+            ContentRepository.TitleView content = contentRepository.findTitleByIdCreatedFrom(candidate.getKey(), minCreatedAt)
+                .orElse(null);
+            if (content == null) {
+                continue;
+            }
+            if (content.getKeyword() != null && keywordKey.equals(keywordNormalizer.canonicalKey(content.getKeyword(), language))) {
+                continue;
+            }
+            return Optional.of(new SimilarContent(content.getId(), content.getTitle(), candidate.getValue()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 텍스트의 n-gram 벡터 (키워드 정규화 후 생성)
+     */
+    public float[] vectorize(String text, String language) {
+        return NgramVectorizer.vectorize(keywordNormalizer.canonicalKey(text, language), dimension);
+    }
+
+    /**
+     * 두 벡터가 같은 주제로 볼 만큼 비슷한지 확인
+     */
+    public boolean isSimilar(float[] a, float[] b) {
+        return NgramVectorizer.dot(a, b) >= threshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled && store != null;
+    }
+
+    /**
+     * 종료 시 색인 파일 기록
+     */
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (store != null) {
+                store.close();
+                store = null;
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing content similarity index: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 유사도가 기준 이상인 콘텐츠를 유사도 순으로 최대 MAX_CANDIDATES개 조회 (콘텐츠 ID -> 유사도)
+     */
+    private Map<Long, Float> search(float[] vector, String language) {
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (store == null) {
+                return Map.of();
+            }
+            if (centroids == null) {
+                for (int i = 0; i < store.size(); i++) {
+                    collect(i, vector, language, hits);
+                }
+            } else {
+                for (int cluster : nearestClusters(vector, Math.min(probes, centroids.length))) {
+                    for (int j = 0; j < clusterSizes[cluster]; j++) {
+                        collect(clusterMembers[cluster][j], vector, language, hits);
+                    }
+                }
+            }
+            hits.sort(Comparator.comparingDouble((Hit hit) -> hit.similarity).reversed());
+
+            Map<Long, Float> candidates = new LinkedHashMap<>();
+            for (Hit hit : hits) {
+                candidates.putIfAbsent(store.contentId(hit.index), hit.similarity);
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(int index, float[] vector, String language, List<Hit> hits) {
+        float similarity = store.dot(index, vector);
+        if (similarity >= threshold && language.equals(store.language(index))) {
+            hits.add(new Hit(index, similarity));
+        }
+    }
+
+    /**
+     * 저장된 벡터의 콘텐츠 ID를 다시 읽음
+     */
+    private void loadIndexedIds() {
+        indexedIds.clear();
+        for (int i = 0; i < store.size(); i++) {
+            indexedIds.add(store.contentId(i));
+        }
+    }
+
+    /**
+     * 생성 시각이 max-age-days를 지났거나 콘텐츠 테이블에 없는 콘텐츠의 벡터를 지움
+     * 지운 뒤에는 벡터 번호가 바뀌므로 군집 배정을 버리며, 필요하면 호출하는 쪽에서 다시 학습합니다.
+     * @return 지운 벡터가 있으면 true
+     */
+    private boolean removeStale() throws IOException {
+        LocalDateTime minCreatedAt = LocalDateTime.now().minusDays(maxAgeDays);
+        long minCreatedAtSecond = toEpochSecond(minCreatedAt);
+        MappedVectorStore current = store;
+
+        Set<Long> recentIds = new HashSet<>();
+        for (int i = 0; i < current.size(); i++) {
+            if (current.createdAt(i) >= minCreatedAtSecond) {
+                recentIds.add(current.contentId(i));
+            }
+        }
+        List<Long> ids = new ArrayList<>(recentIds);
+        Set<Long> liveIds = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += COMPACT_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + COMPACT_BATCH_SIZE, ids.size()));
+            liveIds.addAll(contentRepository.findIdsCreatedFrom(batch, minCreatedAt));
+        }
+
+        IntPredicate keep = i -> current.createdAt(i) >= minCreatedAtSecond && liveIds.contains(current.contentId(i));
+        int before = current.size();
+        int kept = 0;
+        for (int i = 0; i < before; i++) {
+            if (keep.test(i)) {
+                kept++;
+            }
+        }
+        if (kept == before) {
+            return false;
+        }
+
+        // 압축 중 실패하면 기존 저장소가 이미 닫혔을 수 있으므로 다시 열 때까지 색인을 끔
+        store = null;
+        store = current.compact(keep);
+        loadIndexedIds();
+        centroids = null;
+        clusterMembers = null;
+        clusterSizes = null;
+        trainedSize = 0;
+        logger.info("Compacted content similarity index from {} to {} vectors", before, store.size());
+        return true;
+    }
+
+    /**
+     * 텍스트가 있으면 벡터를 저장하고 학습된 군집에 배정
+     * @return 추가한 벡터 수
+     */
+    private int add(long contentId, long createdAt, String text, String language) throws IOException {
+        if (text == null || text.isBlank() || language == null) {
+            return 0;
+        }
+        String key = keywordNormalizer.canonicalKey(text, language);
+        if (key.isEmpty()) {
+            return 0;
+        }
+        float[] vector = NgramVectorizer.vectorize(key, dimension);
+        store.append(contentId, createdAt, language, vector);
+        if (centroids != null) {
+            addMember(nearest(centroids, vector), store.size() - 1);
+        }
+        return 1;
+    }
+
+    /**
+     * 저장된 벡터 일부로 구면 k-평균 군집을 학습하고 모든 벡터를 가장 가까운 군집에 배정
+     */
+    private void train() {
+        long started = System.nanoTime();
+        int size = store.size();
+        int clusters = Math.min(MAX_CLUSTERS, Math.max(1, (int) Math.sqrt(size)));
+
+        int sampleSize = Math.min(size, TRAIN_SAMPLE_SIZE);
+        float[][] sample = new float[sampleSize][];
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = store.vector((int) ((long) i * size / sampleSize));
+        }
+
+        // 표본에서 고르게 초기 중심을 고름
+        float[][] centers = new float[clusters][];
+        for (int c = 0; c < clusters; c++) {
+            centers[c] = sample[(int) ((long) c * sampleSize / clusters)].clone();
+        }
+        int[] assignment = new int[sampleSize];
+        for (int iteration = 0; iteration < TRAIN_ITERATIONS; iteration++) {
+            for (int i = 0; i < sampleSize; i++) {
+                assignment[i] = nearest(centers, sample[i]);
+            }
+            float[][] sums = new float[clusters][dimension];
+            for (int i = 0; i < sampleSize; i++) {
+                float[] sum = sums[assignment[i]];
+                for (int d = 0; d < dimension; d++) {
+                    sum[d] += sample[i][d];
+                }
+            }
+            for (int c = 0; c < clusters; c++) {
+                if (normalize(sums[c])) {
+                    centers[c] = sums[c];
+                }
+            }
+        }
+
+        centroids = centers;
+        clusterMembers = new int[clusters][16];
+        clusterSizes = new int[clusters];
+        for (int i = 0; i < size; i++) {
+            addMember(nearest(centroids, store.vector(i)), i);
+        }
+        trainedSize = size;
+        logger.info("Trained content similarity index with {} clusters over {} vectors in {} ms",
+            clusters, size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void addMember(int cluster, int index) {
+        if (clusterSizes[cluster] == clusterMembers[cluster].length) {
+            clusterMembers[cluster] = Arrays.copyOf(clusterMembers[cluster], clusterMembers[cluster].length * 2);
+        }
+        clusterMembers[cluster][clusterSizes[cluster]++] = index;
+    }
+
+    /**
+     * 벡터와 가까운 순으로 군집 번호 count개
+     */
+    private int[] nearestClusters(float[] vector, int count) {
+        Integer[] order = new Integer[centroids.length];
+        float[] scores = new float[centroids.length];
+        for (int c = 0; c < centroids.length; c++) {
+            order[c] = c;
+            scores[c] = NgramVectorizer.dot(centroids[c], vector);
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+        int[] nearest = new int[count];
+        for (int i = 0; i < count; i++) {
+            nearest[i] = order[i];
+        }
+        return nearest;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static int nearest(float[][] centers, float[] vector) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < centers.length; c++) {
+            float score = NgramVectorizer.dot(centers[c], vector);
+            if (score > bestScore) {
+                best = c;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static boolean normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return false;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return true;
+    }
+
+    /**
+     * 검색 중 기준 이상인 벡터
+     */
+    private static class Hit {
+        private final int index;
+        private final float similarity;
+
+        Hit(int index, float similarity) {
+            this.index = index;
+            this.similarity = similarity;
+        }
+    }
+
+    /**
+     * 같은 주제로 판단한 콘텐츠
+     */
+    public static class SimilarContent {
+        private final Long contentId;
+        private final String title;
+        private final float similarity;
+
+        public SimilarContent(Long contentId, String title, float similarity) {
+            this.contentId = contentId;
+            this.title = title;
+            this.similarity = similarity;
+        }
+
+        public Long getContentId() {
+            return contentId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getSimilarity() {
+            return similarity;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.jsportal.service.similarity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntPredicate;
+
+/**
+ * 메모리 맵 파일에 저장하는 벡터 목록
+ * 벡터는 8비트 정수로 양자화해(벡터별 배율 포함) 파일에 이어 쓰며, 검색도 힙으로 복사하지 않고 맵에서 바로 읽습니다.
+ * 재시작하면 파일을 다시 맵하므로 기존 콘텐츠의 벡터를 다시 계산하지 않습니다.
+ * 오래되거나 사라진 콘텐츠의 벡터는 compact로 남길 레코드만 새 파일에 복사해 파일을 교체하는 방식으로 지웁니다.
+ * 파일 형식: 헤더(매직, 버전, 차원, 개수, 동기화한 생성 시각) + 레코드(콘텐츠 ID, 생성 시각, 언어, 배율, 벡터) 반복
+ * 생성 시각은 LocalDateTime을 UTC 기준 epoch 초로 바꾼 값입니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 잠금을 관리합니다.
+ */
+public class MappedVectorStore implements Closeable {
+
+    private static final int MAGIC = 0x4a534958; // "JSIX"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int COUNT_OFFSET = 12;
+    private static final int SYNCED_UNTIL_OFFSET = 16;
+    private static final int CREATED_AT_OFFSET = 8;
+    private static final int LANGUAGE_OFFSET = 16;
+    private static final int LANGUAGE_SIZE = 12;
+    private static final int SCALE_OFFSET = LANGUAGE_OFFSET + LANGUAGE_SIZE;
+
+    // 파일을 늘릴 때 최소 단위
+    private static final long GROWTH_BYTES = 4L * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int dimension;
+    private final int recordSize;
+    private MappedByteBuffer buffer;
+    private int count;
+    private long syncedUntil;
+
+    private MappedVectorStore(Path path, FileChannel channel, int dimension) {
+        this.path = path;
+        this.channel = channel;
+        this.dimension = dimension;
+        this.recordSize = SCALE_OFFSET + 4 + dimension;
+    }
+
+    /**
+     * 파일을 열어 맵 (없거나 형식, 차원이 다르면 비운 뒤 새로 만듦)
+     */
+    public static MappedVectorStore open(Path path, int dimension) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedVectorStore store = new MappedVectorStore(path, channel, dimension);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size >= HEADER_SIZE) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int storedCount = buffer.getInt(COUNT_OFFSET);
+            if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getInt(8) == dimension
+                && storedCount >= 0 && HEADER_SIZE + (long) storedCount * recordSize <= size) {
+                count = storedCount;
+                syncedUntil = buffer.getLong(SYNCED_UNTIL_OFFSET);
+                return;
+            }
+        }
+
+        // 새 파일이거나 읽을 수 없는 파일은 비우고 다시 시작 (콘텐츠 테이블에서 다시 채움)
+        channel.truncate(0);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, GROWTH_BYTES);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, dimension);
+        buffer.putInt(COUNT_OFFSET, 0);
+        buffer.putLong(SYNCED_UNTIL_OFFSET, 0);
+        count = 0;
+        syncedUntil = 0;
+    }
+
+    /**
+     * 벡터 추가 (개수는 레코드를 다 쓴 뒤 갱신하므로 쓰다가 멈춘 레코드는 다음에 열 때 무시됨)
+     */
+    public void append(long contentId, long createdAt, String language, float[] vector) throws IOException {
+        int position = reserveRecord();
+
+        buffer.putLong(position, contentId);
+        buffer.putLong(position + CREATED_AT_OFFSET, createdAt);
+        byte[] languageBytes = (language != null ? language : "").getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < LANGUAGE_SIZE; i++) {
+            buffer.put(position + LANGUAGE_OFFSET + i, i < languageBytes.length ? languageBytes[i] : 0);
+        }
+
+        float maxAbs = 0;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float scale = maxAbs > 0 ? maxAbs / 127f : 0f;
+        buffer.putFloat(position + SCALE_OFFSET, scale);
+        int codes = position + SCALE_OFFSET + 4;
+        for (int i = 0; i < dimension; i++) {
+            buffer.put(codes + i, scale > 0 ? (byte) Math.round(vector[i] / scale) : 0);
+        }
+
+        commitRecord();
+    }
+
+    /**
+     * keep을 만족하는 레코드만 같은 순서로 새 파일에 복사하고 기존 파일을 교체
+     * 새 파일을 다 쓴 뒤 이름을 바꾸므로 도중에 멈추면 기존 파일이 그대로 남습니다.
+     * 이 저장소는 닫히며, 이후에는 반환한 저장소를 사용해야 합니다.
+     * @param keep 레코드 번호를 받아 남길지 판단
+     * @return 교체한 파일을 연 저장소
+     */
+    public MappedVectorStore compact(IntPredicate keep) throws IOException {
+        Path compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(compactPath);
+        try (MappedVectorStore compacted = open(compactPath, dimension)) {
+            byte[] record = new byte[recordSize];
+            for (int i = 0; i < count; i++) {
+                if (keep.test(i)) {
+                    buffer.get(recordOffset(i), record);
+                    int position = compacted.reserveRecord();
+                    compacted.buffer.put(position, record);
+                    compacted.commitRecord();
+                }
+            }
+            compacted.setSyncedUntil(syncedUntil);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(compactPath);
+            throw e;
+        }
+
+        close();
+        Files.move(compactPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(path, dimension);
+    }
+
+    /**
+     * 이 시각까지 만든 콘텐츠를 색인했다고 기록 (다음 동기화의 시작점)
+     */
+    public void setSyncedUntil(long createdAt) {
+        syncedUntil = createdAt;
+        buffer.putLong(SYNCED_UNTIL_OFFSET, createdAt);
+    }
+
+    public long getSyncedUntil() {
+        return syncedUntil;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public long contentId(int index) {
+        return buffer.getLong(recordOffset(index));
+    }
+
+    public long createdAt(int index) {
+        return buffer.getLong(recordOffset(index) + CREATED_AT_OFFSET);
+    }
+
+    public String language(int index) {
+        int position = recordOffset(index) + LANGUAGE_OFFSET;
+        int length = 0;
+        while (length < LANGUAGE_SIZE && buffer.get(position + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 저장된 벡터와 질의 벡터의 내적
+     */
+    public float dot(int index, float[] query) {
+        int position = recordOffset(index) + SCALE_OFFSET;
+        float scale = buffer.getFloat(position);
+        int codes = position + 4;
+        float total = 0;
+        for (int i = 0; i < dimension; i++) {
+            total += query[i] * buffer.get(codes + i);
+        }
+        return total * scale;
+    }
+
+    /**
+     * 저장된 벡터를 복원 (군집 학습용)
+     */
+    public float[] vector(int index) {
+        int position = recordOffset(index) + SCALE_OFFSET;
+        float scale = buffer.getFloat(position);
+        int codes = position + 4;
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = buffer.get(codes + i) * scale;
+        }
+        return vector;
+    }
+
+    /**
+     * 변경 내용을 디스크에 기록
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * 다음 레코드 자리를 확보하고 위치 반환 (commitRecord 전까지는 개수에 들어가지 않음)
+     */
+    private int reserveRecord() throws IOException {
+        long offset = HEADER_SIZE + (long) count * recordSize;
+        ensureCapacity(offset + recordSize);
+        return Math.toIntExact(offset);
+    }
+
+    private void commitRecord() {
+        count++;
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    private int recordOffset(int index) {
+        return HEADER_SIZE + index * recordSize;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = Math.max(required, Math.max(buffer.capacity() * 2L, buffer.capacity() + GROWTH_BYTES));
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Vector store is full");
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jsportal.service.similarity;
+
+/**
+ * 문자 n-gram 해시 벡터 생성기
+ * 정규화된 텍스트의 문자 2-gram, 3-gram을 해시해 고정 차원 벡터의 한 칸에 더하고(부호도 해시로 정함)
+ * 길이 1로 정규화합니다. 두 벡터의 내적이 코사인 유사도이며, 학습된 모델 없이 표기가 비슷한 텍스트를 찾는 데 씁니다.
+ * 숫자는 n-gram 한두 개만 달라져 비슷하게 보이므로("아이폰15"와 "아이폰16") 숫자 전체를 가중치가 큰 특성으로 더합니다.
+ */
+public final class NgramVectorizer {
+
+    private static final float NUMBER_WEIGHT = 3f;
+
+    private NgramVectorizer() {
+    }
+
+    /**
+     * 텍스트를 벡터로 변환
+     * @param text 정규화된 텍스트 (KeywordNormalizer의 정규화 키)
+     * @param dimension 벡터 차원
+     * @return 길이 1인 벡터 (n-gram이 없으면 영벡터)
+     */
+    public static float[] vectorize(String text, int dimension) {
+        float[] vector = new float[dimension];
+        // 시작과 끝 표시를 붙여 짧은 텍스트도 n-gram이 생기도록 함
+        int[] codePoints = ("\u0002" + text + "\u0003").codePoints().toArray();
+
+        for (int n = 2; n <= 3; n++) {
+            for (int start = 0; start + n <= codePoints.length; start++) {
+                add(vector, hash(codePoints, start, start + n, 0), 1f);
+            }
+        }
+
+        for (int start = 0; start < codePoints.length; start++) {
+            if (!Character.isDigit(codePoints[start])) {
+                continue;
+            }
+            int end = start;
+            while (end < codePoints.length && Character.isDigit(codePoints[end])) {
+                end++;
+            }
+            add(vector, hash(codePoints, start, end, '#'), NUMBER_WEIGHT);
+            start = end;
+        }
+
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private static long hash(int[] codePoints, int start, int end, int seed) {
+        long hash = (0xcbf29ce484222325L ^ seed) * 0x100000001b3L;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ codePoints[i]) * 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * 해시로 정한 칸에 해시로 정한 부호로 가중치를 더함
+     */
+    private static void add(float[] vector, long hash, float weight) {
+        int index = (int) Math.floorMod(hash, (long) vector.length);
+        vector[index] += hash < 0 ? -weight : weight;
+    }
+
+    /**
+     * 두 벡터의 내적 (길이 1인 벡터이면 코사인 유사도)
+     */
+    public static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jsportal.service.api.llm;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * BpeTokenizer 테스트
+ * 단일 바이트 256개와 몇 개의 병합 토큰만 있는 작은 순위 표로 병합 순서와 자르기 경계를 확인합니다.
+ */
+class BpeTokenizerTest {
+
+    private static BpeTokenizer tokenizer;
+
+    @BeforeAll
+    static void loadRanks() throws IOException {
+        tokenizer = BpeTokenizer.load(new ByteArrayInputStream(ranksFile().getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * 단일 바이트는 바이트 값 순위, 병합 토큰은 he, ll, llo, hello, " w", or 순서
+     */
+    static String ranksFile() {
+        StringBuilder ranks = new StringBuilder();
+        for (int b = 0; b < 256; b++) {
+            ranks.append(Base64.getEncoder().encodeToString(new byte[]{(byte) b})).append(' ').append(b).append('\n');
+        }
+        String[] merges = {"he", "ll", "llo", "hello", " w", "or"};
+        for (int i = 0; i < merges.length; i++) {
+            ranks.append(Base64.getEncoder().encodeToString(merges[i].getBytes(StandardCharsets.UTF_8)))
+                .append(' ').append(256 + i).append('\n');
+        }
+        return ranks.toString();
+    }
+
+    @Test
+    void countsWholePieceTokenAsOne() {
+        assertEquals(1, tokenizer.count("hello"));
+    }
+
+    @Test
+    void mergesLowestRankedPairsFirst() {
+        // h e l l -> he l l -> he ll (hell은 토큰이 아님)
+        assertEquals(2, tokenizer.count("hell"));
+        // ' ' w o r l d -> " w" o r l d -> " w" or l d
+        assertEquals(4, tokenizer.count(" world"));
+        assertEquals(5, tokenizer.count("hello world"));
+    }
+
+    @Test
+    void countsMultiByteCharactersPerUtf8Byte() {
+        assertEquals(3, tokenizer.count("가"));
+        // 서로게이트 쌍은 4바이트 한 글자로 인코딩
+        assertEquals(4, tokenizer.count("😀"));
+    }
+
+    @Test
+    void prefixLengthStopsAtPieceBoundary() {
+        assertEquals(0, tokenizer.prefixLength("hello world", 0));
+        assertEquals(5, tokenizer.prefixLength("hello world", 1));
+        // " world"(4토큰)가 다 들어가지 않으면 단어 중간에서 자르지 않음
+        assertEquals(5, tokenizer.prefixLength("hello world", 4));
+        assertEquals(11, tokenizer.prefixLength("hello world", 5));
+    }
+
+    @Test
+    void rejectsEmptyRanksFile() {
+        assertThrows(IOException.class, () -> BpeTokenizer.load(new ByteArrayInputStream(new byte[0])));
+    }
+}
@@ -0,0 +1,76 @@
+package com.jsportal.service.api.llm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TokenCounter.truncate 테스트
+ * 순위 표가 없을 때의 추정(영문 4자당 1토큰, 한글 1자당 1토큰)과 BPE 순위 표를 사용할 때를 모두 확인합니다.
+ */
+class TokenCounterTest {
+
+    private final TokenCounter estimated = new TokenCounter("");
+
+    @Test
+    void keepsTextWithinBudget() {
+        String text = "short text";
+        assertSame(text, estimated.truncate(text, 100));
+    }
+
+    @Test
+    void handlesEmptyInputAndBudget() {
+        assertNull(estimated.truncate(null, 10));
+        assertEquals("", estimated.truncate("", 10));
+        assertEquals("", estimated.truncate("some text", 0));
+    }
+
+    @Test
+    void cutsAtNearbySentenceBoundary() {
+        // 4토큰 = 영문 16자이므로 "First sentence. "까지 들어가고, 문장 끝에서 자름
+        assertEquals("First sentence.", estimated.truncate("First sentence. Second sentence is longer.", 4));
+    }
+
+    @Test
+    void ignoresBoundaryFarBeforeCut() {
+        // 문장 경계(3자)가 자른 위치(40자)의 80%보다 앞이면 경계를 쓰지 않고 그대로 자름
+        String text = "Hi. " + "abcdefghij".repeat(10);
+        String truncated = estimated.truncate(text, 10);
+        assertEquals(text.substring(0, 40), truncated);
+    }
+
+    @Test
+    void weighsHangulAsOneTokenPerCharacter() {
+        assertEquals("가나", estimated.truncate("가나다라", 2));
+        assertEquals(4, estimated.count("가나다라"));
+    }
+
+    @Test
+    void usesBpeRanksWhenConfigured(@TempDir Path dir) throws IOException {
+        Path ranks = dir.resolve("test.tiktoken");
+        Files.write(ranks, BpeTokenizerTest.ranksFile().getBytes(StandardCharsets.US_ASCII));
+
+        TokenCounter exact = new TokenCounter(ranks.toString());
+        assertTrue(exact.isExact());
+        assertEquals(5, exact.count("hello world"));
+        assertEquals("hello", exact.truncate("hello world", 3));
+        assertEquals("hello world", exact.truncate("hello world", 5));
+    }
+
+    @Test
+    void fallsBackToEstimateWhenRanksFileIsMissing(@TempDir Path dir) {
+        TokenCounter counter = new TokenCounter(dir.resolve("missing.tiktoken").toString());
+        assertFalse(counter.isExact());
+        assertEquals(1, counter.count("abcd"));
+    }
+}
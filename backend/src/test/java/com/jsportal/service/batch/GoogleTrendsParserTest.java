@@ -0,0 +1,146 @@
+package com.jsportal.service.batch;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GoogleTrendsParser 테스트
+ * XSSI 방지 접두사 처리, 트렌드 제목과 관련 검색어만 읽는 필드 선택, 바이트 단위로 들어오는 스트림 파싱을 확인합니다.
+ */
+class GoogleTrendsParserTest {
+
+    private static final String BODY = "{\"default\":{\"trendingSearchesDays\":[{\"date\":\"20261019\","
+        + "\"trendingSearches\":[{\"title\":{\"query\":\"아이폰 17\",\"exploreLink\":\"/x\"},"
+        + "\"formattedTraffic\":\"20만+\","
+        + "\"relatedQueries\":[{\"query\":\"아이폰 17 가격\"},{\"query\":\"\"},{\"query\":\"아이폰 17 출시일\"}],"
+        + "\"articles\":[{\"title\":\"기사\",\"query\":\"기사 속 query\",\"image\":{\"query\":\"x\"}}]},"
+        + "{\"title\":{\"query\":\"날씨\"},\"relatedQueries\":[]}]},"
+        + "{\"trendingSearches\":[{\"title\":{\"query\":\"환율\"}}]}],"
+        + "\"endDateForNextRequest\":\"20261018\"},"
+        + "\"query\":\"최상위 query\"}";
+
+    private static final List<String> EXPECTED = List.of("아이폰 17", "아이폰 17 가격", "아이폰 17 출시일", "날씨", "환율");
+
+    @Test
+    void skipsXssiPrefixWithComma() throws IOException {
+        List<String> keywords = new ArrayList<>();
+
+        int count = GoogleTrendsParser.parseKeywords(stream(")]}',\n" + BODY), keywords::add);
+
+        assertEquals(EXPECTED, keywords);
+        assertEquals(EXPECTED.size(), count);
+    }
+
+    @Test
+    void skipsXssiPrefixWithoutComma() throws IOException {
+        List<String> keywords = new ArrayList<>();
+
+        GoogleTrendsParser.parseKeywords(stream(")]}'\n" + BODY), keywords::add);
+
+        assertEquals(EXPECTED, keywords);
+    }
+
+    @Test
+    void parsesBodyWithoutPrefix() throws IOException {
+        List<String> keywords = new ArrayList<>();
+
+        GoogleTrendsParser.parseKeywords(stream(BODY), keywords::add);
+
+        assertEquals(EXPECTED, keywords);
+    }
+
+    @Test
+    void rewindsPartialPrefix() {
+        // 접두사 일부만 맞으면 읽은 바이트를 되돌려 JSON 파서가 ')'부터 보게 됨
+        JsonParseException error = assertThrows(JsonParseException.class,
+            () -> GoogleTrendsParser.parseKeywords(stream(")]x"), keyword -> { }));
+
+        assertTrue(error.getOriginalMessage().contains("')'"), error.getOriginalMessage());
+    }
+
+    @Test
+    void returnsZeroForNonObjectOrEmptyBody() throws IOException {
+        List<String> keywords = new ArrayList<>();
+
+        assertEquals(0, GoogleTrendsParser.parseKeywords(stream(")]}',\n[{\"query\":\"a\"}]"), keywords::add));
+        assertEquals(0, GoogleTrendsParser.parseKeywords(stream(""), keywords::add));
+        assertEquals(0, GoogleTrendsParser.parseKeywords(stream("{\"default\":{}}"), keywords::add));
+        assertEquals(List.of(), keywords);
+    }
+
+    @Test
+    void ignoresUnexpectedValueTypes() throws IOException {
+        List<String> keywords = new ArrayList<>();
+        String body = "{\"default\":{\"trendingSearchesDays\":[1,{\"trendingSearches\":{\"title\":{\"query\":\"a\"}}},"
+            + "{\"trendingSearches\":[\"b\",{\"title\":\"c\",\"relatedQueries\":{\"query\":\"d\"}},"
+            + "{\"title\":{\"query\":[\"e\"]}},{\"title\":{\"query\":\"f\"}}]}]}}";
+
+        GoogleTrendsParser.parseKeywords(stream(body), keywords::add);
+
+        assertEquals(List.of("f"), keywords);
+    }
+
+    @Test
+    void parsesStreamDeliveredOneByteAtATime() throws IOException {
+        List<String> keywords = new ArrayList<>();
+
+        GoogleTrendsParser.parseKeywords(new OneByteInputStream(stream(")]}',\n" + BODY)), keywords::add);
+
+        assertEquals(EXPECTED, keywords);
+    }
+
+    @Test
+    void deliversKeywordsBeforeTheStreamEnds() {
+        // 첫 트렌드 뒤에서 연결이 끊겨도 그 전까지 읽은 키워드는 이미 전달되어 있어야 함
+        String head = ")]}',\n{\"default\":{\"trendingSearchesDays\":[{\"trendingSearches\":["
+            + "{\"title\":{\"query\":\"첫 트렌드\"},\"relatedQueries\":[{\"query\":\"관련어\"}]},";
+        InputStream broken = new SequenceInputStream(stream(head), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+        List<String> keywords = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> GoogleTrendsParser.parseKeywords(broken, keywords::add));
+        assertEquals(List.of("첫 트렌드", "관련어"), keywords);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 네트워크에서 조각나 들어오는 응답처럼 한 번에 최대 1바이트만 돌려주는 스트림 (한글 UTF-8 바이트도 나뉘어 들어옴)
+     */
+    private static final class OneByteInputStream extends FilterInputStream {
+
+        OneByteInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return length == 0 ? 0 : super.read(buffer, offset, 1);
+        }
+
+        @Override
+        public int available() {
+            // BufferedInputStream이 여러 조각을 한 번에 모으지 않도록 함
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.service.batch.KeywordCategoryMatcher.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * KeywordCategoryMatcher(Aho-Corasick) 테스트
+ * 실패 링크로 찾는 겹친 단어, 언어 필터, 동점 처리와 함께 무작위 사전에 대해 단순 문자열 검색 결과와 비교합니다.
+ */
+class KeywordCategoryMatcherTest {
+
+    private static final String DEFAULT = "general";
+
+    @Test
+    void findsOverlappingTermsThroughFailureLinks() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("tech", "she", null, 1.0),
+            new Entry("health", "he", null, 1.0),
+            new Entry("health", "hers", null, 1.0)));
+
+        // "ushers"에서 she, he(she의 접미사), hers를 모두 찾음: tech 1, health 2
+        assertEquals("health", matcher.categorize("ushers", "en", DEFAULT));
+        // "she"만 있으면 he도 함께 찾아 동점이 되고, 사전에 먼저 나온 tech를 고름
+        assertEquals("tech", matcher.categorize("she", "en", DEFAULT));
+    }
+
+    @Test
+    void ignoresCaseAndSurroundingWhitespace() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("tech", " iPhone ", null, 1.0)));
+
+        assertEquals("tech", matcher.categorize("IPHONE 16 출시일", "ko", DEFAULT));
+    }
+
+    @Test
+    void matchesHangulTerms() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("sports", "축구", "ko", 1.0),
+            new Entry("entertainment", "드라마", "ko", 1.0)));
+
+        assertEquals("sports", matcher.categorize("손흥민 축구 경기 일정", "ko", DEFAULT));
+        assertEquals("entertainment", matcher.categorize("주말드라마 시청률", "ko", DEFAULT));
+    }
+
+    @Test
+    void appliesLanguageSpecificEntriesOnlyToThatLanguage() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("entertainment", "drama", "ko", 1.0),
+            new Entry("tech", "drama", null, 0.5)));
+
+        assertEquals("entertainment", matcher.categorize("drama", "ko", DEFAULT));
+        assertEquals("tech", matcher.categorize("drama", "en", DEFAULT));
+    }
+
+    @Test
+    void returnsDefaultWithoutPositiveMatch() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("tech", "ai", null, 1.0),
+            new Entry("health", "diet", null, 0.0)));
+
+        assertEquals(DEFAULT, matcher.categorize("weather today", "en", DEFAULT));
+        assertEquals(DEFAULT, matcher.categorize("diet plan", "en", DEFAULT));
+        assertEquals(DEFAULT, matcher.categorize(null, "en", DEFAULT));
+        assertEquals(DEFAULT, KeywordCategoryMatcher.compile(List.of()).categorize("ai", "en", DEFAULT));
+    }
+
+    @Test
+    void skipsBlankTermsAndCategories() {
+        KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(List.of(
+            new Entry("tech", "  ", null, 1.0),
+            new Entry(" ", "ai", null, 1.0),
+            new Entry(null, "ai", null, 1.0),
+            new Entry("tech", "ai", null, 1.0)));
+
+        assertEquals(1, matcher.size());
+        assertEquals("tech", matcher.categorize("openai", "en", DEFAULT));
+    }
+
+    @Test
+    void agreesWithNaiveSearchOnRandomDictionaries() {
+        Random random = new Random(20261019L);
+        String[] categories = {"a-cat", "b-cat", "c-cat", "d-cat"};
+
+        for (int round = 0; round < 200; round++) {
+            List<Term> terms = new ArrayList<>();
+            List<Entry> entries = new ArrayList<>();
+            int entryCount = 1 + random.nextInt(12);
+            for (int i = 0; i < entryCount; i++) {
+                Term term = new Term(categories[random.nextInt(categories.length)], randomText(random, 1, 4),
+                    random.nextBoolean() ? null : "ko", 1 + random.nextInt(3));
+                terms.add(term);
+                entries.add(new Entry(term.category, term.text, term.language, term.weight));
+            }
+            KeywordCategoryMatcher matcher = KeywordCategoryMatcher.compile(entries);
+
+            for (int i = 0; i < 20; i++) {
+                String keyword = randomText(random, 0, 12);
+                String language = random.nextBoolean() ? "ko" : "en";
+                assertEquals(naiveCategorize(terms, keyword, language), matcher.categorize(keyword, language, DEFAULT),
+                    () -> "keyword '" + keyword + "' (" + language + ")");
+            }
+        }
+    }
+
+    /**
+     * 작은 알파벳(a, b, c)으로 만든 문자열 (겹치는 단어가 자주 생기도록)
+     */
+    private static String randomText(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 항목마다 키워드 안의 모든(겹치는 것 포함) 출현 위치를 세어 가중치를 더함
+     */
+    private static String naiveCategorize(List<Term> terms, String keyword, String language) {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (Term term : terms) {
+            scores.putIfAbsent(term.category, 0.0);
+        }
+        for (Term term : terms) {
+            if (term.language != null && !term.language.equals(language)) {
+                continue;
+            }
+            for (int from = keyword.indexOf(term.text); from >= 0; from = keyword.indexOf(term.text, from + 1)) {
+                scores.merge(term.category, term.weight, Double::sum);
+            }
+        }
+
+        String best = null;
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            if (best == null || score.getValue() > scores.get(best)) {
+                best = score.getKey();
+            }
+        }
+        return best != null && scores.get(best) > 0 ? best : DEFAULT;
+    }
+
+    /**
+     * 단순 검색과 비교하기 위해 보관하는 사전 항목 (Entry의 필드는 외부에서 읽을 수 없음)
+     */
+    private static final class Term {
+        private final String category;
+        private final String text;
+        private final String language;
+        private final double weight;
+
+        Term(String category, String text, String language, double weight) {
+            this.category = category;
+            this.text = text;
+            this.language = language;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.jsportal.service.batch;
+
+import com.jsportal.domain.keyword.KeywordAlias;
+import com.jsportal.repository.KeywordAliasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * KeywordNormalizer 정규화 키 테스트
+ * NFKC 통일, 문자 종류 경계 분할, 표기 변환 사전, 한글 자모 분해로 표기만 다른 키워드가 같은 키가 되는지 확인합니다.
+ */
+class KeywordNormalizerTest {
+
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private KeywordAliasRepository aliasRepository;
+    private KeywordNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        List<KeywordAlias> aliases = List.of(
+            new KeywordAlias("iphone", "아이폰", "ko"),
+            new KeywordAlias("new", "뉴", null),
+            new KeywordAlias("new york", "뉴욕", null));
+        aliasRepository = mock(KeywordAliasRepository.class);
+        when(aliasRepository.findByActiveTrue()).thenReturn(aliases);
+        when(aliasRepository.count()).thenReturn((long) aliases.size());
+        when(aliasRepository.findLastModifiedAt()).thenReturn(MODIFIED_AT);
+
+        normalizer = new KeywordNormalizer(aliasRepository);
+        normalizer.reload();
+    }
+
+    @Test
+    void unifiesSpacingWidthAliasesAndJamoInput() {
+        String expected = normalizer.canonicalKey("아이폰 16", "ko");
+
+        assertEquals(expected, normalizer.canonicalKey("아이폰16", "ko"));
+        assertEquals(expected, normalizer.canonicalKey("iPhone 16", "ko"));
+        assertEquals(expected, normalizer.canonicalKey("ＩＰＨＯＮＥ　１６", "ko"));
+        assertEquals(expected, normalizer.canonicalKey("아이폰-16!", "ko"));
+        // 호환 자모로 입력한 경우 (받침 ㄴ을 초성 ㄴ으로 바꾼 키와 같아짐)
+        assertEquals(expected, normalizer.canonicalKey("ㅇㅏㅇㅣㅍㅗㄴ16", "ko"));
+    }
+
+    @Test
+    void appliesLanguageAliasesOnlyToThatLanguage() {
+        assertEquals("iphone16", normalizer.canonicalKey("iPhone 16", "en"));
+        assertNotEquals(normalizer.canonicalKey("iPhone 16", "en"), normalizer.canonicalKey("iPhone 16", "ko"));
+    }
+
+    @Test
+    void prefersLongestMultiTokenAlias() {
+        assertEquals(KeywordNormalizer.decompose("뉴욕여행"), normalizer.canonicalKey("New-York 여행", "ko"));
+        assertEquals(KeywordNormalizer.decompose("뉴jersey"), normalizer.canonicalKey("new jersey", "en"));
+    }
+
+    @Test
+    void splitsTokensWhereCharacterClassChanges() {
+        assertEquals(List.of("갤럭시", "s", "24", "울트라"), KeywordNormalizer.tokenize(KeywordNormalizer.fold("갤럭시S24 울트라")));
+        assertEquals(List.of(), KeywordNormalizer.tokenize(KeywordNormalizer.fold(" !?… ")));
+    }
+
+    @Test
+    void decomposesSyllablesAndStripsAccents() {
+        // 폰 = ㅍ(U+1111) ㅗ(U+1169) 받침 ㄴ(U+11AB), 받침은 초성 ㄴ(U+1102)로 바뀜
+        assertEquals("\u1111\u1169\u1102", KeywordNormalizer.decompose("폰"));
+        assertEquals(normalizer.canonicalKey("cafe", "en"), normalizer.canonicalKey("Café", "en"));
+    }
+
+    @Test
+    void returnsEmptyKeyWithoutLettersOrDigits() {
+        assertEquals("", normalizer.canonicalKey("!!! ---", "ko"));
+        assertEquals("", normalizer.canonicalKey(null, "ko"));
+    }
+
+    @Test
+    void reloadsOnlyWhenDictionaryChanges() {
+        normalizer.reloadIfChanged();
+        verify(aliasRepository, times(1)).findByActiveTrue();
+
+        when(aliasRepository.findLastModifiedAt()).thenReturn(MODIFIED_AT.plusMinutes(1));
+        normalizer.reloadIfChanged();
+        verify(aliasRepository, times(2)).findByActiveTrue();
+    }
+
+    @Test
+    void keepsPreviousAliasesWhenReloadFails() {
+        when(aliasRepository.findByActiveTrue()).thenThrow(new IllegalStateException("database unavailable"));
+        normalizer.reload();
+
+        assertEquals(normalizer.canonicalKey("아이폰", "ko"), normalizer.canonicalKey("iphone", "ko"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.jsportal.service.crawling;
+
+import com.jsportal.domain.crawling.CommunitySource;
+import com.jsportal.repository.CommunitySourceRepository;
+import com.jsportal.service.cluster.ClusterMembership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CrawlScheduler 크롤링 간격 조정 테스트
+ * 신규 포스트 비율 구간별 간격 변화와 최소/최대 간격 제한, 조정된 간격이 소스에 저장되는지 확인합니다.
+ */
+class CrawlSchedulerTest {
+
+    private CommunitySourceRepository communitySourceRepository;
+    private CrawlScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        communitySourceRepository = mock(CommunitySourceRepository.class);
+        when(communitySourceRepository.save(any(CommunitySource.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        scheduler = new CrawlScheduler(communitySourceRepository, mock(ClusterMembership.class));
+        ReflectionTestUtils.setField(scheduler, "minIntervalMinutes", 15);
+        ReflectionTestUtils.setField(scheduler, "maxIntervalMinutes", 1440);
+        ReflectionTestUtils.setField(scheduler, "hotYieldRatio", 0.5);
+        ReflectionTestUtils.setField(scheduler, "coldYieldRatio", 0.2);
+    }
+
+    @Test
+    void doublesIntervalWhenNothingNew() {
+        assertEquals(360, scheduler.adaptInterval(180, 0, 10));
+    }
+
+    @Test
+    void halvesIntervalWhenYieldIsHot() {
+        assertEquals(90, scheduler.adaptInterval(180, 5, 10));
+        assertEquals(90, scheduler.adaptInterval(180, 10, 10));
+        // 한도보다 많이 수집된 경우도 hot
+        assertEquals(90, scheduler.adaptInterval(180, 25, 10));
+    }
+
+    @Test
+    void stretchesIntervalWhenYieldIsCold() {
+        assertEquals(225, scheduler.adaptInterval(180, 1, 10));
+        // 1.25배 결과는 반올림
+        assertEquals(38, scheduler.adaptInterval(30, 1, 10));
+    }
+
+    @Test
+    void keepsIntervalBetweenThresholds() {
+        // 0.2 이상 0.5 미만
+        assertEquals(180, scheduler.adaptInterval(180, 2, 10));
+        assertEquals(180, scheduler.adaptInterval(180, 4, 10));
+    }
+
+    @Test
+    void clampsToMinAndMaxInterval() {
+        assertEquals(15, scheduler.adaptInterval(20, 10, 10));
+        assertEquals(1440, scheduler.adaptInterval(1000, 0, 10));
+        assertEquals(1440, scheduler.adaptInterval(1440, 1, 10));
+        // 범위를 벗어난 현재 간격도 다음 계산에서 범위 안으로 돌아옴
+        assertEquals(15, scheduler.adaptInterval(5, 3, 10));
+        assertEquals(1440, scheduler.adaptInterval(5000, 3, 10));
+    }
+
+    @Test
+    void treatsNonPositiveMaxPostsAsOne() {
+        assertEquals(90, scheduler.adaptInterval(180, 1, 0));
+        assertEquals(90, scheduler.adaptInterval(180, 1, -5));
+        assertEquals(360, scheduler.adaptInterval(180, 0, 0));
+    }
+
+    @Test
+    void recordYieldStoresAdaptedIntervalAndRequeues() {
+        CommunitySource source = new CommunitySource("dcinside", "ko");
+        source.setId(1L);
+        source.setMaxPostsPerCrawl(10);
+        source.setCrawlIntervalMinutes(180);
+        LocalDateTime before = LocalDateTime.now();
+
+        scheduler.recordYield(source, 0);
+
+        assertEquals(360, source.getCrawlIntervalMinutes());
+        assertNotNull(source.getLastCrawledAt());
+        assertFalse(source.getLastCrawledAt().isBefore(before));
+        assertEquals(1, scheduler.getQueuedSourceCount());
+    }
+
+    @Test
+    void recordYieldStartsFromMaxIntervalWhenUnset() {
+        CommunitySource source = new CommunitySource("clien", "ko");
+        source.setId(2L);
+        source.setMaxPostsPerCrawl(10);
+        source.setCrawlIntervalMinutes(null);
+
+        scheduler.recordYield(source, 5);
+
+        assertEquals(720, source.getCrawlIntervalMinutes());
+    }
+}
@@ -0,0 +1,374 @@
+package com.jsportal.service.api.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI Files/Batches/Chat Completions API와 Ollama /api/generate를 흉내 내는 로컬 대체 서버
+ * 배치 모드나 LLM 라우팅을 실제 API 키나 비용 없이 확인할 때 사용합니다.
+ * 배치는 제출 후 지정한 시간이 지나면 완료되며, 응답 내용은 프롬프트에서 만든 고정 텍스트입니다.
+ *
+ * 실행: mvn -Popenai-standin test-compile exec:java -Dexec.args="--port 8089 --complete-after-ms 5000 --latency-ms 200"
+ * 설정: openai.api.base-url=http://127.0.0.1:8089/v1, llm.local.base-url=http://127.0.0.1:8089
+ */
+public class OpenAiStandInServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiStandInServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long completeAfterMillis;
+    private final int failEvery;
+    private final long latencyMillis;
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<String, StandInBatch> batches = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private OpenAiStandInServer(int port, long completeAfterMillis, int failEvery, long latencyMillis)
+            throws IOException {
+        this.completeAfterMillis = completeAfterMillis;
+        this.failEvery = failEvery;
+        this.latencyMillis = latencyMillis;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.createContext("/v1/", this::handle);
+        this.server.createContext("/api/generate", this::handleGenerate);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * 서버 시작
+     * @param port 포트 (0이면 임의 포트)
+     * @param completeAfterMillis 배치 제출 후 완료 상태가 되기까지의 시간
+     * @param failEvery N번째 요청마다 실패 응답 (0이면 모두 성공)
+     * @param latencyMillis 동기 생성 요청(chat/completions, api/generate)의 응답 지연
+     */
+    public static OpenAiStandInServer start(int port, long completeAfterMillis, int failEvery, long latencyMillis)
+            throws IOException {
+        OpenAiStandInServer standInServer = new OpenAiStandInServer(port, completeAfterMillis, failEvery, latencyMillis);
+        standInServer.server.start();
+        logger.info("OpenAI stand-in server started at {}", standInServer.getBaseUrl());
+        return standInServer;
+    }
+
+    /**
+     * openai.api.base-url에 지정할 주소 (예: http://127.0.0.1:8089/v1)
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().substring("/v1".length());
+
+            if ("POST".equals(method) && path.equals("/files")) {
+                uploadFile(exchange);
+            } else if ("GET".equals(method) && path.startsWith("/files/") && path.endsWith("/content")) {
+                String fileId = path.substring("/files/".length(), path.length() - "/content".length());
+                byte[] content = files.get(fileId);
+                if (content == null) {
+                    sendError(exchange, 404, "No such file: " + fileId);
+                } else {
+                    send(exchange, 200, "application/jsonl", content);
+                }
+            } else if ("POST".equals(method) && path.equals("/batches")) {
+                createBatch(exchange);
+            } else if ("GET".equals(method) && path.startsWith("/batches/")) {
+                StandInBatch batch = batches.get(path.substring("/batches/".length()));
+                if (batch == null) {
+                    sendError(exchange, 404, "No such batch");
+                } else {
+                    sendJson(exchange, 200, batch.toJson());
+                }
+            } else if ("POST".equals(method) && path.equals("/chat/completions")) {
+                JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+                simulateLatency();
+                sendJson(exchange, 200, completion(request));
+            } else {
+                sendError(exchange, 404, "Unknown endpoint: " + method + " " + path);
+            }
+        } catch (Exception e) {
+            logger.warn("Error handling {}: {}", exchange.getRequestURI(), e.getMessage());
+            sendError(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Ollama 형식 생성 요청 (stream=false)
+     */
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        try {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String prompt = request.path("prompt").asText();
+            simulateLatency();
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("model", request.path("model").asText());
+            response.put("response", request.has("format") ? cannedJson(prompt) : cannedText(prompt));
+            response.put("done", true);
+            response.put("prompt_eval_count", prompt.length() / 4);
+            response.put("eval_count", prompt.length() / 4);
+            sendJson(exchange, 200, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "interrupted");
+        } catch (Exception e) {
+            sendError(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+    }
+
+    private void uploadFile(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        int boundaryIndex = contentType != null ? contentType.indexOf("boundary=") : -1;
+        if (boundaryIndex < 0) {
+            sendError(exchange, 400, "multipart/form-data required");
+            return;
+        }
+
+        // 바이트를 그대로 보존하기 위해 ISO-8859-1로 파트를 나눔
+        String boundary = "--" + contentType.substring(boundaryIndex + "boundary=".length()).replace("\"", "");
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+
+        byte[] fileContent = null;
+        for (String part : body.split(boundary)) {
+            int headerEnd = part.indexOf("\r\n\r\n");
+            if (headerEnd < 0 || !part.substring(0, headerEnd).contains("name=\"file\"")) {
+                continue;
+            }
+            String content = part.substring(headerEnd + 4);
+            if (content.endsWith("\r\n")) {
+                content = content.substring(0, content.length() - 2);
+            }
+            fileContent = content.getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        if (fileContent == null) {
+            sendError(exchange, 400, "Missing file part");
+            return;
+        }
+
+        String fileId = "file-" + sequence.incrementAndGet();
+        files.put(fileId, fileContent);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", fileId);
+        response.put("object", "file");
+        response.put("purpose", "batch");
+        response.put("bytes", fileContent.length);
+        sendJson(exchange, 200, response);
+    }
+
+    private void createBatch(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        String inputFileId = request.path("input_file_id").asText();
+        if (!files.containsKey(inputFileId)) {
+            sendError(exchange, 400, "No such file: " + inputFileId);
+            return;
+        }
+
+        StandInBatch batch = new StandInBatch("batch_" + sequence.incrementAndGet(), inputFileId);
+        batches.put(batch.id, batch);
+        sendJson(exchange, 200, batch.toJson());
+    }
+
+    /**
+     * 요청 프롬프트로 만든 고정 응답 (제목 한 줄 + 본문)
+     */
+    private ObjectNode completion(JsonNode request) {
+        String prompt = request.path("messages").path(0).path("content").asText();
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", "chatcmpl-" + sequence.incrementAndGet());
+        response.put("object", "chat.completion");
+        response.put("model", request.path("model").asText());
+        ObjectNode message = response.putArray("choices").addObject()
+            .put("index", 0)
+            .put("finish_reason", "stop")
+            .putObject("message");
+        message.put("role", "assistant");
+        message.put("content", request.has("response_format") ? cannedJson(prompt) : cannedText(prompt));
+        return response;
+    }
+
+    /**
+     * 구조화된 응답 요청에 대한 고정 JSON 응답
+     */
+    private String cannedJson(String prompt) {
+        String summary = prompt.length() > 60 ? prompt.substring(0, 60) : prompt;
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("title", "Stand-in: " + summary.replace('\n', ' '));
+        json.put("body", prompt);
+        json.put("excerpt", summary);
+        json.putArray("tags").add("stand-in").add("test");
+        json.put("category", "general");
+        json.put("slug", "stand-in-" + sequence.incrementAndGet());
+        return json.toString();
+    }
+
+    private static String cannedText(String prompt) {
+        String summary = prompt.length() > 60 ? prompt.substring(0, 60) : prompt;
+        return "# Stand-in: " + summary.replace('\n', ' ') + "\n\n" + prompt;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        send(exchange, status, "application/json", objectMapper.writeValueAsBytes(body));
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("error").put("message", message);
+        sendJson(exchange, status, body);
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * 대체 서버의 배치 작업 (완료 시각이 지나면 결과 파일을 한 번 생성)
+     */
+    private class StandInBatch {
+        private final String id;
+        private final String inputFileId;
+        private final long createdAtMillis = System.currentTimeMillis();
+        private String outputFileId;
+        private int completedCount;
+        private int failedCount;
+
+        StandInBatch(String id, String inputFileId) {
+            this.id = id;
+            this.inputFileId = inputFileId;
+        }
+
+        synchronized ObjectNode toJson() throws IOException {
+            boolean completed = System.currentTimeMillis() - createdAtMillis >= completeAfterMillis;
+            if (completed && outputFileId == null) {
+                outputFileId = writeOutputFile();
+            }
+
+            ObjectNode json = objectMapper.createObjectNode();
+            json.put("id", id);
+            json.put("object", "batch");
+            json.put("endpoint", "/v1/chat/completions");
+            json.put("input_file_id", inputFileId);
+            json.put("status", completed ? "completed" : "in_progress");
+            json.put("output_file_id", outputFileId);
+            json.putNull("error_file_id");
+            json.putObject("request_counts")
+                .put("total", completedCount + failedCount)
+                .put("completed", completedCount)
+                .put("failed", failedCount);
+            return json;
+        }
+
+        private String writeOutputFile() throws IOException {
+            StringBuilder output = new StringBuilder();
+            int index = 0;
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(files.get(inputFileId)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonNode request = objectMapper.readTree(line);
+                    boolean fail = failEvery > 0 && ++index % failEvery == 0;
+
+                    ObjectNode result = objectMapper.createObjectNode();
+                    result.put("id", "batch_req_" + sequence.incrementAndGet());
+                    result.put("custom_id", request.path("custom_id").asText());
+                    ObjectNode response = result.putObject("response");
+                    if (fail) {
+                        response.put("status_code", 500);
+                        response.putObject("body").putObject("error").put("message", "stand-in failure");
+                        failedCount++;
+                    } else {
+                        response.put("status_code", 200);
+                        response.set("body", completion(request.path("body")));
+                        completedCount++;
+                    }
+                    result.putNull("error");
+                    output.append(objectMapper.writeValueAsString(result)).append('\n');
+                }
+            }
+
+            String fileId = "file-" + sequence.incrementAndGet();
+            files.put(fileId, output.toString().getBytes(StandardCharsets.UTF_8));
+            return fileId;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 8089;
+        long completeAfterMillis = 5000;
+        int failEvery = 0;
+        long latencyMillis = 0;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--complete-after-ms":
+                    completeAfterMillis = Long.parseLong(args[i + 1]);
+                    break;
+                case "--fail-every":
+                    failEvery = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--latency-ms":
+                    latencyMillis = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        OpenAiStandInServer standInServer = start(port, completeAfterMillis, failEvery, latencyMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(standInServer::close));
+        logger.info("OpenAI stand-in listening; set openai.api.base-url={}", standInServer.getBaseUrl());
+        Thread.currentThread().join();
+    }
+}
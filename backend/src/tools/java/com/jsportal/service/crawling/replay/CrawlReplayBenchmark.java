@@ -0,0 +1,499 @@
+package com.jsportal.service.crawling.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsportal.JsPortalApplication;
+import com.jsportal.domain.crawling.CommunitySource;
+import com.jsportal.repository.ContentSourceRepository;
+import com.jsportal.service.batch.GenerationJobService;
+import com.jsportal.service.crawling.CommunityCrawler;
+import com.jsportal.service.crawling.CrawlConfig;
+import com.jsportal.service.crawling.CrawlPolitenessService;
+import com.jsportal.service.crawling.CrawlingService.CrawledPost;
+import com.jsportal.service.crawling.ForbiddenKeywordFilter;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 크롤링 파이프라인 오프라인 벤치마크
+ * 녹화된 픽스처를 로컬 HTTP 서버로 제공하고, 실제 크롤링 엔진으로
+ * 크롤링 → 금지어 필터 → 중복 제거 → 큐 적재 파이프라인을 반복 실행하여
+ * 초당 포스트 수, 단계별 p50/p99, 할당 속도를 보고합니다.
+ *
+ * 기본 모드는 DB 없이 중복 제거와 큐 적재를 메모리의 집합과 큐로 대신하므로 크롤링과 필터 단계만 실제 비용입니다.
+ * --db를 주면 애플리케이션 컨텍스트를 띄워 실제 경로(content_sources 조회, GenerationJobService.enqueuePost)로
+ * 측정하고, 소스마다 트랜잭션을 롤백하므로 DB에는 아무것도 남지 않습니다. (spring.datasource.* 설정 필요)
+ *
+ * 실행: mvn -Pcrawl-bench test-compile exec:java -Dexec.args="--iterations=50 --latency-ms=20 --jitter-ms=10"
+ * 녹화: mvn -Pcrawl-bench test-compile exec:java -Dexec.args="--record --fixtures=src/tools/resources/crawl-fixtures"
+ *
+ * 옵션: --iterations, --warmup, --latency-ms, --jitter-ms, --concurrency, --sources,
+ *       --streaming, --forbidden, --fixtures, --record, --db
+ */
+public class CrawlReplayBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlReplayBenchmark.class);
+
+    private static final String[] STAGES = {"crawl", "filter", "dedup", "enqueue"};
+
+    private final CommunityCrawler crawler;
+    private final ForbiddenKeywordFilter filter;
+    private final PostSink sink;
+    private final Map<String, StageStats> stats = new HashMap<>();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong enqueuedPosts = new AtomicLong();
+
+    public CrawlReplayBenchmark(CommunityCrawler crawler, ForbiddenKeywordFilter filter, PostSink sink) {
+        this.crawler = crawler;
+        this.filter = filter;
+        this.sink = sink;
+        resetStats();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoggingSystem loggingSystem = LoggingSystem.get(CrawlReplayBenchmark.class.getClassLoader());
+        loggingSystem.setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        loggingSystem.setLogLevel(CrawlReplayBenchmark.class.getName(), LogLevel.INFO);
+
+        Map<String, String> options = parseOptions(args);
+        boolean record = options.containsKey("record");
+        boolean database = options.containsKey("db");
+        Path fixtureDir = options.containsKey("fixtures") ? Paths.get(options.get("fixtures")) : null;
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("crawling.detail.streaming", options.getOrDefault("streaming", "true"));
+        // 녹화 시에는 실제 사이트이므로 기본 요청 간격을 지키고, 재생 시에는 서버 지연만 측정
+        properties.put("crawling.politeness.default-delay-ms", record ? "1000" : "0");
+
+        try (ConfigurableApplicationContext context = database ? applicationContext(properties) : benchmarkContext(properties)) {
+            CommunityCrawler crawler = context.getBean(CommunityCrawler.class);
+            List<String> sources = options.containsKey("sources")
+                ? Arrays.asList(options.get("sources").split(","))
+                : new ArrayList<>(crawler.getConfiguredSources());
+
+            if (record) {
+                if (fixtureDir == null) {
+                    throw new IllegalArgumentException("--fixtures is required for --record");
+                }
+                FixtureRecorder recorder = new FixtureRecorder(context.getBean(CrawlPolitenessService.class));
+                for (String source : sources) {
+                    recorder.record(crawler.getConfig(source), source, fixtureDir);
+                }
+                return;
+            }
+
+            ForbiddenKeywordFilter filter = new ForbiddenKeywordFilter(options.getOrDefault("forbidden", "성인,도박,불법"));
+            PostSink sink = database ? new DatabaseSink(context) : new InMemorySink();
+            CrawlReplayBenchmark benchmark = new CrawlReplayBenchmark(crawler, filter, sink);
+
+            long latency = Long.parseLong(options.getOrDefault("latency-ms", "20"));
+            long jitter = Long.parseLong(options.getOrDefault("jitter-ms", "10"));
+            try (FixtureHttpServer server = FixtureHttpServer.start(fixtureDir, latency, jitter)) {
+                List<CrawlConfig> configs = new ArrayList<>();
+                for (String source : sources) {
+                    CrawlConfig config = crawler.getConfig(source);
+                    if (config == null || !server.hasFixture("/" + source + "/list.html")) {
+                        logger.warn("Skipping source without crawl config or fixtures: {}", source);
+                        continue;
+                    }
+                    String sourceBase = server.getBaseUrl() + "/" + source + "/";
+                    configs.add(config.withUrl(sourceBase + "list.html", sourceBase));
+                }
+
+                benchmark.run(configs,
+                    Integer.parseInt(options.getOrDefault("warmup", "3")),
+                    Integer.parseInt(options.getOrDefault("iterations", "20")),
+                    Integer.parseInt(options.getOrDefault("concurrency", "1")),
+                    String.format("sources=%d, latency=%d±%dms, streaming=%s, sink=%s",
+                        configs.size(), latency, jitter, properties.get("crawling.detail.streaming"), sink.describe()));
+            }
+        }
+    }
+
+    /**
+     * DB 없이 크롤링 엔진만 구성한 컨텍스트
+     */
+    private static ConfigurableApplicationContext benchmarkContext(Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("crawl-bench", properties));
+        context.register(BenchmarkConfiguration.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 실제 애플리케이션 컨텍스트 (웹 서버 없음)
+     * 벤치마크 중 배치 작업이 DB와 외부 API를 쓰지 않도록 시작 직후 예약된 작업을 모두 취소합니다.
+     */
+    private static ConfigurableApplicationContext applicationContext(Map<String, Object> properties) {
+        String[] args = properties.entrySet().stream()
+            .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+            .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JsPortalApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args);
+        context.getBean(ScheduledAnnotationBeanPostProcessor.class).destroy();
+        return context;
+    }
+
+    /**
+     * 워밍업 후 측정 반복을 실행하고 결과를 출력합니다.
+     */
+    public void run(List<CrawlConfig> configs, int warmup, int iterations, int concurrency, String description)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        try {
+            for (int i = 0; i < warmup; i++) {
+                runIteration(configs, executor);
+            }
+            resetStats();
+
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                runIteration(configs, executor);
+            }
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+            printReport(description, iterations, concurrency, elapsedSeconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runIteration(List<CrawlConfig> configs, ExecutorService executor) throws Exception {
+        // 반복마다 중복 제거 상태를 새로 시작
+        sink.startIteration();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (CrawlConfig config : configs) {
+            futures.add(executor.submit(() -> {
+                sink.runSource(() -> runPipeline(config));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void runPipeline(CrawlConfig config) throws Exception {
+        long allocatedBefore = currentThreadAllocatedBytes();
+
+        long start = System.nanoTime();
+        List<CrawledPost> posts = crawler.crawl(config, new CommunitySource(config.getName(), config.getLanguage()));
+        stats.get("crawl").record(System.nanoTime() - start);
+
+        for (CrawledPost post : posts) {
+            start = System.nanoTime();
+            boolean forbidden = filter.isForbidden(post);
+            stats.get("filter").record(System.nanoTime() - start);
+            if (forbidden) {
+                continue;
+            }
+
+            start = System.nanoTime();
+            boolean isNew = sink.isNew(post);
+            stats.get("dedup").record(System.nanoTime() - start);
+            if (!isNew) {
+                continue;
+            }
+
+            start = System.nanoTime();
+            boolean queued = sink.enqueue(post);
+            stats.get("enqueue").record(System.nanoTime() - start);
+            if (queued) {
+                enqueuedPosts.incrementAndGet();
+            }
+        }
+
+        long allocatedAfter = currentThreadAllocatedBytes();
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            allocatedBytes.addAndGet(allocatedAfter - allocatedBefore);
+        }
+    }
+
+    private void printReport(String description, int iterations, int concurrency, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Crawl replay benchmark (%s, iterations=%d, concurrency=%d)%n",
+            description, iterations, concurrency));
+        report.append(String.format(Locale.ROOT, "throughput: %.1f posts/sec (%d posts in %.2fs)%n",
+            enqueuedPosts.get() / elapsedSeconds, enqueuedPosts.get(), elapsedSeconds));
+        report.append(String.format("%-8s %8s %12s %12s%n", "stage", "count", "p50(ms)", "p99(ms)"));
+        for (String stage : STAGES) {
+            StageStats stageStats = stats.get(stage);
+            report.append(String.format(Locale.ROOT, "%-8s %8d %12.3f %12.3f%n", stage, stageStats.count(),
+                stageStats.percentile(0.50) / 1e6, stageStats.percentile(0.99) / 1e6));
+        }
+        if (allocatedBytes.get() > 0) {
+            report.append(String.format(Locale.ROOT, "allocation: %.1f MB/s (%.1f MB total)",
+                allocatedBytes.get() / elapsedSeconds / (1024 * 1024), allocatedBytes.get() / (1024.0 * 1024)));
+        } else {
+            report.append("allocation: not supported by this JVM");
+        }
+        logger.info("\n{}", report);
+    }
+
+    private void resetStats() {
+        for (String stage : STAGES) {
+            stats.put(stage, new StageStats());
+        }
+        allocatedBytes.set(0);
+        enqueuedPosts.set(0);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        return Arrays.stream(args)
+            .filter(arg -> arg.startsWith("--"))
+            .map(arg -> arg.substring(2).split("=", 2))
+            .collect(Collectors.toMap(parts -> parts[0], parts -> parts.length > 1 ? parts[1] : "true",
+                (first, second) -> second));
+    }
+
+    /**
+     * 단계별 소요 시간 기록 (나노초)
+     */
+    private static class StageStats {
+        private final List<Long> samples = new ArrayList<>();
+
+        public synchronized void record(long nanos) {
+            samples.add(nanos);
+        }
+
+        public synchronized int count() {
+            return samples.size();
+        }
+
+        public synchronized double percentile(double percentile) {
+            if (samples.isEmpty()) {
+                return 0;
+            }
+            long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+
+    /**
+     * 실제 사이트의 목록/상세 페이지를 픽스처로 저장
+     * 목록 페이지의 글 링크는 저장된 상세 페이지(detail/N.html)를 가리키도록 바꿉니다.
+     */
+    private static class FixtureRecorder {
+        private final CrawlPolitenessService politenessService;
+
+        public FixtureRecorder(CrawlPolitenessService politenessService) {
+            this.politenessService = politenessService;
+        }
+
+        public void record(CrawlConfig config, String source, Path fixtureDir) throws Exception {
+            if (config == null || !politenessService.acquire(config.getUrl())) {
+                logger.warn("Skipping source: {}", source);
+                return;
+            }
+
+            Path sourceDir = fixtureDir.resolve(source);
+            Files.createDirectories(sourceDir.resolve("detail"));
+
+            Document listPage = Jsoup.connect(config.getUrl()).get();
+            int detailCount = 0;
+            for (Element item : listPage.select(config.getItemSelector())) {
+                Element titleElement = item.selectFirst(config.getTitleSelector());
+                if (titleElement == null || titleElement.absUrl("href").isEmpty()) {
+                    continue;
+                }
+
+                String detailUrl = titleElement.absUrl("href");
+                if (!politenessService.acquire(detailUrl)) {
+                    continue;
+                }
+
+                detailCount++;
+                String detailHtml = Jsoup.connect(detailUrl).maxBodySize(0).execute().body();
+                Files.write(sourceDir.resolve("detail/" + detailCount + ".html"),
+                    detailHtml.getBytes(StandardCharsets.UTF_8));
+                titleElement.attr("href", "detail/" + detailCount + ".html");
+            }
+
+            Files.write(sourceDir.resolve("list.html"), listPage.outerHtml().getBytes(StandardCharsets.UTF_8));
+            logger.info("Recorded {}: list + {} detail pages", source, detailCount);
+        }
+    }
+
+    /**
+     * 중복 제거와 큐 적재 단계
+     */
+    interface PostSink {
+
+        String describe();
+
+        /**
+         * 반복 시작 (이전 반복의 중복 제거 상태를 버림)
+         */
+        void startIteration();
+
+        /**
+         * 소스 하나의 파이프라인 실행
+         */
+        void runSource(SourcePipeline pipeline) throws Exception;
+
+        boolean isNew(CrawledPost post);
+
+        boolean enqueue(CrawledPost post);
+    }
+
+    @FunctionalInterface
+    interface SourcePipeline {
+        void run() throws Exception;
+    }
+
+    /**
+     * 메모리 집합과 큐로 대신하는 단계 (DB 비용은 포함되지 않음)
+     */
+    static class InMemorySink implements PostSink {
+        private volatile Set<String> seenUrls = ConcurrentHashMap.newKeySet();
+        private volatile Queue<CrawledPost> queue = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String describe() {
+            return "in-memory";
+        }
+
+        @Override
+        public void startIteration() {
+            seenUrls = ConcurrentHashMap.newKeySet();
+            queue = new ConcurrentLinkedQueue<>();
+        }
+
+        @Override
+        public void runSource(SourcePipeline pipeline) throws Exception {
+            pipeline.run();
+        }
+
+        @Override
+        public boolean isNew(CrawledPost post) {
+            return seenUrls.add(post.getUrl());
+        }
+
+        @Override
+        public boolean enqueue(CrawledPost post) {
+            return queue.offer(post);
+        }
+    }
+
+    /**
+     * 배치 서비스와 같은 경로로 content_sources를 조회하고 생성 작업을 등록하는 단계
+     * 소스마다 트랜잭션 하나로 실행한 뒤 롤백하므로 반복마다 같은 포스트가 다시 등록됩니다.
+     */
+    static class DatabaseSink implements PostSink {
+        private final ContentSourceRepository contentSourceRepository;
+        private final GenerationJobService generationJobService;
+        private final TransactionTemplate transactionTemplate;
+
+        DatabaseSink(ConfigurableApplicationContext context) {
+            this.contentSourceRepository = context.getBean(ContentSourceRepository.class);
+            this.generationJobService = context.getBean(GenerationJobService.class);
+            this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        }
+
+        @Override
+        public String describe() {
+            return "database (rolled back)";
+        }
+
+        @Override
+        public void startIteration() {
+        }
+
+        @Override
+        public void runSource(SourcePipeline pipeline) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    pipeline.run();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    status.setRollbackOnly();
+                }
+            });
+        }
+
+        @Override
+        public boolean isNew(CrawledPost post) {
+            return !contentSourceRepository.existsBySourceUrl(post.getUrl());
+        }
+
+        @Override
+        public boolean enqueue(CrawledPost post) {
+            return generationJobService.enqueuePost(post);
+        }
+    }
+
+    /**
+     * 벤치마크용 최소 스프링 컨텍스트 (DB 없이 크롤링 엔진만 구성)
+     * 애플리케이션 컴포넌트 스캔에 포함되지 않도록 @Configuration 없이 직접 등록합니다.
+     */
+    @Import({CrawlPolitenessService.class, CommunityCrawler.class})
+    static class BenchmarkConfiguration {
+
+        @Bean
+        public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        public RestTemplateBuilder restTemplateBuilder() {
+            return new RestTemplateBuilder();
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.jsportal.service.crawling.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 녹화된 크롤링 픽스처(HTML)를 제공하는 로컬 HTTP 서버
+ * 실제 사이트 대신 사용하며, 요청마다 설정된 지연 시간과 지터를 적용합니다.
+ * 픽스처 디렉터리가 없으면 클래스패스의 crawl-fixtures를 사용합니다.
+ */
+public class FixtureHttpServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureHttpServer.class);
+
+    static final String CLASSPATH_ROOT = "crawl-fixtures";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Path fixtureDir;
+    private final long latencyMillis;
+    private final long jitterMillis;
+
+    // 픽스처는 한 번만 읽어 메모리에 보관 (서버 비용이 측정에 섞이지 않도록)
+    private final Map<String, Optional<byte[]>> fixtures = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private FixtureHttpServer(Path fixtureDir, long latencyMillis, long jitterMillis) throws IOException {
+        this.fixtureDir = fixtureDir != null ? fixtureDir.toAbsolutePath().normalize() : null;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.executor = Executors.newCachedThreadPool();
+        // 헤더와 본문이 나뉘어 전송될 때 Nagle 알고리즘으로 생기는 ~40ms 지연 방지
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * 임의의 로컬 포트로 서버 시작
+     * @param fixtureDir 픽스처 디렉터리 (null이면 클래스패스 사용)
+     * @param latencyMillis 기본 응답 지연
+     * @param jitterMillis 지연에 더해질 최대 무작위 지터
+     */
+    public static FixtureHttpServer start(Path fixtureDir, long latencyMillis, long jitterMillis) throws IOException {
+        FixtureHttpServer fixtureServer = new FixtureHttpServer(fixtureDir, latencyMillis, jitterMillis);
+        fixtureServer.server.start();
+        logger.info("Fixture server started at {} (latency {}±{}ms)",
+            fixtureServer.getBaseUrl(), latencyMillis, jitterMillis);
+        return fixtureServer;
+    }
+
+    /**
+     * 서버 기본 주소 (예: http://127.0.0.1:54321)
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 처리한 요청 수
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * 경로에 해당하는 픽스처 존재 여부 (예: /ruliweb/list.html)
+     */
+    public boolean hasFixture(String path) {
+        return fixtures.computeIfAbsent(path, this::load).isPresent();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            simulateLatency();
+
+            String path = exchange.getRequestURI().getPath();
+            Optional<byte[]> body = fixtures.computeIfAbsent(path, this::load);
+
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String contentType = path.endsWith(".txt") ? "text/plain; charset=UTF-8" : "text/html; charset=UTF-8";
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.get().length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private Optional<byte[]> load(String path) {
+        String relativePath = path.startsWith("/") ? path.substring(1) : path;
+        if (relativePath.isEmpty() || relativePath.contains("..")) {
+            return Optional.empty();
+        }
+
+        try {
+            if (fixtureDir != null) {
+                Path file = fixtureDir.resolve(relativePath).normalize();
+                if (!file.startsWith(fixtureDir) || !Files.isRegularFile(file)) {
+                    return Optional.empty();
+                }
+                return Optional.of(Files.readAllBytes(file));
+            }
+
+            try (InputStream input = getClass().getClassLoader()
+                    .getResourceAsStream(CLASSPATH_ROOT + "/" + relativePath)) {
+                return input != null ? Optional.of(input.readAllBytes()) : Optional.empty();
+            }
+        } catch (IOException e) {
+            logger.warn("Error reading fixture {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}